@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2019 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.benchmarks.springframework.data.rx;
+
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.Optional;
+
+import org.neo4j.benchmarks.springframework.data.rx.app.Movie;
+import org.neo4j.benchmarks.springframework.data.rx.app.MovieRepository;
+import org.neo4j.springframework.data.core.Neo4jOperations;
+import org.neo4j.springframework.data.core.mapping.Neo4jMappingContext;
+import org.neo4j.springframework.data.repository.config.EnableNeo4jRepositories;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+/**
+ * Measures the overhead of calling a derived finder method without a database: The operations behind the repository
+ * return a result right away, so that only the creation of the query and the repository infrastructure are measured.
+ */
+@State(Scope.Benchmark)
+public class DerivedQueryBenchmarks {
+
+	private AnnotationConfigApplicationContext applicationContext;
+
+	private MovieRepository movieRepository;
+
+	@Setup
+	public void setup() {
+
+		this.applicationContext = new AnnotationConfigApplicationContext(Config.class);
+		this.movieRepository = applicationContext.getBean(MovieRepository.class);
+	}
+
+	@Benchmark
+	public Optional<Movie> findByTitle() {
+		return this.movieRepository.findByTitle("The Matrix");
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.applicationContext.close();
+	}
+
+	@Configuration
+	@EnableNeo4jRepositories(basePackageClasses = MovieRepository.class)
+	static class Config {
+
+		@Bean
+		public Neo4jMappingContext neo4jMappingContext() {
+
+			Neo4jMappingContext mappingContext = new Neo4jMappingContext();
+			mappingContext.setInitialEntitySet(Collections.singleton(Movie.class));
+			return mappingContext;
+		}
+
+		@Bean
+		public Neo4jOperations neo4jTemplate() {
+
+			Movie movie = new Movie("The Matrix", "Welcome to the Real World");
+			Neo4jOperations.ExecutableQuery<?> executableQuery = (Neo4jOperations.ExecutableQuery<?>) Proxy
+				.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Neo4jOperations.ExecutableQuery.class },
+					(proxy, method, args) -> Optional.of(movie));
+			return (Neo4jOperations) Proxy
+				.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Neo4jOperations.class },
+					(proxy, method, args) -> executableQuery);
+		}
+
+		@Bean
+		public PlatformTransactionManager transactionManager() {
+			return new NoOpTransactionManager();
+		}
+	}
+
+	static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+		@Override
+		protected Object doGetTransaction() {
+			return new Object();
+		}
+
+		@Override
+		protected void doBegin(Object transaction, TransactionDefinition definition) {
+		}
+
+		@Override
+		protected void doCommit(DefaultTransactionStatus status) {
+		}
+
+		@Override
+		protected void doRollback(DefaultTransactionStatus status) {
+		}
+	}
+
+	public static void main(String... args) throws RunnerException, CommandLineOptionException {
+
+		CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+		ChainedOptionsBuilder builder = new OptionsBuilder().parent(commandLineOptions)
+			.include(DerivedQueryBenchmarks.class.getSimpleName())
+			.addProfiler("gc")
+			.jvmArgsAppend("-ea");
+
+		new Runner(builder.build()).run();
+	}
+}
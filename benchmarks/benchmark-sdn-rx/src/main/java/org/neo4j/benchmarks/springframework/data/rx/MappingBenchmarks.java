@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2019 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.benchmarks.springframework.data.rx;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+import org.neo4j.benchmarks.springframework.data.rx.app.Movie;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+import org.neo4j.driver.internal.InternalNode;
+import org.neo4j.driver.internal.InternalRecord;
+import org.neo4j.driver.internal.types.InternalTypeSystem;
+import org.neo4j.driver.internal.value.NodeValue;
+import org.neo4j.driver.types.TypeSystem;
+import org.neo4j.springframework.data.core.mapping.Neo4jMappingContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the mapping of records onto entities without a database. Run with {@code -prof gc} to see the allocation
+ * per mapped record.
+ */
+@State(Scope.Benchmark)
+public class MappingBenchmarks {
+
+	private final TypeSystem typeSystem = InternalTypeSystem.TYPE_SYSTEM;
+
+	private BiFunction<TypeSystem, Record, Movie> mappingFunction;
+
+	private Record singleNode;
+
+	private Record nodeWithAdditionalColumns;
+
+	@Setup
+	public void setup() {
+
+		Neo4jMappingContext mappingContext = new Neo4jMappingContext();
+		mappingContext.setInitialEntitySet(Collections.singleton(Movie.class));
+		mappingContext.initialize();
+		this.mappingFunction = mappingContext.getRequiredMappingFunctionFor(Movie.class);
+
+		Map<String, Value> properties = new HashMap<>();
+		properties.put("title", Values.value("The Matrix"));
+		properties.put("tagline", Values.value("Welcome to the Real World"));
+		Value movie = new NodeValue(new InternalNode(4711L, Collections.singletonList("Movie"), properties));
+
+		this.singleNode = new InternalRecord(Collections.singletonList("n"), new Value[] { movie });
+		this.nodeWithAdditionalColumns = new InternalRecord(Arrays.asList("n", "released", "tagline"),
+			new Value[] { movie, Values.value(1999), Values.value("Free your mind") });
+	}
+
+	@Benchmark
+	public Movie mapSingleNode() {
+		return this.mappingFunction.apply(typeSystem, singleNode);
+	}
+
+	@Benchmark
+	public Movie mapNodeWithAdditionalColumns() {
+		return this.mappingFunction.apply(typeSystem, nodeWithAdditionalColumns);
+	}
+
+	public static void main(String... args) throws RunnerException, CommandLineOptionException {
+
+		CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+		ChainedOptionsBuilder builder = new OptionsBuilder().parent(commandLineOptions)
+			.include(MappingBenchmarks.class.getSimpleName())
+			.addProfiler("gc")
+			.jvmArgsAppend("-ea");
+
+		new Runner(builder.build()).run();
+	}
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2019 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.benchmarks.springframework.data.rx;
+
+import static org.neo4j.springframework.data.core.cypher.Cypher.*;
+
+import java.util.Collections;
+
+import org.neo4j.benchmarks.springframework.data.rx.app.Movie;
+import org.neo4j.springframework.data.core.cypher.Statement;
+import org.neo4j.springframework.data.core.cypher.renderer.Renderer;
+import org.neo4j.springframework.data.core.mapping.Neo4jMappingContext;
+import org.neo4j.springframework.data.core.mapping.Neo4jPersistentEntity;
+import org.neo4j.springframework.data.core.schema.CypherGenerator;
+import org.neo4j.springframework.data.core.schema.NodeDescription;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the rendering of the statements the {@link CypherGenerator} creates for an entity. The statements are built
+ * once and rendered with a renderer without statement cache, so that each invocation walks the whole AST. Run with
+ * {@code -prof gc} to see the allocation per rendered statement.
+ */
+@State(Scope.Benchmark)
+public class RenderingBenchmarks {
+
+	private final Renderer renderer = Renderer.getRenderer(0);
+
+	private Statement findById;
+
+	private Statement save;
+
+	private Statement saveAll;
+
+	private Statement deleteById;
+
+	@Setup
+	public void setup() {
+
+		Neo4jMappingContext mappingContext = new Neo4jMappingContext();
+		mappingContext.setInitialEntitySet(Collections.singleton(Movie.class));
+		mappingContext.initialize();
+		Neo4jPersistentEntity<?> entity = mappingContext.getRequiredPersistentEntity(Movie.class);
+
+		CypherGenerator cypherGenerator = CypherGenerator.INSTANCE;
+		this.findById = cypherGenerator
+			.prepareMatchOf(entity, entity.getIdExpression().isEqualTo(parameter(NodeDescription.NAME_OF_ID_PARAM)))
+			.returning(cypherGenerator.createReturnStatementForMatch(entity)).build();
+		this.save = cypherGenerator.prepareSaveOf(entity);
+		this.saveAll = cypherGenerator.prepareSaveOfMultipleInstancesOf(entity);
+		this.deleteById = cypherGenerator
+			.prepareDeleteOf(entity, entity.getIdExpression().isEqualTo(parameter(NodeDescription.NAME_OF_ID_PARAM)));
+	}
+
+	@Benchmark
+	public String renderFindById() {
+		return this.renderer.render(findById);
+	}
+
+	@Benchmark
+	public String renderSave() {
+		return this.renderer.render(save);
+	}
+
+	@Benchmark
+	public String renderSaveAll() {
+		return this.renderer.render(saveAll);
+	}
+
+	@Benchmark
+	public String renderDeleteById() {
+		return this.renderer.render(deleteById);
+	}
+
+	public static void main(String... args) throws RunnerException, CommandLineOptionException {
+
+		CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+		ChainedOptionsBuilder builder = new OptionsBuilder().parent(commandLineOptions)
+			.include(RenderingBenchmarks.class.getSimpleName())
+			.addProfiler("gc")
+			.jvmArgsAppend("-ea");
+
+		new Runner(builder.build()).run();
+	}
+}
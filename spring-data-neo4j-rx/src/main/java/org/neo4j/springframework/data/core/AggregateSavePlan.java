@@ -0,0 +1,569 @@
+/*
+ * Copyright (c) 2019 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.springframework.data.core;
+
+import static org.neo4j.springframework.data.core.cypher.Cypher.*;
+import static org.neo4j.springframework.data.core.schema.NodeDescription.*;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.neo4j.springframework.data.core.cypher.Cypher;
+import org.neo4j.springframework.data.core.cypher.Expression;
+import org.neo4j.springframework.data.core.cypher.Functions;
+import org.neo4j.springframework.data.core.cypher.Node;
+import org.neo4j.springframework.data.core.cypher.Relationship;
+import org.neo4j.springframework.data.core.cypher.Statement;
+import org.neo4j.springframework.data.core.cypher.StatementBuilder;
+import org.neo4j.springframework.data.core.cypher.StatementBuilder.OrderableOngoingReadingAndWithWithoutWhere;
+import org.neo4j.springframework.data.core.cypher.renderer.Renderer;
+import org.neo4j.springframework.data.core.mapping.LazyAssociation;
+import org.neo4j.springframework.data.core.mapping.Neo4jMappingContext;
+import org.neo4j.springframework.data.core.mapping.Neo4jPersistentEntity;
+import org.neo4j.springframework.data.core.mapping.Neo4jPersistentProperty;
+import org.neo4j.springframework.data.core.mapping.UnfetchedAssociations;
+import org.neo4j.springframework.data.core.schema.RelationshipDescription;
+import org.neo4j.springframework.data.core.support.Relationships;
+import org.springframework.data.mapping.Association;
+import org.springframework.data.mapping.AssociationHandler;
+import org.springframework.data.mapping.MappingException;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.lang.Nullable;
+
+/**
+ * A plan for saving whole aggregates with a single statement. The plan depends only on the metadata of the aggregate
+ * root: Each relationship reachable from the root becomes a slot, described by the related node description and the
+ * relationship leading to it. The nodes of all slots are written first, each slot with one {@code UNWIND} over its own
+ * list parameter. All written nodes are collected into one list, in the order they have been written, so that the
+ * relationships can refer to their start and end nodes by position. This is necessary as nodes with generated ids
+ * don't have an id before the statement runs. The statement returns the internal ids of all nodes in the same order.
+ * <p>
+ * The statement for a given combination of empty and non-empty lists is created once and then cached with the plan, as
+ * an empty list passed to {@code UNWIND} would eliminate all rows.
+ * <p>
+ * Aggregates containing dynamic relationships or relationships that lead back to a node description that is already on
+ * the path from the root cannot be described by a finite plan. {@link #of(Neo4jMappingContext, Neo4jPersistentEntity)}
+ * returns an empty optional for those.
+ *
+ * @author Michael J. Simons
+ * @since 1.0
+ */
+final class AggregateSavePlan {
+
+	static final String NAME_OF_NODES = "__nodes__";
+	static final String NAME_OF_IDS = "__ids__";
+	static final String FROM_INDEX = "fromIndex";
+	static final String TO_INDEX = "toIndex";
+
+	private static final Renderer renderer = Renderer.getDefaultRenderer();
+
+	private static final String START_NODE_NAME = "startNode";
+	private static final String END_NODE_NAME = "endNode";
+	private static final String NAME_OF_ROW = "row";
+
+	/**
+	 * The parts of each slot, in the order they are written.
+	 */
+	private static final int NODES = 0;
+	private static final int EXISTING_NODES = 1;
+	private static final int RELATIONSHIPS_TO_REMOVE = 2;
+	private static final int RELATIONSHIPS = 3;
+	private static final int NUMBER_OF_PARTS = 4;
+
+	/**
+	 * Creates a plan for saving aggregates with the given root.
+	 *
+	 * @param neo4jMappingContext The mapping context to use
+	 * @param root                The description of the aggregate root
+	 * @return A plan or an empty optional if the aggregate cannot be saved with a single statement
+	 */
+	static Optional<AggregateSavePlan> of(Neo4jMappingContext neo4jMappingContext, Neo4jPersistentEntity<?> root) {
+
+		List<Slot> slots = new ArrayList<>();
+		Slot rootSlot = addSlot(slots, root, null, null, new HashSet<>());
+		return rootSlot == null ? Optional.empty() : Optional.of(new AggregateSavePlan(neo4jMappingContext, slots));
+	}
+
+	@Nullable
+	private static Slot addSlot(List<Slot> slots, Neo4jPersistentEntity<?> description,
+		@Nullable Neo4jPersistentProperty property, @Nullable RelationshipDescription relationship,
+		Set<Neo4jPersistentEntity<?>> path) {
+
+		Slot slot = new Slot(slots.size(), description, property, relationship);
+		slots.add(slot);
+		path.add(description);
+
+		List<Association<Neo4jPersistentProperty>> associations = new ArrayList<>();
+		description.doWithAssociations((AssociationHandler<Neo4jPersistentProperty>) associations::add);
+		for (Association<Neo4jPersistentProperty> association : associations) {
+
+			RelationshipDescription relationshipDescription = (RelationshipDescription) association;
+			Neo4jPersistentEntity<?> target = (Neo4jPersistentEntity<?>) relationshipDescription.getTarget();
+			if (relationshipDescription.isDynamic() || path.contains(target)) {
+				return null;
+			}
+
+			Slot child = addSlot(slots, target, association.getInverse(), relationshipDescription, path);
+			if (child == null) {
+				return null;
+			}
+			slot.children.add(child);
+		}
+
+		path.remove(description);
+		return slot;
+	}
+
+	private final Neo4jMappingContext neo4jMappingContext;
+
+	private final List<Slot> slots;
+
+	private final Map<BitSet, String> cypherQueries = new ConcurrentHashMap<>();
+
+	private AggregateSavePlan(Neo4jMappingContext neo4jMappingContext, List<Slot> slots) {
+		this.neo4jMappingContext = neo4jMappingContext;
+		this.slots = slots;
+	}
+
+	/**
+	 * Starts saving the given roots. The roots are the first level of the aggregates, the entity callbacks must already
+	 * have been applied to them.
+	 *
+	 * @param roots The roots of the aggregates to save
+	 * @return A new execution of this plan
+	 */
+	Execution prepare(Collection<AssociationBatch.Entity> roots) {
+		return new Execution(roots);
+	}
+
+	/**
+	 * @param parts The parts that contain at least one row
+	 * @return The rendered statement, writing only the given parts
+	 */
+	private String getCypherQuery(BitSet parts) {
+		return cypherQueries.computeIfAbsent(parts, p -> renderer.render(createStatement(p)));
+	}
+
+	private Statement createStatement(BitSet parts) {
+
+		OrderableOngoingReadingAndWithWithoutWhere ongoingStatement = null;
+		for (Slot slot : slots) {
+			if (parts.get(slot.part(NODES))) {
+				ongoingStatement = writeNodes(ongoingStatement, slot);
+			}
+			if (parts.get(slot.part(EXISTING_NODES))) {
+				ongoingStatement = updateExistingNodes(ongoingStatement, slot);
+			}
+		}
+
+		for (Slot slot : slots) {
+			if (parts.get(slot.part(RELATIONSHIPS_TO_REMOVE))) {
+				ongoingStatement = removeRelationships(ongoingStatement, slot);
+			}
+		}
+
+		for (Slot slot : slots) {
+			if (parts.get(slot.part(RELATIONSHIPS))) {
+				ongoingStatement = createRelationships(ongoingStatement, slot);
+			}
+		}
+
+		if (ongoingStatement == null) {
+			throw new IllegalStateException("Cannot create a statement without any nodes.");
+		}
+		return ongoingStatement.returning(name(NAME_OF_IDS)).build();
+	}
+
+	private static OrderableOngoingReadingAndWithWithoutWhere writeNodes(
+		@Nullable OrderableOngoingReadingAndWithWithoutWhere ongoingStatement, Slot slot) {
+
+		Neo4jPersistentEntity<?> description = slot.description;
+		String nameOfNode = "n" + slot.index;
+		Node node = node(description.getPrimaryLabel()).named(nameOfNode);
+
+		StatementBuilder.OngoingReading reading = unwind(ongoingStatement, slot.parameter(NODES));
+		if (description.isUsingInternalIds()) {
+			return collectNodes(ongoingStatement == null, reading
+				.create(node)
+				.set(node, property(NAME_OF_ROW, NAME_OF_PROPERTIES_PARAM)), nameOfNode, Functions.id(node));
+		}
+
+		String nameOfIdProperty = description.getIdDescription().getOptionalGraphPropertyName()
+			.orElseThrow(() -> new MappingException("External id does not correspond to a graph property!"));
+		return collectNodes(ongoingStatement == null, reading
+			.merge(node.properties(nameOfIdProperty, property(NAME_OF_ROW, NAME_OF_ID_PARAM)))
+			.set(node, property(NAME_OF_ROW, NAME_OF_PROPERTIES_PARAM)), nameOfNode, Functions.id(node));
+	}
+
+	/**
+	 * Existing nodes are matched optionally so that the position of all following nodes stays the same even if a node
+	 * has been deleted in the meantime. Relationships to such a node fail to be created.
+	 */
+	private static OrderableOngoingReadingAndWithWithoutWhere updateExistingNodes(
+		@Nullable OrderableOngoingReadingAndWithWithoutWhere ongoingStatement, Slot slot) {
+
+		String nameOfNode = "e" + slot.index;
+		Node node = node(slot.description.getPrimaryLabel()).named(nameOfNode);
+
+		return collectNodes(ongoingStatement == null, unwind(ongoingStatement, slot.parameter(EXISTING_NODES))
+			.optionalMatch(node)
+			.where(node.internalId().isEqualTo(property(NAME_OF_ROW, NAME_OF_ID_PARAM)))
+			.set(node, property(NAME_OF_ROW, NAME_OF_PROPERTIES_PARAM)), nameOfNode,
+			property(NAME_OF_ROW, NAME_OF_ID_PARAM));
+	}
+
+	private static OrderableOngoingReadingAndWithWithoutWhere removeRelationships(
+		@Nullable OrderableOngoingReadingAndWithWithoutWhere ongoingStatement, Slot slot) {
+
+		RelationshipDescription relationshipDescription = slot.getRequiredRelationship();
+		Node startNode = anyNode(START_NODE_NAME);
+		Node endNode = node(slot.description.getPrimaryLabel());
+		String nameOfRelationship = "rel";
+
+		Relationship relationship = relationshipDescription.isOutgoing()
+			? startNode.relationshipTo(endNode, relationshipDescription.getType()).named(nameOfRelationship)
+			: startNode.relationshipFrom(endNode, relationshipDescription.getType()).named(nameOfRelationship);
+
+		return unwind(ongoingStatement, slot.parameter(RELATIONSHIPS_TO_REMOVE))
+			.with(name(NAME_OF_NODES), name(NAME_OF_IDS), nodeAt(name(NAME_OF_ROW)).as(START_NODE_NAME))
+			.optionalMatch(relationship)
+			.delete(name(nameOfRelationship))
+			.withDistinct(name(NAME_OF_NODES), name(NAME_OF_IDS));
+	}
+
+	private static OrderableOngoingReadingAndWithWithoutWhere createRelationships(
+		@Nullable OrderableOngoingReadingAndWithWithoutWhere ongoingStatement, Slot slot) {
+
+		RelationshipDescription relationshipDescription = slot.getRequiredRelationship();
+		Node startNode = anyNode(START_NODE_NAME);
+		Node endNode = anyNode(END_NODE_NAME);
+
+		return unwind(ongoingStatement, slot.parameter(RELATIONSHIPS))
+			.with(name(NAME_OF_NODES), name(NAME_OF_IDS),
+				nodeAt(property(NAME_OF_ROW, FROM_INDEX)).as(START_NODE_NAME),
+				nodeAt(property(NAME_OF_ROW, TO_INDEX)).as(END_NODE_NAME))
+			.merge(relationshipDescription.isOutgoing()
+				? startNode.relationshipTo(endNode, relationshipDescription.getType())
+				: startNode.relationshipFrom(endNode, relationshipDescription.getType()))
+			.withDistinct(name(NAME_OF_NODES), name(NAME_OF_IDS));
+	}
+
+	private static StatementBuilder.OngoingReading unwind(
+		@Nullable OrderableOngoingReadingAndWithWithoutWhere ongoingStatement, String nameOfParameter) {
+
+		return (ongoingStatement == null ?
+			Cypher.unwind(parameter(nameOfParameter)) :
+			ongoingStatement.unwind(parameter(nameOfParameter))).as(NAME_OF_ROW);
+	}
+
+	/**
+	 * Each node is collected as a list with a single element, as {@code collect} would skip existing nodes that could
+	 * not be matched and thus change the position of all following nodes. The newly collected nodes are appended in a
+	 * second {@code WITH} clause, as an aggregating expression must not contain the grouping keys.
+	 */
+	private static OrderableOngoingReadingAndWithWithoutWhere collectNodes(boolean first,
+		StatementBuilder.ExposesWith ongoingStatement, String nameOfNode, Expression id) {
+
+		Expression nodes = Functions.collect(listOf(name(nameOfNode)));
+		Expression ids = Functions.collect(id);
+		if (first) {
+			return ongoingStatement.with(nodes.as(NAME_OF_NODES), ids.as(NAME_OF_IDS));
+		}
+
+		String nameOfNewNodes = "__newNodes__";
+		String nameOfNewIds = "__newIds__";
+		return ongoingStatement
+			.with(name(NAME_OF_NODES), name(NAME_OF_IDS), nodes.as(nameOfNewNodes), ids.as(nameOfNewIds))
+			.with(name(NAME_OF_NODES).plus(name(nameOfNewNodes)).as(NAME_OF_NODES),
+				name(NAME_OF_IDS).plus(name(nameOfNewIds)).as(NAME_OF_IDS));
+	}
+
+	private static Expression nodeAt(Expression index) {
+		return valueAt(valueAt(name(NAME_OF_NODES), index), 0);
+	}
+
+	/**
+	 * Collects all nodes and relationships of one or more aggregates by walking the slots of the plan level by level.
+	 * Each distinct instance is written once, regardless of how many relationships lead to it.
+	 */
+	final class Execution {
+
+		private final Map<Object, AssociationBatch.Entity> entitiesByIdentity = new IdentityHashMap<>();
+
+		private final Map<AssociationBatch.Entity, Slot> slotOfEntity = new IdentityHashMap<>();
+
+		private final List<List<AssociationBatch.Entity>> entitiesPerSlot = new ArrayList<>(slots.size());
+
+		private final List<List<AssociationBatch.Entity>> parentsToClearPerSlot = new ArrayList<>(slots.size());
+
+		private final List<List<AssociationBatch.Entity[]>> relationshipsPerSlot = new ArrayList<>(slots.size());
+
+		/**
+		 * The position of each entity in the list of written nodes, computed with the parameters.
+		 */
+		private final Map<AssociationBatch.Entity, Integer> positions = new IdentityHashMap<>();
+
+		/**
+		 * The parts of the statement that have at least one row, computed with the parameters.
+		 */
+		private final BitSet nonEmptyParts = new BitSet(slots.size() * NUMBER_OF_PARTS);
+
+		private List<AssociationBatch.Entity> currentLevel;
+
+		private Execution(Collection<AssociationBatch.Entity> roots) {
+
+			for (int i = 0; i < slots.size(); ++i) {
+				entitiesPerSlot.add(new ArrayList<>());
+				parentsToClearPerSlot.add(new ArrayList<>());
+				relationshipsPerSlot.add(new ArrayList<>());
+			}
+
+			Slot rootSlot = slots.get(0);
+			for (AssociationBatch.Entity root : roots) {
+				entitiesByIdentity.putIfAbsent(root.getValue(), root);
+				slotOfEntity.put(root, rootSlot);
+				entitiesPerSlot.get(rootSlot.index).add(root);
+			}
+			this.currentLevel = new ArrayList<>(roots);
+		}
+
+		/**
+		 * Collects the related entities of the current level, which becomes the next level. The entity callbacks must
+		 * have been applied to the current level before.
+		 *
+		 * @return The entities that have been discovered on the next level, empty when all levels have been collected.
+		 */
+		List<AssociationBatch.Entity> collectNextLevel() {
+
+			List<AssociationBatch.Entity> nextLevel = new ArrayList<>();
+			UnfetchedAssociations unfetchedAssociations = neo4jMappingContext.getUnfetchedAssociations();
+			for (AssociationBatch.Entity parent : currentLevel) {
+
+				Slot slot = slotOfEntity.get(parent);
+				Object parentObject = parent.getValueToBeSaved();
+				PersistentPropertyAccessor<?> propertyAccessor = slot.description.getPropertyAccessor(parentObject);
+				boolean parentIsNew = slot.description.isNew(parentObject);
+
+				for (Slot child : slot.children) {
+					Object value = propertyAccessor.getProperty(child.getRequiredProperty());
+					if (LazyAssociation.isNotLoaded(value)
+						|| unfetchedAssociations.isNotFetched(parent.getValue(), child.getRequiredProperty(), value)) {
+						// Relationships that have never been loaded cannot have been changed
+						continue;
+					}
+
+					if (!parentIsNew) {
+						parentsToClearPerSlot.get(child.index).add(parent);
+					}
+
+					if (value == null) {
+						continue;
+					}
+
+					for (Object relatedValue : Relationships.unifyRelationshipValue(child.getRequiredProperty(), value)) {
+						AssociationBatch.Entity target = entitiesByIdentity.get(relatedValue);
+						if (target == null) {
+							target = AssociationBatch.Entity.of(child.description, relatedValue);
+							entitiesByIdentity.put(relatedValue, target);
+							slotOfEntity.put(target, child);
+							entitiesPerSlot.get(child.index).add(target);
+							nextLevel.add(target);
+						}
+						relationshipsPerSlot.get(child.index).add(new AssociationBatch.Entity[] { parent, target });
+					}
+				}
+			}
+
+			this.currentLevel = nextLevel;
+			return Collections.unmodifiableList(nextLevel);
+		}
+
+		/**
+		 * Must be called after all levels have been collected.
+		 *
+		 * @return The parameters of the statement
+		 */
+		Map<String, Object> getParameters() {
+
+			Map<String, Object> parameters = new HashMap<>();
+			positions.clear();
+			nonEmptyParts.clear();
+
+			for (Slot slot : slots) {
+				Function<Object, Map<String, Object>> binderFunction = neo4jMappingContext
+					.getRequiredBinderFunctionFor((Class) slot.description.getUnderlyingClass());
+				List<AssociationBatch.Entity> newNodes = new ArrayList<>();
+				List<AssociationBatch.Entity> existingNodes = new ArrayList<>();
+				for (AssociationBatch.Entity entity : entitiesPerSlot.get(slot.index)) {
+					(slot.isExisting(entity) ? existingNodes : newNodes).add(entity);
+				}
+
+				addNodes(parameters, slot, NODES, newNodes, binderFunction);
+				addNodes(parameters, slot, EXISTING_NODES, existingNodes, binderFunction);
+			}
+
+			for (Slot slot : slots) {
+				List<Object> rows = new ArrayList<>();
+				for (AssociationBatch.Entity parent : parentsToClearPerSlot.get(slot.index)) {
+					rows.add(positions.get(parent));
+				}
+				addRows(parameters, slot, RELATIONSHIPS_TO_REMOVE, rows);
+			}
+
+			for (Slot slot : slots) {
+				List<Object> rows = new ArrayList<>();
+				for (AssociationBatch.Entity[] relationship : relationshipsPerSlot.get(slot.index)) {
+					Map<String, Object> row = new HashMap<>(2);
+					row.put(FROM_INDEX, positions.get(relationship[0]));
+					row.put(TO_INDEX, positions.get(relationship[1]));
+					rows.add(row);
+				}
+				addRows(parameters, slot, RELATIONSHIPS, rows);
+			}
+			return parameters;
+		}
+
+		private void addNodes(Map<String, Object> parameters, Slot slot, int part,
+			List<AssociationBatch.Entity> entities, Function<Object, Map<String, Object>> binderFunction) {
+
+			List<Object> rows = new ArrayList<>(entities.size());
+			for (AssociationBatch.Entity entity : entities) {
+				positions.put(entity, positions.size());
+				rows.add(binderFunction.apply(entity.getValueToBeSaved()));
+			}
+			addRows(parameters, slot, part, rows);
+		}
+
+		private void addRows(Map<String, Object> parameters, Slot slot, int part, List<Object> rows) {
+
+			if (!rows.isEmpty()) {
+				parameters.put(slot.parameter(part), rows);
+				nonEmptyParts.set(slot.part(part));
+			}
+		}
+
+		/**
+		 * Must be called after {@link #getParameters()}.
+		 *
+		 * @return The Cypher query writing the parameters
+		 */
+		String getCypherQuery() {
+			return AggregateSavePlan.this.getCypherQuery((BitSet) nonEmptyParts.clone());
+		}
+
+		/**
+		 * Assigns the internal ids returned by the statement to all entities using internal ids.
+		 *
+		 * @param record The single record returned by the statement
+		 */
+		void assignInternalIds(Map<String, Object> record) {
+
+			List<?> ids = (List<?>) record.get(NAME_OF_IDS);
+			positions.forEach((entity, position) -> {
+				Neo4jPersistentEntity<?> description = slotOfEntity.get(entity).description;
+				if (!description.isUsingInternalIds()) {
+					return;
+				}
+
+				PersistentPropertyAccessor<?> propertyAccessor = description
+					.getPropertyAccessor(entity.getValueToBeSaved());
+				propertyAccessor.setProperty(description.getRequiredIdProperty(),
+					((Number) ids.get(position)).longValue());
+				entity.setValueToBeSaved(propertyAccessor.getBean());
+			});
+		}
+	}
+
+	private static final class Slot {
+
+		private final int index;
+
+		private final Neo4jPersistentEntity<?> description;
+
+		@Nullable
+		private final Neo4jPersistentProperty property;
+
+		@Nullable
+		private final RelationshipDescription relationship;
+
+		private final List<Slot> children = new ArrayList<>();
+
+		Slot(int index, Neo4jPersistentEntity<?> description, @Nullable Neo4jPersistentProperty property,
+			@Nullable RelationshipDescription relationship) {
+			this.index = index;
+			this.description = description;
+			this.property = property;
+			this.relationship = relationship;
+		}
+
+		int part(int part) {
+			return index * NUMBER_OF_PARTS + part;
+		}
+
+		String parameter(int part) {
+
+			switch (part) {
+				case NODES:
+					return "__entities_" + index + "__";
+				case EXISTING_NODES:
+					return "__existingEntities_" + index + "__";
+				case RELATIONSHIPS_TO_REMOVE:
+					return "__relationshipsToRemove_" + index + "__";
+				default:
+					return "__relationships_" + index + "__";
+			}
+		}
+
+		/**
+		 * Nodes using internal ids that already have an id are updated, all other nodes are created or merged.
+		 */
+		boolean isExisting(AssociationBatch.Entity entity) {
+
+			return description.isUsingInternalIds() && description.getPropertyAccessor(entity.getValueToBeSaved())
+				.getProperty(description.getRequiredIdProperty()) != null;
+		}
+
+		Neo4jPersistentProperty getRequiredProperty() {
+
+			if (property == null) {
+				throw new IllegalStateException("The root of an aggregate is not reached through a property.");
+			}
+			return property;
+		}
+
+		RelationshipDescription getRequiredRelationship() {
+
+			if (relationship == null) {
+				throw new IllegalStateException("The root of an aggregate is not reached through a relationship.");
+			}
+			return relationship;
+		}
+	}
+}
@@ -0,0 +1,700 @@
+/*
+ * Copyright (c) 2019 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.springframework.data.core;
+
+import static org.neo4j.springframework.data.core.schema.CypherGenerator.*;
+import static org.neo4j.springframework.data.core.schema.NodeDescription.*;
+import static org.neo4j.springframework.data.core.schema.RelationshipDescription.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+import org.neo4j.springframework.data.core.mapping.EntitySnapshot;
+import org.neo4j.springframework.data.core.mapping.EntitySnapshots;
+import org.neo4j.springframework.data.core.mapping.LazyAssociation;
+import org.neo4j.springframework.data.core.mapping.Neo4jMappingContext;
+import org.neo4j.springframework.data.core.mapping.Neo4jPersistentEntity;
+import org.neo4j.springframework.data.core.mapping.Neo4jPersistentProperty;
+import org.neo4j.springframework.data.core.mapping.UnfetchedAssociations;
+import org.neo4j.springframework.data.core.schema.RelationshipDescription;
+import org.neo4j.springframework.data.core.support.Relationships;
+import org.springframework.data.mapping.AssociationHandler;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.lang.Nullable;
+
+/**
+ * Collects the related nodes and relationships of one level of one or more aggregates, so that they can be written
+ * with a fixed number of {@code UNWIND} statements instead of two statements per related object:
+ * <ol>
+ * <li>One or two statements per node description of the related nodes, returning their internal ids in order,</li>
+ * <li>one statement per relationship that has to be cleared on parents that are not new and</li>
+ * <li>one statement per relationship (and type for dynamic relationships) that has to be created.</li>
+ * </ol>
+ * The batch doesn't run anything itself, so that it can be used from the imperative and the reactive template alike.
+ * The templates call the entity callbacks for all {@link #getRelatedEntities() related entities} first and then run
+ * the statements in the order given above. The related entities of one level are the parents of the next level.
+ * <p>
+ * All batches of one save operation share the {@link VisitedEntities visited entities} of that operation: An instance
+ * that has already been saved on the same or a previous level is neither saved nor traversed again, but relationships
+ * to it are still created for every reference. This makes sure that cyclic graphs terminate.
+ * <p>
+ * When change tracking is enabled, parents that have a {@link EntitySnapshot snapshot} don't get all their
+ * relationships cleared. Instead only the relationships that are no longer present get removed and only new
+ * relationships get created. Related nodes with a snapshot are only updated with their changed properties or not at
+ * all if nothing changed.
+ *
+ * @author Michael J. Simons
+ * @since 1.0
+ */
+final class AssociationBatch {
+
+	private final Neo4jMappingContext neo4jMappingContext;
+
+	private final Function<Neo4jPersistentEntity<?>, EntityStatements> entityStatements;
+
+	private final Collection<Entity> parents;
+
+	private final VisitedEntities visitedEntities;
+
+	/**
+	 * The ids of the start nodes of relationships to be cleared, grouped by relationship.
+	 */
+	private final Map<RelationshipKey, List<Map<String, Object>>> relationshipsToClear = new LinkedHashMap<>();
+
+	/**
+	 * Associations of parents with a snapshot, needed to compute the relationships that have been removed.
+	 */
+	private final List<TrackedAssociation> trackedAssociations = new ArrayList<>();
+
+	/**
+	 * All related entities, grouped by their node description.
+	 */
+	private final Map<Neo4jPersistentEntity<?>, RelatedNodes> relatedNodes = new LinkedHashMap<>();
+
+	/**
+	 * All current relationships of the parents, grouped by relationship and type.
+	 */
+	private final Map<RelationshipKey, List<PendingRelationship>> relationships = new LinkedHashMap<>();
+
+	/**
+	 * Snapshots of the parents after all statements have been executed, computed on demand.
+	 */
+	@Nullable
+	private Map<Entity, EntitySnapshot> newSnapshots;
+
+	/**
+	 * Collects all associations of the given parents.
+	 *
+	 * @param neo4jMappingContext The mapping context to use
+	 * @param entityStatements    Provides the statements of each entity
+	 * @param parents             The already saved parents
+	 * @param visitedEntities     All entities visited so far in the current save operation
+	 * @return A batch containing all related entities and relationships of the parents
+	 */
+	static AssociationBatch of(Neo4jMappingContext neo4jMappingContext,
+		Function<Neo4jPersistentEntity<?>, EntityStatements> entityStatements, Collection<Entity> parents,
+		VisitedEntities visitedEntities) {
+
+		AssociationBatch associationBatch = new AssociationBatch(neo4jMappingContext, entityStatements, parents,
+			visitedEntities);
+		parents.forEach(visitedEntities::add);
+		parents.forEach(associationBatch::collect);
+		return associationBatch;
+	}
+
+	/**
+	 * Creates a batch of nodes for the roots of one or more aggregates. Roots are not deduplicated.
+	 *
+	 * @param neo4jMappingContext The mapping context to use
+	 * @param entityStatements    The statements of the roots
+	 * @param roots               The roots to save
+	 * @return A batch of nodes for the given roots
+	 */
+	static RelatedNodes nodesOf(Neo4jMappingContext neo4jMappingContext, EntityStatements entityStatements,
+		Collection<Entity> roots) {
+
+		RelatedNodes nodes = new RelatedNodes(neo4jMappingContext, entityStatements);
+		nodes.entities.addAll(roots);
+		return nodes;
+	}
+
+	private AssociationBatch(Neo4jMappingContext neo4jMappingContext,
+		Function<Neo4jPersistentEntity<?>, EntityStatements> entityStatements, Collection<Entity> parents,
+		VisitedEntities visitedEntities) {
+		this.neo4jMappingContext = neo4jMappingContext;
+		this.entityStatements = entityStatements;
+		this.parents = parents;
+		this.visitedEntities = visitedEntities;
+	}
+
+	private void collect(Entity parent) {
+
+		Neo4jPersistentEntity<?> sourceDescription = parent.getDescription();
+		Object parentObject = parent.getValueToBeSaved();
+		UnfetchedAssociations unfetchedAssociations = neo4jMappingContext.getUnfetchedAssociations();
+
+		PersistentPropertyAccessor<?> propertyAccessor = sourceDescription.getPropertyAccessor(parentObject);
+		Object fromId = propertyAccessor.getProperty(sourceDescription.getRequiredIdProperty());
+		boolean parentIsNew = parent.knownToBeNew || sourceDescription.isNew(parentObject);
+
+		sourceDescription.doWithAssociations((AssociationHandler<Neo4jPersistentProperty>) association -> {
+
+			Neo4jPersistentProperty inverse = association.getInverse();
+			RelationshipDescription relationship = (RelationshipDescription) association;
+			Neo4jPersistentEntity<?> targetDescription = (Neo4jPersistentEntity<?>) relationship.getTarget();
+
+			Object value = propertyAccessor.getProperty(inverse);
+			if (LazyAssociation.isNotLoaded(value)
+				|| unfetchedAssociations.isNotFetched(parent.getValue(), inverse, value)) {
+				// Relationships that have never been loaded cannot have been changed
+				return;
+			}
+
+			if (parent.snapshot != null) {
+				trackedAssociations.add(new TrackedAssociation(parent, fromId, relationship));
+			} else if (!parentIsNew) {
+				// remove all relationships before creating all new if the entity is not new
+				// this avoids the usage of cache but might have significant impact on overall performance
+				relationshipsToClear
+					.computeIfAbsent(new RelationshipKey(sourceDescription, relationship, null), k -> new ArrayList<>())
+					.add(Collections.singletonMap(FROM_ID_PARAMETER_NAME, fromId));
+			}
+
+			if (value == null) {
+				return;
+			}
+
+			for (Object relatedValue : Relationships.unifyRelationshipValue(inverse, value)) {
+
+				String dynamicRelationshipType = null;
+				Object relatedEntity = relatedValue;
+				if (relatedValue instanceof Map.Entry) {
+					dynamicRelationshipType = ((Map.Entry<String, ?>) relatedValue).getKey();
+					relatedEntity = ((Map.Entry<String, ?>) relatedValue).getValue();
+				}
+
+				Entity target = visitedEntities.get(relatedEntity);
+				if (target == null) {
+					target = relatedNodes.computeIfAbsent(targetDescription,
+						nodeDescription -> new RelatedNodes(neo4jMappingContext, entityStatements.apply(nodeDescription)))
+						.add(relatedEntity);
+					visitedEntities.add(target);
+				}
+
+				String type = relationship.isDynamic() ? dynamicRelationshipType : relationship.getType();
+				relationships
+					.computeIfAbsent(new RelationshipKey(sourceDescription, relationship, dynamicRelationshipType),
+						k -> new ArrayList<>())
+					.add(new PendingRelationship(parent, fromId, relationship.getFieldName(), type, target));
+			}
+		});
+	}
+
+	/**
+	 * @return All related entities of this level that haven't been visited before, in the order they have been
+	 * discovered.
+	 */
+	List<Entity> getRelatedEntities() {
+
+		List<Entity> relatedEntities = new ArrayList<>();
+		this.relatedNodes.values().forEach(nodes -> relatedEntities.addAll(nodes.entities));
+		return relatedEntities;
+	}
+
+	/**
+	 * @return The related nodes, grouped by their node description.
+	 */
+	Collection<RelatedNodes> getRelatedNodes() {
+		return Collections.unmodifiableCollection(this.relatedNodes.values());
+	}
+
+	/**
+	 * Must be called after all related nodes have been saved, as the relationships to remove from parents with a
+	 * snapshot are identified by the internal ids of the related nodes.
+	 *
+	 * @return The statements removing existing relationships of parents that are not new.
+	 */
+	List<BatchStatement> getRelationshipsToRemove() {
+
+		List<BatchStatement> statements = new ArrayList<>();
+		this.relationshipsToClear.forEach((key, rows) -> {
+			String cypherQuery = entityStatements.apply(key.source).removeRelationships(key.relationship);
+			statements.add(new BatchStatement(cypherQuery, NAME_OF_RELATIONSHIP_LIST_PARAM, rows));
+		});
+
+		Map<RelationshipKey, List<Map<String, Object>>> removedRelationships = new LinkedHashMap<>();
+		for (TrackedAssociation trackedAssociation : trackedAssociations) {
+
+			Entity parent = trackedAssociation.parent;
+			RelationshipDescription relationship = trackedAssociation.relationship;
+			String fieldName = relationship.getFieldName();
+			EntitySnapshot newSnapshot = getNewSnapshots().get(parent);
+
+			parent.snapshot.getRelatedNodeIds(fieldName).forEach((type, relatedNodeIds) -> {
+				for (Long relatedNodeId : relatedNodeIds) {
+					if (newSnapshot != null && newSnapshot.isRelatedTo(fieldName, type, relatedNodeId)) {
+						continue;
+					}
+
+					Map<String, Object> row = new HashMap<>(2);
+					row.put(FROM_ID_PARAMETER_NAME, trackedAssociation.fromId);
+					row.put(TO_ID_PARAMETER_NAME, relatedNodeId);
+
+					RelationshipKey key = new RelationshipKey(parent.getDescription(), relationship,
+						relationship.isDynamic() ? type : null);
+					removedRelationships.computeIfAbsent(key, k -> new ArrayList<>()).add(row);
+				}
+			});
+		}
+
+		removedRelationships.forEach((key, rows) -> {
+			String cypherQuery = entityStatements.apply(key.source)
+				.removeRelationshipsToEndNodes(key.relationship, key.dynamicRelationshipType);
+			statements.add(new BatchStatement(cypherQuery, NAME_OF_RELATIONSHIP_LIST_PARAM, rows));
+		});
+		return statements;
+	}
+
+	/**
+	 * Must be called after all related nodes have been saved, as the rows contain the internal ids of the related nodes.
+	 *
+	 * @return The statements creating the relationships between parents and related nodes.
+	 */
+	List<BatchStatement> getRelationshipsToCreate() {
+
+		List<BatchStatement> statements = new ArrayList<>(this.relationships.size());
+		this.relationships.forEach((key, pendingRelationships) -> {
+			List<Map<String, Object>> rows = new ArrayList<>(pendingRelationships.size());
+			for (PendingRelationship pendingRelationship : pendingRelationships) {
+				if (pendingRelationship.isContainedInSnapshotOfParent()) {
+					continue;
+				}
+
+				Map<String, Object> row = new HashMap<>(2);
+				row.put(FROM_ID_PARAMETER_NAME, pendingRelationship.fromId);
+				row.put(TO_ID_PARAMETER_NAME, pendingRelationship.target.internalId);
+				rows.add(row);
+			}
+
+			if (!rows.isEmpty()) {
+				String cypherQuery = entityStatements.apply(key.source)
+					.createRelationships(key.relationship, key.dynamicRelationshipType);
+				statements.add(new BatchStatement(cypherQuery, NAME_OF_RELATIONSHIP_LIST_PARAM, rows));
+			}
+		});
+		return statements;
+	}
+
+	/**
+	 * Stores new snapshots of all parents of this level if change tracking is enabled. Must be called after all
+	 * statements of this batch have been executed.
+	 */
+	void updateSnapshots() {
+
+		neo4jMappingContext.getEntitySnapshots().ifPresent(entitySnapshots -> getNewSnapshots()
+			.forEach((parent, snapshot) -> entitySnapshots.put(parent.getValueToBeSaved(), snapshot)));
+	}
+
+	/**
+	 * Stores new snapshots of all parents of this level if change tracking is enabled and records them in the given
+	 * scope. Must be called after all statements of this batch have been executed.
+	 *
+	 * @param scope The scope of the ongoing transaction, may be {@literal null} outside a transaction
+	 */
+	void updateSnapshots(@Nullable EntitySnapshots.Scope scope) {
+
+		neo4jMappingContext.getEntitySnapshots().ifPresent(entitySnapshots -> getNewSnapshots()
+			.forEach((parent, snapshot) -> entitySnapshots.put(parent.getValueToBeSaved(), snapshot, scope)));
+	}
+
+	private Map<Entity, EntitySnapshot> getNewSnapshots() {
+
+		if (this.newSnapshots == null) {
+			Map<Entity, EntitySnapshot.Builder> builders = new IdentityHashMap<>();
+			for (Entity parent : this.parents) {
+				if (parent.internalId != null && parent.properties != null) {
+					builders.put(parent, EntitySnapshot.builder(parent.internalId).withProperties(parent.properties));
+				}
+			}
+
+			for (List<PendingRelationship> pendingRelationships : this.relationships.values()) {
+				for (PendingRelationship pendingRelationship : pendingRelationships) {
+					EntitySnapshot.Builder builder = builders.get(pendingRelationship.parent);
+					if (builder == null) {
+						continue;
+					}
+
+					Long relatedNodeId = pendingRelationship.target.internalId;
+					if (relatedNodeId == null) {
+						builder.withUnknownRelatedNode();
+					} else {
+						builder.withRelatedNode(pendingRelationship.fieldName, pendingRelationship.type, relatedNodeId);
+					}
+				}
+			}
+
+			this.newSnapshots = new IdentityHashMap<>();
+			builders.forEach((parent, builder) -> {
+				if (builder.isComplete()) {
+					this.newSnapshots.put(parent, builder.build());
+				}
+			});
+		}
+		return this.newSnapshots;
+	}
+
+	/**
+	 * An entity together with its description. The instance that is actually saved may differ from the original value
+	 * when entity callbacks return new instances or when generated ids are assigned to immutable entities.
+	 */
+	static final class Entity {
+
+		private final Neo4jPersistentEntity<?> description;
+
+		private final Object value;
+
+		private Object valueToBeSaved;
+
+		/**
+		 * Whether the entity has been known to be new before any callbacks have been applied.
+		 */
+		private final boolean knownToBeNew;
+
+		/**
+		 * The snapshot of this entity, if change tracking is enabled and the entity has been loaded or saved before.
+		 */
+		@Nullable
+		private EntitySnapshot snapshot;
+
+		/**
+		 * The converted properties as they have been written.
+		 */
+		@Nullable
+		private Map<String, Object> properties;
+
+		@Nullable
+		private Long internalId;
+
+		static Entity of(Neo4jPersistentEntity<?> description, Object savedValue) {
+			return new Entity(description, savedValue);
+		}
+
+		private Entity(Neo4jPersistentEntity<?> description, Object value) {
+			this.description = description;
+			this.value = value;
+			this.valueToBeSaved = value;
+			this.knownToBeNew = description.isKnownToBeNew(value);
+		}
+
+		Neo4jPersistentEntity<?> getDescription() {
+			return description;
+		}
+
+		Object getValue() {
+			return value;
+		}
+
+		Object getValueToBeSaved() {
+			return valueToBeSaved;
+		}
+
+		void setValueToBeSaved(Object valueToBeSaved) {
+			this.valueToBeSaved = valueToBeSaved;
+		}
+
+		void setInternalId(Long internalId) {
+			this.internalId = internalId;
+		}
+	}
+
+	/**
+	 * The entities visited during one save operation, identified by the instances that have been passed to the
+	 * operation or that have been found in an association. Identity is used on purpose: Two equal instances may still
+	 * describe two different nodes.
+	 */
+	static final class VisitedEntities {
+
+		private final Map<Object, Entity> entitiesByIdentity = new IdentityHashMap<>();
+
+		/**
+		 * Marks an entity as visited. The entity is registered both under its original value and under the value that
+		 * is actually saved.
+		 *
+		 * @param entity The entity to mark as visited
+		 */
+		void add(Entity entity) {
+
+			entitiesByIdentity.putIfAbsent(entity.value, entity);
+			entitiesByIdentity.putIfAbsent(entity.valueToBeSaved, entity);
+		}
+
+		/**
+		 * @param value An instance of a domain object
+		 * @return The entity visited for the given instance or {@literal null} if the instance hasn't been visited yet
+		 */
+		@Nullable
+		Entity get(Object value) {
+			return entitiesByIdentity.get(value);
+		}
+	}
+
+	/**
+	 * All entities of one node description that are saved on the current level. The {@link VisitedEntities} of the
+	 * save operation make sure that no instance is contained twice.
+	 */
+	static final class RelatedNodes {
+
+		private final Neo4jMappingContext neo4jMappingContext;
+
+		private final EntityStatements entityStatements;
+
+		private final Neo4jPersistentEntity<?> nodeDescription;
+
+		private final List<Entity> entities = new ArrayList<>();
+
+		RelatedNodes(Neo4jMappingContext neo4jMappingContext, EntityStatements entityStatements) {
+			this.neo4jMappingContext = neo4jMappingContext;
+			this.entityStatements = entityStatements;
+			this.nodeDescription = entityStatements.getEntity();
+		}
+
+		private Entity add(Object relatedValue) {
+
+			Entity entity = new Entity(nodeDescription, relatedValue);
+			entities.add(entity);
+			return entity;
+		}
+
+		/**
+		 * Must be called after the entity callbacks have been applied. Entities without a snapshot are saved with their
+		 * complete set of properties, entities with a snapshot are updated with their changed properties only. Entities
+		 * that didn't change at all are not written. Entities known to be new are created without looking for existing
+		 * nodes, unless the mapping context is configured to always merge them.
+		 *
+		 * @return The statements saving the entities of this node description, each row containing its position
+		 */
+		List<BatchStatement> getStatements() {
+
+			Function<Object, Map<String, Object>> binderFunction = neo4jMappingContext
+				.getRequiredBinderFunctionFor((Class) nodeDescription.getUnderlyingClass());
+			EntitySnapshots entitySnapshots = neo4jMappingContext.getEntitySnapshots().orElse(null);
+
+			List<Map<String, Object>> rowsToCreate = new ArrayList<>();
+			List<Map<String, Object>> rowsToSave = new ArrayList<>();
+			List<Map<String, Object>> rowsToUpdate = new ArrayList<>();
+			for (int i = 0; i < entities.size(); ++i) {
+				Entity entity = entities.get(i);
+				Map<String, Object> row = binderFunction.apply(entity.valueToBeSaved);
+				entity.properties = (Map<String, Object>) row.get(NAME_OF_PROPERTIES_PARAM);
+				entity.snapshot = entitySnapshots == null ? null : getApplicableSnapshot(entitySnapshots, entity, row);
+
+				if (entity.snapshot == null) {
+					row.put(NAME_OF_INDEX_PARAM, i);
+					if (neo4jMappingContext.shouldCreate(nodeDescription, entity.knownToBeNew)) {
+						rowsToCreate.add(row);
+					} else {
+						rowsToSave.add(row);
+					}
+					continue;
+				}
+
+				entity.internalId = entity.snapshot.getInternalId();
+				Map<String, Object> changedProperties = entity.snapshot.getChangedProperties(entity.properties);
+				if (!changedProperties.isEmpty()) {
+					Map<String, Object> changedRow = new HashMap<>(3);
+					changedRow.put(NAME_OF_INTERNAL_ID, entity.internalId);
+					changedRow.put(NAME_OF_PROPERTIES_PARAM, changedProperties);
+					changedRow.put(NAME_OF_INDEX_PARAM, i);
+					rowsToUpdate.add(changedRow);
+				}
+			}
+
+			List<BatchStatement> statements = new ArrayList<>(3);
+			if (!rowsToCreate.isEmpty()) {
+				statements.add(new BatchStatement(entityStatements.createAll(),
+					NAME_OF_ENTITY_LIST_PARAM, rowsToCreate));
+			}
+			if (!rowsToSave.isEmpty()) {
+				statements.add(new BatchStatement(entityStatements.saveAll(),
+					NAME_OF_ENTITY_LIST_PARAM, rowsToSave));
+			}
+			if (!rowsToUpdate.isEmpty()) {
+				statements.add(new BatchStatement(entityStatements.updateAll(),
+					NAME_OF_ENTITY_LIST_PARAM, rowsToUpdate));
+			}
+			return statements;
+		}
+
+		/**
+		 * A snapshot is only applicable as long as it describes the same node, that is: As long as the id of the entity
+		 * has not been changed since the snapshot has been taken.
+		 */
+		@Nullable
+		private EntitySnapshot getApplicableSnapshot(EntitySnapshots entitySnapshots, Entity entity,
+			Map<String, Object> row) {
+
+			EntitySnapshot snapshot = entitySnapshots.get(entity.value);
+			if (snapshot == null) {
+				return null;
+			}
+
+			Object id = row.get(NAME_OF_ID_PARAM);
+			boolean sameNode = nodeDescription.isUsingInternalIds() ?
+				id instanceof Number && ((Number) id).longValue() == snapshot.getInternalId() :
+				!snapshot.getChangedProperties(entity.properties)
+					.containsKey(nodeDescription.getRequiredIdProperty().getPropertyName());
+			return sameNode ? snapshot : null;
+		}
+
+		/**
+		 * Assigns the internal ids returned by one of the {@link #getStatements() save statements} to the entities.
+		 *
+		 * @param records The records returned by the save statement
+		 */
+		void assignInternalIds(Collection<Map<String, Object>> records) {
+
+			for (Map<String, Object> record : records) {
+				Entity entity = entities.get(((Number) record.get(NAME_OF_INDEX_PARAM)).intValue());
+				entity.internalId = ((Number) record.get(NAME_OF_INTERNAL_ID)).longValue();
+
+				// if an internal id is used this must get set to link this entity in the next level
+				if (nodeDescription.isUsingInternalIds()) {
+					PersistentPropertyAccessor<?> propertyAccessor = nodeDescription
+						.getPropertyAccessor(entity.valueToBeSaved);
+					propertyAccessor.setProperty(nodeDescription.getRequiredIdProperty(), entity.internalId);
+					entity.valueToBeSaved = propertyAccessor.getBean();
+				}
+			}
+		}
+	}
+
+	/**
+	 * A rendered statement together with the rows it unwinds.
+	 */
+	static final class BatchStatement {
+
+		private final String cypherQuery;
+
+		private final String nameOfParameter;
+
+		private final List<Map<String, Object>> rows;
+
+		BatchStatement(String cypherQuery, String nameOfParameter, List<Map<String, Object>> rows) {
+			this.cypherQuery = cypherQuery;
+			this.nameOfParameter = nameOfParameter;
+			this.rows = rows;
+		}
+
+		String getCypherQuery() {
+			return cypherQuery;
+		}
+
+		String getNameOfParameter() {
+			return nameOfParameter;
+		}
+
+		List<Map<String, Object>> getRows() {
+			return rows;
+		}
+	}
+
+	private static final class PendingRelationship {
+
+		private final Entity parent;
+
+		private final Object fromId;
+
+		private final String fieldName;
+
+		private final String type;
+
+		private final Entity target;
+
+		PendingRelationship(Entity parent, Object fromId, String fieldName, String type, Entity target) {
+			this.parent = parent;
+			this.fromId = fromId;
+			this.fieldName = fieldName;
+			this.type = type;
+			this.target = target;
+		}
+
+		boolean isContainedInSnapshotOfParent() {
+			return parent.snapshot != null && target.internalId != null
+				&& parent.snapshot.isRelatedTo(fieldName, type, target.internalId);
+		}
+	}
+
+	private static final class TrackedAssociation {
+
+		private final Entity parent;
+
+		private final Object fromId;
+
+		private final RelationshipDescription relationship;
+
+		TrackedAssociation(Entity parent, Object fromId, RelationshipDescription relationship) {
+			this.parent = parent;
+			this.fromId = fromId;
+			this.relationship = relationship;
+		}
+	}
+
+	private static final class RelationshipKey {
+
+		private final Neo4jPersistentEntity<?> source;
+
+		private final RelationshipDescription relationship;
+
+		@Nullable
+		private final String dynamicRelationshipType;
+
+		RelationshipKey(Neo4jPersistentEntity<?> source, RelationshipDescription relationship,
+			@Nullable String dynamicRelationshipType) {
+			this.source = source;
+			this.relationship = relationship;
+			this.dynamicRelationshipType = dynamicRelationshipType;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof RelationshipKey)) {
+				return false;
+			}
+			RelationshipKey that = (RelationshipKey) o;
+			return source.equals(that.source) && relationship.equals(that.relationship)
+				&& Objects.equals(dynamicRelationshipType, that.dynamicRelationshipType);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(source, relationship, dynamicRelationshipType);
+		}
+	}
+}
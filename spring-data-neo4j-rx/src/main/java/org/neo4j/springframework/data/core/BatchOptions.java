@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2019 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.springframework.data.core;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.apiguardian.api.API;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Describes how a stream of entities is split into batches when saved through
+ * {@link ReactiveNeo4jOperations#saveAll(org.reactivestreams.Publisher, BatchOptions)}: A batch is sent when it
+ * reached its maximum size or, if configured, when the maximum time to wait for more entities elapsed. Only a bounded
+ * number of batches is in flight at the same time.
+ * <p>
+ * Running more than one batch at the same time is only possible without an ongoing transaction, as a transaction
+ * cannot execute queries concurrently.
+ *
+ * @author Michael J. Simons
+ * @since 1.0
+ */
+@API(status = API.Status.STABLE, since = "1.0")
+public final class BatchOptions {
+
+	/**
+	 * The default maximum number of entities in one batch.
+	 */
+	public static final int DEFAULT_MAX_BATCH_SIZE = 1_000;
+
+	private static final BatchOptions DEFAULTS = new BatchOptions(DEFAULT_MAX_BATCH_SIZE, null, 1);
+
+	private final int maxBatchSize;
+
+	private final @Nullable Duration maxWaitTime;
+
+	private final int maxConcurrentBatches;
+
+	/**
+	 * @return Batches of {@link #DEFAULT_MAX_BATCH_SIZE} entities without time limit, running one after another.
+	 */
+	public static BatchOptions defaults() {
+		return DEFAULTS;
+	}
+
+	/**
+	 * @param maxBatchSize The maximum number of entities in one batch
+	 * @return Batches of the given size without time limit, running one after another.
+	 */
+	public static BatchOptions ofSize(int maxBatchSize) {
+		return new BatchOptions(maxBatchSize, null, 1);
+	}
+
+	private BatchOptions(int maxBatchSize, @Nullable Duration maxWaitTime, int maxConcurrentBatches) {
+
+		Assert.isTrue(maxBatchSize > 0, "The maximum batch size must be greater than 0.");
+		Assert.isTrue(maxWaitTime == null || !(maxWaitTime.isNegative() || maxWaitTime.isZero()),
+			"The maximum time to wait for a batch must be positive.");
+		Assert.isTrue(maxConcurrentBatches > 0, "The maximum number of concurrent batches must be greater than 0.");
+
+		this.maxBatchSize = maxBatchSize;
+		this.maxWaitTime = maxWaitTime;
+		this.maxConcurrentBatches = maxConcurrentBatches;
+	}
+
+	/**
+	 * @param newMaxWaitTime The maximum time to wait for a batch to fill up before it is sent
+	 * @return New options, sending incomplete batches after the given time
+	 */
+	public BatchOptions withMaxWaitTime(Duration newMaxWaitTime) {
+
+		Assert.notNull(newMaxWaitTime, "The maximum time to wait for a batch is required.");
+		return new BatchOptions(this.maxBatchSize, newMaxWaitTime, this.maxConcurrentBatches);
+	}
+
+	/**
+	 * @param newMaxConcurrentBatches The maximum number of batches being saved at the same time
+	 * @return New options with the given concurrency
+	 */
+	public BatchOptions withMaxConcurrentBatches(int newMaxConcurrentBatches) {
+		return new BatchOptions(this.maxBatchSize, this.maxWaitTime, newMaxConcurrentBatches);
+	}
+
+	public int getMaxBatchSize() {
+		return maxBatchSize;
+	}
+
+	public Optional<Duration> getMaxWaitTime() {
+		return Optional.ofNullable(maxWaitTime);
+	}
+
+	public int getMaxConcurrentBatches() {
+		return maxConcurrentBatches;
+	}
+
+	@Override
+	public String toString() {
+		return "BatchOptions{" +
+			"maxBatchSize=" + maxBatchSize +
+			", maxWaitTime=" + maxWaitTime +
+			", maxConcurrentBatches=" + maxConcurrentBatches +
+			'}';
+	}
+}
@@ -28,22 +28,36 @@ import java.lang.invoke.MethodHandles;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import org.neo4j.driver.Driver;
 import org.neo4j.driver.QueryRunner;
 import org.neo4j.driver.Record;
 import org.neo4j.driver.Result;
 import org.neo4j.driver.Session;
+import org.neo4j.driver.Transaction;
+import org.neo4j.driver.async.AsyncQueryRunner;
+import org.neo4j.driver.async.AsyncSession;
+import org.neo4j.driver.async.AsyncTransaction;
+import org.neo4j.driver.async.ResultCursor;
 import org.neo4j.driver.summary.ResultSummary;
 import org.neo4j.driver.types.TypeSystem;
 import org.neo4j.springframework.data.core.convert.Neo4jConversions;
+import org.neo4j.springframework.data.core.mapping.Neo4jMappingFunction;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.converter.ConverterRegistry;
 import org.springframework.core.convert.support.DefaultConversionService;
@@ -141,6 +155,11 @@ class DefaultNeo4jClient implements Neo4jClient {
 		return new DefaultRunnableDelegation<>(callback);
 	}
 
+	@Override
+	public BatchSpec batch() {
+		return new DefaultBatchSpec();
+	}
+
 	/**
 	 * Basically a holder of a cypher template supplier and a set of named parameters. It's main purpose is to
 	 * orchestrate the running of things with a bit of logging.
@@ -160,7 +179,15 @@ class DefaultNeo4jClient implements Neo4jClient {
 
 		private final NamedParameters parameters;
 
-		protected final Result runWith(AutoCloseableQueryRunner statementRunner) {
+		protected final Result runWith(QueryRunner statementRunner) {
+			return statementRunner.run(getStatementTemplate(), parameters.get());
+		}
+
+		protected final CompletionStage<ResultCursor> runWith(AsyncQueryRunner statementRunner) {
+			return statementRunner.runAsync(getStatementTemplate(), parameters.get());
+		}
+
+		private String getStatementTemplate() {
 			String statementTemplate = cypherSupplier.get();
 
 			if (cypherLog.isDebugEnabled()) {
@@ -171,7 +198,7 @@ class DefaultNeo4jClient implements Neo4jClient {
 				}
 			}
 
-			return statementRunner.run(statementTemplate, parameters.get());
+			return statementTemplate;
 		}
 	}
 
@@ -305,12 +332,232 @@ class DefaultNeo4jClient implements Neo4jClient {
 			}
 		}
 
+		@Override
+		public Stream<T> stream() {
+
+			AutoCloseableQueryRunner statementRunner = getQueryRunner(this.targetDatabase);
+			try {
+				Result result = runnableStatement.runWith(statementRunner);
+				return result.stream().map(partialMappingFunction(typeSystem)).onClose(statementRunner::close);
+			} catch (RuntimeException e) {
+				statementRunner.close();
+				throw e;
+			}
+		}
+
 		/**
 		 * @param typeSystem The actual type system
-		 * @return The partially evaluated mapping function
+		 * @return The partially evaluated mapping function, scoped to one query
 		 */
 		private Function<Record, T> partialMappingFunction(TypeSystem typeSystem) {
-			return r -> mappingFunction.apply(typeSystem, r);
+
+			BiFunction<TypeSystem, Record, T> mappingFunctionForOneQuery = Neo4jMappingFunction
+				.forOneQuery(mappingFunction);
+			return r -> mappingFunctionForOneQuery.apply(typeSystem, r);
+		}
+	}
+
+	class DefaultBatchSpec implements BatchSpec {
+
+		private final List<BatchedStatement<?>> statements = new ArrayList<>();
+
+		@Nullable private String targetDatabase;
+
+		@Override
+		public BatchSpec in(@Nullable @SuppressWarnings("HiddenField") String targetDatabase) {
+
+			this.targetDatabase = verifyDatabaseName(targetDatabase);
+			return this;
+		}
+
+		@Override
+		public BatchSpec add(String cypher) {
+			return add(cypher, Collections.emptyMap());
+		}
+
+		@Override
+		public BatchSpec add(String cypher, Map<String, Object> parameters) {
+
+			this.statements.add(new BatchedStatement<>(cypher, parameters, null));
+			return this;
+		}
+
+		@Override
+		public <T> BatchSpec add(String cypher, Map<String, Object> parameters,
+			BiFunction<TypeSystem, Record, T> mappingFunction) {
+
+			Assert.notNull(mappingFunction, "Mapping function is required.");
+
+			this.statements.add(new BatchedStatement<>(cypher, parameters,
+				new DelegatingMappingFunctionWithNullCheck<>(mappingFunction)));
+			return this;
+		}
+
+		@Override
+		public BatchResults execute() {
+
+			if (this.statements.isEmpty()) {
+				return new DefaultBatchResults(Collections.emptyList());
+			}
+
+			Transaction ongoingTransaction = retrieveTransaction(driver, this.targetDatabase);
+			if (ongoingTransaction != null) {
+				return executeIn(ongoingTransaction);
+			}
+
+			AsyncSession session = driver.asyncSession(defaultSessionConfig(this.targetDatabase));
+			try {
+				return new DefaultBatchResults(blockingGet(session.beginTransactionAsync()
+					.thenCompose(this::executeAndCommit)));
+			} finally {
+				blockingGet(session.closeAsync());
+			}
+		}
+
+		/**
+		 * An ongoing transaction is only available through the blocking api. Running a query on it doesn't wait for the
+		 * response of the server, so all queries are still sent at once before the first result is fetched.
+		 */
+		private BatchResults executeIn(Transaction transaction) {
+
+			List<Result> results = new ArrayList<>(this.statements.size());
+			for (BatchedStatement<?> statement : this.statements) {
+				results.add(statement.runWith(transaction));
+			}
+
+			List<StatementResult<?>> statementResults = new ArrayList<>(results.size());
+			for (int i = 0; i < results.size(); ++i) {
+				statementResults.add(this.statements.get(i).fetch(results.get(i)));
+			}
+			return new DefaultBatchResults(statementResults);
+		}
+
+		private CompletionStage<List<StatementResult<?>>> executeAndCommit(AsyncTransaction transaction) {
+
+			List<CompletableFuture<? extends StatementResult<?>>> pendingResults = new ArrayList<>(
+				this.statements.size());
+			for (BatchedStatement<?> statement : this.statements) {
+				pendingResults.add(statement.runWith(transaction).toCompletableFuture());
+			}
+
+			return CompletableFuture.allOf(pendingResults.toArray(new CompletableFuture[0]))
+				.thenApply(v -> pendingResults.stream().<StatementResult<?>>map(CompletableFuture::join)
+					.collect(toList()))
+				.handle((results, error) -> error == null ?
+					transaction.commitAsync().thenApply(v -> results) :
+					transaction.rollbackAsync().<List<StatementResult<?>>>handle((v, ignored) -> {
+						throw error instanceof CompletionException ?
+							(CompletionException) error :
+							new CompletionException(error);
+					}))
+				.thenCompose(Function.identity());
+		}
+	}
+
+	/**
+	 * A query of a batch together with the optional function mapping its records.
+	 *
+	 * @param <T> The type of the mapped records
+	 */
+	class BatchedStatement<T> {
+
+		private final RunnableStatement runnableStatement;
+
+		@Nullable
+		private final BiFunction<TypeSystem, Record, T> mappingFunction;
+
+		BatchedStatement(String cypher, Map<String, Object> parameters,
+			@Nullable BiFunction<TypeSystem, Record, T> mappingFunction) {
+
+			NamedParameters namedParameters = new NamedParameters();
+			namedParameters.addAll(parameters);
+
+			this.runnableStatement = new RunnableStatement(() -> cypher, namedParameters);
+			this.mappingFunction = mappingFunction;
+		}
+
+		Result runWith(QueryRunner statementRunner) {
+			return this.runnableStatement.runWith(statementRunner);
+		}
+
+		StatementResult<T> fetch(Result result) {
+
+			List<T> records = this.mappingFunction == null ?
+				Collections.emptyList() :
+				result.list(record -> this.mappingFunction.apply(typeSystem, record));
+			return new StatementResult<>(result.consume(), records);
+		}
+
+		CompletionStage<StatementResult<T>> runWith(AsyncQueryRunner statementRunner) {
+
+			return this.runnableStatement.runWith(statementRunner).thenCompose(cursor -> {
+				CompletionStage<List<T>> records = this.mappingFunction == null ?
+					CompletableFuture.completedFuture(Collections.emptyList()) :
+					cursor.listAsync(record -> this.mappingFunction.apply(typeSystem, record));
+				return records.thenCompose(
+					mappedRecords -> cursor.consumeAsync().thenApply(summary -> new StatementResult<>(summary, mappedRecords)));
+			});
+		}
+	}
+
+	static final class StatementResult<T> {
+
+		private final ResultSummary summary;
+
+		private final List<T> records;
+
+		StatementResult(ResultSummary summary, List<T> records) {
+			this.summary = summary;
+			this.records = records;
+		}
+	}
+
+	static final class DefaultBatchResults implements BatchResults {
+
+		private final List<StatementResult<?>> results;
+
+		DefaultBatchResults(List<StatementResult<?>> results) {
+			this.results = results;
+		}
+
+		@Override
+		public int size() {
+			return this.results.size();
+		}
+
+		@Override
+		public ResultSummary getSummary(int index) {
+			return this.results.get(index).summary;
+		}
+
+		@Override
+		public <T> List<T> getResults(int index) {
+			return (List<T>) Collections.unmodifiableList(this.results.get(index).records);
+		}
+	}
+
+	/**
+	 * Waits for the given stage to complete and rethrows the original exception if it failed.
+	 */
+	private static <T> T blockingGet(CompletionStage<T> stage) {
+
+		try {
+			return stage.toCompletableFuture().get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for the results of a batch.", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			while (cause instanceof CompletionException && cause.getCause() != null) {
+				cause = cause.getCause();
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException(cause);
 		}
 	}
 
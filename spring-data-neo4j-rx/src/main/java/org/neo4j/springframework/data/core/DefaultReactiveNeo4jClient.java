@@ -39,6 +39,7 @@ import org.neo4j.driver.summary.ResultSummary;
 import org.neo4j.driver.types.TypeSystem;
 import org.neo4j.springframework.data.core.Neo4jClient.*;
 import org.neo4j.springframework.data.core.convert.Neo4jConversions;
+import org.neo4j.springframework.data.core.mapping.Neo4jMappingFunction;
 import org.reactivestreams.Publisher;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.converter.ConverterRegistry;
@@ -237,7 +238,12 @@ class DefaultReactiveNeo4jClient implements ReactiveNeo4jClient {
 
 		Flux<T> executeWith(Tuple2<String, Map<String, Object>> t, RxQueryRunner runner) {
 
-			return Flux.from(runner.run(t.getT1(), t.getT2()).records()).map(r -> mappingFunction.apply(typeSystem, r));
+			return Flux.defer(() -> {
+				BiFunction<TypeSystem, Record, T> mappingFunctionForOneQuery = Neo4jMappingFunction
+					.forOneQuery(mappingFunction);
+				return Flux.from(runner.run(t.getT1(), t.getT2()).records())
+					.map(r -> mappingFunctionForOneQuery.apply(typeSystem, r));
+			});
 		}
 
 		@Override
@@ -22,6 +22,9 @@ import java.util.function.BiFunction;
 
 import org.neo4j.driver.Record;
 import org.neo4j.driver.types.TypeSystem;
+import org.neo4j.springframework.data.core.mapping.EntitySnapshots;
+import org.neo4j.springframework.data.core.mapping.Neo4jMappingFunction;
+import org.neo4j.springframework.data.core.mapping.RelatedEntitiesLoader;
 
 /**
  * A delegating mapping function that first calls the delegate to get a record map and than checks the returned
@@ -35,7 +38,7 @@ import org.neo4j.driver.types.TypeSystem;
  * @soundtrack Manowar - Fighting The World
  * @since 1.0
  */
-class DelegatingMappingFunctionWithNullCheck<T> implements BiFunction<TypeSystem, Record, T> {
+class DelegatingMappingFunctionWithNullCheck<T> implements Neo4jMappingFunction<T> {
 
 	BiFunction<TypeSystem, Record, T> delegate;
 
@@ -52,4 +55,29 @@ class DelegatingMappingFunctionWithNullCheck<T> implements BiFunction<TypeSystem
 		}
 		return t;
 	}
+
+	@Override
+	public BiFunction<TypeSystem, Record, T> forOneQuery() {
+
+		BiFunction<TypeSystem, Record, T> delegateForOneQuery = Neo4jMappingFunction.forOneQuery(delegate);
+		return delegateForOneQuery == delegate ? this : new DelegatingMappingFunctionWithNullCheck<>(delegateForOneQuery);
+	}
+
+	@Override
+	public Neo4jMappingFunction<T> withRelatedEntitiesLoader(RelatedEntitiesLoader relatedEntitiesLoader) {
+
+		return delegate instanceof Neo4jMappingFunction ?
+			new DelegatingMappingFunctionWithNullCheck<>(
+				((Neo4jMappingFunction<T>) delegate).withRelatedEntitiesLoader(relatedEntitiesLoader)) :
+			this;
+	}
+
+	@Override
+	public Neo4jMappingFunction<T> withSnapshotScope(EntitySnapshots.Scope snapshotScope) {
+
+		return delegate instanceof Neo4jMappingFunction ?
+			new DelegatingMappingFunctionWithNullCheck<>(
+				((Neo4jMappingFunction<T>) delegate).withSnapshotScope(snapshotScope)) :
+			this;
+	}
 }
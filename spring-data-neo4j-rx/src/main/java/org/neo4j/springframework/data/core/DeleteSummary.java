@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2019 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.springframework.data.core;
+
+import org.apiguardian.api.API;
+import org.neo4j.driver.summary.SummaryCounters;
+
+/**
+ * The aggregated counters of a delete operation that has been executed in several batches, for example by
+ * {@link Neo4jOperations#deleteAll(Class, int)}.
+ *
+ * @author Michael J. Simons
+ * @since 1.0
+ */
+@API(status = API.Status.STABLE, since = "1.0")
+public final class DeleteSummary {
+
+	private static final DeleteSummary EMPTY = new DeleteSummary(0, 0, 0);
+
+	private final int batches;
+
+	private final long nodesDeleted;
+
+	private final long relationshipsDeleted;
+
+	/**
+	 * @return A summary of a delete operation that hasn't executed any batch yet.
+	 */
+	public static DeleteSummary empty() {
+		return EMPTY;
+	}
+
+	private DeleteSummary(int batches, long nodesDeleted, long relationshipsDeleted) {
+		this.batches = batches;
+		this.nodesDeleted = nodesDeleted;
+		this.relationshipsDeleted = relationshipsDeleted;
+	}
+
+	/**
+	 * @param counters The counters of one additional batch
+	 * @return A new summary containing the counters of the additional batch
+	 */
+	public DeleteSummary add(SummaryCounters counters) {
+
+		return new DeleteSummary(this.batches + 1, this.nodesDeleted + counters.nodesDeleted(),
+			this.relationshipsDeleted + counters.relationshipsDeleted());
+	}
+
+	/**
+	 * @return The number of batches that have been executed
+	 */
+	public int getBatches() {
+		return batches;
+	}
+
+	/**
+	 * @return The total number of deleted nodes
+	 */
+	public long getNodesDeleted() {
+		return nodesDeleted;
+	}
+
+	/**
+	 * @return The total number of deleted relationships
+	 */
+	public long getRelationshipsDeleted() {
+		return relationshipsDeleted;
+	}
+
+	@Override
+	public String toString() {
+		return "DeleteSummary{" +
+			"batches=" + batches +
+			", nodesDeleted=" + nodesDeleted +
+			", relationshipsDeleted=" + relationshipsDeleted +
+			'}';
+	}
+}
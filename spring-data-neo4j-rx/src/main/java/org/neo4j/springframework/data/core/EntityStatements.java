@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2019 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.springframework.data.core;
+
+import static org.neo4j.springframework.data.core.cypher.Cypher.*;
+import static org.neo4j.springframework.data.core.schema.NodeDescription.*;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.neo4j.springframework.data.core.cypher.Functions;
+import org.neo4j.springframework.data.core.cypher.Statement;
+import org.neo4j.springframework.data.core.cypher.renderer.Renderer;
+import org.neo4j.springframework.data.core.mapping.Neo4jPersistentEntity;
+import org.neo4j.springframework.data.core.schema.CypherGenerator;
+import org.neo4j.springframework.data.core.schema.NodeDescription;
+import org.neo4j.springframework.data.core.schema.RelationshipDescription;
+import org.springframework.lang.Nullable;
+
+/**
+ * The statements of one entity that don't depend on the values they are used with. All ids and properties are passed
+ * as parameters, so that every statement has exactly one Cypher text that the server can plan once. Each statement is
+ * built and rendered only once, when it is needed for the first time.
+ * <p>
+ * Statements of dynamic relationships are cached per relationship type. Once {@link #MAX_NUMBER_OF_STATEMENTS} is
+ * reached, further statements are rendered each time they are needed.
+ *
+ * @author Michael J. Simons
+ * @since 1.0
+ */
+final class EntityStatements {
+
+	static final int MAX_NUMBER_OF_STATEMENTS = 256;
+
+	private static final Renderer renderer = Renderer.getDefaultRenderer();
+
+	private final CypherGenerator cypherGenerator = CypherGenerator.INSTANCE;
+
+	private final Neo4jPersistentEntity<?> entity;
+
+	private final Map<Object, String> cypherQueries = new ConcurrentHashMap<>();
+
+	EntityStatements(Neo4jPersistentEntity<?> entity) {
+		this.entity = entity;
+	}
+
+	Neo4jPersistentEntity<?> getEntity() {
+		return entity;
+	}
+
+	/**
+	 * @return A statement counting all nodes of the entity.
+	 */
+	String count() {
+		return cypherQuery("count", () -> cypherGenerator.prepareMatchOf(entity)
+			.returning(Functions.count(asterisk())).build());
+	}
+
+	/**
+	 * @return A statement counting the nodes with the id given as {@link NodeDescription#NAME_OF_ID_PARAM}.
+	 */
+	String existsById() {
+		return cypherQuery("existsById", () -> cypherGenerator
+			.prepareMatchOf(entity, entity.getIdExpression().isEqualTo(parameter(NAME_OF_ID_PARAM)))
+			.returning(Functions.count(asterisk())).build());
+	}
+
+	/**
+	 * @param fetchDepth The number of relationships to fetch
+	 * @return A statement returning all nodes of the entity.
+	 */
+	String findAll(int fetchDepth) {
+		return cypherQuery(Arrays.asList("findAll", fetchDepth), () -> cypherGenerator.prepareMatchOf(entity)
+			.returning(cypherGenerator.createReturnStatementForMatch(entity, fetchDepth)).build());
+	}
+
+	/**
+	 * @param fetchDepth The number of relationships to fetch
+	 * @return A statement returning the node with the id given as {@link NodeDescription#NAME_OF_ID_PARAM}.
+	 */
+	String findById(int fetchDepth) {
+		return cypherQuery(Arrays.asList("findById", fetchDepth), () -> cypherGenerator
+			.prepareMatchOf(entity, entity.getIdExpression().isEqualTo(parameter(NAME_OF_ID_PARAM)))
+			.returning(cypherGenerator.createReturnStatementForMatch(entity, fetchDepth)).build());
+	}
+
+	/**
+	 * @param fetchDepth The number of relationships to fetch
+	 * @return A statement returning the nodes with the ids given as {@link NodeDescription#NAME_OF_IDS_PARAM}.
+	 */
+	String findAllById(int fetchDepth) {
+		return cypherQuery(Arrays.asList("findAllById", fetchDepth), () -> cypherGenerator
+			.prepareMatchOf(entity, entity.getIdExpression().in(parameter(NAME_OF_IDS_PARAM)))
+			.returning(cypherGenerator.createReturnStatementForMatch(entity, fetchDepth)).build());
+	}
+
+	/**
+	 * @return A statement deleting the node with the id given as {@link NodeDescription#NAME_OF_ID_PARAM}.
+	 */
+	String deleteById() {
+		return cypherQuery("deleteById", () -> cypherGenerator
+			.prepareDeleteOf(entity, entity.getIdExpression().isEqualTo(parameter(NAME_OF_ID_PARAM))));
+	}
+
+	/**
+	 * @return A statement deleting the nodes with the ids given as {@link NodeDescription#NAME_OF_IDS_PARAM}.
+	 */
+	String deleteAllById() {
+		return cypherQuery("deleteAllById", () -> cypherGenerator
+			.prepareDeleteOf(entity, entity.getIdExpression().in(parameter(NAME_OF_IDS_PARAM))));
+	}
+
+	/**
+	 * @return A statement deleting all nodes of the entity.
+	 */
+	String deleteAll() {
+		return cypherQuery("deleteAll", () -> cypherGenerator.prepareDeleteOf(entity));
+	}
+
+	/**
+	 * @return A statement creating one node without looking for an existing one.
+	 */
+	String create() {
+		return cypherQuery("create", () -> cypherGenerator.prepareCreateOf(entity));
+	}
+
+	/**
+	 * @return A statement creating or updating one node.
+	 */
+	String save() {
+		return cypherQuery("save", () -> cypherGenerator.prepareSaveOf(entity));
+	}
+
+	/**
+	 * @return A statement creating all nodes given as {@link NodeDescription#NAME_OF_ENTITY_LIST_PARAM}.
+	 */
+	String createAll() {
+		return cypherQuery("createAll", () -> cypherGenerator.prepareCreateOfMultipleInstancesOf(entity));
+	}
+
+	/**
+	 * @return A statement creating or updating all nodes given as {@link NodeDescription#NAME_OF_ENTITY_LIST_PARAM}.
+	 */
+	String saveAll() {
+		return cypherQuery("saveAll", () -> cypherGenerator.prepareSaveOfMultipleInstancesOf(entity));
+	}
+
+	/**
+	 * @return A statement updating the changed properties of all nodes given as
+	 * {@link NodeDescription#NAME_OF_ENTITY_LIST_PARAM}.
+	 */
+	String updateAll() {
+		return cypherQuery("updateAll", () -> cypherGenerator.prepareUpdateOfMultipleInstancesOf(entity));
+	}
+
+	/**
+	 * @param relationship            The relationship to create
+	 * @param dynamicRelationshipType The type of the relationship if the relationship is dynamic
+	 * @return A statement creating the relationships given as
+	 * {@link RelationshipDescription#NAME_OF_RELATIONSHIP_LIST_PARAM}
+	 */
+	String createRelationships(RelationshipDescription relationship, @Nullable String dynamicRelationshipType) {
+		return cypherQuery(Arrays.asList("createRelationships", relationship, dynamicRelationshipType),
+			() -> cypherGenerator.createRelationshipCreationQuery(entity, relationship, dynamicRelationshipType));
+	}
+
+	/**
+	 * @param relationship The relationship to remove
+	 * @return A statement removing all relationships from the start nodes given as
+	 * {@link RelationshipDescription#NAME_OF_RELATIONSHIP_LIST_PARAM}
+	 */
+	String removeRelationships(RelationshipDescription relationship) {
+		return cypherQuery(Arrays.asList("removeRelationships", relationship),
+			() -> cypherGenerator.createRelationshipRemoveQuery(entity, relationship,
+				relationship.getTarget().getPrimaryLabel()));
+	}
+
+	/**
+	 * @param relationship            The relationship to remove
+	 * @param dynamicRelationshipType The type of the relationship if the relationship is dynamic
+	 * @return A statement removing the relationships between the start and end nodes given as
+	 * {@link RelationshipDescription#NAME_OF_RELATIONSHIP_LIST_PARAM}
+	 */
+	String removeRelationshipsToEndNodes(RelationshipDescription relationship,
+		@Nullable String dynamicRelationshipType) {
+		return cypherQuery(Arrays.asList("removeRelationshipsToEndNodes", relationship, dynamicRelationshipType),
+			() -> cypherGenerator
+				.createRelationshipRemoveQueryForEndNodes(entity, relationship, dynamicRelationshipType));
+	}
+
+	private String cypherQuery(Object key, Supplier<Statement> statement) {
+
+		String cypherQuery = cypherQueries.get(key);
+		if (cypherQuery == null) {
+			cypherQuery = renderer.render(statement.get());
+			if (cypherQueries.size() < MAX_NUMBER_OF_STATEMENTS) {
+				cypherQueries.putIfAbsent(key, cypherQuery);
+			}
+		}
+		return cypherQuery;
+	}
+}
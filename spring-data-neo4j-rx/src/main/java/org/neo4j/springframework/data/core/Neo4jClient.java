@@ -19,11 +19,13 @@
 package org.neo4j.springframework.data.core;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import org.apache.commons.logging.LogFactory;
 import org.apiguardian.api.API;
@@ -82,6 +84,16 @@ public interface Neo4jClient {
 	 */
 	<T> OngoingDelegation<T> delegateTo(Function<QueryRunner, Optional<T>> callback);
 
+	/**
+	 * Entrypoint for a batch of Cypher queries. All queries of a batch are sent to the database without waiting for the
+	 * results of the previous queries and are executed in order in one transaction. If there's an ongoing transaction,
+	 * the batch participates in that transaction, otherwise a new transaction is opened and committed when all
+	 * queries of the batch succeeded.
+	 *
+	 * @return An empty batch of queries.
+	 */
+	BatchSpec batch();
+
 	/**
 	 * Contract for a runnable query that can be either run returning it's result, run without results or be parameterized.
 	 * @since 1.0
@@ -214,6 +226,93 @@ public interface Neo4jClient {
 		 * @return All records.
 		 */
 		Collection<T> all();
+
+		/**
+		 * Fetches all records as a stream. The records are mapped lazily while they are pulled from the database. The
+		 * stream must be closed after use, as it holds on to the session when used outside a Spring managed
+		 * transaction.
+		 *
+		 * @return A stream of all records.
+		 */
+		Stream<T> stream();
+	}
+
+	/**
+	 * Contract for a batch of queries, executed in one round trip where possible.
+	 * @since 1.0
+	 */
+	interface BatchSpec {
+
+		/**
+		 * Pins the batch to a specific database. A value of {@literal null} chooses the default database.
+		 * The empty string {@literal ""} is not permitted.
+		 *
+		 * @param targetDatabase selected database to use
+		 * @return This batch.
+		 */
+		BatchSpec in(@Nullable String targetDatabase);
+
+		/**
+		 * Adds a query without parameters whose records are discarded.
+		 *
+		 * @param cypher The cypher code that shall be executed
+		 * @return This batch.
+		 */
+		BatchSpec add(String cypher);
+
+		/**
+		 * Adds a query whose records are discarded.
+		 *
+		 * @param cypher     The cypher code that shall be executed
+		 * @param parameters The parameters of the query
+		 * @return This batch.
+		 */
+		BatchSpec add(String cypher, Map<String, Object> parameters);
+
+		/**
+		 * Adds a query whose records are mapped with the given function. The mapped records are available through
+		 * {@link BatchResults#getResults(int)}.
+		 *
+		 * @param cypher          The cypher code that shall be executed
+		 * @param parameters      The parameters of the query
+		 * @param mappingFunction The function mapping each record of the query
+		 * @param <T>             The type of the mapped records
+		 * @return This batch.
+		 */
+		<T> BatchSpec add(String cypher, Map<String, Object> parameters,
+			BiFunction<TypeSystem, Record, T> mappingFunction);
+
+		/**
+		 * Executes all queries of this batch. The first failing query fails the whole batch.
+		 *
+		 * @return The results of all queries, in the order the queries have been added.
+		 */
+		BatchResults execute();
+	}
+
+	/**
+	 * The results of an executed {@link BatchSpec batch}, accessible by the position of the query in the batch.
+	 * @since 1.0
+	 */
+	interface BatchResults {
+
+		/**
+		 * @return The number of executed queries.
+		 */
+		int size();
+
+		/**
+		 * @param index The position of a query in the batch
+		 * @return The native summary of the query.
+		 */
+		ResultSummary getSummary(int index);
+
+		/**
+		 * @param index The position of a query in the batch
+		 * @param <T>   The type of the mapped records
+		 * @return The mapped records of the query or an empty list, if the query has been added without mapping function.
+		 */
+		<T> List<T> getResults(int index);
 	}
 
 	/**
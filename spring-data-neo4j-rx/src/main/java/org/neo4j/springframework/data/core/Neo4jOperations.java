@@ -21,11 +21,13 @@ package org.neo4j.springframework.data.core;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.apiguardian.api.API;
 import org.neo4j.springframework.data.core.cypher.Statement;
 import org.neo4j.springframework.data.repository.NoResultException;
 import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.lang.Nullable;
 
 /**
  * Specifies operations one can perform on a database, based on an <em>Domain Type</em>.
@@ -56,6 +58,17 @@ public interface Neo4jOperations {
 	 */
 	<T> List<T> findAll(Class<T> domainType);
 
+	/**
+	 * Load all entities of a given type, following only the given number of relationships from each entity.
+	 *
+	 * @param domainType the type of the entities. Must not be {@code null}.
+	 * @param depth      the number of relationships to follow, {@literal -1} to follow all of them
+	 * @param <T>        the type of the entities. Must not be {@code null}.
+	 * @return Guaranteed to be not {@code null}.
+	 * @see org.neo4j.springframework.data.core.mapping.Neo4jMappingContext#setDefaultFetchDepth(int)
+	 */
+	<T> List<T> findAll(Class<T> domainType, int depth);
+
 	<T> List<T> findAll(Statement statement, Class<T> domainType);
 
 	<T> List<T> findAll(Statement statement, Map<String, Object> parameters, Class<T> domainType);
@@ -72,6 +85,26 @@ public interface Neo4jOperations {
 	 */
 	<T> Optional<T> findById(Object id, Class<T> domainType);
 
+	/**
+	 * Load an entity from the database, following only the given number of relationships from the entity.
+	 *
+	 * @param id         the id of the entity to load. Must not be {@code null}.
+	 * @param domainType the type of the entity. Must not be {@code null}.
+	 * @param depth      the number of relationships to follow, {@literal -1} to follow all of them
+	 * @param <T>        the type of the entity.
+	 * @return the loaded entity. Might return an empty optional.
+	 */
+	<T> Optional<T> findById(Object id, Class<T> domainType, int depth);
+
+	/**
+	 * Checks whether an entity with the given id exists without loading it.
+	 *
+	 * @param id         the id of the entity. Must not be {@code null}.
+	 * @param domainType the type of the entity. Must not be {@code null}.
+	 * @return true, if an entity with the given id exists.
+	 */
+	boolean existsById(Object id, Class<?> domainType);
+
 	/**
 	 * Load all entities of a given type that are identified by the given ids.
 	 *
@@ -82,6 +115,18 @@ public interface Neo4jOperations {
 	 */
 	<T> List<T> findAllById(Iterable<?> ids, Class<T> domainType);
 
+	/**
+	 * Load all entities of a given type that are identified by the given ids, following only the given number of
+	 * relationships from each entity.
+	 *
+	 * @param ids        of the entities identifying the entities to load. Must not be {@code null}.
+	 * @param domainType the type of the entities. Must not be {@code null}.
+	 * @param depth      the number of relationships to follow, {@literal -1} to follow all of them
+	 * @param <T>        the type of the entities. Must not be {@code null}.
+	 * @return Guaranteed to be not {@code null}.
+	 */
+	<T> List<T> findAllById(Iterable<?> ids, Class<T> domainType, int depth);
+
 	/**
 	 * Saves an instance of an entity, including all the related entities of the entity.
 	 *
@@ -125,6 +170,56 @@ public interface Neo4jOperations {
 	 */
 	void deleteAll(Class<?> domainType);
 
+	/**
+	 * Deletes all entities of a given type in batches of at most {@code batchSize} nodes, until no entity of that type
+	 * is left. Without an ongoing transaction, each batch runs in a transaction of its own, so that the memory needed
+	 * by the server is bounded by the batch size and not by the number of nodes to delete.
+	 *
+	 * @param domainType type of the entities to be deleted. Must not be {@code null}.
+	 * @param batchSize  the maximum number of entities deleted in one batch
+	 * @return The aggregated counters of all batches
+	 */
+	DeleteSummary deleteAll(Class<?> domainType, int batchSize);
+
+	/**
+	 * Sets the given properties of a single entity without loading it. Only the given properties are written, all
+	 * other properties and the relationships of the entity stay untouched. The values are converted in the same way as
+	 * when saving the whole entity.
+	 *
+	 * @param id         the id of the entity to update. Must not be {@code null}.
+	 * @param domainType the type of the entity
+	 * @param properties new values, indexed by the names of the properties of the domain type
+	 * @param <T>        the type of the entity.
+	 * @return True, if an entity with the given id exists and has been updated
+	 * @throws IllegalArgumentException if one of the properties is unknown, an id, version or relationship or if a value
+	 *                                  has the wrong type
+	 */
+	<T> boolean updateProperties(Object id, Class<T> domainType, Map<String, Object> properties);
+
+	/**
+	 * Starts a typed update of selected properties of a single entity without loading it, for example
+	 * {@code update(id, Person.class).set(Person::getName, "Michael").execute()}.
+	 *
+	 * @param id         the id of the entity to update. Must not be {@code null}.
+	 * @param domainType the type of the entity
+	 * @param <T>        the type of the entity.
+	 * @return An update to which the new values of the properties can be added
+	 * @see #updateProperties(Object, Class, Map)
+	 */
+	<T> ExecutableUpdate<T> update(Object id, Class<T> domainType);
+
+	/**
+	 * Loads the entities related to the given entity through the given relationship and sets them on the entity. This
+	 * is mostly useful for relationships fetched lazily ({@code @Relationship(fetch = LAZY)}), but works for all
+	 * relationships that are not dynamic.
+	 *
+	 * @param instance     the entity owning the relationship. Must have an id.
+	 * @param relationship the name of the property holding the relationship
+	 * @param <T>          the type of the entity.
+	 * @return The entity with the relationship loaded, which is a new instance in case of immutable entities
+	 */
+	<T> T fetch(T instance, String relationship);
+
 	/**
 	 * Takes a prepared query, containing all the information about the cypher template to be used, needed parameters and
 	 * an optional mapping function, and turns it into an executable query.
@@ -135,6 +230,35 @@ public interface Neo4jOperations {
 	 */
 	<T> ExecutableQuery<T> toExecutableQuery(PreparedQuery<T> preparedQuery);
 
+	/**
+	 * An update of selected properties of a single entity.
+	 *
+	 * @param <T> the type of the entity to update
+	 * @since 1.0
+	 */
+	interface ExecutableUpdate<T> {
+
+		/**
+		 * @param property A reference to the getter of the property to update
+		 * @param value    The new value of the property
+		 * @param <R>      The type of the property
+		 * @return This update
+		 */
+		<R> ExecutableUpdate<T> set(PropertyReference<T, R> property, @Nullable R value);
+
+		/**
+		 * @param propertyName The name of the property to update
+		 * @param value        The new value of the property
+		 * @return This update
+		 */
+		ExecutableUpdate<T> set(String propertyName, @Nullable Object value);
+
+		/**
+		 * @return True, if an entity with the given id exists and has been updated
+		 */
+		boolean execute();
+	}
+
 	/**
 	 * An interface for controlling query execution.
 	 *
@@ -148,6 +272,11 @@ public interface Neo4jOperations {
 		 */
 		List<T> getResults();
 
+		/**
+		 * @return A stream of all results, mapped while they are fetched. The stream must be closed after use.
+		 */
+		Stream<T> getResultStream();
+
 		/**
 		 * @return An optional, single result.
 		 * @throws IncorrectResultSizeDataAccessException when there is more than one result
@@ -21,29 +21,34 @@ package org.neo4j.springframework.data.core;
 import static java.util.Collections.*;
 import static java.util.stream.Collectors.*;
 import static org.neo4j.springframework.data.core.cypher.Cypher.*;
-import static org.neo4j.springframework.data.core.schema.CypherGenerator.*;
 import static org.neo4j.springframework.data.core.schema.NodeDescription.*;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.function.Function;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
 
 import org.apache.commons.logging.LogFactory;
 import org.apiguardian.api.API;
+import org.neo4j.driver.Record;
 import org.neo4j.driver.exceptions.NoSuchRecordException;
 import org.neo4j.driver.summary.ResultSummary;
 import org.neo4j.driver.summary.SummaryCounters;
-import org.neo4j.springframework.data.core.cypher.Condition;
-import org.neo4j.springframework.data.core.cypher.Functions;
+import org.neo4j.driver.types.TypeSystem;
 import org.neo4j.springframework.data.core.cypher.Statement;
 import org.neo4j.springframework.data.core.cypher.renderer.Renderer;
 import org.neo4j.springframework.data.core.mapping.Neo4jMappingContext;
+import org.neo4j.springframework.data.core.mapping.Neo4jMappingFunction;
 import org.neo4j.springframework.data.core.mapping.Neo4jPersistentEntity;
 import org.neo4j.springframework.data.core.mapping.Neo4jPersistentProperty;
+import org.neo4j.springframework.data.core.mapping.RelatedEntitiesLoader;
 import org.neo4j.springframework.data.core.schema.CypherGenerator;
 import org.neo4j.springframework.data.core.schema.NodeDescription;
 import org.neo4j.springframework.data.core.schema.RelationshipDescription;
@@ -55,7 +60,6 @@ import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.core.log.LogAccessor;
 import org.springframework.dao.IncorrectResultSizeDataAccessException;
-import org.springframework.data.mapping.AssociationHandler;
 import org.springframework.data.mapping.PersistentPropertyAccessor;
 import org.springframework.data.mapping.callback.EntityCallbacks;
 import org.springframework.lang.Nullable;
@@ -80,8 +84,15 @@ public final class Neo4jTemplate implements Neo4jOperations, BeanFactoryAware {
 
 	private final CypherGenerator cypherGenerator;
 
+	private final Map<Neo4jPersistentEntity<?>, Optional<AggregateSavePlan>> aggregateSavePlans =
+		new ConcurrentHashMap<>();
+
+	private final Map<Neo4jPersistentEntity<?>, EntityStatements> entityStatements = new ConcurrentHashMap<>();
+
 	private Neo4jEvents eventSupport;
 
+	private boolean singleStatementSaveEnabled = false;
+
 	public Neo4jTemplate(Neo4jClient neo4jClient) {
 		this(neo4jClient, new Neo4jMappingContext());
 	}
@@ -100,12 +111,8 @@ public final class Neo4jTemplate implements Neo4jOperations, BeanFactoryAware {
 	@Override
 	public long count(Class<?> domainType) {
 
-		Neo4jPersistentEntity entityMetaData = neo4jMappingContext.getPersistentEntity(domainType);
-		Statement statement = cypherGenerator.prepareMatchOf(entityMetaData)
-			.returning(Functions.count(asterisk())).build();
-
 		PreparedQuery<Long> preparedQuery = PreparedQuery.queryFor(Long.class)
-			.withCypherQuery(renderer.render(statement))
+			.withCypherQuery(getEntityStatements(domainType).count())
 			.build();
 		return toExecutableQuery(preparedQuery)
 			.getRequiredSingleResult();
@@ -123,11 +130,14 @@ public final class Neo4jTemplate implements Neo4jOperations, BeanFactoryAware {
 
 	@Override
 	public <T> List<T> findAll(Class<T> domainType) {
+		return findAll(domainType, neo4jMappingContext.getDefaultFetchDepth());
+	}
 
-		Neo4jPersistentEntity entityMetaData = neo4jMappingContext.getPersistentEntity(domainType);
-		Statement statement = cypherGenerator.prepareMatchOf(entityMetaData)
-			.returning(cypherGenerator.createReturnStatementForMatch(entityMetaData)).build();
-		return createExecutableQuery(domainType, statement).getResults();
+	@Override
+	public <T> List<T> findAll(Class<T> domainType, int depth) {
+
+		String cypherQuery = getEntityStatements(domainType).findAll(depth);
+		return createExecutableQuery(domainType, cypherQuery, Collections.emptyMap()).getResults();
 	}
 
 	@Override
@@ -147,34 +157,52 @@ public final class Neo4jTemplate implements Neo4jOperations, BeanFactoryAware {
 
 	@Override
 	public <T> Optional<T> findById(Object id, Class<T> domainType) {
+		return findById(id, domainType, neo4jMappingContext.getDefaultFetchDepth());
+	}
 
-		Neo4jPersistentEntity entityMetaData = neo4jMappingContext.getPersistentEntity(domainType);
-		Statement statement = cypherGenerator
-			.prepareMatchOf(entityMetaData, entityMetaData.getIdExpression().isEqualTo(literalOf(id)))
-			.returning(cypherGenerator.createReturnStatementForMatch(entityMetaData))
+	@Override
+	public <T> Optional<T> findById(Object id, Class<T> domainType, int depth) {
+
+		String cypherQuery = getEntityStatements(domainType).findById(depth);
+		return createExecutableQuery(domainType, cypherQuery, singletonMap(NAME_OF_ID_PARAM, id)).getSingleResult();
+	}
+
+	@Override
+	public boolean existsById(Object id, Class<?> domainType) {
+
+		PreparedQuery<Long> preparedQuery = PreparedQuery.queryFor(Long.class)
+			.withCypherQuery(getEntityStatements(domainType).existsById())
+			.withParameters(singletonMap(NAME_OF_ID_PARAM, id))
 			.build();
-		return createExecutableQuery(domainType, statement).getSingleResult();
+		return toExecutableQuery(preparedQuery).getRequiredSingleResult() > 0;
 	}
 
 	@Override
 	public <T> List<T> findAllById(Iterable<?> ids, Class<T> domainType) {
+		return findAllById(ids, domainType, neo4jMappingContext.getDefaultFetchDepth());
+	}
 
-		Neo4jPersistentEntity entityMetaData = neo4jMappingContext.getPersistentEntity(domainType);
-		Statement statement = cypherGenerator
-			.prepareMatchOf(entityMetaData, entityMetaData.getIdExpression().in((parameter("ids"))))
-			.returning(cypherGenerator.createReturnStatementForMatch(entityMetaData))
-			.build();
+	@Override
+	public <T> List<T> findAllById(Iterable<?> ids, Class<T> domainType, int depth) {
 
-		return createExecutableQuery(domainType, statement, singletonMap("ids", ids)).getResults();
+		String cypherQuery = getEntityStatements(domainType).findAllById(depth);
+		return createExecutableQuery(domainType, cypherQuery, singletonMap(NAME_OF_IDS_PARAM, ids)).getResults();
 	}
 
 	@Override
 	public <T> T save(T instance) {
 
 		Neo4jPersistentEntity entityMetaData = neo4jMappingContext.getPersistentEntity(instance.getClass());
+		if (neo4jMappingContext.isChangeTrackingEnabled() || singleStatementSaveEnabled) {
+			return saveAllInBatches(entityMetaData, singletonList(instance)).get(0);
+		}
+
+		// Must be decided before the callbacks are applied, as they may generate an id
+		boolean create = neo4jMappingContext.shouldCreate(entityMetaData, entityMetaData.isKnownToBeNew(instance));
 		T entityToBeSaved = eventSupport.maybeCallBeforeBind(instance);
+		EntityStatements statements = getEntityStatements(entityMetaData);
 		Long internalId = neo4jClient
-			.query(() -> renderer.render(cypherGenerator.prepareSaveOf(entityMetaData)))
+			.query(create ? statements.create() : statements.save())
 			.bind((T) entityToBeSaved)
 			.with(neo4jMappingContext.getRequiredBinderFunctionFor((Class<T>) entityToBeSaved.getClass()))
 			.fetchAs(Long.class).one().get();
@@ -182,13 +210,14 @@ public final class Neo4jTemplate implements Neo4jOperations, BeanFactoryAware {
 		PersistentPropertyAccessor<T> propertyAccessor = entityMetaData.getPropertyAccessor(entityToBeSaved);
 
 		if (!entityMetaData.isUsingInternalIds()) {
-			processNestedAssociations(entityMetaData, entityToBeSaved);
+			processNestedAssociations(entityMetaData, instance, entityToBeSaved, internalId);
 			return entityToBeSaved;
 		} else {
 			propertyAccessor.setProperty(entityMetaData.getRequiredIdProperty(), internalId);
-			processNestedAssociations(entityMetaData, entityToBeSaved);
+			T savedEntity = propertyAccessor.getBean();
+			processNestedAssociations(entityMetaData, instance, savedEntity, internalId);
 
-			return propertyAccessor.getBean();
+			return savedEntity;
 		}
 	}
 
@@ -209,53 +238,52 @@ public final class Neo4jTemplate implements Neo4jOperations, BeanFactoryAware {
 
 		Class<T> domainClass = (Class<T>) CollectionUtils.findCommonElementType(entities);
 		Neo4jPersistentEntity entityMetaData = neo4jMappingContext.getPersistentEntity(domainClass);
-		if (entityMetaData.isUsingInternalIds()) {
-			log.debug("Saving entities using single statements.");
 
-			return entities.stream()
-				.map(this::save)
-				.collect(toList());
-		}
+		List<T> savedEntities = saveAllInBatches(entityMetaData, entities);
+		log.debug(() -> String.format("Saved %d entities of type %s in batches.", savedEntities.size(),
+			domainClass.getName()));
+		return savedEntities;
+	}
 
-		List<T> entitiesToBeSaved = entities.stream()
-			.map(eventSupport::maybeCallBeforeBind)
-			.collect(toList());
-
-		// Save roots
-		Function<T, Map<String, Object>> binderFunction = neo4jMappingContext.getRequiredBinderFunctionFor(domainClass);
-		List<Map<String, Object>> entityList = entitiesToBeSaved.stream()
-			.map(binderFunction).collect(toList());
-		ResultSummary resultSummary = neo4jClient
-			.query(() -> renderer.render(cypherGenerator.prepareSaveOfMultipleInstancesOf(entityMetaData)))
-			.bind(entityList).to(NAME_OF_ENTITY_LIST_PARAM)
-			.run();
+	/**
+	 * Saves the given instances with one {@code UNWIND} statement per level of the aggregates. Internal ids generated
+	 * for new instances are assigned in the order of the instances. If change tracking is enabled, only changed
+	 * properties and relationships of instances that have a snapshot are written. Otherwise, if single statement saves
+	 * are enabled, the whole aggregates are saved with one statement if possible.
+	 *
+	 * @param entityMetaData The description of all instances
+	 * @param instances      The instances to save
+	 * @param <T>            The type of the instances
+	 * @return The saved instances
+	 */
+	private <T> List<T> saveAllInBatches(Neo4jPersistentEntity<?> entityMetaData, Collection<T> instances) {
 
-		// Save related
-		entitiesToBeSaved.forEach(entityToBeSaved -> {
-			processNestedAssociations(entityMetaData, entityToBeSaved);
-		});
+		List<AssociationBatch.Entity> roots = new ArrayList<>(instances.size());
+		for (T instance : instances) {
+			AssociationBatch.Entity root = AssociationBatch.Entity.of(entityMetaData, instance);
+			root.setValueToBeSaved(eventSupport.maybeCallBeforeBind(instance));
+			roots.add(root);
+		}
 
-		SummaryCounters counters = resultSummary.counters();
-		log.debug(() -> String
-			.format("Created %d and deleted %d nodes, created %d and deleted %d relationships and set %d properties.",
-				counters.nodesCreated(), counters.nodesDeleted(), counters.relationshipsCreated(),
-				counters.relationshipsDeleted(), counters.propertiesSet()));
+		Optional<AggregateSavePlan> aggregateSavePlan = getAggregateSavePlan(entityMetaData);
+		if (aggregateSavePlan.isPresent()) {
+			saveAggregates(aggregateSavePlan.get().prepare(roots));
+		} else {
+			saveNodes(singletonList(
+				AssociationBatch.nodesOf(neo4jMappingContext, getEntityStatements(entityMetaData), roots)));
+			processNestedAssociations(roots);
+		}
 
-		return entitiesToBeSaved;
+		return roots.stream().map(root -> (T) root.getValueToBeSaved()).collect(toList());
 	}
 
 	@Override
 	public <T> void deleteById(Object id, Class<T> domainType) {
 
-		Neo4jPersistentEntity entityMetaData = neo4jMappingContext.getPersistentEntity(domainType);
-		String nameOfParameter = "id";
-		Condition condition = entityMetaData.getIdExpression().isEqualTo(parameter(nameOfParameter));
-
 		log.debug(() -> String.format("Deleting entity with id %d ", id));
 
-		Statement statement = cypherGenerator.prepareDeleteOf(entityMetaData, condition);
-		ResultSummary summary = this.neo4jClient.query(renderer.render(statement))
-			.bind(id).to(nameOfParameter)
+		ResultSummary summary = this.neo4jClient.query(getEntityStatements(domainType).deleteById())
+			.bind(id).to(NAME_OF_ID_PARAM)
 			.run();
 
 		log.debug(() -> String.format("Deleted %d nodes and %d relationships.", summary.counters().nodesDeleted(),
@@ -265,15 +293,10 @@ public final class Neo4jTemplate implements Neo4jOperations, BeanFactoryAware {
 	@Override
 	public <T> void deleteAllById(Iterable<?> ids, Class<T> domainType) {
 
-		Neo4jPersistentEntity entityMetaData = neo4jMappingContext.getPersistentEntity(domainType);
-		String nameOfParameter = "ids";
-		Condition condition = entityMetaData.getIdExpression().in(parameter(nameOfParameter));
-
 		log.debug(() -> String.format("Deleting all entities with the following ids: %s ", ids));
 
-		Statement statement = cypherGenerator.prepareDeleteOf(entityMetaData, condition);
-		ResultSummary summary = this.neo4jClient.query(renderer.render(statement))
-			.bind(ids).to(nameOfParameter)
+		ResultSummary summary = this.neo4jClient.query(getEntityStatements(domainType).deleteAllById())
+			.bind(ids).to(NAME_OF_IDS_PARAM)
 			.run();
 
 		log.debug(() -> String.format("Deleted %d nodes and %d relationships.", summary.counters().nodesDeleted(),
@@ -286,97 +309,253 @@ public final class Neo4jTemplate implements Neo4jOperations, BeanFactoryAware {
 		Neo4jPersistentEntity entityMetaData = neo4jMappingContext.getPersistentEntity(domainType);
 		log.debug(() -> String.format("Deleting all nodes with primary label %s", entityMetaData.getPrimaryLabel()));
 
-		Statement statement = cypherGenerator.prepareDeleteOf(entityMetaData);
-		ResultSummary summary = this.neo4jClient.query(renderer.render(statement)).run();
+		ResultSummary summary = this.neo4jClient.query(getEntityStatements(entityMetaData).deleteAll()).run();
 
 		log.debug(() -> String.format("Deleted %d nodes and %d relationships.", summary.counters().nodesDeleted(),
 			summary.counters().relationshipsDeleted()));
 	}
 
+	@Override
+	public <T> boolean updateProperties(Object id, Class<T> domainType, Map<String, Object> properties) {
+
+		PropertyUpdate propertyUpdate = PropertyUpdate.of(neo4jMappingContext, domainType, id, properties);
+		long updatedNodes = neo4jClient.query(renderer.render(propertyUpdate.getKey(), propertyUpdate::getStatement))
+			.bindAll(propertyUpdate.getParameters())
+			.fetchAs(Long.class).one().orElse(0L);
+
+		log.debug(() -> String.format("Updated properties %s of %d nodes.", properties.keySet(), updatedNodes));
+		return updatedNodes > 0;
+	}
+
+	@Override
+	public <T> ExecutableUpdate<T> update(Object id, Class<T> domainType) {
+		return new DefaultExecutableUpdate<>(id, domainType);
+	}
+
+	@Override
+	public DeleteSummary deleteAll(Class<?> domainType, int batchSize) {
+
+		Assert.isTrue(batchSize > 0, "The batch size must be greater than 0.");
+
+		Neo4jPersistentEntity entityMetaData = neo4jMappingContext.getPersistentEntity(domainType);
+		log.debug(() -> String.format("Deleting all nodes with primary label %s in batches of %d",
+			entityMetaData.getPrimaryLabel(), batchSize));
+
+		String cypherQuery = renderer.render(Arrays.asList("deleteAll", entityMetaData, batchSize),
+			() -> cypherGenerator.prepareDeleteOf(entityMetaData, batchSize));
+		DeleteSummary deleteSummary = DeleteSummary.empty();
+		SummaryCounters counters;
+		do {
+			counters = this.neo4jClient.query(cypherQuery).run().counters();
+			deleteSummary = deleteSummary.add(counters);
+
+			DeleteSummary progress = deleteSummary;
+			log.debug(() -> String.format("Deleted %d nodes and %d relationships in %d batches so far.",
+				progress.getNodesDeleted(), progress.getRelationshipsDeleted(), progress.getBatches()));
+		} while (counters.nodesDeleted() >= batchSize);
+
+		return deleteSummary;
+	}
+
 	private <T> ExecutableQuery createExecutableQuery(Class<T> domainType, Statement statement) {
 		return createExecutableQuery(domainType, statement, Collections.emptyMap());
 	}
 
 	private <T> ExecutableQuery<T> createExecutableQuery(Class<T> domainType, Statement statement,
 		Map<String, Object> parameters) {
+		return createExecutableQuery(domainType, renderer.render(statement), parameters);
+	}
+
+	private <T> ExecutableQuery<T> createExecutableQuery(Class<T> domainType, String cypherQuery,
+		Map<String, Object> parameters) {
 
 		PreparedQuery<T> preparedQuery = PreparedQuery.queryFor(domainType)
-			.withCypherQuery(renderer.render(statement))
+			.withCypherQuery(cypherQuery)
 			.withParameters(parameters)
 			.usingMappingFunction(this.neo4jMappingContext.getRequiredMappingFunctionFor(domainType))
 			.build();
 		return toExecutableQuery(preparedQuery);
 	}
 
-	private void processNestedAssociations(Neo4jPersistentEntity<?> neo4jPersistentEntity, Object parentObject) {
+	private void processNestedAssociations(Neo4jPersistentEntity<?> neo4jPersistentEntity, Object parentObject,
+		Object savedParentObject, Long internalId) {
+
+		AssociationBatch.Entity parent = AssociationBatch.Entity.of(neo4jPersistentEntity, parentObject);
+		parent.setValueToBeSaved(savedParentObject);
+		parent.setInternalId(internalId);
+		processNestedAssociations(singletonList(parent));
+	}
+
+	/**
+	 * Saves all related nodes and relationships of the given parents level by level. Each level requires one statement
+	 * per relationship to clear, per node description and per relationship to create, independent of the number of
+	 * related objects. Every instance is saved only once, no matter how often it is referenced.
+	 *
+	 * @param parents The already saved parents
+	 */
+	private void processNestedAssociations(Collection<AssociationBatch.Entity> parents) {
 
-		PersistentPropertyAccessor<?> propertyAccessor = neo4jPersistentEntity.getPropertyAccessor(parentObject);
-		Object fromId = propertyAccessor.getProperty(neo4jPersistentEntity.getRequiredIdProperty());
+		AssociationBatch.VisitedEntities visitedEntities = new AssociationBatch.VisitedEntities();
+		Collection<AssociationBatch.Entity> currentLevel = parents;
+		while (!currentLevel.isEmpty()) {
 
-		neo4jPersistentEntity.doWithAssociations((AssociationHandler<Neo4jPersistentProperty>) handler -> {
+			AssociationBatch associationBatch = AssociationBatch
+				.of(neo4jMappingContext, this::getEntityStatements, currentLevel, visitedEntities);
+			for (AssociationBatch.Entity relatedEntity : associationBatch.getRelatedEntities()) {
+				relatedEntity.setValueToBeSaved(eventSupport.maybeCallBeforeBind(relatedEntity.getValue()));
+			}
 
-			Neo4jPersistentProperty inverse = handler.getInverse();
+			saveNodes(associationBatch.getRelatedNodes());
 
-			Object value = propertyAccessor.getProperty(inverse);
+			// Relationships can only be removed and created after the ids of the related nodes are known
+			List<AssociationBatch.BatchStatement> relationshipStatements = new ArrayList<>(
+				associationBatch.getRelationshipsToRemove());
+			relationshipStatements.addAll(associationBatch.getRelationshipsToCreate());
+			run(relationshipStatements);
+			associationBatch.updateSnapshots();
 
-			Class<?> associationTargetType = inverse.getAssociationTargetType();
+			currentLevel = associationBatch.getRelatedEntities();
+		}
+	}
 
-			Neo4jPersistentEntity<?> targetNodeDescription = (Neo4jPersistentEntity<?>) neo4jMappingContext
-				.getPersistentEntity(associationTargetType);
+	private EntityStatements getEntityStatements(Class<?> domainType) {
+		return getEntityStatements(neo4jMappingContext.getPersistentEntity(domainType));
+	}
 
-			Collection<RelationshipDescription> relationships = neo4jPersistentEntity.getRelationships();
-			RelationshipDescription relationship = relationships.stream()
-				.filter(r -> r.getFieldName().equals(inverse.getName()))
-				.findFirst().get();
+	private EntityStatements getEntityStatements(Neo4jPersistentEntity<?> entityMetaData) {
 
-			// remove all relationships before creating all new if the entity is not new
-			// this avoids the usage of cache but might have significant impact on overall performance
-			if (!neo4jPersistentEntity.isNew(parentObject)) {
-				Statement relationshipRemoveQuery = cypherGenerator.createRelationshipRemoveQuery(neo4jPersistentEntity,
-					relationship, targetNodeDescription.getPrimaryLabel());
+		EntityStatements statements = entityStatements.get(entityMetaData);
+		if (statements == null) {
+			statements = entityStatements.computeIfAbsent(entityMetaData, EntityStatements::new);
+		}
+		return statements;
+	}
+
+	private Optional<AggregateSavePlan> getAggregateSavePlan(Neo4jPersistentEntity<?> entityMetaData) {
 
-				neo4jClient.query(renderer.render(relationshipRemoveQuery))
-					.bind(fromId).to(FROM_ID_PARAMETER_NAME).run();
+		if (!singleStatementSaveEnabled || neo4jMappingContext.isChangeTrackingEnabled()) {
+			return Optional.empty();
+		}
+		return aggregateSavePlans.computeIfAbsent(entityMetaData,
+			root -> AggregateSavePlan.of(neo4jMappingContext, root));
+	}
+
+	/**
+	 * Applies the entity callbacks to all related entities level by level and then saves all aggregates with one
+	 * statement.
+	 *
+	 * @param execution The execution of an aggregate save plan, prepared with the roots of all aggregates
+	 */
+	private void saveAggregates(AggregateSavePlan.Execution execution) {
+
+		List<AssociationBatch.Entity> currentLevel = execution.collectNextLevel();
+		while (!currentLevel.isEmpty()) {
+			for (AssociationBatch.Entity relatedEntity : currentLevel) {
+				relatedEntity.setValueToBeSaved(eventSupport.maybeCallBeforeBind(relatedEntity.getValue()));
 			}
+			currentLevel = execution.collectNextLevel();
+		}
+
+		Map<String, Object> parameters = execution.getParameters();
+		neo4jClient.query(execution.getCypherQuery())
+			.bindAll(parameters)
+			.fetch().one()
+			.ifPresent(execution::assignInternalIds);
+	}
 
-			if (value == null) {
-				return;
+	/**
+	 * Saves the nodes of all given node descriptions with one batch of statements.
+	 *
+	 * @param allNodes The nodes to save, grouped by node description
+	 */
+	private void saveNodes(Collection<AssociationBatch.RelatedNodes> allNodes) {
+
+		Neo4jClient.BatchSpec batch = neo4jClient.batch();
+		List<AssociationBatch.RelatedNodes> nodesPerStatement = new ArrayList<>();
+		for (AssociationBatch.RelatedNodes nodes : allNodes) {
+			for (AssociationBatch.BatchStatement batchStatement : nodes.getStatements()) {
+				batch.add(batchStatement.getCypherQuery(),
+					singletonMap(batchStatement.getNameOfParameter(), batchStatement.getRows()),
+					(typeSystem, record) -> record.asMap());
+				nodesPerStatement.add(nodes);
 			}
+		}
+
+		Neo4jClient.BatchResults results = batch.execute();
+		for (int i = 0; i < nodesPerStatement.size(); ++i) {
+			nodesPerStatement.get(i).assignInternalIds(results.getResults(i));
+		}
+	}
+
+	/**
+	 * Runs the given statements in order with one batch.
+	 *
+	 * @param batchStatements The statements to run
+	 */
+	private void run(List<AssociationBatch.BatchStatement> batchStatements) {
+
+		Neo4jClient.BatchSpec batch = neo4jClient.batch();
+		for (AssociationBatch.BatchStatement batchStatement : batchStatements) {
+			batch.add(batchStatement.getCypherQuery(),
+				singletonMap(batchStatement.getNameOfParameter(), batchStatement.getRows()));
+		}
+		batch.execute();
+	}
 
-			for (Object relatedValue : Relationships.unifyRelationshipValue(inverse, value)) {
+	/**
+	 * Enables saving whole aggregates with a single statement instead of a fixed number of statements per level of the
+	 * aggregates. This is only used when change tracking is disabled and for aggregates that don't contain dynamic
+	 * relationships or relationships back to a node description already on the path from the root.
+	 *
+	 * @param singleStatementSaveEnabled True, if aggregates should be saved with a single statement
+	 */
+	public void setSingleStatementSaveEnabled(boolean singleStatementSaveEnabled) {
+		this.singleStatementSaveEnabled = singleStatementSaveEnabled;
+	}
 
-				Object valueToBeSaved = relatedValue instanceof Map.Entry ?
-					((Map.Entry) relatedValue).getValue() :
-					relatedValue;
-				valueToBeSaved = eventSupport.maybeCallBeforeBind(valueToBeSaved);
+	@Override
+	public <T> T fetch(T instance, String relationship) {
+
+		Neo4jPersistentEntity<?> entityMetaData = neo4jMappingContext.getPersistentEntity(instance.getClass());
+		RelationshipDescription relationshipDescription = Relationships.getRequiredRelationship(entityMetaData,
+			relationship);
+		PersistentPropertyAccessor<T> propertyAccessor = entityMetaData.getPropertyAccessor(instance);
+		Object id = propertyAccessor.getProperty(entityMetaData.getRequiredIdProperty());
+		Assert.notNull(id, "Relationships can only be fetched for entities with an id.");
+
+		List<?> relatedEntities = findRelatedEntities(entityMetaData, relationshipDescription, id, false);
+		Neo4jPersistentProperty inverse = entityMetaData.getRequiredPersistentProperty(relationship);
+		propertyAccessor.setProperty(inverse, Relationships.toRelationshipValue(inverse, relatedEntities));
+		return propertyAccessor.getBean();
+	}
 
-				Long relatedInternalId = saveRelatedNode(valueToBeSaved, associationTargetType, targetNodeDescription);
+	private List<?> findRelatedEntities(Neo4jPersistentEntity<?> neo4jPersistentEntity,
+		RelationshipDescription relationship, Object id, boolean byInternalId) {
 
-				Statement relationshipCreationQuery = cypherGenerator
-					.createRelationshipCreationQuery(neo4jPersistentEntity,
-						relationship,
-						relatedValue instanceof Map.Entry ? ((Map.Entry<String, ?>) relatedValue).getKey() : null,
-						relatedInternalId);
+		int depth = neo4jMappingContext.getDefaultFetchDepth();
+		String cypherQuery = renderer.render(
+			Arrays.asList("relatedNodes", neo4jPersistentEntity, relationship, byInternalId, depth),
+			() -> cypherGenerator.prepareMatchOfRelatedNodes(neo4jPersistentEntity, relationship, byInternalId, depth));
+		Class<?> targetType = ((Neo4jPersistentEntity<?>) relationship.getTarget()).getType();
+		return createExecutableQuery(targetType, cypherQuery, singletonMap(NodeDescription.NAME_OF_ID_PARAM, id))
+			.getResults();
+	}
 
-				neo4jClient.query(renderer.render(relationshipCreationQuery))
-					.bind(fromId).to(FROM_ID_PARAMETER_NAME).run();
+	private Collection<?> loadRelatedEntities(RelationshipDescription relationship, long sourceNodeId) {
 
-				// if an internal id is used this must get set to link this entity in the next iteration
-				if (targetNodeDescription.isUsingInternalIds()) {
-					PersistentPropertyAccessor<?> targetPropertyAccessor = targetNodeDescription
-						.getPropertyAccessor(valueToBeSaved);
-					targetPropertyAccessor
-						.setProperty(targetNodeDescription.getRequiredIdProperty(), relatedInternalId);
-				}
-				processNestedAssociations(targetNodeDescription, valueToBeSaved);
-			}
-		});
+		return findRelatedEntities((Neo4jPersistentEntity<?>) relationship.getSource(), relationship, sourceNodeId,
+			true);
 	}
 
-	private <Y> Long saveRelatedNode(Object entity, Class<Y> entityType, NodeDescription targetNodeDescription) {
-		return neo4jClient.query(() -> renderer.render(cypherGenerator.prepareSaveOf(targetNodeDescription)))
-			.bind((Y) entity).with(neo4jMappingContext.getRequiredBinderFunctionFor(entityType))
-			.fetchAs(Long.class).one().get();
+	/**
+	 * Lets lazy relationships mapped by the given function load their related entities on first access.
+	 */
+	private static <T> BiFunction<TypeSystem, Record, T> withRelatedEntitiesLoader(
+		BiFunction<TypeSystem, Record, T> mappingFunction, RelatedEntitiesLoader relatedEntitiesLoader) {
+
+		return mappingFunction instanceof Neo4jMappingFunction ?
+			((Neo4jMappingFunction<T>) mappingFunction).withRelatedEntitiesLoader(relatedEntitiesLoader) :
+			mappingFunction;
 	}
 
 	@Override
@@ -394,12 +573,43 @@ public final class Neo4jTemplate implements Neo4jOperations, BeanFactoryAware {
 			.fetchAs(preparedQuery.getResultType());
 		Neo4jClient.RecordFetchSpec<T> fetchSpec = preparedQuery
 			.getOptionalMappingFunction()
-			.map(f -> mappingSpec.mappedBy(f))
+			.map(f -> mappingSpec.mappedBy(withRelatedEntitiesLoader(f, this::loadRelatedEntities)))
 			.orElse(mappingSpec);
 
 		return new DefaultExecutableQuery<>(preparedQuery, fetchSpec);
 	}
 
+	final class DefaultExecutableUpdate<T> implements ExecutableUpdate<T> {
+
+		private final Object id;
+
+		private final Class<T> domainType;
+
+		private final Map<String, Object> properties = new LinkedHashMap<>();
+
+		DefaultExecutableUpdate(Object id, Class<T> domainType) {
+			this.id = id;
+			this.domainType = domainType;
+		}
+
+		@Override
+		public <R> ExecutableUpdate<T> set(PropertyReference<T, R> property, @Nullable R value) {
+			return set(property.getPropertyName(), value);
+		}
+
+		@Override
+		public ExecutableUpdate<T> set(String propertyName, @Nullable Object value) {
+
+			this.properties.put(propertyName, value);
+			return this;
+		}
+
+		@Override
+		public boolean execute() {
+			return updateProperties(this.id, this.domainType, this.properties);
+		}
+	}
+
 	final class DefaultExecutableQuery<T> implements ExecutableQuery<T> {
 
 		private final PreparedQuery<T> preparedQuery;
@@ -411,7 +621,12 @@ public final class Neo4jTemplate implements Neo4jOperations, BeanFactoryAware {
 		}
 
 		public List<T> getResults() {
-			return fetchSpec.all().stream().collect(toList());
+			Collection<T> results = fetchSpec.all();
+			return results instanceof List ? (List<T>) results : new ArrayList<>(results);
+		}
+
+		public Stream<T> getResultStream() {
+			return fetchSpec.stream();
 		}
 
 		public Optional<T> getSingleResult() {
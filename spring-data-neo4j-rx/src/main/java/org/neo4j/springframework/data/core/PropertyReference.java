@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2019 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.springframework.data.core;
+
+import java.beans.Introspector;
+import java.io.Serializable;
+import java.lang.invoke.SerializedLambda;
+import java.lang.reflect.Method;
+import java.util.function.Function;
+
+import org.apiguardian.api.API;
+
+/**
+ * A reference to a property of a domain class, given as a method reference to its getter, for example
+ * {@code Person::getName}. The reference is serializable, so that the name of the property can be derived from the
+ * referenced method.
+ *
+ * @author Michael J. Simons
+ * @param <T> The type of the domain class
+ * @param <R> The type of the property
+ * @since 1.0
+ */
+@API(status = API.Status.STABLE, since = "1.0")
+@FunctionalInterface
+public interface PropertyReference<T, R> extends Function<T, R>, Serializable {
+
+	/**
+	 * Derives the name of the property from the name of the referenced getter, following the Java Beans conventions.
+	 *
+	 * @return The name of the referenced property
+	 * @throws IllegalArgumentException if this is not a method reference to a getter
+	 */
+	default String getPropertyName() {
+
+		SerializedLambda serializedLambda;
+		try {
+			Method writeReplace = this.getClass().getDeclaredMethod("writeReplace");
+			writeReplace.setAccessible(true);
+			serializedLambda = (SerializedLambda) writeReplace.invoke(this);
+		} catch (ReflectiveOperationException | ClassCastException e) {
+			throw new IllegalArgumentException("Only method references can be used as property references.", e);
+		}
+
+		String methodName = serializedLambda.getImplMethodName();
+		String propertyName;
+		if (methodName.startsWith("get") && methodName.length() > 3) {
+			propertyName = methodName.substring(3);
+		} else if (methodName.startsWith("is") && methodName.length() > 2) {
+			propertyName = methodName.substring(2);
+		} else {
+			throw new IllegalArgumentException(
+				"Only method references to getters can be used as property references, not " + methodName + ".");
+		}
+		return Introspector.decapitalize(propertyName);
+	}
+}
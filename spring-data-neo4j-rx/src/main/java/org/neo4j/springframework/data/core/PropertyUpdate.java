@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2019 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.springframework.data.core;
+
+import static org.neo4j.springframework.data.core.cypher.Cypher.*;
+import static org.neo4j.springframework.data.core.schema.NodeDescription.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.neo4j.springframework.data.core.convert.Neo4jConverter;
+import org.neo4j.springframework.data.core.cypher.Statement;
+import org.neo4j.springframework.data.core.mapping.Neo4jMappingContext;
+import org.neo4j.springframework.data.core.mapping.Neo4jPersistentEntity;
+import org.neo4j.springframework.data.core.mapping.Neo4jPersistentProperty;
+import org.neo4j.springframework.data.core.schema.CypherGenerator;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+/**
+ * An update of selected properties of a single node, identified by its id. The properties are validated against the
+ * mapping metadata and converted like they would be when saving the whole entity, but neither the entity is loaded nor
+ * are any other properties or relationships written.
+ *
+ * @author Michael J. Simons
+ * @since 1.0
+ */
+final class PropertyUpdate {
+
+	private final Neo4jPersistentEntity<?> entityMetaData;
+
+	private final List<Neo4jPersistentProperty> propertiesToUpdate;
+
+	private final Map<String, Object> parameters;
+
+	/**
+	 * @param neo4jMappingContext The mapping context to use
+	 * @param domainType          The type of the entity to update
+	 * @param id                  The id of the entity to update
+	 * @param properties          New values, indexed by the names of the properties of the domain type
+	 * @return An update of the given properties
+	 * @throws IllegalArgumentException if a property is unknown, an id, version or relationship or if a value has the
+	 *                                  wrong type
+	 */
+	static PropertyUpdate of(Neo4jMappingContext neo4jMappingContext, Class<?> domainType, Object id,
+		Map<String, Object> properties) {
+
+		Assert.notNull(id, "The given id must not be null!");
+		Assert.notEmpty(properties, "At least one property to update is required.");
+
+		Neo4jPersistentEntity<?> entityMetaData = neo4jMappingContext.getPersistentEntity(domainType);
+		Neo4jConverter converter = neo4jMappingContext.getConverter();
+
+		List<Neo4jPersistentProperty> propertiesToUpdate = new ArrayList<>(properties.size());
+		Map<String, Object> parameters = new HashMap<>(properties.size() + 1);
+		properties.forEach((name, value) -> {
+
+			Neo4jPersistentProperty property = entityMetaData.getPersistentProperty(name);
+			if (property == null) {
+				throw new IllegalArgumentException(
+					String.format("%s is not a property of %s.", name, entityMetaData.getName()));
+			}
+			Assert.isTrue(!(property.isIdProperty() || property.isVersionProperty()),
+				() -> String.format("The id or version property %s cannot be updated.", name));
+			Assert.isTrue(!property.isRelationship(),
+				() -> String.format("The relationship %s cannot be updated as a property.", name));
+			Assert.isTrue(value == null || ClassUtils.isAssignableValue(property.getType(), value),
+				() -> String.format("%s is not a valid value for %s of type %s.", value, name, property.getType()));
+
+			propertiesToUpdate.add(property);
+			parameters.put(property.getFieldName(), converter.writeValue(value, property.getTypeInformation()));
+		});
+		parameters.put(NAME_OF_ID_PARAM, id);
+
+		return new PropertyUpdate(entityMetaData, propertiesToUpdate, parameters);
+	}
+
+	private PropertyUpdate(Neo4jPersistentEntity<?> entityMetaData, List<Neo4jPersistentProperty> propertiesToUpdate,
+		Map<String, Object> parameters) {
+		this.entityMetaData = entityMetaData;
+		this.propertiesToUpdate = propertiesToUpdate;
+		this.parameters = Collections.unmodifiableMap(parameters);
+	}
+
+	/**
+	 * @return A key identifying the statement of all updates of the same properties in the same order
+	 */
+	Object getKey() {
+
+		List<String> namesOfProperties = new ArrayList<>(propertiesToUpdate.size());
+		for (Neo4jPersistentProperty property : propertiesToUpdate) {
+			namesOfProperties.add(property.getFieldName());
+		}
+		return Arrays.asList("updateProperties", entityMetaData, namesOfProperties);
+	}
+
+	Statement getStatement() {
+		return CypherGenerator.INSTANCE.prepareUpdateOf(entityMetaData,
+			entityMetaData.getIdExpression().isEqualTo(parameter(NAME_OF_ID_PARAM)), propertiesToUpdate);
+	}
+
+	Map<String, Object> getParameters() {
+		return parameters;
+	}
+}
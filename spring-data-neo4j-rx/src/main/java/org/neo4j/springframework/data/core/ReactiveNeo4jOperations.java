@@ -25,7 +25,9 @@ import java.util.Map;
 
 import org.apiguardian.api.API;
 import org.neo4j.springframework.data.core.cypher.Statement;
+import org.reactivestreams.Publisher;
 import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.lang.Nullable;
 
 /**
  * Specifies reactive operations one can perform on a database, based on an <em>Domain Type</em>.
@@ -55,6 +57,17 @@ public interface ReactiveNeo4jOperations {
 	 */
 	<T> Flux<T> findAll(Class<T> domainType);
 
+	/**
+	 * Load all entities of a given type, following only the given number of relationships from each entity.
+	 *
+	 * @param domainType the type of the entities. Must not be {@code null}.
+	 * @param depth      the number of relationships to follow, {@literal -1} to follow all of them
+	 * @param <T>        the type of the entities. Must not be {@code null}.
+	 * @return Guaranteed to be not {@code null}.
+	 * @see org.neo4j.springframework.data.core.mapping.Neo4jMappingContext#setDefaultFetchDepth(int)
+	 */
+	<T> Flux<T> findAll(Class<T> domainType, int depth);
+
 	<T> Flux<T> findAll(Statement statement, Class<T> domainType);
 
 	<T> Flux<T> findAll(Statement statement, Map<String, Object> parameters, Class<T> domainType);
@@ -71,6 +84,26 @@ public interface ReactiveNeo4jOperations {
 	 */
 	<T> Mono<T> findById(Object id, Class<T> domainType);
 
+	/**
+	 * Load an entity from the database, following only the given number of relationships from the entity.
+	 *
+	 * @param id         the id of the entity to load. Must not be {@code null}.
+	 * @param domainType the type of the entity. Must not be {@code null}.
+	 * @param depth      the number of relationships to follow, {@literal -1} to follow all of them
+	 * @param <T>        the type of the entity.
+	 * @return the loaded entity. Might return an empty optional.
+	 */
+	<T> Mono<T> findById(Object id, Class<T> domainType, int depth);
+
+	/**
+	 * Checks whether an entity with the given id exists without loading it.
+	 *
+	 * @param id         the id of the entity. Must not be {@code null}.
+	 * @param domainType the type of the entity. Must not be {@code null}.
+	 * @return true, if an entity with the given id exists.
+	 */
+	Mono<Boolean> existsById(Object id, Class<?> domainType);
+
 	/**
 	 * Load all entities of a given type that are identified by the given ids.
 	 *
@@ -81,6 +114,18 @@ public interface ReactiveNeo4jOperations {
 	 */
 	<T> Flux<T> findAllById(Iterable<?> ids, Class<T> domainType);
 
+	/**
+	 * Load all entities of a given type that are identified by the given ids, following only the given number of
+	 * relationships from each entity.
+	 *
+	 * @param ids        of the entities identifying the entities to load. Must not be {@code null}.
+	 * @param domainType the type of the entities. Must not be {@code null}.
+	 * @param depth      the number of relationships to follow, {@literal -1} to follow all of them
+	 * @param <T>        the type of the entities. Must not be {@code null}.
+	 * @return Guaranteed to be not {@code null}.
+	 */
+	<T> Flux<T> findAllById(Iterable<?> ids, Class<T> domainType, int depth);
+
 	/**
 	 * Saves an instance of an entity, including all the related entities of the entity.
 	 *
@@ -99,6 +144,30 @@ public interface ReactiveNeo4jOperations {
 	 */
 	<T> Flux<T> saveAll(Iterable<T> instances);
 
+	/**
+	 * Saves a stream of instances of an entity, including all the related entities of the entity. The stream is split
+	 * into batches as described by {@link BatchOptions#defaults()}.
+	 *
+	 * @param instances the instances to be saved. Must not be {@code null}.
+	 * @param <T>       the type of the entity.
+	 * @return the saved instances, emitted as soon as their batch has been saved.
+	 * @see #saveAll(Publisher, BatchOptions)
+	 */
+	<T> Flux<T> saveAll(Publisher<T> instances);
+
+	/**
+	 * Saves a stream of instances of an entity, including all the related entities of the entity. The stream is split
+	 * into batches by count and optionally by time, each batch is saved with one statement per level of the aggregates.
+	 * Only {@link BatchOptions#getMaxConcurrentBatches()} batches are requested from the stream and saved at the same
+	 * time, so that the stream is never consumed faster than it can be written.
+	 *
+	 * @param instances    the instances to be saved. Must not be {@code null}.
+	 * @param batchOptions the options describing the batches. Must not be {@code null}.
+	 * @param <T>          the type of the entity.
+	 * @return the saved instances in the order of the stream, emitted as soon as their batch has been saved.
+	 */
+	<T> Flux<T> saveAll(Publisher<T> instances, BatchOptions batchOptions);
+
 	/**
 	 * Deletes a single entity including all entities related to that entity.
 	 *
@@ -124,6 +193,60 @@ public interface ReactiveNeo4jOperations {
 	 */
 	Mono<Void> deleteAll(Class<?> domainType);
 
+	/**
+	 * Deletes all entities of a given type in batches of at most {@code batchSize} nodes, until no entity of that type
+	 * is left. Without an ongoing transaction, each batch runs in a transaction of its own, so that the memory needed
+	 * by the server is bounded by the batch size and not by the number of nodes to delete.
+	 *
+	 * @param domainType type of the entities to be deleted. Must not be {@code null}.
+	 * @param batchSize  the maximum number of entities deleted in one batch
+	 * @return The aggregated counters of all batches
+	 */
+	Mono<DeleteSummary> deleteAll(Class<?> domainType, int batchSize);
+
+	/**
+	 * Sets the given properties of a single entity without loading it. Only the given properties are written, all
+	 * other properties and the relationships of the entity stay untouched. The values are converted in the same way as
+	 * when saving the whole entity.
+	 *
+	 * @param id         the id of the entity to update. Must not be {@code null}.
+	 * @param domainType the type of the entity
+	 * @param properties new values, indexed by the names of the properties of the domain type
+	 * @param <T>        the type of the entity.
+	 * @return A mono emitting true, if an entity with the given id exists and has been updated
+	 * @throws IllegalArgumentException if one of the properties is unknown, an id, version or relationship or if a value
+	 *                                  has the wrong type
+	 */
+	<T> Mono<Boolean> updateProperties(Object id, Class<T> domainType, Map<String, Object> properties);
+
+	/**
+	 * Starts a typed update of selected properties of a single entity without loading it, for example
+	 * {@code update(id, Person.class).set(Person::getName, "Michael").execute()}.
+	 *
+	 * @param id         the id of the entity to update. Must not be {@code null}.
+	 * @param domainType the type of the entity
+	 * @param <T>        the type of the entity.
+	 * @return An update to which the new values of the properties can be added
+	 * @see #updateProperties(Object, Class, Map)
+	 */
+	<T> ExecutableUpdate<T> update(Object id, Class<T> domainType);
+
+	/**
+	 * Loads the entities related to the given entity through the given relationship and sets them on the entity. This
+	 * is mostly useful for relationships fetched lazily ({@code @Relationship(fetch = LAZY)}), but works for all
+	 * relationships that are not dynamic.
+	 * <p>
+	 * Lazy relationships of entities mapped by reactive operations are not loaded on access, as that would block. Until
+	 * they are fetched with this method, they are empty, can't be modified and are left alone when the entity is saved.
+	 *
+	 * @param instance     the entity owning the relationship. Must have an id.
+	 * @param relationship the name of the property holding the relationship
+	 * @param <T>          the type of the entity.
+	 * @return A mono emitting the entity with the relationship loaded, which is a new instance in case of immutable
+	 * entities
+	 */
+	<T> Mono<T> fetch(T instance, String relationship);
+
 	/**
 	 * Takes a prepared query, containing all the information about the cypher template to be used, needed parameters and
 	 * an optional mapping function, and turns it into an executable query.
@@ -134,6 +257,35 @@ public interface ReactiveNeo4jOperations {
 	 */
 	<T> ExecutableQuery<T> toExecutableQuery(PreparedQuery<T> preparedQuery);
 
+	/**
+	 * An update of selected properties of a single entity.
+	 *
+	 * @param <T> the type of the entity to update
+	 * @since 1.0
+	 */
+	interface ExecutableUpdate<T> {
+
+		/**
+		 * @param property A reference to the getter of the property to update
+		 * @param value    The new value of the property
+		 * @param <R>      The type of the property
+		 * @return This update
+		 */
+		<R> ExecutableUpdate<T> set(PropertyReference<T, R> property, @Nullable R value);
+
+		/**
+		 * @param propertyName The name of the property to update
+		 * @param value        The new value of the property
+		 * @return This update
+		 */
+		ExecutableUpdate<T> set(String propertyName, @Nullable Object value);
+
+		/**
+		 * @return A mono emitting true, if an entity with the given id exists and has been updated
+		 */
+		Mono<Boolean> execute();
+	}
+
 	/**
 	 * An interface for controlling query execution in a reactive fashion.
 	 *
@@ -19,46 +19,58 @@
 package org.neo4j.springframework.data.core;
 
 import static java.util.Collections.*;
-import static java.util.stream.Collectors.*;
 import static org.neo4j.springframework.data.core.cypher.Cypher.*;
-import static org.neo4j.springframework.data.core.schema.CypherGenerator.*;
 import static org.neo4j.springframework.data.core.schema.NodeDescription.*;
-import static org.neo4j.springframework.data.core.support.Relationships.*;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Operators;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 
 import org.apache.commons.logging.LogFactory;
 import org.apiguardian.api.API;
+import org.neo4j.driver.Record;
 import org.neo4j.driver.exceptions.NoSuchRecordException;
-import org.neo4j.driver.summary.SummaryCounters;
-import org.neo4j.springframework.data.core.cypher.Condition;
-import org.neo4j.springframework.data.core.cypher.Functions;
+import org.neo4j.driver.summary.ResultSummary;
+import org.neo4j.driver.types.TypeSystem;
 import org.neo4j.springframework.data.core.cypher.Statement;
 import org.neo4j.springframework.data.core.cypher.renderer.Renderer;
+import org.neo4j.springframework.data.core.mapping.EntitySnapshots;
 import org.neo4j.springframework.data.core.mapping.Neo4jMappingContext;
+import org.neo4j.springframework.data.core.mapping.Neo4jMappingFunction;
 import org.neo4j.springframework.data.core.mapping.Neo4jPersistentEntity;
 import org.neo4j.springframework.data.core.mapping.Neo4jPersistentProperty;
 import org.neo4j.springframework.data.core.schema.CypherGenerator;
 import org.neo4j.springframework.data.core.schema.NodeDescription;
 import org.neo4j.springframework.data.core.schema.RelationshipDescription;
+import org.neo4j.springframework.data.core.support.Relationships;
 import org.neo4j.springframework.data.repository.event.ReactiveBeforeBindCallback;
+import org.reactivestreams.Publisher;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.core.log.LogAccessor;
 import org.springframework.dao.IncorrectResultSizeDataAccessException;
-import org.springframework.data.mapping.AssociationHandler;
 import org.springframework.data.mapping.PersistentPropertyAccessor;
 import org.springframework.data.mapping.callback.ReactiveEntityCallbacks;
 import org.springframework.lang.Nullable;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.ReactiveResourceSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 
@@ -73,14 +85,31 @@ public final class ReactiveNeo4jTemplate implements ReactiveNeo4jOperations, Bea
 
 	private static final Renderer renderer = Renderer.getDefaultRenderer();
 
+	/**
+	 * Marks the end of a batch that is sent because the maximum time to wait for more instances elapsed.
+	 */
+	private static final Object END_OF_BATCH = new Object();
+
+	/**
+	 * Marks the end of all instances to be saved in batches.
+	 */
+	private static final Object END_OF_INSTANCES = new Object();
+
 	private final ReactiveNeo4jClient neo4jClient;
 
 	private final Neo4jMappingContext neo4jMappingContext;
 
 	private final CypherGenerator statementBuilder;
 
+	private final Map<Neo4jPersistentEntity<?>, Optional<AggregateSavePlan>> aggregateSavePlans =
+		new ConcurrentHashMap<>();
+
+	private final Map<Neo4jPersistentEntity<?>, EntityStatements> entityStatements = new ConcurrentHashMap<>();
+
 	private ReactiveNeo4jEvents eventSupport;
 
+	private boolean singleStatementSaveEnabled = false;
+
 	public ReactiveNeo4jTemplate(ReactiveNeo4jClient neo4jClient, Neo4jMappingContext neo4jMappingContext) {
 
 		Assert.notNull(neo4jClient, "The Neo4jClient is required");
@@ -95,12 +124,8 @@ public final class ReactiveNeo4jTemplate implements ReactiveNeo4jOperations, Bea
 	@Override
 	public Mono<Long> count(Class<?> domainType) {
 
-		Neo4jPersistentEntity entityMetaData = neo4jMappingContext.getPersistentEntity(domainType);
-		Statement statement = statementBuilder.prepareMatchOf(entityMetaData)
-			.returning(Functions.count(asterisk())).build();
-
 		PreparedQuery<Long> preparedQuery = PreparedQuery.queryFor(Long.class)
-			.withCypherQuery(renderer.render(statement))
+			.withCypherQuery(getEntityStatements(domainType).count())
 			.build();
 		return this.toExecutableQuery(preparedQuery).getSingleResult();
 	}
@@ -117,11 +142,14 @@ public final class ReactiveNeo4jTemplate implements ReactiveNeo4jOperations, Bea
 
 	@Override
 	public <T> Flux<T> findAll(Class<T> domainType) {
+		return findAll(domainType, neo4jMappingContext.getDefaultFetchDepth());
+	}
 
-		Neo4jPersistentEntity entityMetaData = neo4jMappingContext.getPersistentEntity(domainType);
-		Statement statement = statementBuilder.prepareMatchOf(entityMetaData)
-			.returning(statementBuilder.createReturnStatementForMatch(entityMetaData)).build();
-		return createExecutableQuery(domainType, statement).getResults();
+	@Override
+	public <T> Flux<T> findAll(Class<T> domainType, int depth) {
+
+		String cypherQuery = getEntityStatements(domainType).findAll(depth);
+		return createExecutableQuery(domainType, cypherQuery, Collections.emptyMap()).getResults();
 	}
 
 	@Override
@@ -143,52 +171,72 @@ public final class ReactiveNeo4jTemplate implements ReactiveNeo4jOperations, Bea
 
 	@Override
 	public <T> Mono<T> findById(Object id, Class<T> domainType) {
+		return findById(id, domainType, neo4jMappingContext.getDefaultFetchDepth());
+	}
 
-		Neo4jPersistentEntity entityMetaData = neo4jMappingContext.getPersistentEntity(domainType);
-		Statement statement = statementBuilder
-			.prepareMatchOf(entityMetaData, entityMetaData.getIdExpression().isEqualTo(literalOf(id)))
-			.returning(statementBuilder.createReturnStatementForMatch(entityMetaData))
+	@Override
+	public <T> Mono<T> findById(Object id, Class<T> domainType, int depth) {
+
+		String cypherQuery = getEntityStatements(domainType).findById(depth);
+		return createExecutableQuery(domainType, cypherQuery, singletonMap(NAME_OF_ID_PARAM, id)).getSingleResult();
+	}
+
+	@Override
+	public Mono<Boolean> existsById(Object id, Class<?> domainType) {
+
+		PreparedQuery<Long> preparedQuery = PreparedQuery.queryFor(Long.class)
+			.withCypherQuery(getEntityStatements(domainType).existsById())
+			.withParameters(singletonMap(NAME_OF_ID_PARAM, id))
 			.build();
-		return createExecutableQuery(domainType, statement).getSingleResult();
+		return this.toExecutableQuery(preparedQuery).getSingleResult().map(count -> count > 0);
 	}
 
 	@Override
 	public <T> Flux<T> findAllById(Iterable<?> ids, Class<T> domainType) {
+		return findAllById(ids, domainType, neo4jMappingContext.getDefaultFetchDepth());
+	}
 
-		Neo4jPersistentEntity entityMetaData = neo4jMappingContext.getPersistentEntity(domainType);
-		Statement statement = statementBuilder
-			.prepareMatchOf(entityMetaData, entityMetaData.getIdExpression().in((parameter("ids"))))
-			.returning(statementBuilder.createReturnStatementForMatch(entityMetaData))
-			.build();
-		return createExecutableQuery(domainType, statement, singletonMap("ids", ids)).getResults();
+	@Override
+	public <T> Flux<T> findAllById(Iterable<?> ids, Class<T> domainType, int depth) {
+
+		String cypherQuery = getEntityStatements(domainType).findAllById(depth);
+		return createExecutableQuery(domainType, cypherQuery, singletonMap(NAME_OF_IDS_PARAM, ids)).getResults();
 	}
 
 	@Override
 	public <T> Mono<T> save(T instance) {
 
 		Neo4jPersistentEntity entityMetaData = neo4jMappingContext.getPersistentEntity(instance.getClass());
+		if (neo4jMappingContext.isChangeTrackingEnabled() || singleStatementSaveEnabled) {
+			return saveAllInBatches(entityMetaData, singletonList(instance)).single();
+		}
+
+		// Must be decided before the callbacks are applied, as they may generate an id
+		boolean create = neo4jMappingContext.shouldCreate(entityMetaData, entityMetaData.isKnownToBeNew(instance));
 		return Mono.just(instance)
 			.flatMap(eventSupport::maybeCallBeforeBind)
 			.flatMap(entity -> {
-				Statement saveStatement = statementBuilder.prepareSaveOf(entityMetaData);
+				EntityStatements statements = getEntityStatements(entityMetaData);
 
 				Mono<Long> idMono =
-					this.neo4jClient.query(() -> renderer.render(saveStatement))
+					this.neo4jClient.query(create ? statements.create() : statements.save())
 						.bind((T) entity)
 						.with(neo4jMappingContext.getRequiredBinderFunctionFor((Class<T>) entity.getClass()))
 						.fetchAs(Long.class).one();
 
 				if (!entityMetaData.isUsingInternalIds()) {
-					return idMono.then(processNestedAssociations(entityMetaData, entity))
+					return idMono.flatMap(internalId ->
+						processNestedAssociations(entityMetaData, instance, entity, internalId))
 						.thenReturn(entity);
 				} else {
-					return idMono.map(internalId -> {
+					return idMono.flatMap(internalId -> {
 						PersistentPropertyAccessor<T> propertyAccessor = entityMetaData.getPropertyAccessor(entity);
 						propertyAccessor.setProperty(entityMetaData.getRequiredIdProperty(), internalId);
 
-						return propertyAccessor.getBean();
-					}).flatMap(savedEntity -> processNestedAssociations(entityMetaData, savedEntity)
-						.thenReturn(savedEntity));
+						T savedEntity = propertyAccessor.getBean();
+						return processNestedAssociations(entityMetaData, instance, savedEntity, internalId)
+							.thenReturn(savedEntity);
+					});
 				}
 			});
 	}
@@ -211,48 +259,121 @@ public final class ReactiveNeo4jTemplate implements ReactiveNeo4jOperations, Bea
 		Class<T> domainClass = (Class<T>) CollectionUtils.findCommonElementType(entities);
 		Neo4jPersistentEntity entityMetaData = neo4jMappingContext.getPersistentEntity(domainClass);
 
-		if (entityMetaData.isUsingInternalIds()) {
-			log.debug("Saving entities using single statements.");
+		return saveAllInBatches(entityMetaData, entities)
+			.doOnComplete(() -> log.debug(() -> String.format("Saved %d entities of type %s in batches.",
+				entities.size(), domainClass.getName())));
+	}
 
-			return Flux.fromIterable(entities).flatMap(this::save);
-		}
+	@Override
+	public <T> Flux<T> saveAll(Publisher<T> instances) {
 
-		Function<T, Map<String, Object>> binderFunction = neo4jMappingContext.getRequiredBinderFunctionFor(domainClass);
-		return Flux.fromIterable(entities)
-			.flatMap(eventSupport::maybeCallBeforeBind)
+		return saveAll(instances, BatchOptions.defaults());
+	}
+
+	@Override
+	public <T> Flux<T> saveAll(Publisher<T> instances, BatchOptions batchOptions) {
+
+		Assert.notNull(batchOptions, "Batch options are required.");
+
+		return saveInBatches(instances, batchOptions, this::saveAll);
+	}
+
+	/**
+	 * Splits the given instances into batches as described by the batch options and saves them with the given function.
+	 * The number of instances requested from upstream is bounded by the number of batches in flight times the size of a
+	 * batch, plus the batch that is currently filled up.
+	 *
+	 * @param instances    The instances to save
+	 * @param batchOptions The options describing the batches
+	 * @param saveBatch    The function saving one batch
+	 * @param <T>          The type of the instances
+	 * @return The saved instances in the order of their batches
+	 */
+	static <T> Flux<T> saveInBatches(Publisher<T> instances, BatchOptions batchOptions,
+		Function<List<T>, Flux<T>> saveBatch) {
+
+		int maxBatchSize = batchOptions.getMaxBatchSize();
+		Flux<List<T>> batches = batchOptions.getMaxWaitTime()
+			.map(maxWaitTime -> batchesOf(instances, maxBatchSize, maxWaitTime))
+			.orElseGet(() -> Flux.from(instances).buffer(maxBatchSize));
+
+		return batches.flatMapSequential(saveBatch, batchOptions.getMaxConcurrentBatches(), 1);
+	}
+
+	/**
+	 * Splits the given instances into batches that are closed when they are full or when a tick of the given interval
+	 * arrives. Contrary to {@link Flux#bufferTimeout(int, Duration)}, this doesn't fail when the time elapses without
+	 * demand for another batch: A tick only closes a batch while there is demand for it. Otherwise the batch is closed
+	 * when it is full or by the next tick arriving after a batch has been requested. A tick closing an empty batch
+	 * emits a batch containing only the tick, which is dropped, so that ticks don't pile up in the open batch.
+	 */
+	private static <T> Flux<List<T>> batchesOf(Publisher<T> instances, int maxBatchSize, Duration maxWaitTime) {
+
+		Flux<Object> ticks = Flux.interval(maxWaitTime, maxWaitTime).onBackpressureDrop().map(tick -> END_OF_BATCH);
+		return Flux.defer(() -> {
+			AtomicLong requestedBatches = new AtomicLong();
+			int[] sizeOfBatch = { 0 };
+			return Flux.<Object>merge(1, Flux.<Object>from(instances).concatWith(Mono.just(END_OF_INSTANCES)), ticks)
+				.takeUntil(instanceOrMarker -> instanceOrMarker == END_OF_INSTANCES)
+				.bufferUntil(instanceOrMarker -> {
+					boolean endOfBatch;
+					if (instanceOrMarker == END_OF_BATCH) {
+						endOfBatch = requestedBatches.get() > 0;
+					} else {
+						endOfBatch = instanceOrMarker != END_OF_INSTANCES && ++sizeOfBatch[0] == maxBatchSize;
+					}
+					if (endOfBatch) {
+						sizeOfBatch[0] = 0;
+					}
+					return endOfBatch;
+				})
+				.doOnNext(batch -> requestedBatches.decrementAndGet())
+				.doOnRequest(n -> requestedBatches.accumulateAndGet(n, Operators::addCap))
+				.map(batch -> {
+					batch.removeIf(instanceOrMarker -> instanceOrMarker == END_OF_BATCH
+						|| instanceOrMarker == END_OF_INSTANCES);
+					return (List<T>) batch;
+				})
+				.filter(batch -> !batch.isEmpty());
+		});
+	}
+
+	/**
+	 * Saves the given instances with one {@code UNWIND} statement per level of the aggregates. Internal ids generated
+	 * for new instances are assigned in the order of the instances. If change tracking is enabled, only changed
+	 * properties and relationships of instances that have a snapshot are written. Otherwise, if single statement saves
+	 * are enabled, the whole aggregates are saved with one statement if possible.
+	 *
+	 * @param entityMetaData The description of all instances
+	 * @param instances      The instances to save
+	 * @param <T>            The type of the instances
+	 * @return The saved instances
+	 */
+	private <T> Flux<T> saveAllInBatches(Neo4jPersistentEntity<?> entityMetaData, Collection<T> instances) {
+
+		return Flux.fromIterable(instances)
+			.concatMap(instance -> {
+				AssociationBatch.Entity root = AssociationBatch.Entity.of(entityMetaData, instance);
+				return eventSupport.maybeCallBeforeBind(instance)
+					.doOnNext(root::setValueToBeSaved)
+					.thenReturn(root);
+			})
 			.collectList()
-			.flatMapMany(
-				entitiesToBeSaved -> Mono
-					.defer(() -> { // Defer the actual save statement until the previous flux completes
-						List<Map<String, Object>> boundedEntityList = entitiesToBeSaved.stream()
-							.map(binderFunction)
-							.collect(toList());
-
-						return neo4jClient
-							.query(() -> renderer
-								.render(statementBuilder.prepareSaveOfMultipleInstancesOf(entityMetaData)))
-							.bind(boundedEntityList).to(NAME_OF_ENTITY_LIST_PARAM).run();
-					})
-					.doOnNext(resultSummary -> {
-						SummaryCounters counters = resultSummary.counters();
-						log.debug(() -> String.format(
-							"Created %d and deleted %d nodes, created %d and deleted %d relationships and set %d properties.",
-							counters.nodesCreated(), counters.nodesDeleted(), counters.relationshipsCreated(),
-							counters.relationshipsDeleted(), counters.propertiesSet()));
-					})
-					.thenMany(Flux.fromIterable(entitiesToBeSaved))
-			);
+			.flatMapMany(roots -> {
+				Mono<Void> save = getAggregateSavePlan(entityMetaData)
+					.map(aggregateSavePlan -> saveAggregates(aggregateSavePlan.prepare(roots)))
+					.orElseGet(() -> saveNodes(AssociationBatch
+						.nodesOf(neo4jMappingContext, getEntityStatements(entityMetaData), roots))
+						.then(processNestedAssociations(roots)));
+				return save.thenMany(Flux.fromIterable(roots).map(root -> (T) root.getValueToBeSaved()));
+			});
 	}
 
 	@Override
 	public <T> Mono<Void> deleteAllById(Iterable<?> ids, Class<T> domainType) {
 
-		Neo4jPersistentEntity entityMetaData = neo4jMappingContext.getPersistentEntity(domainType);
-		String nameOfParameter = "ids";
-		Condition condition = entityMetaData.getIdExpression().in(parameter(nameOfParameter));
-
-		Statement statement = statementBuilder.prepareDeleteOf(entityMetaData, condition);
-		return this.neo4jClient.query(() -> renderer.render(statement)).bind(ids).to(nameOfParameter).run().then();
+		return this.neo4jClient.query(getEntityStatements(domainType).deleteAllById())
+			.bind(ids).to(NAME_OF_IDS_PARAM).run().then();
 	}
 
 	@Override
@@ -260,21 +381,52 @@ public final class ReactiveNeo4jTemplate implements ReactiveNeo4jOperations, Bea
 
 		Assert.notNull(id, "The given id must not be null!");
 
-		String nameOfParameter = "id";
-		Neo4jPersistentEntity entityMetaData = neo4jMappingContext.getPersistentEntity(domainType);
-		Condition condition = entityMetaData.getIdExpression().isEqualTo(parameter(nameOfParameter));
-
-		Statement statement = statementBuilder.prepareDeleteOf(entityMetaData, condition);
-		return this.neo4jClient.query(() -> renderer.render(statement))
-			.bind(id).to(nameOfParameter).run().then();
+		return this.neo4jClient.query(getEntityStatements(domainType).deleteById())
+			.bind(id).to(NAME_OF_ID_PARAM).run().then();
 	}
 
 	@Override
 	public Mono<Void> deleteAll(Class<?> domainType) {
 
+		return this.neo4jClient.query(getEntityStatements(domainType).deleteAll()).run().then();
+	}
+
+	@Override
+	public <T> Mono<Boolean> updateProperties(Object id, Class<T> domainType, Map<String, Object> properties) {
+
+		return Mono.fromSupplier(() -> PropertyUpdate.of(neo4jMappingContext, domainType, id, properties))
+			.flatMap(propertyUpdate -> this.neo4jClient
+				.query(() -> renderer.render(propertyUpdate.getKey(), propertyUpdate::getStatement))
+				.bindAll(propertyUpdate.getParameters())
+				.fetchAs(Long.class).one())
+			.map(updatedNodes -> updatedNodes > 0)
+			.defaultIfEmpty(false);
+	}
+
+	@Override
+	public <T> ExecutableUpdate<T> update(Object id, Class<T> domainType) {
+		return new DefaultExecutableUpdate<>(id, domainType);
+	}
+
+	@Override
+	public Mono<DeleteSummary> deleteAll(Class<?> domainType, int batchSize) {
+
+		Assert.isTrue(batchSize > 0, "The batch size must be greater than 0.");
+
 		Neo4jPersistentEntity entityMetaData = neo4jMappingContext.getPersistentEntity(domainType);
-		Statement statement = statementBuilder.prepareDeleteOf(entityMetaData);
-		return this.neo4jClient.query(() -> renderer.render(statement)).run().then();
+		Mono<ResultSummary> batch = this.neo4jClient
+			.query(() -> renderer.render(Arrays.asList("deleteAll", entityMetaData, batchSize),
+				() -> statementBuilder.prepareDeleteOf(entityMetaData, batchSize)))
+			.run();
+
+		return batch
+			.expand(summary -> summary.counters().nodesDeleted() < batchSize ? Mono.empty() : batch)
+			.reduce(DeleteSummary.empty(), (deleteSummary, summary) -> {
+				DeleteSummary progress = deleteSummary.add(summary.counters());
+				log.debug(() -> String.format("Deleted %d nodes and %d relationships in %d batches so far.",
+					progress.getNodesDeleted(), progress.getRelationshipsDeleted(), progress.getBatches()));
+				return progress;
+			});
 	}
 
 	private <T> ExecutableQuery<T> createExecutableQuery(Class<T> domainType, Statement statement) {
@@ -283,117 +435,246 @@ public final class ReactiveNeo4jTemplate implements ReactiveNeo4jOperations, Bea
 
 	private <T> ExecutableQuery<T> createExecutableQuery(Class<T> domainType, Statement statement,
 		Map<String, Object> parameters) {
+		return createExecutableQuery(domainType, renderer.render(statement), parameters);
+	}
+
+	private <T> ExecutableQuery<T> createExecutableQuery(Class<T> domainType, String cypherQuery,
+		Map<String, Object> parameters) {
 
 		PreparedQuery<T> preparedQuery = PreparedQuery.queryFor(domainType)
-			.withCypherQuery(renderer.render(statement))
+			.withCypherQuery(cypherQuery)
 			.withParameters(parameters)
 			.usingMappingFunction(this.neo4jMappingContext.getRequiredMappingFunctionFor(domainType))
 			.build();
 		return this.toExecutableQuery(preparedQuery);
 	}
 
-	private Mono<Void> processNestedAssociations(Neo4jPersistentEntity<?> neo4jPersistentEntity, Object parentObject) {
+	private Mono<Void> processNestedAssociations(Neo4jPersistentEntity<?> neo4jPersistentEntity, Object parentObject,
+		Object savedParentObject, Long internalId) {
 
 		return Mono.defer(() -> {
-			PersistentPropertyAccessor<?> propertyAccessor = neo4jPersistentEntity.getPropertyAccessor(parentObject);
-			Object fromId = propertyAccessor.getProperty(neo4jPersistentEntity.getRequiredIdProperty());
-			List<Mono<Void>> relationshipCreationMonos = new ArrayList<>();
+			AssociationBatch.Entity parent = AssociationBatch.Entity.of(neo4jPersistentEntity, parentObject);
+			parent.setValueToBeSaved(savedParentObject);
+			parent.setInternalId(internalId);
+			return processNestedAssociations(singletonList(parent));
+		});
+	}
+
+	/**
+	 * Saves all related nodes and relationships of the given parents level by level. Each level requires one statement
+	 * per relationship to clear, per node description and per relationship to create, independent of the number of
+	 * related objects. Every instance is saved only once, no matter how often it is referenced.
+	 *
+	 * @param parents The already saved parents
+	 * @return A mono completing when all levels have been saved
+	 */
+	private Mono<Void> processNestedAssociations(Collection<AssociationBatch.Entity> parents) {
 
-			neo4jPersistentEntity.doWithAssociations((AssociationHandler<Neo4jPersistentProperty>) handler -> {
+		return Mono.defer(() -> processNestedAssociations(parents, new AssociationBatch.VisitedEntities()));
+	}
 
-				Neo4jPersistentProperty inverse = handler.getInverse();
+	private Mono<Void> processNestedAssociations(Collection<AssociationBatch.Entity> parents,
+		AssociationBatch.VisitedEntities visitedEntities) {
 
-				Object value = propertyAccessor.getProperty(inverse);
+		if (parents.isEmpty()) {
+			return Mono.empty();
+		}
 
-				Collection<RelationshipDescription> relationships = neo4jPersistentEntity.getRelationships();
+		return Mono.defer(() -> {
+			AssociationBatch associationBatch = AssociationBatch
+				.of(neo4jMappingContext, this::getEntityStatements, parents, visitedEntities);
+
+			Mono<Void> callbacks = Flux.fromIterable(associationBatch.getRelatedEntities())
+				.concatMap(relatedEntity -> eventSupport.maybeCallBeforeBind(relatedEntity.getValue())
+					.doOnNext(relatedEntity::setValueToBeSaved))
+				.then();
+
+			Mono<Void> relatedNodes = Flux.fromIterable(associationBatch.getRelatedNodes())
+				.concatMap(this::saveNodes)
+				.then();
+
+			// Relationships can only be removed and created after the ids of the related nodes are known
+			Mono<Void> relationshipRemovals = Flux.defer(() -> Flux.fromIterable(associationBatch.getRelationshipsToRemove()))
+				.concatMap(this::run)
+				.then();
+
+			Mono<Void> relationshipCreations = Flux.defer(() -> Flux.fromIterable(associationBatch.getRelationshipsToCreate()))
+				.concatMap(this::run)
+				.then();
+
+			return callbacks
+				.then(relatedNodes)
+				.then(relationshipRemovals)
+				.then(relationshipCreations)
+				.then(Mono.defer(() -> updateSnapshots(associationBatch)))
+				.then(Mono.defer(() -> processNestedAssociations(associationBatch.getRelatedEntities(), visitedEntities)));
+		});
+	}
 
-				Class<?> associationTargetType = inverse.getAssociationTargetType();
+	/**
+	 * Snapshots taken in a reactive transaction are recorded in a scope bound to that transaction, so that they can be
+	 * discarded when the transaction doesn't commit.
+	 *
+	 * @param associationBatch The batch whose snapshots should be updated
+	 * @return A mono completing after the snapshots have been updated
+	 */
+	private Mono<Void> updateSnapshots(AssociationBatch associationBatch) {
 
-				Neo4jPersistentEntity<?> targetNodeDescription = (Neo4jPersistentEntity<?>) neo4jMappingContext
-					.getRequiredNodeDescription(associationTargetType);
+		return Mono.justOrEmpty(neo4jMappingContext.getEntitySnapshots())
+			.flatMap(entitySnapshots -> getScopeOfCurrentTransaction(entitySnapshots)
+				.doOnSuccess(associationBatch::updateSnapshots))
+			.then();
+	}
 
-				RelationshipDescription relationship = relationships.stream()
-					.filter(r -> r.getFieldName().equals(inverse.getName()))
-					.findFirst().get();
+	static Mono<EntitySnapshots.Scope> getScopeOfCurrentTransaction(EntitySnapshots entitySnapshots) {
 
-				// remove all relationships before creating all new if the entity is not new
-				// this avoids the usage of cache but might have significant impact on overall performance
-				if (!neo4jPersistentEntity.isNew(parentObject)) {
-					Statement relationshipRemoveQuery = statementBuilder
-						.createRelationshipRemoveQuery(neo4jPersistentEntity, relationship,
-							targetNodeDescription.getPrimaryLabel());
-					relationshipCreationMonos.add(
-						neo4jClient.query(renderer.render(relationshipRemoveQuery))
-							.bind(fromId).to(FROM_ID_PARAMETER_NAME)
-							.run().then());
-				}
+		return TransactionSynchronizationManager.forCurrentTransaction()
+			.filter(TransactionSynchronizationManager::isSynchronizationActive)
+			.map(tsm -> {
+				EntitySnapshots.Scope scope = (EntitySnapshots.Scope) tsm.getResource(entitySnapshots);
+				if (scope == null) {
+					scope = entitySnapshots.newScope();
+					scope.setSynchronizedWithTransaction(true);
 
-				if (value == null) {
-					return;
+					tsm.registerSynchronization(new ScopeSynchronization(scope, entitySnapshots, tsm));
+					tsm.bindResource(entitySnapshots, scope);
 				}
+				return scope;
+			})
+			.onErrorResume(NoTransactionException.class, e -> Mono.empty());
+	}
 
-				for (Object relatedValue : unifyRelationshipValue(inverse, value)) {
-
-					Mono<Object> valueToBeSavedMono = eventSupport
-						.maybeCallBeforeBind(relatedValue instanceof Map.Entry ?
-							((Map.Entry) relatedValue).getValue() : relatedValue);
-
-					relationshipCreationMonos.add(
-						valueToBeSavedMono
-							.flatMap(valueToBeSaved ->
-								saveRelatedNode(valueToBeSaved, associationTargetType, targetNodeDescription)
-									.flatMap(relatedInternalId -> {
-
-										// if an internal id is used this must get set to link this entity in the next iteration
-										if (targetNodeDescription.isUsingInternalIds()) {
-											PersistentPropertyAccessor<?> targetPropertyAccessor = targetNodeDescription
-												.getPropertyAccessor(valueToBeSaved);
-											targetPropertyAccessor
-												.setProperty(targetNodeDescription.getRequiredIdProperty(),
-													relatedInternalId);
-										}
-										Statement relationshipCreationQuery = statementBuilder
-											.createRelationshipCreationQuery(
-												neo4jPersistentEntity, relationship,
-												relatedValue instanceof Map.Entry ?
-													((Map.Entry<String, ?>) relatedValue).getKey() :
-													null,
-												relatedInternalId);
-
-										return
-											neo4jClient.query(renderer.render(relationshipCreationQuery))
-												.bind(fromId).to(FROM_ID_PARAMETER_NAME)
-												.run()
-												.then(processNestedAssociations(targetNodeDescription, valueToBeSaved));
-									})));
-				}
-			});
+	private EntityStatements getEntityStatements(Class<?> domainType) {
+		return getEntityStatements(neo4jMappingContext.getPersistentEntity(domainType));
+	}
+
+	private EntityStatements getEntityStatements(Neo4jPersistentEntity<?> entityMetaData) {
+
+		EntityStatements statements = entityStatements.get(entityMetaData);
+		if (statements == null) {
+			statements = entityStatements.computeIfAbsent(entityMetaData, EntityStatements::new);
+		}
+		return statements;
+	}
+
+	private Optional<AggregateSavePlan> getAggregateSavePlan(Neo4jPersistentEntity<?> entityMetaData) {
 
-			return Flux.concat(relationshipCreationMonos).then();
+		if (!singleStatementSaveEnabled || neo4jMappingContext.isChangeTrackingEnabled()) {
+			return Optional.empty();
+		}
+		return aggregateSavePlans.computeIfAbsent(entityMetaData,
+			root -> AggregateSavePlan.of(neo4jMappingContext, root));
+	}
+
+	/**
+	 * Applies the entity callbacks to all related entities level by level and then saves all aggregates with one
+	 * statement.
+	 *
+	 * @param execution The execution of an aggregate save plan, prepared with the roots of all aggregates
+	 * @return A mono completing when the aggregates have been saved
+	 */
+	private Mono<Void> saveAggregates(AggregateSavePlan.Execution execution) {
+
+		return Mono.defer(() -> {
+			List<AssociationBatch.Entity> currentLevel = execution.collectNextLevel();
+			if (!currentLevel.isEmpty()) {
+				return Flux.fromIterable(currentLevel)
+					.concatMap(relatedEntity -> eventSupport.maybeCallBeforeBind(relatedEntity.getValue())
+						.doOnNext(relatedEntity::setValueToBeSaved))
+					.then(saveAggregates(execution));
+			}
+
+			Map<String, Object> parameters = execution.getParameters();
+			return neo4jClient.query(execution.getCypherQuery())
+				.bindAll(parameters)
+				.fetch().one()
+				.doOnNext(execution::assignInternalIds)
+				.then();
 		});
 	}
 
-	private <Y> Mono<Long> saveRelatedNode(Object entity, Class<Y> entityType, NodeDescription targetNodeDescription) {
-		return neo4jClient.query(() -> renderer.render(statementBuilder.prepareSaveOf(targetNodeDescription)))
-			.bind((Y) entity)
-			.with(neo4jMappingContext.getRequiredBinderFunctionFor(entityType)).fetchAs(Long.class).one();
+	private Mono<Void> saveNodes(AssociationBatch.RelatedNodes nodes) {
+
+		// The statements can only be computed after the callbacks have been applied
+		return Flux.defer(() -> Flux.fromIterable(nodes.getStatements()))
+			.concatMap(batchStatement -> neo4jClient.query(batchStatement.getCypherQuery())
+				.bind(batchStatement.getRows()).to(batchStatement.getNameOfParameter())
+				.fetch().all()
+				.collectList()
+				.doOnNext(nodes::assignInternalIds))
+			.then();
+	}
+
+	private Mono<Void> run(AssociationBatch.BatchStatement batchStatement) {
+
+		return neo4jClient.query(batchStatement.getCypherQuery())
+			.bind(batchStatement.getRows()).to(batchStatement.getNameOfParameter())
+			.run().then();
 	}
 
 	@Override
 	public <T> ExecutableQuery<T> toExecutableQuery(PreparedQuery<T> preparedQuery) {
 
 		Class<T> resultType = preparedQuery.getResultType();
-		ReactiveNeo4jClient.MappingSpec<T> mappingSpec = this
-			.neo4jClient.query(preparedQuery.getCypherQuery())
-			.bindAll(preparedQuery.getParameters())
-			.fetchAs(resultType);
+		return new DefaultReactiveExecutableQuery<>(snapshotScope -> {
+			ReactiveNeo4jClient.MappingSpec<T> mappingSpec = this
+				.neo4jClient.query(preparedQuery.getCypherQuery())
+				.bindAll(preparedQuery.getParameters())
+				.fetchAs(resultType);
+
+			return preparedQuery
+				.getOptionalMappingFunction()
+				.map(mappingFunction -> mappingSpec.mappedBy(withSnapshotScope(mappingFunction, snapshotScope)))
+				.orElse(mappingSpec);
+		});
+	}
+
+	/**
+	 * Lets the given function record the snapshots of the entities it maps in the scope of the reactive transaction,
+	 * if there is any.
+	 */
+	private static <T> BiFunction<TypeSystem, Record, T> withSnapshotScope(
+		BiFunction<TypeSystem, Record, T> mappingFunction, @Nullable EntitySnapshots.Scope snapshotScope) {
+
+		return snapshotScope != null && mappingFunction instanceof Neo4jMappingFunction ?
+			((Neo4jMappingFunction<T>) mappingFunction).withSnapshotScope(snapshotScope) :
+			mappingFunction;
+	}
 
-		ReactiveNeo4jClient.RecordFetchSpec<T> fetchSpec = preparedQuery
-			.getOptionalMappingFunction()
-			.map(mappingFunction -> mappingSpec.mappedBy(mappingFunction))
-			.orElse(mappingSpec);
+	/**
+	 * Enables saving whole aggregates with a single statement instead of a fixed number of statements per level of the
+	 * aggregates. This is only used when change tracking is disabled and for aggregates that don't contain dynamic
+	 * relationships or relationships back to a node description already on the path from the root.
+	 *
+	 * @param singleStatementSaveEnabled True, if aggregates should be saved with a single statement
+	 */
+	public void setSingleStatementSaveEnabled(boolean singleStatementSaveEnabled) {
+		this.singleStatementSaveEnabled = singleStatementSaveEnabled;
+	}
 
-		return new DefaultReactiveExecutableQuery<>(fetchSpec);
+	@Override
+	public <T> Mono<T> fetch(T instance, String relationship) {
+
+		Neo4jPersistentEntity<?> entityMetaData = neo4jMappingContext.getPersistentEntity(instance.getClass());
+		RelationshipDescription relationshipDescription = Relationships.getRequiredRelationship(entityMetaData,
+			relationship);
+		PersistentPropertyAccessor<T> propertyAccessor = entityMetaData.getPropertyAccessor(instance);
+		Object id = propertyAccessor.getProperty(entityMetaData.getRequiredIdProperty());
+		Assert.notNull(id, "Relationships can only be fetched for entities with an id.");
+
+		int depth = neo4jMappingContext.getDefaultFetchDepth();
+		String cypherQuery = renderer.render(
+			Arrays.asList("relatedNodes", entityMetaData, relationshipDescription, false, depth),
+			() -> statementBuilder.prepareMatchOfRelatedNodes(entityMetaData, relationshipDescription, false, depth));
+		Class<?> targetType = ((Neo4jPersistentEntity<?>) relationshipDescription.getTarget()).getType();
+		Neo4jPersistentProperty inverse = entityMetaData.getRequiredPersistentProperty(relationship);
+		return createExecutableQuery(targetType, cypherQuery, singletonMap(NodeDescription.NAME_OF_ID_PARAM, id))
+			.getResults()
+			.collectList()
+			.map(relatedEntities -> {
+				propertyAccessor.setProperty(inverse, Relationships.toRelationshipValue(inverse, relatedEntities));
+				return propertyAccessor.getBean();
+			});
 	}
 
 	@Override
@@ -402,11 +683,46 @@ public final class ReactiveNeo4jTemplate implements ReactiveNeo4jOperations, Bea
 		this.eventSupport = new ReactiveNeo4jEvents(ReactiveEntityCallbacks.create(beanFactory));
 	}
 
+	final class DefaultExecutableUpdate<T> implements ExecutableUpdate<T> {
+
+		private final Object id;
+
+		private final Class<T> domainType;
+
+		private final Map<String, Object> properties = new LinkedHashMap<>();
+
+		DefaultExecutableUpdate(Object id, Class<T> domainType) {
+			this.id = id;
+			this.domainType = domainType;
+		}
+
+		@Override
+		public <R> ExecutableUpdate<T> set(PropertyReference<T, R> property, @Nullable R value) {
+			return set(property.getPropertyName(), value);
+		}
+
+		@Override
+		public ExecutableUpdate<T> set(String propertyName, @Nullable Object value) {
+
+			this.properties.put(propertyName, value);
+			return this;
+		}
+
+		@Override
+		public Mono<Boolean> execute() {
+			return updateProperties(this.id, this.domainType, this.properties);
+		}
+	}
+
 	final class DefaultReactiveExecutableQuery<T> implements ExecutableQuery<T> {
 
-		private final ReactiveNeo4jClient.RecordFetchSpec<T> fetchSpec;
+		/**
+		 * Creates the fetch spec for the scope of snapshots of the current transaction, which may be {@literal null}.
+		 */
+		private final Function<EntitySnapshots.Scope, ReactiveNeo4jClient.RecordFetchSpec<T>> fetchSpec;
 
-		DefaultReactiveExecutableQuery(ReactiveNeo4jClient.RecordFetchSpec<T> fetchSpec) {
+		DefaultReactiveExecutableQuery(
+			Function<EntitySnapshots.Scope, ReactiveNeo4jClient.RecordFetchSpec<T>> fetchSpec) {
 			this.fetchSpec = fetchSpec;
 		}
 
@@ -414,7 +730,7 @@ public final class ReactiveNeo4jTemplate implements ReactiveNeo4jOperations, Bea
 		 * @return All results returned by this query.
 		 */
 		public Flux<T> getResults() {
-			return fetchSpec.all();
+			return getFetchSpec().flatMapMany(ReactiveNeo4jClient.RecordFetchSpec::all);
 		}
 
 		/**
@@ -422,13 +738,27 @@ public final class ReactiveNeo4jTemplate implements ReactiveNeo4jOperations, Bea
 		 * @throws IncorrectResultSizeDataAccessException if there is no or more than one result
 		 */
 		public Mono<T> getSingleResult() {
-			try {
-				return fetchSpec.one();
-			} catch (NoSuchRecordException e) {
-				// This exception is thrown by the driver in both cases when there are 0 or 1+n records
-				// So there has been an incorrect result size, but not to few results but to many.
-				throw new IncorrectResultSizeDataAccessException(1);
-			}
+			return getFetchSpec().flatMap(spec -> {
+				try {
+					return spec.one();
+				} catch (NoSuchRecordException e) {
+					// This exception is thrown by the driver in both cases when there are 0 or 1+n records
+					// So there has been an incorrect result size, but not to few results but to many.
+					throw new IncorrectResultSizeDataAccessException(1);
+				}
+			});
+		}
+
+		/**
+		 * Snapshots taken while reading inside a reactive transaction are recorded in its scope, so that they are
+		 * discarded on rollback like the snapshots taken while saving.
+		 */
+		private Mono<ReactiveNeo4jClient.RecordFetchSpec<T>> getFetchSpec() {
+
+			return Mono.justOrEmpty(neo4jMappingContext.getEntitySnapshots())
+				.flatMap(ReactiveNeo4jTemplate::getScopeOfCurrentTransaction)
+				.map(fetchSpec)
+				.switchIfEmpty(Mono.fromSupplier(() -> fetchSpec.apply(null)));
 		}
 	}
 
@@ -453,4 +783,34 @@ public final class ReactiveNeo4jTemplate implements ReactiveNeo4jOperations, Bea
 			return Mono.just(object);
 		}
 	}
+
+	/**
+	 * Discards the snapshots of a reactive transaction that has not been committed.
+	 */
+	static final class ScopeSynchronization
+		extends ReactiveResourceSynchronization<EntitySnapshots.Scope, EntitySnapshots> {
+
+		private final EntitySnapshots.Scope scope;
+
+		ScopeSynchronization(EntitySnapshots.Scope scope, EntitySnapshots entitySnapshots,
+			TransactionSynchronizationManager transactionSynchronizationManager) {
+
+			super(scope, entitySnapshots, transactionSynchronizationManager);
+			this.scope = scope;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.transaction.reactive.ReactiveResourceSynchronization#afterCompletion(int)
+		 */
+		@Override
+		public Mono<Void> afterCompletion(int status) {
+
+			return Mono.<Void>fromRunnable(() -> {
+				if (status != TransactionSynchronization.STATUS_COMMITTED) {
+					scope.discard();
+				}
+			}).then(Mono.defer(() -> super.afterCompletion(status)));
+		}
+	}
 }
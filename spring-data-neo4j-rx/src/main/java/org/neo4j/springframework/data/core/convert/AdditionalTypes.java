@@ -284,8 +284,8 @@ final class AdditionalTypes {
 	static boolean[] asBooleanArray(Value value) {
 		boolean[] array = new boolean[value.size()];
 		int i = 0;
-		for (Boolean v : value.values(Value::asBoolean)) {
-			array[i++] = v;
+		for (Value v : value.values()) {
+			array[i++] = v.asBoolean();
 		}
 		return array;
 	}
@@ -293,22 +293,26 @@ final class AdditionalTypes {
 	static char[] asCharArray(Value value) {
 		char[] array = new char[value.size()];
 		int i = 0;
-		for (Character v : value.values(AdditionalTypes::asCharacter)) {
-			array[i++] = v;
+		for (Value v : value.values()) {
+			array[i++] = asCharacter(v);
 		}
 		return array;
 	}
 
 	static String[] asStringArray(Value value) {
 		String[] array = new String[value.size()];
-		return value.asList(Value::asString).toArray(array);
+		int i = 0;
+		for (Value v : value.values()) {
+			array[i++] = v.asString();
+		}
+		return array;
 	}
 
 	static double[] asDoubleArray(Value value) {
 		double[] array = new double[value.size()];
 		int i = 0;
-		for (double v : value.values(Value::asDouble)) {
-			array[i++] = v;
+		for (Value v : value.values()) {
+			array[i++] = v.asDouble();
 		}
 		return array;
 	}
@@ -316,8 +320,8 @@ final class AdditionalTypes {
 	static float[] asFloatArray(Value value) {
 		float[] array = new float[value.size()];
 		int i = 0;
-		for (float v : value.values(AdditionalTypes::asFloat)) {
-			array[i++] = v;
+		for (Value v : value.values()) {
+			array[i++] = asFloat(v);
 		}
 		return array;
 	}
@@ -338,8 +342,8 @@ final class AdditionalTypes {
 	static int[] asIntArray(Value value) {
 		int[] array = new int[value.size()];
 		int i = 0;
-		for (int v : value.values(Value::asInt)) {
-			array[i++] = v;
+		for (Value v : value.values()) {
+			array[i++] = v.asInt();
 		}
 		return array;
 	}
@@ -347,8 +351,8 @@ final class AdditionalTypes {
 	static long[] asLongArray(Value value) {
 		long[] array = new long[value.size()];
 		int i = 0;
-		for (long v : value.values(Value::asLong)) {
-			array[i++] = v;
+		for (Value v : value.values()) {
+			array[i++] = v.asLong();
 		}
 		return array;
 	}
@@ -356,8 +360,8 @@ final class AdditionalTypes {
 	static short[] asShortArray(Value value) {
 		short[] array = new short[value.size()];
 		int i = 0;
-		for (short v : value.values(AdditionalTypes::asShort)) {
-			array[i++] = v;
+		for (Value v : value.values()) {
+			array[i++] = asShort(v);
 		}
 		return array;
 	}
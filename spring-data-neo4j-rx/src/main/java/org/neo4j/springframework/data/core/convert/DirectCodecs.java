@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2019 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.springframework.data.core.convert;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetTime;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+import org.neo4j.driver.types.IsoDuration;
+import org.neo4j.driver.types.Point;
+
+/**
+ * Readers and writers of types the driver supports natively, including arrays of primitives. Those are the same
+ * functions the store converters in {@link CypherTypes} and {@link AdditionalTypes} use, so that they can be applied
+ * without looking up a converter when no custom converter has been registered for a type.
+ *
+ * @author Michael J. Simons
+ * @since 1.0
+ */
+final class DirectCodecs {
+
+	static final Map<Class<?>, Function<Value, Object>> READERS;
+
+	static final Map<Class<?>, Function<Object, Value>> WRITERS;
+
+	static {
+
+		Map<Class<?>, Function<Value, Object>> readers = new HashMap<>();
+		readers.put(Boolean.class, Value::asBoolean);
+		readers.put(boolean.class, Value::asBoolean);
+		readers.put(Long.class, Value::asLong);
+		readers.put(long.class, Value::asLong);
+		readers.put(Integer.class, Value::asInt);
+		readers.put(int.class, Value::asInt);
+		readers.put(Double.class, Value::asDouble);
+		readers.put(double.class, Value::asDouble);
+		readers.put(Character.class, AdditionalTypes::asCharacter);
+		readers.put(char.class, AdditionalTypes::asCharacter);
+		readers.put(String.class, Value::asString);
+		readers.put(byte[].class, Value::asByteArray);
+		readers.put(boolean[].class, AdditionalTypes::asBooleanArray);
+		readers.put(char[].class, AdditionalTypes::asCharArray);
+		readers.put(int[].class, AdditionalTypes::asIntArray);
+		readers.put(long[].class, AdditionalTypes::asLongArray);
+		readers.put(double[].class, AdditionalTypes::asDoubleArray);
+		readers.put(String[].class, AdditionalTypes::asStringArray);
+		readers.put(LocalDate.class, Value::asLocalDate);
+		readers.put(OffsetTime.class, Value::asOffsetTime);
+		readers.put(LocalTime.class, Value::asLocalTime);
+		readers.put(ZonedDateTime.class, Value::asZonedDateTime);
+		readers.put(LocalDateTime.class, Value::asLocalDateTime);
+		readers.put(IsoDuration.class, Value::asIsoDuration);
+		readers.put(Point.class, Value::asPoint);
+
+		Map<Class<?>, Function<Object, Value>> writers = new HashMap<>();
+		readers.keySet().forEach(type -> writers.put(type, Values::value));
+
+		READERS = Collections.unmodifiableMap(readers);
+		WRITERS = Collections.unmodifiableMap(writers);
+	}
+
+	private DirectCodecs() {
+	}
+}
@@ -21,10 +21,22 @@ package org.neo4j.springframework.data.core.convert;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 import org.apiguardian.api.API;
+import org.neo4j.driver.Value;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.core.convert.converter.ConverterFactory;
+import org.springframework.core.convert.converter.GenericConverter;
+import org.springframework.core.convert.converter.GenericConverter.ConvertiblePair;
+import org.springframework.data.convert.ConverterBuilder;
 import org.springframework.data.convert.CustomConversions;
+import org.springframework.lang.Nullable;
 
 /**
  * @author Michael J. Simons
@@ -49,6 +61,12 @@ public final class Neo4jConversions extends CustomConversions {
 		STORE_CONVERSIONS = StoreConversions.of(Neo4jSimpleTypes.HOLDER, STORE_CONVERTERS);
 	}
 
+	/**
+	 * The source and target types of all custom converters or {@literal null}, if the types of at least one custom
+	 * converter cannot be determined.
+	 */
+	private final @Nullable Set<ConvertiblePair> customConvertiblePairs;
+
 	/**
 	 * Creates a {@link Neo4jConversions} object without custom converters.
 	 */
@@ -63,5 +81,83 @@ public final class Neo4jConversions extends CustomConversions {
 	 */
 	public Neo4jConversions(Collection<?> converters) {
 		super(STORE_CONVERSIONS, converters);
+
+		this.customConvertiblePairs = getConvertiblePairs(converters);
+	}
+
+	/**
+	 * Returns a function reading values of the given type without looking up a converter. This is only possible for
+	 * types the driver supports natively and only as long as no custom converter might read into the given type.
+	 *
+	 * @param type The type to read
+	 * @return A direct reader, if any
+	 */
+	@API(status = API.Status.INTERNAL, since = "1.0")
+	public Optional<Function<Value, Object>> getDirectReaderFor(Class<?> type) {
+
+		return Optional.ofNullable(DirectCodecs.READERS.get(type))
+			.filter(reader -> !mightBeConvertedByCustomConverter(Value.class, type));
+	}
+
+	/**
+	 * Returns a function writing values of the given type without looking up a converter. This is only possible for
+	 * types the driver supports natively and only as long as no custom converter might write the given type.
+	 *
+	 * @param type The type to write
+	 * @return A direct writer, if any
+	 */
+	@API(status = API.Status.INTERNAL, since = "1.0")
+	public Optional<Function<Object, Value>> getDirectWriterFor(Class<?> type) {
+
+		return Optional.ofNullable(DirectCodecs.WRITERS.get(type))
+			.filter(writer -> !mightBeConvertedByCustomConverter(type, Value.class));
+	}
+
+	private boolean mightBeConvertedByCustomConverter(Class<?> sourceType, Class<?> targetType) {
+
+		if (customConvertiblePairs == null) {
+			return true;
+		}
+
+		return customConvertiblePairs.stream().anyMatch(pair ->
+			isRelated(pair.getSourceType(), sourceType) && isRelated(pair.getTargetType(), targetType));
+	}
+
+	private static boolean isRelated(Class<?> type1, Class<?> type2) {
+		return type1.isAssignableFrom(type2) || type2.isAssignableFrom(type1);
+	}
+
+	@Nullable
+	private static Set<ConvertiblePair> getConvertiblePairs(Collection<?> converters) {
+
+		Set<ConvertiblePair> convertiblePairs = new HashSet<>();
+		for (Object converter : converters) {
+			Set<ConvertiblePair> convertiblePairsOfConverter = getConvertiblePairs(converter);
+			if (convertiblePairsOfConverter == null) {
+				return null;
+			}
+			convertiblePairs.addAll(convertiblePairsOfConverter);
+		}
+		return convertiblePairs;
+	}
+
+	@Nullable
+	private static Set<ConvertiblePair> getConvertiblePairs(Object converter) {
+
+		if (converter instanceof ConverterBuilder) {
+			return getConvertiblePairs(((ConverterBuilder) converter).getConverters());
+		} else if (converter instanceof GenericConverter) {
+			return ((GenericConverter) converter).getConvertibleTypes();
+		}
+
+		Class<?>[] typeArguments = null;
+		if (converter instanceof Converter) {
+			typeArguments = GenericTypeResolver.resolveTypeArguments(converter.getClass(), Converter.class);
+		} else if (converter instanceof ConverterFactory) {
+			typeArguments = GenericTypeResolver.resolveTypeArguments(converter.getClass(), ConverterFactory.class);
+		}
+		return typeArguments == null ?
+			null :
+			Collections.singleton(new ConvertiblePair(typeArguments[0], typeArguments[1]));
 	}
 }
@@ -18,6 +18,8 @@
  */
 package org.neo4j.springframework.data.core.convert;
 
+import java.util.function.Function;
+
 import org.neo4j.driver.Value;
 import org.neo4j.driver.types.TypeSystem;
 import org.springframework.dao.TypeMismatchDataAccessException;
@@ -53,6 +55,28 @@ public interface Neo4jConverter {
 	@Nullable
 	Value writeValue(@Nullable Object value, TypeInformation<?> type);
 
+	/**
+	 * Resolves how values of the given type are read once, so that reading many values of the same type doesn't
+	 * require finding the matching conversion for each value again.
+	 *
+	 * @param type The type information describing the target type
+	 * @return A function reading values into the given type like {@link #readValue(Value, TypeInformation)}
+	 */
+	default Function<Value, Object> getReaderFor(TypeInformation<?> type) {
+		return value -> readValue(value, type);
+	}
+
+	/**
+	 * Resolves how values of the given type are written once, so that writing many values of the same type doesn't
+	 * require finding the matching conversion for each value again.
+	 *
+	 * @param type The type information describing the source type
+	 * @return A function writing values of the given type like {@link #writeValue(Object, TypeInformation)}
+	 */
+	default Function<Object, Value> getWriterFor(TypeInformation<?> type) {
+		return value -> writeValue(value, type);
+	}
+
 	/**
 	 * Returns a {@link PersistentPropertyAccessor} that delegates to {@code targetPropertyAccessor} and applies
 	 * all known conversions before returning a value.
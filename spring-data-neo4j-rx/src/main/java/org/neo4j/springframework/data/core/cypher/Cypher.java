@@ -239,6 +239,30 @@ public final class Cypher {
 		return ListExpression.create(expressions);
 	}
 
+	/**
+	 * Creates an expression accessing a single element of a list, i.e. {@code list[0]}.
+	 *
+	 * @param expression An expression evaluating to a list
+	 * @param index      An expression evaluating to the index of the element, starting at 0
+	 * @return A new list operator
+	 */
+	public static ListOperator valueAt(Expression expression, Expression index) {
+
+		return ListOperator.valueAt(expression, index);
+	}
+
+	/**
+	 * Creates an expression accessing a single element of a list, i.e. {@code list[0]}.
+	 *
+	 * @param expression An expression evaluating to a list
+	 * @param index      The index of the element, starting at 0
+	 * @return A new list operator
+	 */
+	public static ListOperator valueAt(Expression expression, int index) {
+
+		return ListOperator.valueAt(expression, literalOf(index));
+	}
+
 	/**
 	 * Creates a new {@link NullLiteral} from the given {@code object}.
 	 *
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2019 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.springframework.data.core.cypher;
+
+import static org.neo4j.springframework.data.core.cypher.Expressions.*;
+
+import org.apiguardian.api.API;
+import org.neo4j.springframework.data.core.cypher.support.Visitable;
+import org.neo4j.springframework.data.core.cypher.support.Visitor;
+import org.springframework.util.Assert;
+
+/**
+ * Accesses a single element of a list. See
+ * <a href="https://neo4j.com/docs/cypher-manual/current/syntax/operators/#query-operators-list">List operators</a>.
+ *
+ * @author Michael J. Simons
+ * @since 1.0
+ */
+@API(status = API.Status.INTERNAL, since = "1.0")
+public final class ListOperator implements Expression {
+
+	static ListOperator valueAt(Expression targetExpression, Expression index) {
+
+		Assert.notNull(targetExpression, "The expression to access is required.");
+		Assert.notNull(index, "The index is required.");
+
+		return new ListOperator(targetExpression, new Index(index));
+	}
+
+	private final Expression targetExpression;
+
+	private final Index index;
+
+	private ListOperator(Expression targetExpression, Index index) {
+		this.targetExpression = targetExpression;
+		this.index = index;
+	}
+
+	@Override
+	public void accept(Visitor visitor) {
+
+		visitor.enter(this);
+		nameOrExpression(this.targetExpression).accept(visitor);
+		this.index.accept(visitor);
+		visitor.leave(this);
+	}
+
+	/**
+	 * The index of the element being accessed.
+	 *
+	 * @since 1.0
+	 */
+	@API(status = API.Status.INTERNAL, since = "1.0")
+	public static final class Index implements Visitable {
+
+		private final Expression value;
+
+		private Index(Expression value) {
+			this.value = value;
+		}
+
+		@Override
+		public void accept(Visitor visitor) {
+
+			visitor.enter(this);
+			nameOrExpression(this.value).accept(visitor);
+			visitor.leave(this);
+		}
+	}
+}
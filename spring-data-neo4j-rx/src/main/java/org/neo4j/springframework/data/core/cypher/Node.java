@@ -179,6 +179,17 @@ public final class Node implements PatternElement, Named, Expression, ExposesRel
 		return Functions.id(this);
 	}
 
+	/**
+	 * Creates an {@link Operation} mutating the properties of this node with the given properties ({@code n += $map}).
+	 * Existing properties that are not contained in the new properties will be kept.
+	 *
+	 * @param newProperties The new or updated properties
+	 * @return A new operation.
+	 */
+	public Operation mutate(Expression newProperties) {
+		return Operations.mutate(this, newProperties);
+	}
+
 	@Override
 	public Relationship relationshipTo(Node other, String... types) {
 		return Relationship.create(this, Direction.LTR, other, types);
@@ -20,70 +20,117 @@ package org.neo4j.springframework.data.core.cypher.renderer;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Objects;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 
 import org.neo4j.springframework.data.core.cypher.Statement;
 
 /**
+ * Renders statements and caches the result of statements rendered with a key. Statements rendered without a key are
+ * not cached, as most of them are rendered only once and would only push others out of the cache.
+ * <p>
+ * The cache is split into segments, each of them being a least recently used cache of its own, so that concurrent
+ * renderings don't contend for a single lock. Rendering itself happens outside of any lock.
+ *
  * @author Michael J. Simons
  * @author Gerrit Meier
  * @since 1.0
  */
-enum CypherRenderer implements Renderer {
+final class CypherRenderer implements Renderer {
+
+	static final int DEFAULT_STATEMENT_CACHE_SIZE = 128;
+
+	private static final int MAX_NUMBER_OF_SEGMENTS = 16;
+
+	static final CypherRenderer INSTANCE = new CypherRenderer(DEFAULT_STATEMENT_CACHE_SIZE);
+
+	private final Segment[] segments;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
 
-	INSTANCE;
+	/**
+	 * @param statementCacheSize The maximum number of rendered statements to keep, {@literal 0} disables caching
+	 */
+	CypherRenderer(int statementCacheSize) {
 
-	private final int STATEMENT_CACHE_SIZE = 128;
-	private final LinkedHashMap<Integer, String> renderedStatementCache = new LRUCache<>(STATEMENT_CACHE_SIZE);
+		if (statementCacheSize < 0) {
+			throw new IllegalArgumentException("The size of the statement cache must not be negative.");
+		}
 
-	private final ReadWriteLock lock = new ReentrantReadWriteLock();
-	private final Lock read = lock.readLock();
-	private final Lock write = lock.writeLock();
+		int numberOfSegments = Math.min(MAX_NUMBER_OF_SEGMENTS, statementCacheSize);
+		this.segments = new Segment[numberOfSegments];
+		for (int i = 0; i < numberOfSegments; ++i) {
+			int segmentSize = statementCacheSize / numberOfSegments + (i < statementCacheSize % numberOfSegments ? 1 : 0);
+			this.segments[i] = new Segment(segmentSize);
+		}
+	}
 
 	@Override
 	public String render(Statement statement) {
+		return renderImpl(statement);
+	}
 
-		int key = Objects.hashCode(statement);
+	@Override
+	public String render(Object key, Supplier<Statement> statement) {
 
-		String renderedContent;
-		try {
-			read.lock();
-			renderedContent = renderedStatementCache.get(key);
-		} finally {
-			read.unlock();
+		if (segments.length == 0) {
+			misses.increment();
+			return renderImpl(statement.get());
 		}
 
-		if (renderedContent == null) {
-			try {
-				write.lock();
+		Segment segment = segments[(key.hashCode() & Integer.MAX_VALUE) % segments.length];
 
-				RenderingVisitor renderingVisitor = new RenderingVisitor();
-				statement.accept(renderingVisitor);
-				renderedContent = renderingVisitor.getRenderedContent().trim();
+		String renderedContent;
+		synchronized (segment) {
+			renderedContent = segment.get(key);
+		}
 
-				renderedStatementCache.put(key, renderedContent);
-			} finally {
-				write.unlock();
+		if (renderedContent != null) {
+			hits.increment();
+		} else {
+			misses.increment();
+			renderedContent = renderImpl(statement.get());
+			synchronized (segment) {
+				segment.put(key, renderedContent);
 			}
 		}
-
 		return renderedContent;
 	}
 
-	private static class LRUCache<K, V> extends LinkedHashMap<K, V> {
-		private int cacheSize;
+	@Override
+	public StatementCacheStatistics getStatementCacheStatistics() {
+		return new StatementCacheStatistics(hits.sum(), misses.sum(), evictions.sum());
+	}
+
+	private static String renderImpl(Statement statement) {
 
-		LRUCache(int cacheSize) {
-			super(cacheSize / 4, 0.75f, true);
-			this.cacheSize = cacheSize;
+		RenderingVisitor renderingVisitor = new RenderingVisitor();
+		statement.accept(renderingVisitor);
+		return renderingVisitor.getRenderedContent().trim();
+	}
+
+	/**
+	 * A least recently used cache, guarded by its own monitor.
+	 */
+	private final class Segment extends LinkedHashMap<Object, String> {
+
+		private final int maxSize;
+
+		Segment(int maxSize) {
+			super(16, 0.75f, true);
+			this.maxSize = maxSize;
 		}
 
 		@Override
-		protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
-			return size() >= cacheSize;
+		protected boolean removeEldestEntry(Map.Entry<Object, String> eldest) {
+
+			boolean evict = size() > maxSize;
+			if (evict) {
+				evictions.increment();
+			}
+			return evict;
 		}
 	}
 }
@@ -18,6 +18,8 @@
  */
 package org.neo4j.springframework.data.core.cypher.renderer;
 
+import java.util.function.Supplier;
+
 import org.neo4j.springframework.data.core.cypher.Statement;
 
 /**
@@ -28,12 +30,33 @@ import org.neo4j.springframework.data.core.cypher.Statement;
 public interface Renderer {
 
 	/**
-	 * Renders a statement.
+	 * Renders a statement. The rendered statement is not cached.
 	 * @param statement the statement to render
 	 * @return The rendered Cypher statement.
 	 */
 	String render(Statement statement);
 
+	/**
+	 * Renders the statement identified by the given key. Renderers with a cache of rendered statements only call the
+	 * supplier if they haven't rendered a statement for an equal key before. The key must therefore identify the
+	 * structure of the statement completely.
+	 *
+	 * @param key       the key identifying the statement
+	 * @param statement supplies the statement to render
+	 * @return The rendered Cypher statement.
+	 */
+	default String render(Object key, Supplier<Statement> statement) {
+		return render(statement.get());
+	}
+
+	/**
+	 * @return A snapshot of the counters of the cache of rendered statements, all of them being zero for renderers
+	 * without a cache.
+	 */
+	default StatementCacheStatistics getStatementCacheStatistics() {
+		return new StatementCacheStatistics(0L, 0L, 0L);
+	}
+
 	/**
 	 * Provides the default renderer. This method may or may not provide shared instances of the renderer.
 	 *
@@ -42,4 +65,15 @@ public interface Renderer {
 	static Renderer getDefaultRenderer() {
 		return CypherRenderer.INSTANCE;
 	}
+
+	/**
+	 * Provides a new renderer that keeps up to {@code statementCacheSize} rendered statements. Only statements rendered
+	 * with a {@link #render(Object, Supplier) key} are cached.
+	 *
+	 * @param statementCacheSize The maximum number of rendered statements to keep, {@literal 0} disables caching
+	 * @return A new renderer.
+	 */
+	static Renderer getRenderer(int statementCacheSize) {
+		return new CypherRenderer(statementCacheSize);
+	}
 }
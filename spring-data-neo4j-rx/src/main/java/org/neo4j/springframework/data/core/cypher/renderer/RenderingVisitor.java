@@ -18,13 +18,11 @@
  */
 package org.neo4j.springframework.data.core.cypher.renderer;
 
-import static java.util.stream.Collectors.*;
-
+import java.util.BitSet;
 import java.util.HashSet;
-import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.neo4j.springframework.data.core.cypher.*;
 import org.neo4j.springframework.data.core.cypher.support.ReflectiveVisitor;
@@ -49,7 +47,17 @@ import org.springframework.lang.Nullable;
 class RenderingVisitor extends ReflectiveVisitor {
 
 	private static final String TYPE_SEPARATOR = ":";
-	private static final Pattern LABEL_AND_TYPE_QUOTATION = Pattern.compile("`");
+	private static final char LABEL_AND_TYPE_QUOTATION = '`';
+
+	/**
+	 * The maximum number of escaped labels and types kept in {@link #ESCAPED_NAMES}.
+	 */
+	private static final int MAX_NUMBER_OF_ESCAPED_NAMES = 1024;
+
+	/**
+	 * Labels and types are taken from a small, mostly static set of names, so escaping them once is enough.
+	 */
+	private static final Map<String, String> ESCAPED_NAMES = new ConcurrentHashMap<>();
 
 	/**
 	 * Target of all rendering.
@@ -64,7 +72,7 @@ class RenderingVisitor extends ReflectiveVisitor {
 	/**
 	 * This keeps track on which level of the tree a separator is needed.
 	 */
-	private final java.util.Set<Integer> separatorOnLevel = new HashSet<>();
+	private final BitSet separatorOnLevel = new BitSet();
 
 	/**
 	 * Keeps track of named objects that have been already visited.
@@ -82,16 +90,12 @@ class RenderingVisitor extends ReflectiveVisitor {
 	private boolean skipNodeContent = false;
 
 	private void enableSeparator(int level, boolean on) {
-		if (on) {
-			separatorOnLevel.add(level);
-		} else {
-			separatorOnLevel.remove(level);
-		}
+		separatorOnLevel.set(level, on);
 		this.separator = null;
 	}
 
 	private boolean needsSeparator() {
-		return separatorOnLevel.contains(currentLevel);
+		return separatorOnLevel.get(currentLevel);
 	}
 
 	@Override
@@ -303,7 +307,10 @@ class RenderingVisitor extends ReflectiveVisitor {
 
 	void enter(NodeLabel nodeLabel) {
 
-		escapeName(nodeLabel.getValue()).ifPresent(label -> builder.append(":").append(label));
+		String label = nodeLabel.getValue();
+		if (label != null) {
+			builder.append(":").append(escapedName(label));
+		}
 	}
 
 	void enter(Properties properties) {
@@ -326,13 +333,12 @@ class RenderingVisitor extends ReflectiveVisitor {
 	void leave(RelationshipDetail details) {
 
 		Relationship.Direction direction = details.getDirection();
-		builder
-			.append(details.isTyped() ? TYPE_SEPARATOR : "")
-			.append(details.getTypes().stream().map(RenderingVisitor::escapeName)
-				.filter(Optional::isPresent)
-				.map(Optional::get)
-				.collect(joining(TYPE_SEPARATOR)))
-			.append("]");
+		for (String type : details.getTypes()) {
+			if (type != null) {
+				builder.append(TYPE_SEPARATOR).append(escapedName(type));
+			}
+		}
+		builder.append("]");
 		builder.append(direction.getSymbolRight());
 	}
 
@@ -366,6 +372,16 @@ class RenderingVisitor extends ReflectiveVisitor {
 		builder.append("]");
 	}
 
+	void enter(ListOperator.Index index) {
+
+		builder.append("[");
+	}
+
+	void leave(ListOperator.Index index) {
+
+		builder.append("]");
+	}
+
 	void enter(Unwind unwind) {
 
 		builder.append("UNWIND ");
@@ -428,7 +444,32 @@ class RenderingVisitor extends ReflectiveVisitor {
 			return Optional.empty();
 		}
 
-		Matcher matcher = LABEL_AND_TYPE_QUOTATION.matcher(unescapedName);
-		return Optional.of(String.format(Locale.ENGLISH, "`%s`", matcher.replaceAll("``")));
+		return Optional.of(escapedName(unescapedName.toString()));
+	}
+
+	private static String escapedName(String unescapedName) {
+
+		String escapedName = ESCAPED_NAMES.get(unescapedName);
+		if (escapedName == null) {
+			escapedName = escape(unescapedName);
+			if (ESCAPED_NAMES.size() < MAX_NUMBER_OF_ESCAPED_NAMES) {
+				ESCAPED_NAMES.put(unescapedName, escapedName);
+			}
+		}
+		return escapedName;
+	}
+
+	private static String escape(String unescapedName) {
+
+		int length = unescapedName.length();
+		StringBuilder escapedName = new StringBuilder(length + 2).append(LABEL_AND_TYPE_QUOTATION);
+		for (int i = 0; i < length; ++i) {
+			char c = unescapedName.charAt(i);
+			if (c == LABEL_AND_TYPE_QUOTATION) {
+				escapedName.append(LABEL_AND_TYPE_QUOTATION);
+			}
+			escapedName.append(c);
+		}
+		return escapedName.append(LABEL_AND_TYPE_QUOTATION).toString();
 	}
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2019 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.springframework.data.core.cypher.renderer;
+
+/**
+ * A snapshot of the counters of the cache of rendered statements.
+ *
+ * @author Michael J. Simons
+ * @since 1.0
+ */
+public final class StatementCacheStatistics {
+
+	private final long hits;
+
+	private final long misses;
+
+	private final long evictions;
+
+	StatementCacheStatistics(long hits, long misses, long evictions) {
+		this.hits = hits;
+		this.misses = misses;
+		this.evictions = evictions;
+	}
+
+	/**
+	 * @return The number of statements that have been taken from the cache
+	 */
+	public long getHits() {
+		return hits;
+	}
+
+	/**
+	 * @return The number of statements that had to be rendered
+	 */
+	public long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * @return The number of rendered statements that have been removed from the cache to make room for others
+	 */
+	public long getEvictions() {
+		return evictions;
+	}
+
+	@Override
+	public String toString() {
+		return "StatementCacheStatistics{" +
+			"hits=" + hits +
+			", misses=" + misses +
+			", evictions=" + evictions +
+			'}';
+	}
+}
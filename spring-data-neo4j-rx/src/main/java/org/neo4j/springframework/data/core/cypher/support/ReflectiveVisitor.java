@@ -20,15 +20,12 @@ package org.neo4j.springframework.data.core.cypher.support;
 
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
+import java.util.ArrayDeque;
 import java.util.Deque;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Map;
-import java.util.Objects;
-import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.lang.Nullable;
 
 /**
  * This is a convenience class implementing a {@link Visitor} and it takes care of choosing the right methods
@@ -39,6 +36,9 @@ import java.util.concurrent.ConcurrentHashMap;
  * <p>
  * The type must be an exact match, this support class doesn't try to find a close match up in the class hierarchy if it
  * doesn't find an exact match.
+ * <p>
+ * The methods are looked up once per combination of visitor class and visitable class and kept in a dispatch table, so
+ * that visiting an element doesn't involve any reflection.
  *
  * @author Michael J. Simons
  * @author Gerrit Meier
@@ -47,27 +47,35 @@ import java.util.concurrent.ConcurrentHashMap;
 public abstract class ReflectiveVisitor implements Visitor {
 
 	/**
-	 * Private enum to specify a visiting phase.
+	 * The uniform type all visiting methods are adapted to, so that they can be invoked exactly.
 	 */
-	private enum Phase {
-		ENTER("enter"),
-		LEAVE("leave");
-
-		final String methodName;
-
-		Phase(String methodName) {
-			this.methodName = methodName;
-		}
-	}
+	private static final MethodType VISITING_METHOD_TYPE = MethodType
+		.methodType(void.class, ReflectiveVisitor.class, Visitable.class);
 
 	/**
-	 * A shared cache of unbound method handles for entering and leaving phases.
-	 * The key is the concrete class of the visitor as well as the hierarchy of the visitable.
+	 * A shared dispatch table of unbound method handles for entering and leaving phases. The outer table is keyed by the
+	 * concrete class of the visitor, the inner ones by the concrete class of the visitable.
 	 */
-	private static final Map<TargetAndPhase, Optional<MethodHandle>> VISITING_METHODS_CACHE = new ConcurrentHashMap<>();
+	private static final ClassValue<ClassValue<VisitingMethods>> VISITING_METHODS = new ClassValue<ClassValue<VisitingMethods>>() {
+		@Override
+		protected ClassValue<VisitingMethods> computeValue(Class<?> visitorClass) {
+			return new ClassValue<VisitingMethods>() {
+				@Override
+				protected VisitingMethods computeValue(Class<?> visitableClass) {
+					return new VisitingMethods(
+						findHandleFor(visitorClass, "enter", visitableClass),
+						findHandleFor(visitorClass, "leave", visitableClass)
+					);
+				}
+			};
+		}
+	};
+
+	/** The dispatch table for the concrete class of this visitor. */
+	private final ClassValue<VisitingMethods> visitingMethods = VISITING_METHODS.get(getClass());
 
 	/** Keeps track of the ASTs current level. */
-	private Deque<Visitable> currentVisitedElements = new LinkedList<>();
+	private final Deque<Visitable> currentVisitedElements = new ArrayDeque<>();
 
 	/**
 	 * This is a hook that is called with the uncasted, raw visitable just before entering a visitable.
@@ -93,7 +101,7 @@ public abstract class ReflectiveVisitor implements Visitor {
 
 		if (preEnter(visitable)) {
 			currentVisitedElements.push(visitable);
-			executeConcreteMethodIn(new TargetAndPhase(this, visitable.getClass(), Phase.ENTER), visitable);
+			invoke(visitingMethods.get(visitable.getClass()).enter, visitable);
 		}
 	}
 
@@ -101,77 +109,58 @@ public abstract class ReflectiveVisitor implements Visitor {
 	public final void leave(Visitable visitable) {
 
 		if (currentVisitedElements.peek() == visitable) {
-			executeConcreteMethodIn(new TargetAndPhase(this, visitable.getClass(), Phase.LEAVE), visitable);
+			invoke(visitingMethods.get(visitable.getClass()).leave, visitable);
 			postLeave(visitable);
 			currentVisitedElements.pop();
 		}
 	}
 
-	private void executeConcreteMethodIn(TargetAndPhase targetAndPhase, Visitable onVisitable) {
-		Optional<MethodHandle> optionalHandle = VISITING_METHODS_CACHE
-			.computeIfAbsent(targetAndPhase, ReflectiveVisitor::findHandleFor);
-		optionalHandle.ifPresent(handle -> {
-			try {
-				handle.invoke(this, onVisitable);
-			} catch (Throwable throwable) {
-				throwable.printStackTrace();
-			}
-		});
+	private void invoke(@Nullable MethodHandle handle, Visitable onVisitable) {
+
+		if (handle == null) {
+			return;
+		}
+
+		try {
+			handle.invokeExact(this, onVisitable);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable throwable) {
+			throw new IllegalStateException("Could not visit " + onVisitable, throwable);
+		}
 	}
 
-	private static Optional<MethodHandle> findHandleFor(TargetAndPhase targetAndPhase) {
+	@Nullable
+	private static MethodHandle findHandleFor(Class<?> visitorClass, String methodName, Class<?> visitableClass) {
 
-		for (Class<?> clazz : targetAndPhase.classHierarchyOfVisitable) {
+		Class<?> classOfVisitable = visitableClass;
+		do {
 			try {
 				// Using MethodHandles.lookup().findVirtual() doesn't allow to make a protected method accessible.
-				Method method = targetAndPhase.visitorClass
-					.getDeclaredMethod(targetAndPhase.phase.methodName, clazz);
+				Method method = visitorClass.getDeclaredMethod(methodName, classOfVisitable);
 				method.setAccessible(true);
-				return Optional.of(MethodHandles.lookup().in(targetAndPhase.visitorClass).unreflect(method));
+				return MethodHandles.lookup().in(visitorClass).unreflect(method).asType(VISITING_METHOD_TYPE);
 			} catch (IllegalAccessException | NoSuchMethodException e) {
 				// We don't do anything if the method doesn't exists
 				// Try the next parameter type in the hierarchy
 			}
-		}
-		return Optional.empty();
+			classOfVisitable = classOfVisitable.getSuperclass();
+		} while (classOfVisitable != null);
+		return null;
 	}
 
-	private static class TargetAndPhase {
-		private final Class<? extends ReflectiveVisitor> visitorClass;
-
-		private final List<Class<?>> classHierarchyOfVisitable;
-
-		private final Phase phase;
-
-		<T extends ReflectiveVisitor> TargetAndPhase(T visitor, Class<? extends Visitable> concreteVisitableClass,
-			Phase phase) {
-			this.visitorClass = visitor.getClass();
-			this.phase = phase;
-			this.classHierarchyOfVisitable = new ArrayList<>();
+	/**
+	 * The methods handling one concrete class of visitables, both may be {@literal null}.
+	 */
+	private static final class VisitingMethods {
 
-			Class<?> classOfVisitable = concreteVisitableClass;
-			do {
-				this.classHierarchyOfVisitable.add(classOfVisitable);
-				classOfVisitable = classOfVisitable.getSuperclass();
-			} while (classOfVisitable != null);
-		}
+		@Nullable private final MethodHandle enter;
 
-		@Override public boolean equals(Object o) {
-			if (this == o) {
-				return true;
-			}
-			if (!(o instanceof TargetAndPhase)) {
-				return false;
-			}
-			TargetAndPhase that = (TargetAndPhase) o;
-			return visitorClass.equals(that.visitorClass) &&
-				classHierarchyOfVisitable.equals(that.classHierarchyOfVisitable) &&
-				phase == that.phase;
-		}
+		@Nullable private final MethodHandle leave;
 
-		@Override
-		public int hashCode() {
-			return Objects.hash(visitorClass, classHierarchyOfVisitable, phase);
+		VisitingMethods(@Nullable MethodHandle enter, @Nullable MethodHandle leave) {
+			this.enter = enter;
+			this.leave = leave;
 		}
 	}
 }
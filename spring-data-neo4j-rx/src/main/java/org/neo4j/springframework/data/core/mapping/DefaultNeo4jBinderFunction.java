@@ -20,14 +20,22 @@ package org.neo4j.springframework.data.core.mapping;
 
 import static org.neo4j.springframework.data.core.schema.NodeDescription.*;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 
+import org.neo4j.driver.Value;
 import org.neo4j.springframework.data.core.convert.Neo4jConverter;
 import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.data.mapping.PropertyHandler;
+import org.springframework.lang.Nullable;
 
 /**
+ * Binds entities to the parameters of save statements. The properties to write and how their values are written is
+ * resolved once per entity, binder functions are cached by the {@link Neo4jMappingContext}.
+ *
  * @author Michael J. Simons
  * @param <T> type that should get mapped by the binder function
  * @since 1.0
@@ -36,33 +44,75 @@ final class DefaultNeo4jBinderFunction<T> implements Function<T, Map<String, Obj
 
 	private final Neo4jPersistentEntity<T> nodeDescription;
 
-	private final Neo4jConverter converter;
+	/**
+	 * Entities without an id can be mapped but not bound, this is checked on binding.
+	 */
+	private final @Nullable Neo4jPersistentProperty idProperty;
+
+	/**
+	 * All properties except the internal id property, which must not end up stored as a property.
+	 */
+	private final PropertyWriter[] propertyWriters;
+
+	private final int initialCapacityOfProperties;
 
 	DefaultNeo4jBinderFunction(Neo4jPersistentEntity<T> nodeDescription, Neo4jConverter converter) {
+
 		this.nodeDescription = nodeDescription;
-		this.converter = converter;
+		this.idProperty = nodeDescription.getIdProperty();
+
+		List<PropertyWriter> newPropertyWriters = new ArrayList<>();
+		nodeDescription.doWithProperties((PropertyHandler<Neo4jPersistentProperty>) p -> {
+			if (!p.isInternalIdProperty()) {
+				newPropertyWriters.add(new PropertyWriter(p, converter.getWriterFor(p.getTypeInformation())));
+			}
+		});
+		this.propertyWriters = newPropertyWriters.toArray(new PropertyWriter[0]);
+		this.initialCapacityOfProperties = initialCapacityFor(this.propertyWriters.length);
 	}
 
 	@Override
 	public Map<String, Object> apply(T entity) {
-		Map<String, Object> properties = new HashMap<>();
 
+		Neo4jPersistentProperty requiredIdProperty = idProperty == null ?
+			nodeDescription.getRequiredIdProperty() :
+			idProperty;
 		PersistentPropertyAccessor<T> propertyAccessor = nodeDescription.getPropertyAccessor(entity);
-		nodeDescription.doWithProperties((Neo4jPersistentProperty p) -> {
-
-			// Skip the internal properties, we don't want them to end up stored as properties
-			if (p.isInternalIdProperty()) {
-				return;
-			}
 
-			final Object value = converter.writeValue(propertyAccessor.getProperty(p), p.getTypeInformation());
-			properties.put(p.getPropertyName(), value);
-		});
+		Map<String, Object> properties = new HashMap<>(initialCapacityOfProperties);
+		for (PropertyWriter propertyWriter : propertyWriters) {
+			properties.put(propertyWriter.graphPropertyName,
+				propertyWriter.writer.apply(propertyAccessor.getProperty(propertyWriter.property)));
+		}
 
-		Map<String, Object> parameters = new HashMap<>();
+		// Leaves room for the index or the internal id added to rows of batched statements
+		Map<String, Object> parameters = new HashMap<>(initialCapacityFor(3));
 		parameters.put(NAME_OF_PROPERTIES_PARAM, properties);
-		parameters.put(NAME_OF_ID_PARAM, propertyAccessor.getProperty(nodeDescription.getRequiredIdProperty()));
+		parameters.put(NAME_OF_ID_PARAM, propertyAccessor.getProperty(requiredIdProperty));
 
 		return parameters;
 	}
+
+	/**
+	 * @param expectedSize The number of entries to store
+	 * @return An initial capacity of a hash map that doesn't need to be resized for the expected number of entries
+	 */
+	private static int initialCapacityFor(int expectedSize) {
+		return (int) (expectedSize / 0.75f) + 1;
+	}
+
+	private static final class PropertyWriter {
+
+		private final Neo4jPersistentProperty property;
+
+		private final String graphPropertyName;
+
+		private final Function<Object, Value> writer;
+
+		PropertyWriter(Neo4jPersistentProperty property, Function<Object, Value> writer) {
+			this.property = property;
+			this.graphPropertyName = property.getPropertyName();
+			this.writer = writer;
+		}
+	}
 }
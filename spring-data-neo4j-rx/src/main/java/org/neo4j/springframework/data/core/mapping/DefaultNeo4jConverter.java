@@ -19,6 +19,9 @@
 package org.neo4j.springframework.data.core.mapping;
 
 import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import org.neo4j.driver.Value;
 import org.neo4j.driver.Values;
@@ -26,6 +29,7 @@ import org.neo4j.driver.types.TypeSystem;
 import org.neo4j.springframework.data.core.convert.Neo4jConversions;
 import org.neo4j.springframework.data.core.convert.Neo4jConverter;
 import org.springframework.core.CollectionFactory;
+import org.springframework.core.convert.ConversionFailedException;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.core.convert.support.ConfigurableConversionService;
@@ -48,8 +52,16 @@ import org.springframework.util.Assert;
  */
 final class DefaultNeo4jConverter implements Neo4jConverter {
 
+	private final Neo4jConversions neo4jConversions;
+
 	private final ConversionService conversionService;
 
+	/**
+	 * The codecs resolved so far by the type they read and write. Properties resolve their readers and writers once
+	 * through {@link #getReaderFor(TypeInformation)} and {@link #getWriterFor(TypeInformation)}.
+	 */
+	private final Map<TypeInformation<?>, ValueCodec> codecs = new ConcurrentHashMap<>();
+
 	DefaultNeo4jConverter(Neo4jConversions neo4jConversions) {
 
 		Assert.notNull(neo4jConversions, "Neo4jConversions must not be null!");
@@ -57,49 +69,103 @@ final class DefaultNeo4jConverter implements Neo4jConverter {
 		final ConfigurableConversionService configurableConversionService = new DefaultConversionService();
 		neo4jConversions.registerConvertersIn(configurableConversionService);
 
+		this.neo4jConversions = neo4jConversions;
 		this.conversionService = configurableConversionService;
 	}
 
 	@Nullable
 	public Object readValue(@Nullable Value value, TypeInformation<?> type) {
 
-		if (value == null || value == Values.NULL) {
-			return null;
-		}
+		return getCodecFor(type).read(value);
+	}
 
-		try {
-			Class<?> rawType = type.getType();
+	@Override
+	public Value writeValue(@Nullable Object value, TypeInformation<?> type) {
 
-			if (isCollection(type)) {
-				Collection<Object> target = CollectionFactory.createCollection(rawType,
-					type.getComponentType().getType(), value.size());
-				value.values().forEach(
-					element -> target.add(conversionService.convert(element, type.getComponentType().getType())));
-				return target;
-			}
+		return getCodecFor(type).write(value);
+	}
 
-			return conversionService.convert(value, rawType);
-		} catch (Exception e) {
-			String msg = String.format("Could not convert %s into %s", value, type.toString());
-			throw new TypeMismatchDataAccessException(msg, e);
-		}
+	@Override
+	public Function<Value, Object> getReaderFor(TypeInformation<?> type) {
+
+		return getCodecFor(type)::read;
 	}
 
 	@Override
-	public Value writeValue(@Nullable Object value, TypeInformation<?> type) {
+	public Function<Object, Value> getWriterFor(TypeInformation<?> type) {
+
+		return getCodecFor(type)::write;
+	}
+
+	private ValueCodec getCodecFor(TypeInformation<?> type) {
 
-		if (value == null) {
-			return Values.NULL;
+		ValueCodec codec = codecs.get(type);
+		if (codec == null) {
+			codec = createCodecFor(type);
+			codecs.putIfAbsent(type, codec);
 		}
+		return codec;
+	}
+
+	/**
+	 * Types the driver supports natively are read and written directly, as long as no custom converter has been
+	 * registered for them. Collections resolve the reader and writer of their elements once. Everything else goes
+	 * through the conversion service.
+	 */
+	private ValueCodec createCodecFor(TypeInformation<?> type) {
+
+		Class<?> rawType = type.getType();
+		if (!isCollection(type)) {
+			return new ValueCodec(type, getElementReaderFor(rawType), getElementWriterFor(rawType));
+		}
+
+		Class<?> componentType = type.getComponentType().getType();
+		Function<Value, Object> elementReader = getElementReaderFor(componentType);
+		Function<Object, Value> elementWriter = getElementWriterFor(componentType);
 
-		if (isCollection(type)) {
+		Function<Value, Object> reader = value -> {
+			Collection<Object> target = CollectionFactory.createCollection(rawType, componentType, value.size());
+			for (Value element : value.values()) {
+				target.add(elementReader.apply(element));
+			}
+			return target;
+		};
+		Function<Object, Value> writer = value -> {
 			Collection<?> sourceCollection = (Collection<?>) value;
-			Object[] targetCollection = (sourceCollection).stream().map(element ->
-				conversionService.convert(element, Value.class)).toArray();
+			Object[] targetCollection = new Object[sourceCollection.size()];
+			int i = 0;
+			for (Object element : sourceCollection) {
+				targetCollection[i++] = elementWriter.apply(element);
+			}
 			return Values.value(targetCollection);
-		}
+		};
+		return new ValueCodec(type, reader, writer);
+	}
 
-		return conversionService.convert(value, Value.class);
+	private Function<Value, Object> getElementReaderFor(Class<?> type) {
+
+		return neo4jConversions.getDirectReaderFor(type)
+			.map(directReader -> failingLikeTheConversionService(directReader, type))
+			.orElseGet(() -> value -> conversionService.convert(value, type));
+	}
+
+	private Function<Object, Value> getElementWriterFor(Class<?> type) {
+
+		return neo4jConversions.getDirectWriterFor(type)
+			.orElseGet(() -> value -> conversionService.convert(value, Value.class));
+	}
+
+	private static Function<Value, Object> failingLikeTheConversionService(Function<Value, Object> directReader,
+		Class<?> targetType) {
+
+		return value -> {
+			try {
+				return directReader.apply(value);
+			} catch (Exception e) {
+				throw new ConversionFailedException(TypeDescriptor.forObject(value), TypeDescriptor.valueOf(targetType),
+					value, e);
+			}
+		};
 	}
 
 	private static boolean isCollection(TypeInformation<?> type) {
@@ -152,4 +218,45 @@ final class DefaultNeo4jConverter implements Neo4jConverter {
 			return readValue((Value) source, ClassTypeInformation.from(targetType.getType()));
 		}
 	}
+
+	/**
+	 * Reads and writes values of one type, taking care of {@literal null} values and of wrapping conversion failures.
+	 */
+	private static final class ValueCodec {
+
+		private final TypeInformation<?> type;
+
+		private final Function<Value, Object> reader;
+
+		private final Function<Object, Value> writer;
+
+		ValueCodec(TypeInformation<?> type, Function<Value, Object> reader, Function<Object, Value> writer) {
+			this.type = type;
+			this.reader = reader;
+			this.writer = writer;
+		}
+
+		@Nullable
+		Object read(@Nullable Value value) {
+
+			if (value == null || value == Values.NULL) {
+				return null;
+			}
+
+			try {
+				return reader.apply(value);
+			} catch (Exception e) {
+				String msg = String.format("Could not convert %s into %s", value, type.toString());
+				throw new TypeMismatchDataAccessException(msg, e);
+			}
+		}
+
+		Value write(@Nullable Object value) {
+
+			if (value == null) {
+				return Values.NULL;
+			}
+			return writer.apply(value);
+		}
+	}
 }
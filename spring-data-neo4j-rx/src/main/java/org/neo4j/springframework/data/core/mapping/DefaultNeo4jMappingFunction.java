@@ -18,23 +18,22 @@
  */
 package org.neo4j.springframework.data.core.mapping;
 
-import static java.util.stream.Collectors.*;
 import static org.neo4j.springframework.data.core.schema.NodeDescription.*;
 import static org.neo4j.springframework.data.core.schema.RelationshipDescription.*;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Function;
-import java.util.function.Predicate;
-import java.util.stream.StreamSupport;
+import java.util.function.Supplier;
 
 import org.apache.commons.logging.LogFactory;
 import org.neo4j.driver.Record;
@@ -42,18 +41,12 @@ import org.neo4j.driver.Value;
 import org.neo4j.driver.Values;
 import org.neo4j.driver.types.MapAccessor;
 import org.neo4j.driver.types.Node;
-import org.neo4j.driver.types.Relationship;
 import org.neo4j.driver.types.TypeSystem;
-import org.neo4j.springframework.data.core.convert.Neo4jConverter;
 import org.neo4j.springframework.data.core.schema.RelationshipDescription;
 import org.springframework.core.log.LogAccessor;
-import org.springframework.data.convert.EntityInstantiators;
-import org.springframework.data.mapping.AssociationHandler;
 import org.springframework.data.mapping.MappingException;
 import org.springframework.data.mapping.PersistentPropertyAccessor;
-import org.springframework.data.mapping.PreferredConstructor;
-import org.springframework.data.mapping.PropertyHandler;
-import org.springframework.data.mapping.model.ParameterValueProvider;
+import org.springframework.lang.Nullable;
 
 /**
  * The central logic of mapping Neo4j's {@link org.neo4j.driver.Record records} to entities based on the Spring
@@ -64,28 +57,106 @@ import org.springframework.data.mapping.model.ParameterValueProvider;
  * @author Michael J. Simons
  * @since 1.0
  */
-final class DefaultNeo4jMappingFunction<T> implements BiFunction<TypeSystem, Record, T> {
+final class DefaultNeo4jMappingFunction<T> implements Neo4jMappingFunction<T> {
 
 	private static final LogAccessor log = new LogAccessor(LogFactory.getLog(DefaultNeo4jMappingFunction.class));
 
 	/**
-	 * The shared entity instantiators of this context. Those should not be recreated for each entity or even not for
-	 * each query, as otherwise the cache of Spring's org.springframework.data.convert.ClassGeneratingEntityInstantiator
-	 * won't apply
+	 * The maximum number of related entities a function scoped to one query remembers.
 	 */
-	private static final EntityInstantiators INSTANTIATORS = new EntityInstantiators();
+	static final int MAX_NUMBER_OF_KNOWN_OBJECTS = 10_000;
 
 	/**
-	 * The description of the possible root node from where the mapping should start.
+	 * The mapping plan of the possible root node from where the mapping should start.
 	 */
-	private final Neo4jPersistentEntity<T> rootNodeDescription;
+	private final MappingPlan<T> rootMappingPlan;
 
-	private final Neo4jConverter converter;
+	/**
+	 * Provides the cached mapping plans of related entities.
+	 */
+	private final Function<Neo4jPersistentEntity<?>, MappingPlan<?>> mappingPlans;
+
+	/**
+	 * Snapshots of all mapped entities are stored here if change tracking is enabled.
+	 */
+	private final @Nullable EntitySnapshots entitySnapshots;
+
+	/**
+	 * The scope of the transaction in which the snapshots are taken, if it isn't bound to the current thread.
+	 */
+	private final @Nullable EntitySnapshots.Scope snapshotScope;
+
+	/**
+	 * Associations beyond the fetch depth that have been left empty are recorded here.
+	 */
+	private final UnfetchedAssociations unfetchedAssociations;
+
+	/**
+	 * Related entities already mapped during the current query, if this function is scoped to one query.
+	 */
+	private final @Nullable Map<IdentityKey, KnownObject> identityMap;
+
+	/**
+	 * Loads lazy relationships on first access. Without a loader, lazy relationships can only be fetched explicitly.
+	 */
+	private final @Nullable RelatedEntitiesLoader relatedEntitiesLoader;
+
+	DefaultNeo4jMappingFunction(MappingPlan<T> rootMappingPlan,
+		Function<Neo4jPersistentEntity<?>, MappingPlan<?>> mappingPlans, @Nullable EntitySnapshots entitySnapshots,
+		UnfetchedAssociations unfetchedAssociations) {
+
+		this(rootMappingPlan, mappingPlans, entitySnapshots, null, unfetchedAssociations, null, null);
+	}
+
+	private DefaultNeo4jMappingFunction(MappingPlan<T> rootMappingPlan,
+		Function<Neo4jPersistentEntity<?>, MappingPlan<?>> mappingPlans, @Nullable EntitySnapshots entitySnapshots,
+		@Nullable EntitySnapshots.Scope snapshotScope, UnfetchedAssociations unfetchedAssociations,
+		@Nullable Map<IdentityKey, KnownObject> identityMap, @Nullable RelatedEntitiesLoader relatedEntitiesLoader) {
+
+		this.rootMappingPlan = rootMappingPlan;
+		this.mappingPlans = mappingPlans;
+		this.entitySnapshots = entitySnapshots;
+		this.snapshotScope = snapshotScope;
+		this.unfetchedAssociations = unfetchedAssociations;
+		this.identityMap = identityMap;
+		this.relatedEntitiesLoader = relatedEntitiesLoader;
+	}
+
+	@Override
+	public BiFunction<TypeSystem, Record, T> forOneQuery() {
 
-	DefaultNeo4jMappingFunction(Neo4jPersistentEntity<T> rootNodeDescription, Neo4jConverter converter) {
+		if (!rootMappingPlan.hasRelationships()) {
+			return this;
+		}
+		return new DefaultNeo4jMappingFunction<>(rootMappingPlan, mappingPlans, entitySnapshots, snapshotScope,
+			unfetchedAssociations, newIdentityMap(), relatedEntitiesLoader);
+	}
+
+	/**
+	 * @return An identity map forgetting the least recently used entities once it is full
+	 */
+	private static Map<IdentityKey, KnownObject> newIdentityMap() {
 
-		this.rootNodeDescription = rootNodeDescription;
-		this.converter = converter;
+		return new LinkedHashMap<IdentityKey, KnownObject>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<IdentityKey, KnownObject> eldest) {
+				return size() > MAX_NUMBER_OF_KNOWN_OBJECTS;
+			}
+		};
+	}
+
+	@Override
+	public Neo4jMappingFunction<T> withRelatedEntitiesLoader(RelatedEntitiesLoader newRelatedEntitiesLoader) {
+
+		return new DefaultNeo4jMappingFunction<>(rootMappingPlan, mappingPlans, entitySnapshots, snapshotScope,
+			unfetchedAssociations, identityMap, newRelatedEntitiesLoader);
+	}
+
+	@Override
+	public Neo4jMappingFunction<T> withSnapshotScope(EntitySnapshots.Scope newSnapshotScope) {
+
+		return new DefaultNeo4jMappingFunction<>(rootMappingPlan, mappingPlans, entitySnapshots, newSnapshotScope,
+			unfetchedAssociations, identityMap, relatedEntitiesLoader);
 	}
 
 	@Override
@@ -94,12 +165,12 @@ final class DefaultNeo4jMappingFunction<T> implements BiFunction<TypeSystem, Rec
 		// available (Converter<Record, DomainObject>
 		try {
 			List<Value> recordValues = record.values();
-			String nodeLabel = rootNodeDescription.getPrimaryLabel();
+			String nodeLabel = rootMappingPlan.getNodeDescription().getPrimaryLabel();
 			MapAccessor queryRoot = null;
 			for (Value value : recordValues) {
 				if (value.hasType(typeSystem.NODE()) && value.asNode().hasLabel(nodeLabel)) {
 					if (recordValues.size() > 1) {
-						queryRoot = mergeRootNodeWithRecord(value.asNode(), record);
+						queryRoot = new MappingPlan.NodeWithRecord(value.asNode(), record);
 					} else {
 						queryRoot = value.asNode();
 					}
@@ -117,11 +188,18 @@ final class DefaultNeo4jMappingFunction<T> implements BiFunction<TypeSystem, Rec
 
 			if (queryRoot == null) {
 				log.warn(() -> String.format("Could not find mappable nodes or relationships inside %s for %s", record,
-					rootNodeDescription));
+					rootMappingPlan.getNodeDescription()));
 				return null;
 			} else {
-				Map<Object, Object> knownObjects = new ConcurrentHashMap<>();
-				return map(typeSystem, queryRoot, rootNodeDescription, knownObjects);
+				Map<IdentityKey, KnownObject> knownObjects;
+				if (identityMap != null) {
+					knownObjects = identityMap;
+				} else if (rootMappingPlan.hasRelationships()) {
+					knownObjects = new HashMap<>();
+				} else {
+					knownObjects = Collections.emptyMap();
+				}
+				return map(typeSystem, queryRoot, rootMappingPlan, knownObjects, 0);
 			}
 		} catch (Exception e) {
 			throw new MappingException("Error mapping " + record.toString(), e);
@@ -129,193 +207,294 @@ final class DefaultNeo4jMappingFunction<T> implements BiFunction<TypeSystem, Rec
 	}
 
 	/**
-	 * Merges the root node of a query and the remaining record into one map, adding the internal ID of the node, too.
-	 * Merge happens only when the record contains additional values.
-	 *
-	 * @param node   Node whose attributes are about to be merged
-	 * @param record Record that should be merged
+	 * @param queryResult  The original query result
+	 * @param mappingPlan  The mapping plan of the current entity to be mapped from the result
+	 * @param knownObjects The current list of known objects
+	 * @param level        The number of relationships between the root of the query and the current entity
+	 * @param <ET>         As in entity type
 	 * @return
 	 */
-	private static MapAccessor mergeRootNodeWithRecord(Node node, Record record) {
-		Map<String, Object> mergedAttributes = new HashMap<>(node.size() + record.size() + 1);
-
-		mergedAttributes.put(NAME_OF_INTERNAL_ID, node.id());
-		mergedAttributes.putAll(node.asMap(Function.identity()));
-		mergedAttributes.putAll(record.asMap(Function.identity()));
+	private <ET> ET map(TypeSystem typeSystem, MapAccessor queryResult, MappingPlan<ET> mappingPlan,
+		Map<IdentityKey, KnownObject> knownObjects, int level) {
 
-		return Values.value(mergedAttributes);
+		ET instance = mappingPlan.instantiate(queryResult);
+		populate(typeSystem, queryResult, mappingPlan, instance, knownObjects, level);
+		return instance;
 	}
 
 	/**
-	 * @param queryResult     The original query result
-	 * @param nodeDescription The node description of the current entity to be mapped from the result
-	 * @param knownObjects    The current list of known objects
-	 * @param <ET>            As in entity type
-	 * @return
+	 * Populates the properties and relationships of the given instance and takes its snapshot.
+	 *
+	 * @param instance The instance to be populated, either a new one or one already known from a higher level
 	 */
-	private <ET> ET map(TypeSystem typeSystem, MapAccessor queryResult,
-		Neo4jPersistentEntity<ET> nodeDescription,
-		Map<Object, Object> knownObjects) {
+	private <ET> void populate(TypeSystem typeSystem, MapAccessor queryResult, MappingPlan<ET> mappingPlan,
+		ET instance, Map<IdentityKey, KnownObject> knownObjects, int level) {
 
-		ET instance = instantiate(nodeDescription, queryResult);
+		EntitySnapshot.Builder snapshot = createSnapshotBuilder(queryResult);
 
-		PersistentPropertyAccessor<ET> propertyAccessor = converter
-			.decoratePropertyAccessor(typeSystem, nodeDescription.getPropertyAccessor(instance));
-		if (nodeDescription.requiresPropertyPopulation()) {
+		if (mappingPlan.requiresPropertyPopulation()) {
+			PersistentPropertyAccessor<ET> propertyAccessor = mappingPlan.getNodeDescription()
+				.getPropertyAccessor(instance);
 
 			// Fill simple properties
-			Predicate<Neo4jPersistentProperty> isConstructorParameter = nodeDescription
-				.getPersistenceConstructor()::isConstructorParameter;
-			nodeDescription.doWithProperties(populateFrom(queryResult, propertyAccessor, isConstructorParameter));
+			mappingPlan.populateProperties(queryResult, propertyAccessor);
 
 			// Fill associations
-			Collection<RelationshipDescription> relationships = nodeDescription.getRelationships();
-			nodeDescription.doWithAssociations(
-				populateFrom(typeSystem, queryResult, propertyAccessor, relationships, knownObjects));
+			RecordGraph recordGraph = mappingPlan.hasRelationships() ? new RecordGraph(typeSystem, queryResult) : null;
+			for (MappingPlan.RelationshipSlot relationship : mappingPlan.getRelationships()) {
+				populateFrom(typeSystem, queryResult, recordGraph, propertyAccessor, relationship, knownObjects,
+					level, snapshot);
+			}
+		}
+
+		if (snapshot != null && snapshot.isComplete()) {
+			EntitySnapshot completeSnapshot = snapshot.withProperties(mappingPlan.getPropertiesOf(instance)).build();
+			if (snapshotScope == null) {
+				entitySnapshots.put(instance, completeSnapshot);
+			} else {
+				entitySnapshots.put(instance, completeSnapshot, snapshotScope);
+			}
 		}
-		return instance;
 	}
 
-	private <ET> ET instantiate(Neo4jPersistentEntity<ET> anotherNodeDescription, MapAccessor values) {
+	/**
+	 * @param queryResult The result from which an entity is mapped
+	 * @return A builder for the snapshot of the entity or {@literal null} if change tracking is disabled or there is no
+	 * internal id to identify the node of the entity
+	 */
+	@Nullable
+	private EntitySnapshot.Builder createSnapshotBuilder(MapAccessor queryResult) {
 
-		ParameterValueProvider<Neo4jPersistentProperty> parameterValueProvider = new ParameterValueProvider<Neo4jPersistentProperty>() {
-			@Override
-			public Value getParameterValue(PreferredConstructor.Parameter parameter) {
+		if (entitySnapshots == null) {
+			return null;
+		}
 
-				Neo4jPersistentProperty matchingProperty = anotherNodeDescription
-					.getRequiredPersistentProperty(parameter.getName());
-				return extractValueOf(matchingProperty, values);
-			}
-		};
-		parameterValueProvider = converter.decorateParameterValueProvider(parameterValueProvider);
-		return INSTANTIATORS.getInstantiatorFor(anotherNodeDescription)
-			.createInstance(anotherNodeDescription, parameterValueProvider);
+		Value internalId = getInternalIdOf(queryResult);
+		return internalId == null ? null : EntitySnapshot.builder(internalId.asLong());
 	}
 
-	private static PropertyHandler<Neo4jPersistentProperty> populateFrom(
-		MapAccessor queryResult,
-		PersistentPropertyAccessor<?> propertyAccessor,
-		Predicate<Neo4jPersistentProperty> isConstructorParameter
-	) {
-		return property -> {
-			if (isConstructorParameter.test(property)) {
-				return;
-			}
+	/**
+	 * @param queryResult The result from which an entity is mapped
+	 * @return The internal id of the node of the entity or {@literal null} if the result doesn't contain it
+	 */
+	@Nullable
+	private static Value getInternalIdOf(MapAccessor queryResult) {
 
-			Value value = extractValueOf(property, queryResult);
-			propertyAccessor.setProperty(property, value);
-		};
+		Value internalId = queryResult instanceof Node ?
+			Values.value(((Node) queryResult).id()) :
+			queryResult.get(NAME_OF_INTERNAL_ID);
+		return internalId == null || internalId == Values.NULL ? null : internalId;
+	}
+
+	/**
+	 * Populates a lazy relationship with a collection loading the related entities on first access.
+	 */
+	private void populateLazily(MapAccessor queryResult, PersistentPropertyAccessor<?> propertyAccessor,
+		MappingPlan.RelationshipSlot relationshipSlot, @Nullable EntitySnapshot.Builder snapshot) {
+
+		Value internalId = getInternalIdOf(queryResult);
+		if (internalId == null) {
+			return;
+		}
+
+		long sourceNodeId = internalId.asLong();
+		RelationshipDescription relationship = relationshipSlot.getRelationship();
+		RelatedEntitiesLoader loader = this.relatedEntitiesLoader;
+		// Without a loader, the relationship stays unloaded until it is fetched explicitly
+		Supplier<Collection<Object>> relatedEntities = loader == null ?
+			null :
+			() -> (Collection<Object>) loader.load(relationship, sourceNodeId);
+
+		propertyAccessor.setProperty(relationshipSlot.getInverse(), relationshipSlot.isSet() ?
+			new LazySet<>(relatedEntities) :
+			new LazyList<>(relatedEntities));
+		if (snapshot != null) {
+			// The related nodes are not known before the relationship is loaded.
+			snapshot.withUnknownRelatedNode();
+		}
 	}
 
-	private AssociationHandler<Neo4jPersistentProperty> populateFrom(
+	private void populateFrom(
 		TypeSystem typeSystem,
 		MapAccessor queryResult,
+		RecordGraph recordGraph,
 		PersistentPropertyAccessor<?> propertyAccessor,
-		Collection<RelationshipDescription> relationships,
-		Map<Object, Object> knownObjects
+		MappingPlan.RelationshipSlot relationshipSlot,
+		Map<IdentityKey, KnownObject> knownObjects,
+		int level,
+		@Nullable EntitySnapshot.Builder snapshot
 	) {
-		return association -> {
-			Neo4jPersistentProperty inverse = association.getInverse();
-
-			RelationshipDescription relationship = relationships.stream()
-				.filter(r -> r.getFieldName().equals(inverse.getName()))
-				.findFirst().get();
-
-			String relationshipType = relationship.getType();
-			String targetLabel = relationship.getTarget().getPrimaryLabel();
+		Neo4jPersistentProperty inverse = relationshipSlot.getInverse();
+		RelationshipDescription relationship = relationshipSlot.getRelationship();
+
+		String relationshipType = relationship.getType();
+		String targetLabel = relationship.getTarget().getPrimaryLabel();
+
+		Neo4jPersistentEntity<?> targetNodeDescription = relationshipSlot.getTargetNodeDescription();
+		MappingPlan<?> targetMappingPlan = mappingPlans.apply(targetNodeDescription);
+
+		List<Object> value = new ArrayList<>();
+		Map<String, Object> dynamicValue = new HashMap<>();
+
+		BiConsumer<String, Object> mappedObjectHandler = relationship.isDynamic() ?
+			dynamicValue::put : (type, mappedObject) -> value.add(mappedObject);
+
+		Value list = queryResult.get(relationshipSlot.getRelatedNodesCollectionName());
+
+		// if the list is null the mapping is based on a custom query
+		if (list == Values.NULL) {
+
+			List<RecordGraph.RelatedNode> relatedNodes = recordGraph
+				.getRelatedNodes(relationshipType, relationship.isOutgoing(), targetLabel);
+			if (relatedNodes.isEmpty()) {
+				// Relationships beyond the fetch depth are loaded like lazy ones, if their type allows it
+				boolean unfetched = queryResult.get(NAME_OF_UNFETCHED_RELATIONSHIPS).isTrue();
+				if (relationship.isLazy() || unfetched && relationshipSlot.isLazyLoadable()) {
+					populateLazily(queryResult, propertyAccessor, relationshipSlot, snapshot);
+				} else if (unfetched) {
+					// Otherwise they are left empty and must not be saved
+					unfetchedAssociations.add(propertyAccessor.getBean(), inverse);
+					if (snapshot != null) {
+						snapshot.withUnknownRelatedNode();
+					}
+				}
+				return;
+			}
 
-			Neo4jPersistentEntity<?> targetNodeDescription = (Neo4jPersistentEntity<?>) relationship.getTarget();
+			Set<Long> mappedNodeIds = new HashSet<>();
+			for (RecordGraph.RelatedNode relatedNode : relatedNodes) {
+				Node node = relatedNode.getNode();
+				if (!mappedNodeIds.add(node.id())) {
+					continue;
+				}
 
-			List<Object> value = new ArrayList<>();
-			Map<String, Object> dynamicValue = new HashMap<>();
+				Object mappedObject = getOrMap(typeSystem, node, targetMappingPlan, knownObjects, level + 1);
+				String type = relatedNode.getRelationship().type();
+				mappedObjectHandler.accept(type, mappedObject);
+				if (snapshot != null) {
+					snapshot.withRelatedNode(inverse.getName(), type, node.id());
+				}
+			}
+		} else {
+			for (Value relatedEntity : list.asList(Function.identity())) {
+				Object valueEntry = getOrMap(typeSystem, relatedEntity, targetMappingPlan, knownObjects,
+					level + 1);
+
+				mappedObjectHandler.accept(relatedEntity.get(NAME_OF_RELATIONSHIP_TYPE).asString(), valueEntry);
+				if (snapshot != null) {
+					String type = relationship.isDynamic() ?
+						relatedEntity.get(NAME_OF_RELATIONSHIP_TYPE).asString() :
+						relationshipType;
+					Value relatedNodeId = relatedEntity.get(NAME_OF_INTERNAL_ID);
+					if (relatedNodeId == Values.NULL) {
+						snapshot.withUnknownRelatedNode();
+					} else {
+						snapshot.withRelatedNode(inverse.getName(), type, relatedNodeId.asLong());
+					}
+				}
+			}
+		}
 
-			BiConsumer<String, Object> mappedObjectHandler = relationship.isDynamic() ?
-				dynamicValue::put : (type, mappedObject) -> value.add(mappedObject);
+		if (relationshipSlot.isCollectionLike()) {
+			if (relationshipSlot.isSet()) {
+				propertyAccessor.setProperty(inverse, new HashSet(value));
+			} else {
+				propertyAccessor.setProperty(inverse, value);
+			}
+		} else {
+			if (relationship.isDynamic()) {
+				propertyAccessor.setProperty(inverse, dynamicValue.isEmpty() ? null : dynamicValue);
+			} else {
+				propertyAccessor.setProperty(inverse, value.isEmpty() ? null : value.get(0));
+			}
+		}
+	}
 
-			Value list = queryResult.get(relationship.generateRelatedNodesCollectionName());
+	/**
+	 * Retrieves the related entity from the known objects or maps and adds it, if it hasn't been mapped before. An
+	 * instance mapped at a higher level might lack relationships beyond the fetch depth that are fetched at the current
+	 * level, so it is populated again, keeping one instance per node.
+	 */
+	private Object getOrMap(TypeSystem typeSystem, MapAccessor relatedEntity, MappingPlan<?> targetMappingPlan,
+		Map<IdentityKey, KnownObject> knownObjects, int level) {
+
+		Neo4jPersistentEntity<?> targetNodeDescription = targetMappingPlan.getNodeDescription();
+		Neo4jPersistentProperty idProperty = targetNodeDescription.getRequiredIdProperty();
+
+		// internal (generated) id or external set
+		Value idValue;
+		if (idProperty.isInternalIdProperty()) {
+			idValue = relatedEntity instanceof Node ?
+				Values.value(((Node) relatedEntity).id()) :
+				relatedEntity.get(NAME_OF_INTERNAL_ID);
+		} else {
+			idValue = relatedEntity.get(idProperty.getName());
+		}
 
-			// if the list is null the mapping is based on a custom query
-			if (list == Values.NULL) {
+		if (idValue == null || idValue == Values.NULL) {
+			return map(typeSystem, relatedEntity, targetMappingPlan, knownObjects, level);
+		}
 
-				Predicate<Value> isList = entry -> entry instanceof Value && typeSystem.LIST().isTypeOf(entry);
+		IdentityKey identityKey = new IdentityKey(targetNodeDescription.getPrimaryLabel(), idValue);
+		KnownObject knownObject = knownObjects.get(identityKey);
+		if (knownObject == null) {
+			knownObject = new KnownObject(map(typeSystem, relatedEntity, targetMappingPlan, knownObjects, level), level);
+			knownObjects.put(identityKey, knownObject);
+		} else if (knownObject.level > level) {
+			// Registered at the current level before populating, so that cycles end here
+			knownObject = new KnownObject(knownObject.instance, level);
+			knownObjects.put(identityKey, knownObject);
+			unfetchedAssociations.remove(knownObject.instance);
+			populate(typeSystem, relatedEntity, (MappingPlan<Object>) targetMappingPlan, knownObject.instance,
+				knownObjects, level);
+		}
+		return knownObject.instance;
+	}
 
-				Predicate<Value> containsOnlyRelationships = entry -> entry.asList(Function.identity())
-					.stream()
-					.allMatch(listEntry -> typeSystem.RELATIONSHIP().isTypeOf(listEntry));
+	/**
+	 * An entity already mapped during the current query together with the level it has been mapped at.
+	 */
+	private static final class KnownObject {
 
-				Predicate<Value> containsOnlyNodes = entry -> entry.asList(Function.identity())
-					.stream()
-					.allMatch(listEntry -> typeSystem.NODE().isTypeOf(listEntry));
+		private final Object instance;
 
-				// find relationships in the result
-				List<Relationship> allMatchingTypeRelationshipsInResult = StreamSupport
-					.stream(queryResult.values().spliterator(), false)
-					.filter(isList.and(containsOnlyRelationships))
-					.flatMap(entry -> entry.asList(Value::asRelationship).stream())
-					.filter(r -> r.type().equals(relationshipType))
-					.collect(toList());
+		private final int level;
 
-				List<Node> allNodesWithMatchingLabelInResult = StreamSupport
-					.stream(queryResult.values().spliterator(), false)
-					.filter(isList.and(containsOnlyNodes))
-					.flatMap(entry -> entry.asList(Value::asNode).stream())
-					.filter(n -> n.hasLabel(targetLabel))
-					.collect(toList());
+		KnownObject(Object instance, int level) {
+			this.instance = instance;
+			this.level = level;
+		}
+	}
 
-				if (allNodesWithMatchingLabelInResult.isEmpty() && allMatchingTypeRelationshipsInResult.isEmpty()) {
-					return;
-				}
+	/**
+	 * Identifies a node by its primary label and its id.
+	 */
+	private static final class IdentityKey {
 
-				for (Node possibleValueNode : allNodesWithMatchingLabelInResult) {
-						long nodeId = possibleValueNode.id();
+		private final String label;
 
-					for (Relationship possibleRelationship : allMatchingTypeRelationshipsInResult) {
-						if (possibleRelationship.endNodeId() == nodeId) {
-							Object mappedObject = map(typeSystem, possibleValueNode, targetNodeDescription, knownObjects);
-							mappedObjectHandler.accept(possibleRelationship.type(), mappedObject);
-							break;
-						}
-					}
-				}
-			} else {
-				for (Value relatedEntity : list.asList(Function.identity())) {
-					Neo4jPersistentProperty idProperty = targetNodeDescription.getRequiredIdProperty();
+		private final Value id;
 
-					// internal (generated) id or external set
-					Object idValue = idProperty.isInternalIdProperty()
-						? relatedEntity.get(NAME_OF_INTERNAL_ID)
-						: relatedEntity.get(idProperty.getName());
-					Object valueEntry = knownObjects.computeIfAbsent(idValue,
-						(id) -> map(typeSystem, relatedEntity, targetNodeDescription, knownObjects));
+		IdentityKey(String label, Value id) {
+			this.label = label;
+			this.id = id;
+		}
 
-					mappedObjectHandler.accept(relatedEntity.get(NAME_OF_RELATIONSHIP_TYPE).asString(), valueEntry);
-				}
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
 			}
-
-			if (inverse.getTypeInformation().isCollectionLike()) {
-				if (inverse.getType().equals(Set.class)) {
-					propertyAccessor.setProperty(inverse, new HashSet(value));
-				} else {
-					propertyAccessor.setProperty(inverse, value);
-				}
-			} else {
-				if (relationship.isDynamic()) {
-					propertyAccessor.setProperty(inverse, dynamicValue.isEmpty() ? null : dynamicValue);
-				} else {
-					propertyAccessor.setProperty(inverse, value.isEmpty() ? null : value.get(0));
-				}
+			if (!(o instanceof IdentityKey)) {
+				return false;
 			}
-		};
-	}
+			IdentityKey that = (IdentityKey) o;
+			return label.equals(that.label) && id.equals(that.id);
+		}
 
-	private static Value extractValueOf(Neo4jPersistentProperty property, MapAccessor propertyContainer) {
-		if (property.isInternalIdProperty()) {
-			return propertyContainer instanceof Node ?
-				Values.value(((Node) propertyContainer).id()) :
-				propertyContainer.get(NAME_OF_INTERNAL_ID);
-		} else {
-			String graphPropertyName = property.getPropertyName();
-			return propertyContainer.get(graphPropertyName);
+		@Override
+		public int hashCode() {
+			return 31 * label.hashCode() + id.hashCode();
 		}
 	}
 }
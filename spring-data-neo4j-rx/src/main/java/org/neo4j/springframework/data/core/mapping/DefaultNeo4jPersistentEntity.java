@@ -58,6 +58,9 @@ class DefaultNeo4jPersistentEntity<T> extends BasicPersistentEntity<T, Neo4jPers
 	private static final Set<Class<?>> VALID_GENERATED_ID_TYPES = Collections.unmodifiableSet(new HashSet<>(
 		Arrays.asList(Long.class, long.class)));
 
+	static final Set<Class<?>> LAZY_ASSOCIATION_TYPES = Collections.unmodifiableSet(new HashSet<>(
+		Arrays.asList(List.class, Set.class, Collection.class)));
+
 	private final String primaryLabel;
 
 	@Nullable
@@ -139,6 +142,7 @@ class DefaultNeo4jPersistentEntity<T> extends BasicPersistentEntity<T, Neo4jPers
 		this.idDescription = computeIdDescription();
 		verifyNoDuplicatedGraphProperties();
 		verifyDynamicAssociations();
+		verifyLazyAssociations();
 	}
 
 	private void verifyNoDuplicatedGraphProperties() {
@@ -168,6 +172,19 @@ class DefaultNeo4jPersistentEntity<T> extends BasicPersistentEntity<T, Neo4jPers
 		});
 	}
 
+	private void verifyLazyAssociations() {
+
+		this.doWithAssociations((Association<Neo4jPersistentProperty> association) -> {
+			RelationshipDescription relationship = (RelationshipDescription) association;
+			if (relationship.isLazy()) {
+				Class<?> type = association.getInverse().getType();
+				Assert.state(!relationship.isDynamic() && LAZY_ASSOCIATION_TYPES.contains(type), () -> String.format(
+					"Lazy relationships must be of one of the types %s, but %s of %s is not.", LAZY_ASSOCIATION_TYPES,
+					association.getInverse().getName(), getUnderlyingClass()));
+			}
+		});
+	}
+
 	private String computePrimaryLabel() {
 
 		Node nodeAnnotation = this.findAnnotation(Node.class);
@@ -81,13 +81,15 @@ class DefaultNeo4jPersistentProperty extends AnnotationBasedPersistentProperty<N
 		}
 
 		Relationship.Direction direction = Relationship.Direction.OUTGOING;
+		boolean lazy = false;
 		if (outgoingRelationship != null) {
 			direction = outgoingRelationship.direction();
+			lazy = outgoingRelationship.fetch() == Relationship.Fetch.LAZY;
 		}
 
 		Neo4jPersistentProperty obverse = null;
 		return new DefaultRelationshipDescription(this, obverse, type, this.isDynamicAssociation(),
-			(NodeDescription<?>) getOwner(), this.getName(), obverseOwner, direction);
+			(NodeDescription<?>) getOwner(), this.getName(), obverseOwner, direction, lazy);
 	}
 
 	@Override
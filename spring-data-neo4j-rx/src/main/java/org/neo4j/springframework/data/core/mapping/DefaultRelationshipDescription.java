@@ -44,10 +44,12 @@ class DefaultRelationshipDescription extends Association<Neo4jPersistentProperty
 
 	private final Relationship.Direction direction;
 
+	private final boolean lazy;
+
 	DefaultRelationshipDescription(Neo4jPersistentProperty inverse,
 		Neo4jPersistentProperty obverse,
 		String type, boolean dynamic, NodeDescription<?> source, String fieldName, NodeDescription<?> target,
-		Relationship.Direction direction) {
+		Relationship.Direction direction, boolean lazy) {
 
 		super(inverse, obverse);
 
@@ -57,6 +59,7 @@ class DefaultRelationshipDescription extends Association<Neo4jPersistentProperty
 		this.fieldName = fieldName;
 		this.target = target;
 		this.direction = direction;
+		this.lazy = lazy;
 	}
 
 	@Override
@@ -89,6 +92,11 @@ class DefaultRelationshipDescription extends Association<Neo4jPersistentProperty
 		return direction;
 	}
 
+	@Override
+	public boolean isLazy() {
+		return lazy;
+	}
+
 
 	@Override
 	public String toString() {
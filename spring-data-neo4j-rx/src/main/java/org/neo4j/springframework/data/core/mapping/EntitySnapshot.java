@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2019 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.springframework.data.core.mapping;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.apiguardian.api.API;
+
+/**
+ * A compact snapshot of an entity as it has been loaded from or written to the database: The internal id of its node,
+ * the converted values of its graph properties and the internal ids of all related nodes, grouped by the name of the
+ * relationship field and the type of the relationship. Snapshots don't reference the entity itself.
+ *
+ * @author Michael J. Simons
+ * @since 1.0
+ * @see Neo4jMappingContext#setChangeTrackingEnabled(boolean)
+ */
+@API(status = API.Status.INTERNAL, since = "1.0")
+public final class EntitySnapshot {
+
+	private final long internalId;
+
+	private final Map<String, Object> properties;
+
+	/**
+	 * Field name to relationship type to internal ids of the related nodes.
+	 */
+	private final Map<String, Map<String, Set<Long>>> relatedNodeIds;
+
+	/**
+	 * @param internalId The internal id of the node the snapshot is taken of
+	 * @return A builder for a new snapshot
+	 */
+	public static Builder builder(long internalId) {
+		return new Builder(internalId);
+	}
+
+	private EntitySnapshot(long internalId, Map<String, Object> properties,
+		Map<String, Map<String, Set<Long>>> relatedNodeIds) {
+
+		this.internalId = internalId;
+		this.properties = properties;
+		this.relatedNodeIds = relatedNodeIds;
+	}
+
+	public long getInternalId() {
+		return internalId;
+	}
+
+	public Map<String, Object> getProperties() {
+		return Collections.unmodifiableMap(properties);
+	}
+
+	/**
+	 * Computes the properties that differ between this snapshot and the current state of the entity.
+	 *
+	 * @param currentProperties The converted graph properties of the entity as they are now
+	 * @return All properties that have been added or whose value changed, including those that are now {@literal null}
+	 */
+	public Map<String, Object> getChangedProperties(Map<String, Object> currentProperties) {
+
+		Map<String, Object> changedProperties = new HashMap<>();
+		currentProperties.forEach((name, value) -> {
+			if (!(this.properties.containsKey(name) && Objects.equals(this.properties.get(name), value))) {
+				changedProperties.put(name, value);
+			}
+		});
+		return changedProperties;
+	}
+
+	/**
+	 * @param fieldName The name of the relationship field
+	 * @return The internal ids of all nodes that have been related through the given field, grouped by relationship type
+	 */
+	public Map<String, Set<Long>> getRelatedNodeIds(String fieldName) {
+		return Collections.unmodifiableMap(relatedNodeIds.getOrDefault(fieldName, Collections.emptyMap()));
+	}
+
+	/**
+	 * @param fieldName        The name of the relationship field
+	 * @param relationshipType The type of the relationship
+	 * @param relatedNodeId    The internal id of the related node
+	 * @return True, if the node with the given id has been related through the given field and type
+	 */
+	public boolean isRelatedTo(String fieldName, String relationshipType, long relatedNodeId) {
+		return relatedNodeIds.getOrDefault(fieldName, Collections.emptyMap())
+			.getOrDefault(relationshipType, Collections.emptySet())
+			.contains(relatedNodeId);
+	}
+
+	/**
+	 * Builder for snapshots, used to collect the related nodes.
+	 */
+	public static final class Builder {
+
+		private final long internalId;
+
+		private final Map<String, Object> properties = new HashMap<>();
+
+		private final Map<String, Map<String, Set<Long>>> relatedNodeIds = new HashMap<>();
+
+		private boolean complete = true;
+
+		private Builder(long internalId) {
+			this.internalId = internalId;
+		}
+
+		public Builder withProperties(Map<String, Object> newProperties) {
+
+			this.properties.putAll(newProperties);
+			return this;
+		}
+
+		public Builder withRelatedNode(String fieldName, String relationshipType, long relatedNodeId) {
+
+			this.relatedNodeIds
+				.computeIfAbsent(fieldName, k -> new HashMap<>())
+				.computeIfAbsent(relationshipType, k -> new HashSet<>())
+				.add(relatedNodeId);
+			return this;
+		}
+
+		/**
+		 * Marks the snapshot as incomplete, because a related node could not be identified. Incomplete snapshots must not be
+		 * used for computing changes, as relationships to unknown nodes would not be removed.
+		 *
+		 * @return This builder
+		 */
+		public Builder withUnknownRelatedNode() {
+
+			this.complete = false;
+			return this;
+		}
+
+		public boolean isComplete() {
+			return complete;
+		}
+
+		public EntitySnapshot build() {
+			return new EntitySnapshot(internalId, properties, relatedNodeIds);
+		}
+	}
+}
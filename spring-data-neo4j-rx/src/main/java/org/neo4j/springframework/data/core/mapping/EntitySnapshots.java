@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2019 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.springframework.data.core.mapping;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apiguardian.api.API;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.ResourceHolderSupport;
+import org.springframework.transaction.support.ResourceHolderSynchronization;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Stores {@link EntitySnapshot snapshots} by the identity of the entity they have been taken of. Entities are only
+ * weakly referenced, so that a snapshot is discarded together with its entity. Entities are compared by identity and
+ * not by {@link Object#equals(Object)}, as the latter is usually based on attributes that might change.
+ * <p>
+ * Snapshots taken inside a transaction describe a state of the database that only becomes visible once the
+ * transaction commits. They are therefore recorded in a {@link Scope scope} bound to that transaction and discarded
+ * if it doesn't commit. An entity without snapshot is always saved completely.
+ *
+ * @author Michael J. Simons
+ * @since 1.0
+ */
+@API(status = API.Status.INTERNAL, since = "1.0")
+public final class EntitySnapshots {
+
+	private final ReferenceQueue<Object> staleEntities = new ReferenceQueue<>();
+
+	private final Map<IdentityReference, EntitySnapshot> snapshots = new ConcurrentHashMap<>();
+
+	/**
+	 * Stores the snapshot of an entity. The snapshot is bound to the ongoing, thread bound transaction if there is any.
+	 *
+	 * @param entity   The entity the snapshot has been taken of
+	 * @param snapshot The snapshot
+	 */
+	public void put(Object entity, EntitySnapshot snapshot) {
+
+		put(entity, snapshot, getScopeOfCurrentTransaction());
+	}
+
+	/**
+	 * Stores the snapshot of an entity and records it in the given scope.
+	 *
+	 * @param entity   The entity the snapshot has been taken of
+	 * @param snapshot The snapshot
+	 * @param scope    The scope of the transaction in which the snapshot has been taken, may be {@literal null} outside
+	 *                 a transaction
+	 */
+	public void put(Object entity, EntitySnapshot snapshot, @Nullable Scope scope) {
+
+		expungeStaleEntries();
+		IdentityReference reference = new IdentityReference(entity, staleEntities);
+		this.snapshots.put(reference, snapshot);
+		if (scope != null) {
+			scope.add(reference);
+		}
+	}
+
+	@Nullable
+	public EntitySnapshot get(Object entity) {
+
+		expungeStaleEntries();
+		return this.snapshots.get(new IdentityReference(entity, null));
+	}
+
+	public void remove(Object entity) {
+
+		expungeStaleEntries();
+		this.snapshots.remove(new IdentityReference(entity, null));
+	}
+
+	int size() {
+
+		expungeStaleEntries();
+		return this.snapshots.size();
+	}
+
+	/**
+	 * @return A new scope for snapshots taken inside a transaction
+	 */
+	public Scope newScope() {
+		return new Scope(this);
+	}
+
+	private void expungeStaleEntries() {
+
+		Reference<?> staleEntity;
+		while ((staleEntity = staleEntities.poll()) != null) {
+			this.snapshots.remove(staleEntity);
+		}
+	}
+
+	@Nullable
+	private Scope getScopeOfCurrentTransaction() {
+
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			return null;
+		}
+
+		Scope scope = (Scope) TransactionSynchronizationManager.getResource(this);
+		if (scope == null) {
+			scope = newScope();
+			scope.setSynchronizedWithTransaction(true);
+
+			TransactionSynchronizationManager.registerSynchronization(new ScopeSynchronization(scope, this));
+			TransactionSynchronizationManager.bindResource(this, scope);
+		}
+		return scope;
+	}
+
+	/**
+	 * Records the entities whose snapshots have been taken inside one transaction.
+	 */
+	@API(status = API.Status.INTERNAL, since = "1.0")
+	public static final class Scope extends ResourceHolderSupport {
+
+		private final EntitySnapshots entitySnapshots;
+
+		private final Set<IdentityReference> entities = ConcurrentHashMap.newKeySet();
+
+		private Scope(EntitySnapshots entitySnapshots) {
+			this.entitySnapshots = entitySnapshots;
+		}
+
+		private void add(IdentityReference entity) {
+			this.entities.add(entity);
+		}
+
+		/**
+		 * Removes all snapshots taken in this scope. Must be called when the transaction of this scope didn't commit.
+		 */
+		public void discard() {
+
+			for (IdentityReference entity : this.entities) {
+				this.entitySnapshots.snapshots.remove(entity);
+			}
+			this.entities.clear();
+		}
+	}
+
+	/**
+	 * Discards the snapshots of a thread bound transaction that has not been committed.
+	 */
+	private static final class ScopeSynchronization extends ResourceHolderSynchronization<Scope, Object> {
+
+		private final Scope scope;
+
+		ScopeSynchronization(Scope scope, EntitySnapshots entitySnapshots) {
+
+			super(scope, entitySnapshots);
+			this.scope = scope;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.transaction.support.ResourceHolderSynchronization#afterCompletion(int)
+		 */
+		@Override
+		public void afterCompletion(int status) {
+
+			if (status != TransactionSynchronization.STATUS_COMMITTED) {
+				scope.discard();
+			}
+
+			super.afterCompletion(status);
+		}
+	}
+}
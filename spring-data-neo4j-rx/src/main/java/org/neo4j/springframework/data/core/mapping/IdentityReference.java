@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2019 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.springframework.data.core.mapping;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * A weak reference to an entity that is compared by the identity of the entity, usable as a key of maps storing
+ * information about entities as long as they are reachable.
+ *
+ * @author Michael J. Simons
+ * @since 1.0
+ */
+final class IdentityReference extends WeakReference<Object> {
+
+	private final int hashCode;
+
+	IdentityReference(Object referent, @Nullable ReferenceQueue<Object> queue) {
+		super(referent, queue);
+		this.hashCode = System.identityHashCode(referent);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof IdentityReference)) {
+			return false;
+		}
+		Object referent = get();
+		return referent != null && referent == ((IdentityReference) o).get();
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+}
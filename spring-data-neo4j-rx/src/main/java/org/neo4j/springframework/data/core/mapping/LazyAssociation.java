@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2019 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.springframework.data.core.mapping;
+
+import org.apiguardian.api.API;
+
+/**
+ * A collection of related entities that is loaded on first access.
+ *
+ * @author Michael J. Simons
+ * @since 1.0
+ */
+@API(status = API.Status.INTERNAL, since = "1.0")
+public interface LazyAssociation {
+
+	/**
+	 * @return True, if the related entities have been loaded
+	 */
+	boolean isLoaded();
+
+	/**
+	 * Values that are not loaded yet don't carry any information about the related entities and must not be used to
+	 * update relationships.
+	 *
+	 * @param value The value of an association
+	 * @return True, if the value is a lazy association that has not been loaded yet
+	 */
+	static boolean isNotLoaded(Object value) {
+		return value instanceof LazyAssociation && !((LazyAssociation) value).isLoaded();
+	}
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2019 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.springframework.data.core.mapping;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * A list of related entities that is loaded on first access. Without a loader, the list is never loaded: It stays
+ * empty and can't be modified, so that saving its owner leaves the relationship alone.
+ *
+ * @author Michael J. Simons
+ * @param <E> The type of the related entities
+ * @since 1.0
+ */
+final class LazyList<E> extends AbstractList<E> implements LazyAssociation {
+
+	private final @Nullable Supplier<Collection<E>> loader;
+
+	private volatile List<E> delegate;
+
+	LazyList(@Nullable Supplier<Collection<E>> loader) {
+		this.loader = loader;
+	}
+
+	private List<E> getDelegate() {
+
+		if (loader == null) {
+			return Collections.emptyList();
+		}
+
+		List<E> result = delegate;
+		if (result == null) {
+			synchronized (this) {
+				result = delegate;
+				if (result == null) {
+					result = new ArrayList<>(loader.get());
+					delegate = result;
+				}
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public boolean isLoaded() {
+		return delegate != null;
+	}
+
+	@Override
+	public E get(int index) {
+		return getDelegate().get(index);
+	}
+
+	@Override
+	public int size() {
+		return getDelegate().size();
+	}
+
+	@Override
+	public E set(int index, E element) {
+		return getDelegate().set(index, element);
+	}
+
+	@Override
+	public void add(int index, E element) {
+		getDelegate().add(index, element);
+		modCount++;
+	}
+
+	@Override
+	public E remove(int index) {
+		modCount++;
+		return getDelegate().remove(index);
+	}
+
+	@Override
+	public String toString() {
+		return isLoaded() ? delegate.toString() : "LazyList{not loaded}";
+	}
+}
@@ -0,0 +1,387 @@
+/*
+ * Copyright (c) 2019 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.springframework.data.core.mapping;
+
+import static org.neo4j.springframework.data.core.schema.NodeDescription.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+import org.neo4j.driver.types.MapAccessor;
+import org.neo4j.driver.types.Node;
+import org.neo4j.springframework.data.core.convert.Neo4jConverter;
+import org.neo4j.springframework.data.core.schema.RelationshipDescription;
+import org.springframework.data.convert.EntityInstantiator;
+import org.springframework.data.convert.EntityInstantiators;
+import org.springframework.data.mapping.Association;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.data.mapping.PreferredConstructor;
+import org.springframework.data.mapping.PropertyHandler;
+import org.springframework.data.mapping.model.ParameterValueProvider;
+import org.springframework.data.util.ClassTypeInformation;
+
+/**
+ * A plan how records are mapped onto instances of one entity. The plan resolves everything that only depends on the
+ * entity itself once: The instantiator, the properties to populate together with the type their values are read as and
+ * the relationships together with their targets. Mapping a record only extracts and assigns values after that.
+ * <p>
+ * Plans are cached per entity by the {@link Neo4jMappingContext}.
+ *
+ * @author Michael J. Simons
+ * @param <T> The type of the entity
+ * @since 1.0
+ */
+final class MappingPlan<T> {
+
+	/**
+	 * The shared entity instantiators of this context. Those should not be recreated for each entity or even not for
+	 * each query, as otherwise the cache of Spring's org.springframework.data.convert.ClassGeneratingEntityInstantiator
+	 * won't apply
+	 */
+	private static final EntityInstantiators INSTANTIATORS = new EntityInstantiators();
+
+	private final Neo4jPersistentEntity<T> nodeDescription;
+
+	private final Neo4jConverter converter;
+
+	private final EntityInstantiator instantiator;
+
+	/**
+	 * The properties matching the parameters of the persistence constructor by the name of the parameter.
+	 */
+	private final Map<String, PropertySlot> constructorParameters;
+
+	/**
+	 * The readers of the parameters of the persistence constructor by the name of the parameter. Those are resolved
+	 * for the type of the parameter, which may differ from the type of the property.
+	 */
+	private final Map<String, Function<Value, Object>> constructorParameterReaders;
+
+	/**
+	 * The properties that are populated after instantiation, that is all properties that are not set through the
+	 * persistence constructor.
+	 */
+	private final PropertySlot[] properties;
+
+	private final RelationshipSlot[] relationships;
+
+	private final boolean requiresPropertyPopulation;
+
+	private final DefaultNeo4jBinderFunction<T> binderFunction;
+
+	MappingPlan(Neo4jPersistentEntity<T> nodeDescription, Neo4jConverter converter,
+		DefaultNeo4jBinderFunction<T> binderFunction) {
+
+		this.nodeDescription = nodeDescription;
+		this.converter = converter;
+		this.instantiator = INSTANTIATORS.getInstantiatorFor(nodeDescription);
+
+		PreferredConstructor<T, Neo4jPersistentProperty> persistenceConstructor = nodeDescription
+			.getPersistenceConstructor();
+		Map<String, PropertySlot> newConstructorParameters = new HashMap<>();
+		List<PropertySlot> newProperties = new ArrayList<>();
+		nodeDescription.doWithProperties((PropertyHandler<Neo4jPersistentProperty>) property -> {
+			PropertySlot slot = new PropertySlot(property, converter);
+			if (persistenceConstructor != null && persistenceConstructor.isConstructorParameter(property)) {
+				newConstructorParameters.put(property.getName(), slot);
+			} else {
+				newProperties.add(slot);
+			}
+		});
+		this.properties = newProperties.toArray(new PropertySlot[0]);
+
+		List<RelationshipSlot> newRelationships = new ArrayList<>();
+		nodeDescription.doWithAssociations((Association<Neo4jPersistentProperty> association) -> {
+			Neo4jPersistentProperty inverse = association.getInverse();
+			if (persistenceConstructor != null && persistenceConstructor.isConstructorParameter(inverse)) {
+				newConstructorParameters.put(inverse.getName(), new PropertySlot(inverse, converter));
+			}
+			newRelationships.add(new RelationshipSlot((RelationshipDescription) association));
+		});
+		this.constructorParameters = Collections.unmodifiableMap(newConstructorParameters);
+
+		Map<String, Function<Value, Object>> newConstructorParameterReaders = new HashMap<>();
+		if (persistenceConstructor != null) {
+			for (PreferredConstructor.Parameter<Object, Neo4jPersistentProperty> parameter : persistenceConstructor
+				.getParameters()) {
+				if (parameter.getName() != null) {
+					newConstructorParameterReaders.put(parameter.getName(), converter.getReaderFor(parameter.getType()));
+				}
+			}
+		}
+		this.constructorParameterReaders = Collections.unmodifiableMap(newConstructorParameterReaders);
+		this.relationships = newRelationships.toArray(new RelationshipSlot[0]);
+
+		this.requiresPropertyPopulation = nodeDescription.requiresPropertyPopulation();
+		this.binderFunction = binderFunction;
+	}
+
+	Neo4jPersistentEntity<T> getNodeDescription() {
+		return nodeDescription;
+	}
+
+	/**
+	 * Creates a new instance through the persistence constructor, reading the arguments from the given values.
+	 *
+	 * @param values The values of the node or map to map
+	 * @return A new instance
+	 */
+	T instantiate(MapAccessor values) {
+
+		ParameterValueProvider<Neo4jPersistentProperty> parameterValueProvider = new ParameterValueProvider<Neo4jPersistentProperty>() {
+			@Override
+			public Object getParameterValue(PreferredConstructor.Parameter parameter) {
+
+				PropertySlot slot = constructorParameters.get(parameter.getName());
+				if (slot == null) {
+					slot = new PropertySlot(nodeDescription.getRequiredPersistentProperty(parameter.getName()), converter);
+				}
+				Function<Value, Object> reader = constructorParameterReaders.get(parameter.getName());
+				return reader == null ?
+					converter.readValue(slot.extractValueOf(values), parameter.getType()) :
+					reader.apply(slot.extractValueOf(values));
+			}
+		};
+		return instantiator.createInstance(nodeDescription, parameterValueProvider);
+	}
+
+	/**
+	 * Populates all properties that have not been set through the persistence constructor.
+	 *
+	 * @param values           The values of the node or map to map
+	 * @param propertyAccessor The accessor of the new instance
+	 */
+	void populateProperties(MapAccessor values, PersistentPropertyAccessor<T> propertyAccessor) {
+
+		for (PropertySlot slot : properties) {
+			slot.populate(values, propertyAccessor);
+		}
+	}
+
+	boolean requiresPropertyPopulation() {
+		return requiresPropertyPopulation;
+	}
+
+	RelationshipSlot[] getRelationships() {
+		return relationships;
+	}
+
+	boolean hasRelationships() {
+		return relationships.length > 0;
+	}
+
+	/**
+	 * @param instance The instance to take a snapshot of
+	 * @return The properties as they would be written
+	 */
+	Map<String, Object> getPropertiesOf(T instance) {
+		return (Map<String, Object>) binderFunction.apply(instance).get(NAME_OF_PROPERTIES_PARAM);
+	}
+
+	/**
+	 * Extracts the value of one property. Values are read as the raw type of the property, as the converting property
+	 * accessor used to do.
+	 */
+	static final class PropertySlot {
+
+		private final Neo4jPersistentProperty property;
+
+		private final boolean internalIdProperty;
+
+		private final String graphPropertyName;
+
+		private final Class<?> type;
+
+		private final Function<Value, Object> reader;
+
+		private PropertySlot(Neo4jPersistentProperty property, Neo4jConverter converter) {
+			this.property = property;
+			this.internalIdProperty = property.isInternalIdProperty();
+			this.graphPropertyName = property.getPropertyName();
+			this.type = property.getType();
+			this.reader = converter.getReaderFor(ClassTypeInformation.from(property.getType()));
+		}
+
+		Value extractValueOf(MapAccessor propertyContainer) {
+
+			if (internalIdProperty) {
+				return propertyContainer instanceof Node ?
+					Values.value(((Node) propertyContainer).id()) :
+					propertyContainer.get(NAME_OF_INTERNAL_ID);
+			} else {
+				return propertyContainer.get(graphPropertyName);
+			}
+		}
+
+		private void populate(MapAccessor values, PersistentPropertyAccessor<?> propertyAccessor) {
+
+			Value value = extractValueOf(values);
+			propertyAccessor.setProperty(property, type.isInstance(value) ? value : reader.apply(value));
+		}
+	}
+
+	/**
+	 * A relationship together with everything needed to map its target nodes.
+	 */
+	static final class RelationshipSlot {
+
+		private final RelationshipDescription relationship;
+
+		private final Neo4jPersistentProperty inverse;
+
+		private final Neo4jPersistentEntity<?> targetNodeDescription;
+
+		private final String relatedNodesCollectionName;
+
+		private final boolean collectionLike;
+
+		private final boolean set;
+
+		private final boolean lazyLoadable;
+
+		private RelationshipSlot(RelationshipDescription relationship) {
+			this.relationship = relationship;
+			this.inverse = ((Association<Neo4jPersistentProperty>) relationship).getInverse();
+			this.targetNodeDescription = (Neo4jPersistentEntity<?>) relationship.getTarget();
+			this.relatedNodesCollectionName = relationship.generateRelatedNodesCollectionName();
+			this.collectionLike = inverse.getTypeInformation().isCollectionLike();
+			this.set = inverse.getType().equals(Set.class);
+			this.lazyLoadable = !relationship.isDynamic()
+				&& DefaultNeo4jPersistentEntity.LAZY_ASSOCIATION_TYPES.contains(inverse.getType());
+		}
+
+		RelationshipDescription getRelationship() {
+			return relationship;
+		}
+
+		Neo4jPersistentProperty getInverse() {
+			return inverse;
+		}
+
+		Neo4jPersistentEntity<?> getTargetNodeDescription() {
+			return targetNodeDescription;
+		}
+
+		String getRelatedNodesCollectionName() {
+			return relatedNodesCollectionName;
+		}
+
+		boolean isCollectionLike() {
+			return collectionLike;
+		}
+
+		boolean isSet() {
+			return set;
+		}
+
+		/**
+		 * @return True, if the property can hold a collection that loads the related entities on first access
+		 */
+		boolean isLazyLoadable() {
+			return lazyLoadable;
+		}
+	}
+
+	/**
+	 * A view on a root node and the record it has been returned in. Values of the record take precedence over the
+	 * properties of the node, the internal id of the node is available under
+	 * {@link org.neo4j.springframework.data.core.schema.NodeDescription#NAME_OF_INTERNAL_ID} unless the record contains
+	 * such a column. This avoids copying both into a new map for each record.
+	 */
+	static final class NodeWithRecord implements MapAccessor {
+
+		private final Node node;
+
+		private final Record record;
+
+		NodeWithRecord(Node node, Record record) {
+			this.node = node;
+			this.record = record;
+		}
+
+		Node getNode() {
+			return node;
+		}
+
+		Record getRecord() {
+			return record;
+		}
+
+		@Override
+		public Iterable<String> keys() {
+			return asMap().keySet();
+		}
+
+		@Override
+		public boolean containsKey(String key) {
+			return record.containsKey(key) || node.containsKey(key) || NAME_OF_INTERNAL_ID.equals(key);
+		}
+
+		@Override
+		public Value get(String key) {
+
+			if (record.containsKey(key)) {
+				return record.get(key);
+			} else if (node.containsKey(key)) {
+				return node.get(key);
+			} else if (NAME_OF_INTERNAL_ID.equals(key)) {
+				return Values.value(node.id());
+			}
+			return Values.NULL;
+		}
+
+		@Override
+		public int size() {
+			return asMap().size();
+		}
+
+		@Override
+		public Iterable<Value> values() {
+			return asMap(Function.identity()).values();
+		}
+
+		@Override
+		public <V> Iterable<V> values(Function<Value, V> mapFunction) {
+			return asMap(mapFunction).values();
+		}
+
+		@Override
+		public Map<String, Object> asMap() {
+			return asMap(Values.ofObject());
+		}
+
+		@Override
+		public <V> Map<String, V> asMap(Function<Value, V> mapFunction) {
+
+			Map<String, V> mergedAttributes = new HashMap<>(node.size() + record.size() + 1);
+			mergedAttributes.put(NAME_OF_INTERNAL_ID, mapFunction.apply(Values.value(node.id())));
+			mergedAttributes.putAll(node.asMap(mapFunction));
+			mergedAttributes.putAll(record.asMap(mapFunction));
+			return mergedAttributes;
+		}
+	}
+}
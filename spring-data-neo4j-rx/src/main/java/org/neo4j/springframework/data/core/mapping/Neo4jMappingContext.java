@@ -38,9 +38,11 @@ import org.neo4j.driver.types.TypeSystem;
 import org.neo4j.springframework.data.core.convert.Neo4jConversions;
 import org.neo4j.springframework.data.core.convert.Neo4jConverter;
 import org.neo4j.springframework.data.core.convert.Neo4jSimpleTypes;
+import org.neo4j.springframework.data.core.schema.CypherGenerator;
 import org.neo4j.springframework.data.core.schema.IdDescription;
 import org.neo4j.springframework.data.core.schema.IdGenerator;
 import org.neo4j.springframework.data.core.schema.NodeDescription;
+import org.neo4j.springframework.data.core.schema.Relationship;
 import org.neo4j.springframework.data.core.schema.RelationshipDescription;
 import org.neo4j.springframework.data.core.schema.Schema;
 import org.neo4j.springframework.data.core.schema.UnknownEntityException;
@@ -61,6 +63,7 @@ import org.springframework.data.mapping.model.Property;
 import org.springframework.data.mapping.model.SimpleTypeHolder;
 import org.springframework.data.util.TypeInformation;
 import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 
 /**
  * An implementation of both a {@link Schema} as well as a Neo4j version of Spring Data's
@@ -91,6 +94,36 @@ public final class Neo4jMappingContext
 	 */
 	private final Neo4jConverter converter;
 
+	/**
+	 * The mapping plans of all entities that have been mapped so far.
+	 */
+	private final Map<Neo4jPersistentEntity<?>, MappingPlan<?>> mappingPlans = new ConcurrentHashMap<>();
+
+	/**
+	 * The binder functions of all entities that have been saved so far.
+	 */
+	private final Map<Neo4jPersistentEntity<?>, DefaultNeo4jBinderFunction<?>> binderFunctions = new ConcurrentHashMap<>();
+
+	/**
+	 * Snapshots of loaded entities, only present when change tracking is enabled.
+	 */
+	private @Nullable EntitySnapshots entitySnapshots;
+
+	/**
+	 * Associations of loaded entities beyond the fetch depth that have been left empty.
+	 */
+	private final UnfetchedAssociations unfetchedAssociations = new UnfetchedAssociations();
+
+	/**
+	 * Flag, whether nodes for new entities with assigned or externally generated ids are merged instead of created.
+	 */
+	private boolean alwaysMergeEnabled = false;
+
+	/**
+	 * The number of relationships followed from the root node when loading entities.
+	 */
+	private int defaultFetchDepth = CypherGenerator.UNBOUNDED_FETCH_DEPTH;
+
 	private @Nullable ListableBeanFactory beanFactory;
 
 	public Neo4jMappingContext() {
@@ -108,6 +141,85 @@ public final class Neo4jMappingContext
 		return converter;
 	}
 
+	/**
+	 * Enables or disables change tracking. With change tracking enabled, a compact {@link EntitySnapshot snapshot} of
+	 * each entity loaded through a mapping function of this context is kept as long as the entity itself is reachable.
+	 * Saving such an entity only writes the changed properties and the added or removed relationships instead of
+	 * overwriting all properties and recreating all relationships.
+	 * <p>
+	 * Snapshots are refreshed after each save. Snapshots taken inside a transaction are discarded if it is rolled back,
+	 * so that the affected entities are saved completely again.
+	 *
+	 * @param changeTrackingEnabled Set to true to enable change tracking
+	 */
+	public void setChangeTrackingEnabled(boolean changeTrackingEnabled) {
+		this.entitySnapshots = changeTrackingEnabled ? new EntitySnapshots() : null;
+	}
+
+	public boolean isChangeTrackingEnabled() {
+		return this.entitySnapshots != null;
+	}
+
+	/**
+	 * Entities that are {@link Neo4jPersistentEntity#isKnownToBeNew(Object) known to be new} are saved with a plain
+	 * {@code CREATE} by default, which avoids the index lookup and locking of a {@code MERGE}. Enabling this makes
+	 * entities with externally generated ids always use {@code MERGE} on their id property again, so that a node with
+	 * the same id that has been created by someone else is updated instead of duplicated.
+	 *
+	 * @param alwaysMergeEnabled Set to true to merge nodes of new entities with externally generated ids
+	 */
+	public void setAlwaysMergeEnabled(boolean alwaysMergeEnabled) {
+		this.alwaysMergeEnabled = alwaysMergeEnabled;
+	}
+
+	public boolean isAlwaysMergeEnabled() {
+		return alwaysMergeEnabled;
+	}
+
+	/**
+	 * Limits the number of relationships that are followed from the root node when entities are loaded with generated
+	 * statements. All relationships are followed by default. Collections of related entities beyond that depth are
+	 * populated with collections loading them on first access like {@link Relationship.Fetch#LAZY lazy}
+	 * relationships, other relationships beyond that depth are not populated at all.
+	 *
+	 * @param defaultFetchDepth The default fetch depth, {@link CypherGenerator#UNBOUNDED_FETCH_DEPTH} to follow all
+	 *                          relationships
+	 */
+	public void setDefaultFetchDepth(int defaultFetchDepth) {
+
+		Assert.isTrue(defaultFetchDepth >= CypherGenerator.UNBOUNDED_FETCH_DEPTH,
+			"The fetch depth must not be negative.");
+		this.defaultFetchDepth = defaultFetchDepth;
+	}
+
+	public int getDefaultFetchDepth() {
+		return defaultFetchDepth;
+	}
+
+	/**
+	 * @param nodeDescription The description of the node to save
+	 * @param knownToBeNew    Whether the entity has been {@link Neo4jPersistentEntity#isKnownToBeNew(Object) known to be new}
+	 *                        before any ids have been generated
+	 * @return True, if the node should be saved with a plain {@code CREATE}
+	 */
+	public boolean shouldCreate(Neo4jPersistentEntity<?> nodeDescription, boolean knownToBeNew) {
+		return knownToBeNew && (nodeDescription.isUsingInternalIds() || !this.alwaysMergeEnabled);
+	}
+
+	/**
+	 * @return The snapshots of loaded and saved entities if change tracking is enabled.
+	 */
+	public Optional<EntitySnapshots> getEntitySnapshots() {
+		return Optional.ofNullable(this.entitySnapshots);
+	}
+
+	/**
+	 * @return The associations of loaded entities that have not been fetched and must not be saved.
+	 */
+	public UnfetchedAssociations getUnfetchedAssociations() {
+		return this.unfetchedAssociations;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.data.mapping.context.AbstractMappingContext#createPersistentEntity(org.springframework.data.util.TypeInformation)
@@ -192,12 +304,24 @@ public final class Neo4jMappingContext
 	public <T> BiFunction<TypeSystem, Record, T> getMappingFunctionFor(Class<T> targetClass) {
 		if (this.hasPersistentEntityFor(targetClass)) {
 			Neo4jPersistentEntity neo4jPersistentEntity = this.getPersistentEntity(targetClass);
-			return new DefaultNeo4jMappingFunction<>(neo4jPersistentEntity, this.converter);
+			return new DefaultNeo4jMappingFunction<>(getMappingPlan(neo4jPersistentEntity), this::getMappingPlan,
+				this.entitySnapshots, this.unfetchedAssociations);
 		}
 
 		return null;
 	}
 
+	/**
+	 * @param nodeDescription The entity to map
+	 * @param <T>             The type of the entity
+	 * @return The mapping plan of the given entity, computed on first use
+	 */
+	<T> MappingPlan<T> getMappingPlan(Neo4jPersistentEntity<T> nodeDescription) {
+		return (MappingPlan<T>) this.mappingPlans
+			.computeIfAbsent(nodeDescription,
+				entity -> new MappingPlan<>(nodeDescription, this.converter, getBinderFunction(nodeDescription)));
+	}
+
 	@Override
 	public Optional<Neo4jPersistentEntity<?>> addPersistentEntity(Class<?> type) {
 		return super.addPersistentEntity(type);
@@ -211,7 +335,17 @@ public final class Neo4jMappingContext
 		}
 
 		Neo4jPersistentEntity neo4jPersistentEntity = this.getPersistentEntity(sourceClass);
-		return new DefaultNeo4jBinderFunction<T>(neo4jPersistentEntity, converter);
+		return getBinderFunction(neo4jPersistentEntity);
+	}
+
+	/**
+	 * @param nodeDescription The entity to bind
+	 * @param <T>             The type of the entity
+	 * @return The binder function of the given entity, created on first use
+	 */
+	private <T> DefaultNeo4jBinderFunction<T> getBinderFunction(Neo4jPersistentEntity<T> nodeDescription) {
+		return (DefaultNeo4jBinderFunction<T>) this.binderFunctions
+			.computeIfAbsent(nodeDescription, entity -> new DefaultNeo4jBinderFunction<>(entity, this.converter));
 	}
 
 	private Collection<RelationshipDescription> computeRelationshipsOf(String primaryLabel) {
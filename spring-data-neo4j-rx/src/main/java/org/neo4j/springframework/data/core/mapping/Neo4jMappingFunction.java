@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2019 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.springframework.data.core.mapping;
+
+import java.util.function.BiFunction;
+
+import org.apiguardian.api.API;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.types.TypeSystem;
+
+/**
+ * A function mapping records to entities that is able to share the instances of related entities between all records
+ * of one query.
+ *
+ * @author Michael J. Simons
+ * @param <T> The type of the entities
+ * @since 1.0
+ */
+@API(status = API.Status.INTERNAL, since = "1.0")
+public interface Neo4jMappingFunction<T> extends BiFunction<TypeSystem, Record, T> {
+
+	/**
+	 * Creates a mapping function to be used for the records of exactly one query. Nodes are identified by their
+	 * primary label and their id and mapped only once, regardless in how many records they are related to. A node is
+	 * populated again when it is related closer to the root than before, as more of its relationships might have been
+	 * fetched there.
+	 * <p>
+	 * The identity map lives as long as the returned function. It is bounded and forgets the least recently used
+	 * entities, as results streamed or emitted one record at a time may be unbounded. A related entity that has been
+	 * forgotten is mapped into a new instance when it is encountered again.
+	 *
+	 * @return A mapping function with an identity map scoped to one query
+	 */
+	BiFunction<TypeSystem, Record, T> forOneQuery();
+
+	/**
+	 * Creates a mapping function whose lazy relationships load their related entities with the given loader on first
+	 * access.
+	 *
+	 * @param relatedEntitiesLoader The loader for lazy relationships
+	 * @return A mapping function using the given loader
+	 */
+	Neo4jMappingFunction<T> withRelatedEntitiesLoader(RelatedEntitiesLoader relatedEntitiesLoader);
+
+	/**
+	 * Creates a mapping function recording the snapshots of the mapped entities in the given scope. Without a scope,
+	 * snapshots are recorded in the scope of the ongoing, thread bound transaction if there is any, which doesn't
+	 * exist for reactive transactions.
+	 *
+	 * @param snapshotScope The scope of the transaction the entities are read in
+	 * @return A mapping function using the given scope
+	 */
+	Neo4jMappingFunction<T> withSnapshotScope(EntitySnapshots.Scope snapshotScope);
+
+	/**
+	 * Scopes the given mapping function to one query if possible.
+	 *
+	 * @param mappingFunction The mapping function to scope
+	 * @param <T>             The type of the entities
+	 * @return A mapping function for exactly one query or the given function, if it is not a {@link Neo4jMappingFunction}
+	 */
+	static <T> BiFunction<TypeSystem, Record, T> forOneQuery(BiFunction<TypeSystem, Record, T> mappingFunction) {
+
+		return mappingFunction instanceof Neo4jMappingFunction ?
+			((Neo4jMappingFunction<T>) mappingFunction).forOneQuery() :
+			mappingFunction;
+	}
+}
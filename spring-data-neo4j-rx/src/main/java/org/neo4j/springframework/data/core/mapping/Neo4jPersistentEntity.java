@@ -38,4 +38,16 @@ import org.springframework.data.mapping.model.MutablePersistentEntity;
 @API(status = API.Status.INTERNAL, since = "1.0")
 public interface Neo4jPersistentEntity<T>
 	extends MutablePersistentEntity<T, Neo4jPersistentProperty>, NodeDescription<T> {
+
+	/**
+	 * Checks whether there certainly is no node for the given instance yet. This is the case for new instances with
+	 * internally or externally generated ids, but never for instances with assigned ids, as those might have been
+	 * assigned the id of an existing node. Must be called before any ids are generated for the instance.
+	 *
+	 * @param bean The instance to check
+	 * @return True, if a node for the given instance can be created without looking for an existing node first
+	 */
+	default boolean isKnownToBeNew(Object bean) {
+		return !getIdDescription().isAssignedId() && isNew(bean);
+	}
 }
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2019 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.springframework.data.core.mapping;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+import org.neo4j.driver.types.MapAccessor;
+import org.neo4j.driver.types.Node;
+import org.neo4j.driver.types.Relationship;
+import org.neo4j.driver.types.TypeSystem;
+import org.springframework.lang.Nullable;
+
+/**
+ * An index over the lists of nodes and relationships contained in the result of a custom query. The index is built on
+ * first use and only once per result, so that associations of the mapped entities can be resolved by lookups instead
+ * of scanning the whole result for each association.
+ *
+ * @author Michael J. Simons
+ * @since 1.0
+ */
+final class RecordGraph {
+
+	private final TypeSystem typeSystem;
+
+	private final MapAccessor queryResult;
+
+	private @Nullable Long sourceNodeId;
+
+	private Map<Long, Node> nodesById;
+
+	private Map<Long, Map<String, List<Relationship>>> outgoingRelationships;
+
+	private Map<Long, Map<String, List<Relationship>>> incomingRelationships;
+
+	private Map<String, List<Relationship>> relationshipsByType;
+
+	/**
+	 * @param typeSystem  The type system of the driver
+	 * @param queryResult The result of which the lists of nodes and relationships are indexed
+	 */
+	RecordGraph(TypeSystem typeSystem, MapAccessor queryResult) {
+
+		this.typeSystem = typeSystem;
+		this.queryResult = queryResult;
+	}
+
+	/**
+	 * Retrieves the nodes related to the node of the query result. When the query result doesn't contain the internal
+	 * id of its node, all relationships of the given type are considered, regardless of their start or end node.
+	 *
+	 * @param relationshipType The type of the relationships
+	 * @param outgoing         Whether the relationships start ({@literal true}) or end at the node of the query result
+	 * @param targetLabel      The label the related nodes must have
+	 * @return The related nodes with their relationship, in the order the relationships appear in the result
+	 */
+	List<RelatedNode> getRelatedNodes(String relationshipType, boolean outgoing, String targetLabel) {
+
+		if (queryResult instanceof Node) {
+			// The properties of a node cannot contain other nodes or relationships.
+			return Collections.emptyList();
+		}
+		indexIfNecessary();
+
+		List<Relationship> relationships;
+		if (sourceNodeId == null) {
+			relationships = relationshipsByType.get(relationshipType);
+		} else {
+			Map<String, List<Relationship>> relationshipsOfNode = (outgoing ? outgoingRelationships : incomingRelationships)
+				.get(sourceNodeId);
+			relationships = relationshipsOfNode == null ? null : relationshipsOfNode.get(relationshipType);
+		}
+		if (relationships == null) {
+			return Collections.emptyList();
+		}
+
+		List<RelatedNode> relatedNodes = new ArrayList<>(relationships.size());
+		for (Relationship relationship : relationships) {
+			Node node = nodesById.get(outgoing ? relationship.endNodeId() : relationship.startNodeId());
+			if (node != null && node.hasLabel(targetLabel)) {
+				relatedNodes.add(new RelatedNode(node, relationship));
+			}
+		}
+		return relatedNodes;
+	}
+
+	private void indexIfNecessary() {
+
+		if (nodesById != null) {
+			return;
+		}
+
+		nodesById = new HashMap<>();
+		outgoingRelationships = new HashMap<>();
+		incomingRelationships = new HashMap<>();
+		relationshipsByType = new HashMap<>();
+
+		Iterable<Value> values;
+		if (queryResult instanceof MappingPlan.NodeWithRecord) {
+			MappingPlan.NodeWithRecord nodeWithRecord = (MappingPlan.NodeWithRecord) queryResult;
+			sourceNodeId = nodeWithRecord.getNode().id();
+			values = nodeWithRecord.getRecord().values();
+		} else {
+			values = queryResult.values();
+		}
+
+		for (Value value : values) {
+			if (!typeSystem.LIST().isTypeOf(value)) {
+				continue;
+			}
+
+			List<Value> entries = value.asList(Values.ofValue());
+			if (containsOnly(entries, typeSystem.NODE().name())) {
+				for (Value entry : entries) {
+					Node node = entry.asNode();
+					nodesById.put(node.id(), node);
+				}
+			} else if (containsOnly(entries, typeSystem.RELATIONSHIP().name())) {
+				for (Value entry : entries) {
+					Relationship relationship = entry.asRelationship();
+					String type = relationship.type();
+					relationshipsOf(outgoingRelationships, relationship.startNodeId(), type).add(relationship);
+					relationshipsOf(incomingRelationships, relationship.endNodeId(), type).add(relationship);
+					relationshipsByType.computeIfAbsent(type, k -> new ArrayList<>()).add(relationship);
+				}
+			}
+		}
+	}
+
+	private static boolean containsOnly(List<Value> entries, String typeName) {
+
+		for (Value entry : entries) {
+			if (!typeName.equals(entry.type().name())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static List<Relationship> relationshipsOf(Map<Long, Map<String, List<Relationship>>> index, long nodeId,
+		String type) {
+
+		return index.computeIfAbsent(nodeId, k -> new HashMap<>()).computeIfAbsent(type, k -> new ArrayList<>());
+	}
+
+	/**
+	 * A node related to the node of the query result and the relationship connecting them.
+	 */
+	static final class RelatedNode {
+
+		private final Node node;
+
+		private final Relationship relationship;
+
+		RelatedNode(Node node, Relationship relationship) {
+			this.node = node;
+			this.relationship = relationship;
+		}
+
+		Node getNode() {
+			return node;
+		}
+
+		Relationship getRelationship() {
+			return relationship;
+		}
+	}
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2019 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.springframework.data.core.mapping;
+
+import java.util.Collection;
+
+import org.apiguardian.api.API;
+import org.neo4j.springframework.data.core.schema.RelationshipDescription;
+
+/**
+ * Loads the entities related to one node through a lazy relationship.
+ *
+ * @author Michael J. Simons
+ * @since 1.0
+ */
+@API(status = API.Status.INTERNAL, since = "1.0")
+@FunctionalInterface
+public interface RelatedEntitiesLoader {
+
+	/**
+	 * @param relationship The lazy relationship to follow
+	 * @param sourceNodeId The internal id of the node owning the relationship
+	 * @return All entities related to the node through the given relationship
+	 */
+	Collection<?> load(RelationshipDescription relationship, long sourceNodeId);
+}
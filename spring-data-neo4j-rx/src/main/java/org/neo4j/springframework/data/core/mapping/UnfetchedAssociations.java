@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2019 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.springframework.data.core.mapping;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apiguardian.api.API;
+import org.springframework.data.mapping.PersistentProperty;
+import org.springframework.lang.Nullable;
+
+/**
+ * Records the associations of loaded entities that have not been fetched, because they are beyond the fetch depth and
+ * cannot be loaded lazily. Such associations are left empty and must not be used to update relationships, as saving
+ * them would delete the relationships in the database. Entities are only weakly referenced and compared by identity,
+ * like in {@link EntitySnapshots}.
+ *
+ * @author Michael J. Simons
+ * @since 1.0
+ */
+@API(status = API.Status.INTERNAL, since = "1.0")
+public final class UnfetchedAssociations {
+
+	private final ReferenceQueue<Object> staleEntities = new ReferenceQueue<>();
+
+	private final Map<IdentityReference, Set<String>> associations = new ConcurrentHashMap<>();
+
+	/**
+	 * Records that the given association of an entity has not been fetched.
+	 *
+	 * @param entity   The loaded entity
+	 * @param property The property of the association
+	 */
+	public void add(Object entity, PersistentProperty<?> property) {
+
+		expungeStaleEntries();
+		this.associations
+			.computeIfAbsent(new IdentityReference(entity, staleEntities), reference -> ConcurrentHashMap.newKeySet())
+			.add(property.getName());
+	}
+
+	/**
+	 * Forgets all unfetched associations of an entity, for example because it has been loaded again.
+	 *
+	 * @param entity The loaded entity
+	 */
+	public void remove(Object entity) {
+
+		expungeStaleEntries();
+		this.associations.remove(new IdentityReference(entity, null));
+	}
+
+	/**
+	 * @param entity   The entity to be saved
+	 * @param property The property of an association
+	 * @return True, if the association has not been fetched when the entity was loaded
+	 */
+	public boolean contains(Object entity, PersistentProperty<?> property) {
+
+		expungeStaleEntries();
+		if (this.associations.isEmpty()) {
+			return false;
+		}
+		Set<String> properties = this.associations.get(new IdentityReference(entity, null));
+		return properties != null && properties.contains(property.getName());
+	}
+
+	/**
+	 * Values of associations that have not been fetched don't carry any information about the related entities.
+	 * Associations that have been assigned a value after loading are saved as usual.
+	 *
+	 * @param entity   The entity to be saved
+	 * @param property The property of an association
+	 * @param value    The current value of the association
+	 * @return True, if the association has not been fetched and must not be used to update relationships
+	 */
+	public boolean isNotFetched(Object entity, PersistentProperty<?> property, @Nullable Object value) {
+		return value == null && contains(entity, property);
+	}
+
+	private void expungeStaleEntries() {
+
+		Reference<?> staleEntity;
+		while ((staleEntity = staleEntities.poll()) != null) {
+			this.associations.remove(staleEntity);
+		}
+	}
+}
@@ -24,8 +24,10 @@ import static org.neo4j.springframework.data.core.schema.RelationshipDescription
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.function.Predicate;
+import java.util.Set;
 
 import org.apiguardian.api.API;
 import org.jetbrains.annotations.NotNull;
@@ -52,6 +54,12 @@ public enum CypherGenerator {
 	INSTANCE;
 
 	public static final String FROM_ID_PARAMETER_NAME = "fromId";
+	public static final String TO_ID_PARAMETER_NAME = "toId";
+
+	/**
+	 * Fetch depth that follows all relationships, stopping only at direct self-references.
+	 */
+	public static final int UNBOUNDED_FETCH_DEPTH = -1;
 
 	private static final String START_NODE_NAME = "startNode";
 	private static final String END_NODE_NAME = "endNode";
@@ -106,6 +114,49 @@ public enum CypherGenerator {
 		return Cypher.match(rootNode).where(conditionOrNoCondition(condition)).detachDelete(rootNode).build();
 	}
 
+	/**
+	 * Creates a statement that deletes at most {@code batchSize} nodes with the primary label of the given description
+	 * together with their relationships. It is meant to be executed repeatedly until it doesn't delete anything anymore.
+	 *
+	 * @param nodeDescription The description of the nodes to delete
+	 * @param batchSize       The maximum number of nodes to delete with one execution
+	 * @return A statement deleting one batch of nodes
+	 */
+	public Statement prepareDeleteOf(NodeDescription<?> nodeDescription, int batchSize) {
+
+		Node rootNode = node(nodeDescription.getPrimaryLabel())
+			.named(NAME_OF_ROOT_NODE);
+		return Cypher.match(rootNode).with(rootNode).limit(batchSize).detachDelete(rootNode).build();
+	}
+
+	/**
+	 * Creates a statement that sets the given properties of the nodes matching the given condition and returns the
+	 * number of matching nodes. The new value of each property is expected in a parameter named after the field of
+	 * the property.
+	 *
+	 * @param nodeDescription The description of the nodes to update
+	 * @param condition       The condition identifying the nodes to update
+	 * @param properties      The properties to set
+	 * @return A statement setting the given properties
+	 */
+	public Statement prepareUpdateOf(NodeDescription<?> nodeDescription, Condition condition,
+		Collection<? extends GraphPropertyDescription> properties) {
+
+		Assert.notEmpty(properties, "At least one property to update is required.");
+
+		Node rootNode = node(nodeDescription.getPrimaryLabel()).named(NAME_OF_ROOT_NODE);
+		List<Expression> setItems = new ArrayList<>(properties.size() * 2);
+		for (GraphPropertyDescription property : properties) {
+			setItems.add(rootNode.property(property.getPropertyName()));
+			setItems.add(parameter(property.getFieldName()));
+		}
+
+		return Cypher.match(rootNode).where(condition)
+			.set(setItems.toArray(new Expression[0]))
+			.returning(Functions.count(rootNode))
+			.build();
+	}
+
 	public Statement prepareSaveOf(NodeDescription<?> nodeDescription) {
 
 		String primaryLabel = nodeDescription.getPrimaryLabel();
@@ -144,43 +195,157 @@ public enum CypherGenerator {
 		}
 	}
 
-	public Statement prepareSaveOfMultipleInstancesOf(NodeDescription<?> nodeDescription) {
+	/**
+	 * Creates a statement that creates a new node with the properties passed in the parameter
+	 * {@link NodeDescription#NAME_OF_PROPERTIES_PARAM} without looking for an existing node first. It must only be used
+	 * for entities that are known to be new.
+	 *
+	 * @param nodeDescription The node description for which a create statement should be generated
+	 * @return A statement creating one node and returning its internal id
+	 */
+	public Statement prepareCreateOf(NodeDescription<?> nodeDescription) {
 
-		Assert.isTrue(!nodeDescription.isUsingInternalIds(),
-			"Only entities that use external IDs can be saved in a batch.");
+		Node rootNode = node(nodeDescription.getPrimaryLabel()).named(NAME_OF_ROOT_NODE);
+		return Cypher.create(rootNode)
+			.set(rootNode, parameter(NAME_OF_PROPERTIES_PARAM))
+			.returning(rootNode.internalId())
+			.build();
+	}
 
-		Node rootNode = node(nodeDescription.getPrimaryLabel())
-			.named(NAME_OF_ROOT_NODE);
+	/**
+	 * Creates a statement that creates a new node for each row passed in the parameter
+	 * {@link NodeDescription#NAME_OF_ENTITY_LIST_PARAM} without looking for existing nodes first. The rows and the
+	 * returned records are the same as with {@link #prepareSaveOfMultipleInstancesOf(NodeDescription)}. It must only be
+	 * used for entities that are known to be new.
+	 *
+	 * @param nodeDescription The node description for which a batched create statement should be generated
+	 * @return A statement creating all rows in one go
+	 */
+	public Statement prepareCreateOfMultipleInstancesOf(NodeDescription<?> nodeDescription) {
+
+		Node rootNode = node(nodeDescription.getPrimaryLabel()).named(NAME_OF_ROOT_NODE);
+		String row = "entity";
+		return Cypher
+			.unwind(parameter(NAME_OF_ENTITY_LIST_PARAM)).as(row)
+			.create(rootNode)
+			.set(rootNode, property(row, NAME_OF_PROPERTIES_PARAM))
+			.returning(property(row, NAME_OF_INDEX_PARAM).as(NAME_OF_INDEX_PARAM),
+				rootNode.internalId().as(NAME_OF_INTERNAL_ID))
+			.build();
+	}
+
+	/**
+	 * Creates a statement that saves all entities passed as a list of rows in the parameter
+	 * {@link NodeDescription#NAME_OF_ENTITY_LIST_PARAM}. Each row is expected to contain the id of the entity
+	 * ({@link NodeDescription#NAME_OF_ID_PARAM}), its properties ({@link NodeDescription#NAME_OF_PROPERTIES_PARAM}) and its
+	 * position inside the list ({@link NodeDescription#NAME_OF_INDEX_PARAM}).
+	 * <p>
+	 * The statement returns one record per row, containing the position of the row and the internal id of the saved node,
+	 * so that generated ids can be assigned back to the entities in the order they have been passed.
+	 *
+	 * @param nodeDescription The node description for which a batched save statement should be generated
+	 * @return A statement saving all rows in one go
+	 */
+	public Statement prepareSaveOfMultipleInstancesOf(NodeDescription<?> nodeDescription) {
+
+		String primaryLabel = nodeDescription.getPrimaryLabel();
+		Node rootNode = node(primaryLabel).named(NAME_OF_ROOT_NODE);
 		IdDescription idDescription = nodeDescription.getIdDescription();
 
-		String nameOfIdProperty = idDescription.getOptionalGraphPropertyName()
-			.orElseThrow(() -> new MappingException("External id does not correspond to a graph property!"));
+		String row = "entity";
+		Expression[] indexAndInternalId = {
+			property(row, NAME_OF_INDEX_PARAM).as(NAME_OF_INDEX_PARAM),
+			rootNode.internalId().as(NAME_OF_INTERNAL_ID)
+		};
+
+		if (!idDescription.isInternallyGeneratedId()) {
+			String nameOfIdProperty = idDescription.getOptionalGraphPropertyName()
+				.orElseThrow(() -> new MappingException("External id does not correspond to a graph property!"));
+
+			return Cypher
+				.unwind(parameter(NAME_OF_ENTITY_LIST_PARAM)).as(row)
+				.merge(rootNode.properties(nameOfIdProperty, property(row, NAME_OF_ID_PARAM)))
+				.set(rootNode, property(row, NAME_OF_PROPERTIES_PARAM))
+				.returning(indexAndInternalId)
+				.build();
+		} else {
+			String nameOfPossibleExistingNode = "hlp";
+			Node possibleExistingNode = node(primaryLabel).named(nameOfPossibleExistingNode);
+
+			Statement createIfNew = Cypher
+				.unwind(parameter(NAME_OF_ENTITY_LIST_PARAM)).as(row)
+				.optionalMatch(possibleExistingNode)
+				.where(possibleExistingNode.internalId().isEqualTo(property(row, NAME_OF_ID_PARAM)))
+				.with(Cypher.name(row), possibleExistingNode).where(possibleExistingNode.isNull())
+				.create(rootNode)
+				.set(rootNode, property(row, NAME_OF_PROPERTIES_PARAM))
+				.returning(indexAndInternalId)
+				.build();
+
+			// A fresh node is needed, otherwise the label is not rendered in the second part of the union
+			Node existingNode = node(primaryLabel).named(NAME_OF_ROOT_NODE);
+			Statement updateIfExists = Cypher
+				.unwind(parameter(NAME_OF_ENTITY_LIST_PARAM)).as(row)
+				.match(existingNode)
+				.where(existingNode.internalId().isEqualTo(property(row, NAME_OF_ID_PARAM)))
+				.set(existingNode, property(row, NAME_OF_PROPERTIES_PARAM))
+				.returning(indexAndInternalId)
+				.build();
+
+			return Cypher.unionAll(createIfNew, updateIfExists);
+		}
+	}
+
+	/**
+	 * Creates a statement that updates existing nodes passed as a list of rows in the parameter
+	 * {@link NodeDescription#NAME_OF_ENTITY_LIST_PARAM}. Each row is expected to contain the internal id of the node
+	 * ({@link NodeDescription#NAME_OF_INTERNAL_ID}), the properties that changed ({@link NodeDescription#NAME_OF_PROPERTIES_PARAM})
+	 * and its position inside the list ({@link NodeDescription#NAME_OF_INDEX_PARAM}). Properties not contained in a row
+	 * are not modified.
+	 *
+	 * @param nodeDescription The node description for which a batched update statement should be generated
+	 * @return A statement updating all rows in one go
+	 */
+	public Statement prepareUpdateOfMultipleInstancesOf(NodeDescription<?> nodeDescription) {
+
+		Node rootNode = node(nodeDescription.getPrimaryLabel()).named(NAME_OF_ROOT_NODE);
 
 		String row = "entity";
 		return Cypher
 			.unwind(parameter(NAME_OF_ENTITY_LIST_PARAM)).as(row)
-			.merge(rootNode.properties(nameOfIdProperty, property(row, NAME_OF_ID_PARAM)))
-			.set(rootNode, property(row, NAME_OF_PROPERTIES_PARAM))
-			.returning(Functions.collect(rootNode.property(nameOfIdProperty)).as(NAME_OF_IDS_RESULT))
+			.match(rootNode)
+			.where(rootNode.internalId().isEqualTo(property(row, NAME_OF_INTERNAL_ID)))
+			.set(rootNode.mutate(property(row, NAME_OF_PROPERTIES_PARAM)))
+			.returning(property(row, NAME_OF_INDEX_PARAM).as(NAME_OF_INDEX_PARAM),
+				rootNode.internalId().as(NAME_OF_INTERNAL_ID))
 			.build();
 	}
 
+	/**
+	 * Creates a statement that merges all relationships passed as a list of rows in the parameter
+	 * {@link RelationshipDescription#NAME_OF_RELATIONSHIP_LIST_PARAM}. Each row is expected to contain the id of the
+	 * start node ({@link #FROM_ID_PARAMETER_NAME}) and the internal id of the end node ({@link #TO_ID_PARAMETER_NAME}).
+	 *
+	 * @param neo4jPersistentEntity   The description of the start node
+	 * @param relationship            The relationship to create
+	 * @param dynamicRelationshipType The type of the relationship if the relationship is dynamic
+	 * @return A statement creating all relationships in one go
+	 */
 	@NotNull
 	public Statement createRelationshipCreationQuery(Neo4jPersistentEntity<?> neo4jPersistentEntity,
-		RelationshipDescription relationship, @Nullable String dynamicRelationshipType, Long relatedInternalId) {
+		RelationshipDescription relationship, @Nullable String dynamicRelationshipType) {
 
-		Node startNode = anyNode(START_NODE_NAME);
+		Node startNode = node(neo4jPersistentEntity.getPrimaryLabel()).named(START_NODE_NAME);
 		Node endNode = anyNode(END_NODE_NAME);
-		String idPropertyName = neo4jPersistentEntity.getRequiredIdProperty().getPropertyName();
 
-		Parameter idParameter = parameter(FROM_ID_PARAMETER_NAME);
+		String row = "relationship";
 		String type = relationship.isDynamic() ? dynamicRelationshipType : relationship.getType();
-		return match(startNode)
-			.where(neo4jPersistentEntity.isUsingInternalIds()
-				? startNode.internalId().isEqualTo(idParameter)
-				: startNode.property(idPropertyName).isEqualTo(idParameter))
+		return Cypher
+			.unwind(parameter(NAME_OF_RELATIONSHIP_LIST_PARAM)).as(row)
+			.match(startNode)
+			.where(createIdCondition(neo4jPersistentEntity, startNode, property(row, FROM_ID_PARAMETER_NAME)))
 			.match(endNode)
-			.where(endNode.internalId().isEqualTo(literalOf(relatedInternalId)))
+			.where(endNode.internalId().isEqualTo(property(row, TO_ID_PARAMETER_NAME)))
 			.merge(relationship.isOutgoing()
 				? startNode.relationshipTo(endNode, type)
 				: startNode.relationshipFrom(endNode, type)
@@ -188,13 +353,22 @@ public enum CypherGenerator {
 			.build();
 	}
 
+	/**
+	 * Creates a statement that removes the given relationship from all start nodes passed as a list of rows in the
+	 * parameter {@link RelationshipDescription#NAME_OF_RELATIONSHIP_LIST_PARAM}. Each row is expected to contain the id
+	 * of the start node ({@link #FROM_ID_PARAMETER_NAME}).
+	 *
+	 * @param neo4jPersistentEntity   The description of the start node
+	 * @param relationshipDescription The relationship to remove
+	 * @param relatedNodeLabel        The label of the related nodes
+	 * @return A statement removing the relationships from all start nodes in one go
+	 */
 	@NotNull
 	public Statement createRelationshipRemoveQuery(Neo4jPersistentEntity<?> neo4jPersistentEntity,
 		RelationshipDescription relationshipDescription, String relatedNodeLabel) {
 
-		Node startNode = anyNode(START_NODE_NAME);
+		Node startNode = node(neo4jPersistentEntity.getPrimaryLabel()).named(START_NODE_NAME);
 		Node endNode = node(relatedNodeLabel);
-		String idPropertyName = neo4jPersistentEntity.getRequiredIdProperty().getPropertyName();
 		boolean outgoing = relationshipDescription.isOutgoing();
 
 		String relationshipType = relationshipDescription.isDynamic() ? null : relationshipDescription.getType();
@@ -204,88 +378,202 @@ public enum CypherGenerator {
 			? startNode.relationshipTo(endNode, relationshipType).named(relationshipToRemoveName)
 			: startNode.relationshipFrom(endNode, relationshipType).named(relationshipToRemoveName);
 
-		Parameter idParameter = parameter(FROM_ID_PARAMETER_NAME);
-		return match(relationship)
-			.where(neo4jPersistentEntity.isUsingInternalIds()
-				? startNode.internalId().isEqualTo(idParameter)
-				: startNode.property(idPropertyName).isEqualTo(idParameter))
+		String row = "relationship";
+		return Cypher
+			.unwind(parameter(NAME_OF_RELATIONSHIP_LIST_PARAM)).as(row)
+			.match(relationship)
+			.where(createIdCondition(neo4jPersistentEntity, startNode, property(row, FROM_ID_PARAMETER_NAME)))
 			.delete(relationship.getSymbolicName().get()).build();
 	}
 
+	/**
+	 * Creates a statement that removes the given relationship between specific start and end nodes passed as a list of
+	 * rows in the parameter {@link RelationshipDescription#NAME_OF_RELATIONSHIP_LIST_PARAM}. Each row is expected to
+	 * contain the id of the start node ({@link #FROM_ID_PARAMETER_NAME}) and the internal id of the end node
+	 * ({@link #TO_ID_PARAMETER_NAME}).
+	 *
+	 * @param neo4jPersistentEntity   The description of the start node
+	 * @param relationshipDescription The relationship to remove
+	 * @param dynamicRelationshipType The type of the relationship if the relationship is dynamic
+	 * @return A statement removing only the given relationships in one go
+	 */
+	@NotNull
+	public Statement createRelationshipRemoveQueryForEndNodes(Neo4jPersistentEntity<?> neo4jPersistentEntity,
+		RelationshipDescription relationshipDescription, @Nullable String dynamicRelationshipType) {
+
+		Node startNode = node(neo4jPersistentEntity.getPrimaryLabel()).named(START_NODE_NAME);
+		Node endNode = anyNode(END_NODE_NAME);
+
+		String relationshipType = relationshipDescription.isDynamic() ?
+			dynamicRelationshipType :
+			relationshipDescription.getType();
+		String relationshipToRemoveName = "rel";
+
+		Relationship relationship = relationshipDescription.isOutgoing()
+			? startNode.relationshipTo(endNode, relationshipType).named(relationshipToRemoveName)
+			: startNode.relationshipFrom(endNode, relationshipType).named(relationshipToRemoveName);
+
+		String row = "relationship";
+		return Cypher
+			.unwind(parameter(NAME_OF_RELATIONSHIP_LIST_PARAM)).as(row)
+			.match(relationship)
+			.where(createIdCondition(neo4jPersistentEntity, startNode, property(row, FROM_ID_PARAMETER_NAME))
+				.and(endNode.internalId().isEqualTo(property(row, TO_ID_PARAMETER_NAME))))
+			.delete(relationship.getSymbolicName().get()).build();
+	}
+
+	/**
+	 * Creates a statement returning all nodes related to one node through the given relationship. The node owning the
+	 * relationship is identified by the parameter {@link NodeDescription#NAME_OF_ID_PARAM}. The related nodes are
+	 * projected in the same way as the root nodes of a match.
+	 *
+	 * @param neo4jPersistentEntity The description of the node owning the relationship
+	 * @param relationship          The relationship to follow
+	 * @param byInternalId          True, if the parameter contains the internal id instead of the value of the id
+	 *                              property
+	 * @param fetchDepth            The number of relationships to follow from the related nodes
+	 * @return A statement returning all related nodes
+	 */
+	@NotNull
+	public Statement prepareMatchOfRelatedNodes(Neo4jPersistentEntity<?> neo4jPersistentEntity,
+		RelationshipDescription relationship, boolean byInternalId, int fetchDepth) {
+
+		Node startNode = node(neo4jPersistentEntity.getPrimaryLabel()).named(START_NODE_NAME);
+		NodeDescription<?> target = relationship.getTarget();
+		Node endNode = node(target.getPrimaryLabel()).named(NAME_OF_ROOT_NODE);
+
+		Parameter idParameter = parameter(NAME_OF_ID_PARAM);
+		Condition idCondition = byInternalId ?
+			startNode.internalId().isEqualTo(idParameter) :
+			createIdCondition(neo4jPersistentEntity, startNode, idParameter);
+		return Cypher
+			.match(relationship.isOutgoing() ?
+				startNode.relationshipTo(endNode, relationship.getType()) :
+				startNode.relationshipFrom(endNode, relationship.getType()))
+			.where(idCondition)
+			.returning(projectAllPropertiesAndRelationships(target, NAME_OF_ROOT_NODE, fetchDepth))
+			.build();
+	}
+
 	public Expression createReturnStatementForMatch(NodeDescription<?> nodeDescription) {
 		return createReturnStatementForMatch(nodeDescription, null);
 	}
 
+	public Expression createReturnStatementForMatch(NodeDescription<?> nodeDescription, int fetchDepth) {
+		return createReturnStatementForMatch(nodeDescription, null, fetchDepth);
+	}
+
 	/**
 	 * @param nodeDescription Description of the root node
 	 * @param inputProperties A list of Java properties of the domain to be included.
 	 *                        Those properties are compared with the field names of graph properties respectively relationships.
+	 *                        Properties of related nodes can be included with property paths, i.e. {@code actors.name}.
 	 * @return An expresion to be returned by a Cypher statement
 	 */
 	public Expression createReturnStatementForMatch(NodeDescription<?> nodeDescription,
 		@Nullable List<String> inputProperties) {
 
-		Predicate<String> includeField = s -> inputProperties == null || inputProperties.isEmpty() || inputProperties
-			.contains(s);
-		return projectPropertiesAndRelationships(nodeDescription, NAME_OF_ROOT_NODE, includeField);
+		return createReturnStatementForMatch(nodeDescription, inputProperties, UNBOUNDED_FETCH_DEPTH);
+	}
+
+	/**
+	 * Creates the projection of the root node, following its relationships up to the given depth. Nodes at the maximum
+	 * depth are marked with {@link RelationshipDescription#NAME_OF_UNFETCHED_RELATIONSHIPS} if they have relationships
+	 * that would have been followed otherwise.
+	 *
+	 * @param nodeDescription Description of the root node
+	 * @param inputProperties A list of Java properties of the domain to be included.
+	 *                        Those properties are compared with the field names of graph properties respectively relationships.
+	 *                        Properties of related nodes can be included with property paths, i.e. {@code actors.name}.
+	 * @param fetchDepth      The number of relationships to follow from the root node, {@link #UNBOUNDED_FETCH_DEPTH}
+	 *                        to follow all of them
+	 * @return An expresion to be returned by a Cypher statement
+	 */
+	public Expression createReturnStatementForMatch(NodeDescription<?> nodeDescription,
+		@Nullable List<String> inputProperties, int fetchDepth) {
+
+		IncludedProperties includedProperties = IncludedProperties.of(inputProperties);
+		return projectPropertiesAndRelationships(nodeDescription, NAME_OF_ROOT_NODE, includedProperties, fetchDepth);
 	}
 
-	private MapProjection projectAllPropertiesAndRelationships(NodeDescription<?> nodeDescription, String nodeName) {
-		Predicate<String> includeAllFields = (field) -> true;
-		return projectPropertiesAndRelationships(nodeDescription, nodeName, includeAllFields);
+	private MapProjection projectAllPropertiesAndRelationships(NodeDescription<?> nodeDescription, String nodeName,
+		int fetchDepth) {
+		return projectPropertiesAndRelationships(nodeDescription, nodeName, IncludedProperties.ALL, fetchDepth);
 	}
 
 	private MapProjection projectPropertiesAndRelationships(NodeDescription<?> nodeDescription,
 		String nodeName,
-		Predicate<String> includeProperty) {
+		IncludedProperties includedProperties,
+		int fetchDepth) {
 
-		Collection<RelationshipDescription> relationships = nodeDescription.getRelationships();
+		List<RelationshipDescription> relationships = new ArrayList<>();
+		for (RelationshipDescription relationshipDescription : nodeDescription.getRelationships()) {
+			if (isFetched(relationshipDescription, nodeName, includedProperties)) {
+				relationships.add(relationshipDescription);
+			}
+		}
 
 		List<Object> contentOfProjection = new ArrayList<>();
-		contentOfProjection.addAll(projectNodeProperties(nodeDescription, nodeName, includeProperty));
-		contentOfProjection.addAll(generateListsOf(relationships, nodeName, includeProperty));
+		contentOfProjection.addAll(projectNodeProperties(nodeDescription, nodeName, includedProperties));
+		if (fetchDepth == 0) {
+			if (!relationships.isEmpty()) {
+				contentOfProjection.add(NAME_OF_UNFETCHED_RELATIONSHIPS);
+				contentOfProjection.add(literalTrue());
+			}
+		} else {
+			int remainingDepth = fetchDepth == UNBOUNDED_FETCH_DEPTH ? UNBOUNDED_FETCH_DEPTH : fetchDepth - 1;
+			contentOfProjection.addAll(generateListsOf(relationships, nodeName, includedProperties, remainingDepth));
+		}
 
 		return Cypher.anyNode(nodeName).project(contentOfProjection);
 	}
 
+	private static boolean isFetched(RelationshipDescription relationshipDescription, String nameOfStartNode,
+		IncludedProperties includedProperties) {
+
+		String fieldName = relationshipDescription.getFieldName();
+		if (!includedProperties.includes(fieldName) || relationshipDescription.isLazy()) {
+			return false;
+		}
+
+		// do not follow self-references more than once
+		String sourceLabel = relationshipDescription.getSource().getPrimaryLabel();
+		String targetLabel = relationshipDescription.getTarget().getPrimaryLabel();
+		return !(targetLabel.equals(sourceLabel) && nameOfStartNode.equals(fieldName));
+	}
+
 	private List<Object> projectNodeProperties(NodeDescription<?> nodeDescription, String nodeName,
-		Predicate<String> includeField) {
+		IncludedProperties includedProperties) {
 
 		List<Object> nodePropertiesProjection = new ArrayList<>();
 		for (GraphPropertyDescription property : nodeDescription.getGraphProperties()) {
-			if (!includeField.test(property.getFieldName())) {
-				continue;
-			}
 
+			// The internal id is always needed to identify already loaded nodes, even if it's not included
 			if (property.isInternalIdProperty()) {
 				nodePropertiesProjection.add(NAME_OF_INTERNAL_ID);
 				nodePropertiesProjection.add(Functions.id(Cypher.name(nodeName)));
-			} else {
+			} else if (includedProperties.includes(property.getFieldName())) {
 				nodePropertiesProjection.add(property.getPropertyName());
 			}
 		}
 
+		// The internal id is always needed to identify already loaded nodes, even if it's not mapped
+		if (!nodeDescription.getIdDescription().isInternallyGeneratedId()) {
+			nodePropertiesProjection.add(NAME_OF_INTERNAL_ID);
+			nodePropertiesProjection.add(Functions.id(Cypher.name(nodeName)));
+		}
+
 		return nodePropertiesProjection;
 	}
 
 	private List<Object> generateListsOf(Collection<RelationshipDescription> relationships,
-		String nameOfStartNode, Predicate<String> includeField) {
+		String nameOfStartNode, IncludedProperties includedProperties, int fetchDepth) {
 
 		List<Object> generatedLists = new ArrayList<>();
 		for (RelationshipDescription relationshipDescription : relationships) {
 
-			String sourceLabel = relationshipDescription.getSource().getPrimaryLabel();
 			String targetLabel = relationshipDescription.getTarget().getPrimaryLabel();
-
 			String fieldName = relationshipDescription.getFieldName();
-			if (!includeField.test(fieldName)) {
-				continue;
-			}
-
-			// do not follow self-references more than once
-			if (targetLabel.equals(sourceLabel) && nameOfStartNode.equals(fieldName)) {
-				continue;
-			}
 
 			String relationshipType = relationshipDescription.getType();
 			String relationshipTargetName = relationshipDescription.generateRelatedNodesCollectionName();
@@ -293,6 +581,7 @@ public enum CypherGenerator {
 			Node startNode = anyNode(nameOfStartNode);
 			Node endNode = node(targetLabel).named(fieldName);
 			NodeDescription<?> endNodeDescription = relationshipDescription.getTarget();
+			IncludedProperties includedPropertiesOfEndNode = includedProperties.nested(fieldName);
 
 			if (relationshipDescription.isDynamic()) {
 				Relationship relationship = relationshipDescription
@@ -304,8 +593,8 @@ public enum CypherGenerator {
 				generatedLists.add(relationshipTargetName);
 				generatedLists.add(listBasedOn(relationship)
 					.returning(
-						projectAllPropertiesAndRelationships(endNodeDescription, fieldName)
-							.and(NAME_OF_RELATIONSHIP_TYPE, Functions.type(relationship))));
+						projectPropertiesAndRelationships(endNodeDescription, fieldName, includedPropertiesOfEndNode,
+							fetchDepth).and(NAME_OF_RELATIONSHIP_TYPE, Functions.type(relationship))));
 			} else {
 				Relationship relationship = relationshipDescription.isOutgoing()
 					? startNode.relationshipTo(endNode, relationshipType)
@@ -313,15 +602,77 @@ public enum CypherGenerator {
 
 				generatedLists.add(relationshipTargetName);
 				generatedLists.add(listBasedOn(relationship)
-					.returning(projectAllPropertiesAndRelationships(endNodeDescription, fieldName)));
+					.returning(projectPropertiesAndRelationships(endNodeDescription, fieldName,
+						includedPropertiesOfEndNode, fetchDepth)));
 			}
 		}
 
 		return generatedLists;
 	}
 
+	private static Condition createIdCondition(Neo4jPersistentEntity<?> neo4jPersistentEntity, Node node,
+		Expression id) {
+
+		return neo4jPersistentEntity.isUsingInternalIds()
+			? node.internalId().isEqualTo(id)
+			: node.property(neo4jPersistentEntity.getRequiredIdProperty().getPropertyName()).isEqualTo(id);
+	}
+
 	private static Condition conditionOrNoCondition(@Nullable Condition condition) {
 		return condition == null ? Conditions.noCondition() : condition;
 	}
-}
 
+	/**
+	 * The properties to include in the projection of a node, given as property paths relative to that node. No paths
+	 * at all include all properties.
+	 */
+	private static final class IncludedProperties {
+
+		static final IncludedProperties ALL = new IncludedProperties(Collections.emptySet());
+
+		private final Set<String> paths;
+
+		static IncludedProperties of(@Nullable Collection<String> paths) {
+			return paths == null || paths.isEmpty() ? ALL : new IncludedProperties(new HashSet<>(paths));
+		}
+
+		private IncludedProperties(Set<String> paths) {
+			this.paths = paths;
+		}
+
+		boolean includes(String fieldName) {
+
+			if (paths.isEmpty()) {
+				return true;
+			}
+
+			String prefix = fieldName + ".";
+			for (String path : paths) {
+				if (path.equals(fieldName) || path.startsWith(prefix)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * @param fieldName The field of a relationship
+		 * @return The properties to include in the projection of the nodes related through the given field
+		 */
+		IncludedProperties nested(String fieldName) {
+
+			if (paths.isEmpty() || paths.contains(fieldName)) {
+				return ALL;
+			}
+
+			String prefix = fieldName + ".";
+			Set<String> nestedPaths = new HashSet<>();
+			for (String path : paths) {
+				if (path.startsWith(prefix)) {
+					nestedPaths.add(path.substring(prefix.length()));
+				}
+			}
+			return of(nestedPaths);
+		}
+	}
+}
@@ -40,8 +40,10 @@ public interface NodeDescription<T> {
 	String NAME_OF_INTERNAL_ID = "__internalNeo4jId__";
 	String NAME_OF_IDS_RESULT = "__ids__";
 	String NAME_OF_ID_PARAM = "__id__";
+	String NAME_OF_IDS_PARAM = "__ids__";
 	String NAME_OF_PROPERTIES_PARAM = "__properties__";
 	String NAME_OF_ENTITY_LIST_PARAM = "__entities__";
+	String NAME_OF_INDEX_PARAM = "__index__";
 
 	/**
 	 * @return The primary label of this entity inside Neo4j.
@@ -58,6 +58,27 @@ public @interface Relationship {
 		INCOMING
 	}
 
+	/**
+	 * Enumeration of the ways related nodes are fetched.
+	 * @since 1.0
+	 */
+	enum Fetch {
+
+		/**
+		 * Related nodes are fetched together with the node owning the relationship.
+		 */
+		EAGER,
+
+		/**
+		 * Related nodes are fetched with a separate query when the relationship is accessed for the first time. Only
+		 * supported for relationships modelled as {@link java.util.List}, {@link java.util.Set} or
+		 * {@link java.util.Collection}. Entities loaded through reactive operations can't load on access: Their lazy
+		 * relationships stay empty and unmodifiable until they are fetched with
+		 * {@link org.neo4j.springframework.data.core.ReactiveNeo4jOperations#fetch(Object, String)}.
+		 */
+		LAZY
+	}
+
 	/**
 	 * @return See {@link #type()}.
 	 */
@@ -85,4 +106,9 @@ public @interface Relationship {
 	 * @return The direction of the relationship.
 	 */
 	Direction direction() default Direction.OUTGOING;
+
+	/**
+	 * @return The way related nodes are fetched.
+	 */
+	Fetch fetch() default Fetch.EAGER;
 }
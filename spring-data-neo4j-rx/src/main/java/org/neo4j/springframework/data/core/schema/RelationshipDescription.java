@@ -34,6 +34,11 @@ import org.neo4j.springframework.data.core.schema.Relationship.Direction;
 public interface RelationshipDescription {
 
 	String NAME_OF_RELATIONSHIP_TYPE = "__relationshipType__";
+	String NAME_OF_RELATIONSHIP_LIST_PARAM = "__relationships__";
+	/**
+	 * Marks the projection of a node whose relationships have not been fetched, as the maximum fetch depth was reached.
+	 */
+	String NAME_OF_UNFETCHED_RELATIONSHIPS = "__unfetchedRelationships__";
 
 	/**
 	 * If this relationship is dynamic, than this method always returns the name of the inverse property.
@@ -79,6 +84,13 @@ public interface RelationshipDescription {
 	 */
 	Direction getDirection();
 
+	/**
+	 * A lazy relationship is not fetched together with the node owning it, but when it is accessed for the first time.
+	 *
+	 * @return True, if the related nodes are fetched lazily
+	 */
+	boolean isLazy();
+
 	default boolean isOutgoing() {
 		return Direction.OUTGOING.equals(this.getDirection());
 	}
@@ -18,11 +18,19 @@
  */
 package org.neo4j.springframework.data.core.support;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import org.neo4j.springframework.data.core.mapping.Neo4jPersistentEntity;
 import org.neo4j.springframework.data.core.mapping.Neo4jPersistentProperty;
+import org.neo4j.springframework.data.core.schema.RelationshipDescription;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 
 /**
  * @author Michael J. Simons
@@ -48,6 +56,43 @@ public final class Relationships {
 		return unifiedValue;
 	}
 
+	/**
+	 * Turns a list of related values into the value of the given property, which is the reverse operation of
+	 * {@link #unifyRelationshipValue(Neo4jPersistentProperty, Object)} for relationships that are not dynamic.
+	 *
+	 * @param property      The property holding the relationship
+	 * @param relatedValues The related values
+	 * @return A set, a list or a single value, depending on the type of the property
+	 */
+	@Nullable
+	public static Object toRelationshipValue(Neo4jPersistentProperty property, List<?> relatedValues) {
+
+		if (property.isCollectionLike()) {
+			return property.getType().equals(Set.class) ? new HashSet<>(relatedValues) : new ArrayList<>(relatedValues);
+		}
+		return relatedValues.isEmpty() ? null : relatedValues.get(0);
+	}
+
+	/**
+	 * @param entity       The entity owning the relationship
+	 * @param propertyName The name of the property holding the relationship
+	 * @return The description of the relationship
+	 * @throws IllegalArgumentException if the property doesn't hold a relationship or holds a dynamic relationship
+	 */
+	public static RelationshipDescription getRequiredRelationship(Neo4jPersistentEntity<?> entity,
+		String propertyName) {
+
+		Neo4jPersistentProperty property = entity.getRequiredPersistentProperty(propertyName);
+		Assert.isTrue(property.isAssociation(),
+			() -> String.format("%s of %s is not a relationship.", propertyName, entity.getUnderlyingClass()));
+
+		RelationshipDescription relationship = (RelationshipDescription) property.getRequiredAssociation();
+		Assert.isTrue(!relationship.isDynamic(),
+			() -> String.format("The dynamic relationship %s of %s cannot be fetched.", propertyName,
+				entity.getUnderlyingClass()));
+		return relationship;
+	}
+
 	private Relationships() {
 	}
 }
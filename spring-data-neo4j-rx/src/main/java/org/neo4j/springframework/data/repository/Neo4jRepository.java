@@ -20,6 +20,9 @@ package org.neo4j.springframework.data.repository;
 
 import java.util.List;
 
+import org.neo4j.springframework.data.core.DeleteSummary;
+import org.neo4j.springframework.data.repository.query.KeysetPage;
+import org.neo4j.springframework.data.repository.query.KeysetRequest;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.repository.NoRepositoryBean;
@@ -76,4 +79,23 @@ public interface Neo4jRepository<T, ID> extends PagingAndSortingRepository<T, ID
 	 * @see org.springframework.data.repository.query.QueryByExampleExecutor#findAll(org.springframework.data.domain.Example, org.springframework.data.domain.Sort)
 	 */
 	@Override <S extends T> List<S> findAll(Example<S> example, Sort sort);
+
+	/**
+	 * Returns one page of entities using keyset pagination. Other than {@link #findAll(org.springframework.data.domain.Pageable)},
+	 * the entities of the previous pages are neither skipped nor counted, so that the cost of selecting a page doesn't
+	 * depend on its position.
+	 *
+	 * @param keysetRequest The requested page, either the first one or one returned by {@link KeysetPage#getNextRequest()}
+	 * @return A page of entities
+	 */
+	KeysetPage<T> findAll(KeysetRequest keysetRequest);
+
+	/**
+	 * Deletes all entities managed by the repository in batches of at most {@code batchSize} entities. Each batch is
+	 * committed on its own, an ongoing transaction is suspended.
+	 *
+	 * @param batchSize the maximum number of entities deleted in one batch
+	 * @return The aggregated counters of all batches
+	 */
+	DeleteSummary deleteAll(int batchSize);
 }
@@ -18,6 +18,11 @@
  */
 package org.neo4j.springframework.data.repository;
 
+import reactor.core.publisher.Mono;
+
+import org.neo4j.springframework.data.core.DeleteSummary;
+import org.neo4j.springframework.data.repository.query.KeysetPage;
+import org.neo4j.springframework.data.repository.query.KeysetRequest;
 import org.springframework.data.repository.NoRepositoryBean;
 import org.springframework.data.repository.query.ReactiveQueryByExampleExecutor;
 import org.springframework.data.repository.reactive.ReactiveSortingRepository;
@@ -33,4 +38,22 @@ import org.springframework.data.repository.reactive.ReactiveSortingRepository;
 @NoRepositoryBean
 public interface ReactiveNeo4jRepository<T, ID>
 	extends ReactiveSortingRepository<T, ID>, ReactiveQueryByExampleExecutor<T> {
+
+	/**
+	 * Returns one page of entities using keyset pagination. The entities of the previous pages are neither skipped nor
+	 * counted, so that the cost of selecting a page doesn't depend on its position.
+	 *
+	 * @param keysetRequest The requested page, either the first one or one returned by {@link KeysetPage#getNextRequest()}
+	 * @return A page of entities
+	 */
+	Mono<KeysetPage<T>> findAll(KeysetRequest keysetRequest);
+
+	/**
+	 * Deletes all entities managed by the repository in batches of at most {@code batchSize} entities. Each batch is
+	 * committed on its own, an ongoing transaction is suspended.
+	 *
+	 * @param batchSize the maximum number of entities deleted in one batch
+	 * @return The aggregated counters of all batches
+	 */
+	Mono<DeleteSummary> deleteAll(int batchSize);
 }
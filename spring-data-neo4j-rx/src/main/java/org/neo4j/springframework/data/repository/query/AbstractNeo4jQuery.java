@@ -56,7 +56,16 @@ abstract class AbstractNeo4jQuery extends Neo4jQuerySupport implements Repositor
 
 		Neo4jParameterAccessor parameterAccessor = getParameterAccessor(parameters);
 		ResultProcessor resultProcessor = queryMethod.getResultProcessor().withDynamicProjection(parameterAccessor);
-		return resultProcessor.processResult(new Neo4jQueryExecution.DefaultQueryExecution(neo4jOperations)
+		Neo4jQueryExecution queryExecution;
+		if (queryMethod.isKeysetQuery()) {
+			queryExecution = new Neo4jQueryExecution.KeysetQueryExecution(neo4jOperations,
+				mappingContext.getRequiredPersistentEntity(domainType), parameterAccessor.getKeysetRequest());
+		} else if (queryMethod.isStreamQuery()) {
+			queryExecution = new Neo4jQueryExecution.StreamQueryExecution(neo4jOperations);
+		} else {
+			queryExecution = new Neo4jQueryExecution.DefaultQueryExecution(neo4jOperations);
+		}
+		return resultProcessor.processResult(queryExecution
 				.execute(prepareQuery(resultProcessor, parameterAccessor), queryMethod.isCollectionLikeQuery()),
 			OptionalUnwrappingConverter.INSTANCE);
 	}
@@ -56,7 +56,14 @@ abstract class AbstractReactiveNeo4jQuery extends Neo4jQuerySupport implements R
 
 		Neo4jParameterAccessor parameterAccessor = getParameterAccessor(parameters);
 		ResultProcessor resultProcessor = queryMethod.getResultProcessor().withDynamicProjection(parameterAccessor);
-		return resultProcessor.processResult(new Neo4jQueryExecution.ReactiveQueryExecution(neo4jOperations)
+		Neo4jQueryExecution queryExecution;
+		if (queryMethod.isKeysetQuery()) {
+			queryExecution = new Neo4jQueryExecution.ReactiveKeysetQueryExecution(neo4jOperations,
+				mappingContext.getRequiredPersistentEntity(domainType), parameterAccessor.getKeysetRequest());
+		} else {
+			queryExecution = new Neo4jQueryExecution.ReactiveQueryExecution(neo4jOperations);
+		}
+		return resultProcessor.processResult(queryExecution
 				.execute(prepareQuery(resultProcessor, parameterAccessor), queryMethod.isCollectionLikeQuery()),
 			OptionalUnwrappingConverter.INSTANCE);
 	}
@@ -20,17 +20,32 @@ package org.neo4j.springframework.data.repository.query;
 
 import static org.neo4j.springframework.data.core.cypher.Cypher.*;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
 
 import org.apiguardian.api.API;
+import org.neo4j.springframework.data.core.convert.Neo4jConverter;
+import org.neo4j.springframework.data.core.cypher.Condition;
+import org.neo4j.springframework.data.core.cypher.Conditions;
 import org.neo4j.springframework.data.core.cypher.Cypher;
+import org.neo4j.springframework.data.core.cypher.Expression;
+import org.neo4j.springframework.data.core.cypher.Parameter;
 import org.neo4j.springframework.data.core.cypher.SortItem;
 import org.neo4j.springframework.data.core.cypher.StatementBuilder;
 import org.neo4j.springframework.data.core.cypher.SymbolicName;
+import org.neo4j.springframework.data.core.mapping.Neo4jPersistentEntity;
+import org.neo4j.springframework.data.core.mapping.Neo4jPersistentProperty;
 import org.neo4j.springframework.data.core.schema.GraphPropertyDescription;
 import org.neo4j.springframework.data.core.schema.NodeDescription;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.util.Assert;
 
 /**
  * Bridging between Spring Data domain Objects and Cypher constructs.
@@ -41,6 +56,11 @@ import org.springframework.data.domain.Sort;
 @API(status = API.Status.INTERNAL, since = "1.0")
 public final class CypherAdapterUtils {
 
+	/**
+	 * Prefix of the parameters holding the values of a keyset, followed by the position of the value in the keyset.
+	 */
+	private static final String NAME_OF_KEYSET_PARAM_PREFIX = "__keyset_";
+
 	/**
 	 * Maps Spring Datas {@link Sort.Order} to a {@link SortItem}.
 	 * See {@link #toSortItems(NodeDescription, Sort)}.
@@ -92,6 +112,186 @@ public final class CypherAdapterUtils {
 		return returning.orderBy(toSortItems(nodeDescription, sort)).skip(skip).limit(pageSize);
 	}
 
+	/**
+	 * Orders and limits the given statement so that it selects one more entity than requested, which indicates whether
+	 * there is a next page. The condition of the statement must include {@link #toKeysetCondition(Neo4jPersistentEntity, KeysetRequest)}.
+	 *
+	 * @param entity    The entity to select
+	 * @param request   The requested page
+	 * @param returning The statement to order and limit
+	 * @return A buildable statement
+	 */
+	public static StatementBuilder.BuildableStatement addKeysetParameter(
+		Neo4jPersistentEntity<?> entity,
+		KeysetRequest request,
+		StatementBuilder.OngoingReadingAndReturn returning) {
+
+		return returning.orderBy(toKeysetSortItems(entity, request)).limit(request.getSize() + 1);
+	}
+
+	/**
+	 * @param entity  The entity to select
+	 * @param request The requested page
+	 * @return The sort items of the request, completed by the id of the entity
+	 */
+	public static SortItem[] toKeysetSortItems(Neo4jPersistentEntity<?> entity, KeysetRequest request) {
+
+		return keysetPropertiesOf(entity, request).stream()
+			.map(keysetProperty -> keysetProperty.descending ?
+				keysetProperty.expression.descending() :
+				keysetProperty.expression.ascending())
+			.toArray(SortItem[]::new);
+	}
+
+	/**
+	 * Creates the condition selecting the entities after the keyset of the request. A keyset {@code (a, id)} is
+	 * expanded to {@code a > $a OR (a = $a AND id > $id)}, with the comparison reversed for descending properties.
+	 *
+	 * @param entity  The entity to select
+	 * @param request The requested page
+	 * @return A condition selecting the entities after the keyset, no condition for the first page
+	 * @see #toKeysetParameters(Neo4jPersistentEntity, KeysetRequest, Neo4jConverter)
+	 */
+	public static Condition toKeysetCondition(Neo4jPersistentEntity<?> entity, KeysetRequest request) {
+
+		if (request.isFirstPage()) {
+			return Conditions.noCondition();
+		}
+
+		List<KeysetProperty> keysetProperties = keysetPropertiesOf(entity, request);
+		Condition keysetCondition = Conditions.noCondition();
+		for (int i = 0; i < keysetProperties.size(); ++i) {
+
+			// Compound conditions are extended in place, so each alternative is built from scratch
+			Condition alternative = Conditions.noCondition();
+			for (int j = 0; j < i; ++j) {
+				alternative = alternative.and(keysetProperties.get(j).expression.isEqualTo(keysetParameter(j)));
+			}
+
+			KeysetProperty keysetProperty = keysetProperties.get(i);
+			alternative = alternative.and(keysetProperty.descending ?
+				keysetProperty.expression.lt(keysetParameter(i)) :
+				keysetProperty.expression.gt(keysetParameter(i)));
+			keysetCondition = keysetCondition.or(alternative);
+		}
+		return keysetCondition;
+	}
+
+	/**
+	 * @param entity    The entity to select
+	 * @param request   The requested page
+	 * @param converter The converter used to write the values of the keyset like the properties of the entity
+	 * @return The values of the keyset of the request, to be used together with {@link #toKeysetCondition(Neo4jPersistentEntity, KeysetRequest)}
+	 */
+	public static Map<String, Object> toKeysetParameters(Neo4jPersistentEntity<?> entity, KeysetRequest request,
+		Neo4jConverter converter) {
+
+		if (request.isFirstPage()) {
+			return Collections.emptyMap();
+		}
+
+		Map<String, Object> keyset = request.getKeyset();
+		List<KeysetProperty> keysetProperties = keysetPropertiesOf(entity, request);
+		Map<String, Object> parameters = new HashMap<>(keysetProperties.size());
+		for (int i = 0; i < keysetProperties.size(); ++i) {
+			Neo4jPersistentProperty property = keysetProperties.get(i).property;
+			String propertyName = property.getName();
+			if (!keyset.containsKey(propertyName)) {
+				throw new IllegalArgumentException(
+					String.format("The keyset does not contain a value for the property '%s'.", propertyName));
+			}
+			Object value = keyset.get(propertyName);
+			// Nothing is ever greater or less than null, all following pages would be empty
+			Assert.notNull(value, () -> String.format("The keyset value of the property '%s' must not be null.",
+				propertyName));
+			parameters.put(keysetParameter(i).getName(), converter.writeValue(value, property.getTypeInformation()));
+		}
+		return parameters;
+	}
+
+	/**
+	 * Creates a page from the result of a statement created with {@link #addKeysetParameter(Neo4jPersistentEntity, KeysetRequest, StatementBuilder.OngoingReadingAndReturn)}.
+	 *
+	 * @param entity  The selected entity
+	 * @param request The requested page
+	 * @param result  The selected entities, including the first entity of the next page if any
+	 * @param <T>     The type of the entities
+	 * @return A page containing the requested entities and the request for the next page
+	 */
+	public static <T> KeysetPage<T> toKeysetPage(Neo4jPersistentEntity<?> entity, KeysetRequest request,
+		List<T> result) {
+
+		if (result.size() <= request.getSize()) {
+			return new KeysetPage<>(result, request, null);
+		}
+
+		List<T> content = result.subList(0, request.getSize());
+		T last = content.get(content.size() - 1);
+
+		PersistentPropertyAccessor<T> propertyAccessor = entity.getPropertyAccessor(last);
+		Map<String, Object> keyset = new LinkedHashMap<>();
+		for (KeysetProperty keysetProperty : keysetPropertiesOf(entity, request)) {
+			String propertyName = keysetProperty.property.getName();
+			Object value = propertyAccessor.getProperty(keysetProperty.property);
+			if (value == null) {
+				throw new IllegalStateException(String.format(
+					"The property '%s' of the last entity of the page is null and cannot be used as keyset.",
+					propertyName));
+			}
+			keyset.put(propertyName, value);
+		}
+		return new KeysetPage<>(content, request, request.after(keyset));
+	}
+
+	private static Parameter keysetParameter(int position) {
+		return parameter(NAME_OF_KEYSET_PARAM_PREFIX + position + "__");
+	}
+
+	private static List<KeysetProperty> keysetPropertiesOf(Neo4jPersistentEntity<?> entity, KeysetRequest request) {
+
+		SymbolicName rootNode = Cypher.name(NodeDescription.NAME_OF_ROOT_NODE);
+		Neo4jPersistentProperty idProperty = entity.getRequiredIdProperty();
+
+		List<KeysetProperty> keysetProperties = new ArrayList<>();
+		boolean orderedById = false;
+		for (Sort.Order order : request.getSort()) {
+			Neo4jPersistentProperty property = entity.getPersistentProperty(order.getProperty());
+			if (property == null || property.isAssociation()) {
+				throw new IllegalStateException(
+					String.format("Cannot order by the unknown graph property: '%s'", order.getProperty()));
+			}
+
+			Expression expression;
+			if (property.equals(idProperty)) {
+				expression = entity.getIdExpression();
+				orderedById = true;
+			} else {
+				expression = property(rootNode, property.getPropertyName());
+			}
+			keysetProperties.add(new KeysetProperty(property, expression, order.isDescending()));
+		}
+
+		if (!orderedById) {
+			keysetProperties.add(new KeysetProperty(idProperty, entity.getIdExpression(), false));
+		}
+		return keysetProperties;
+	}
+
+	private static final class KeysetProperty {
+
+		private final Neo4jPersistentProperty property;
+
+		private final Expression expression;
+
+		private final boolean descending;
+
+		KeysetProperty(Neo4jPersistentProperty property, Expression expression, boolean descending) {
+			this.property = property;
+			this.expression = expression;
+			this.descending = descending;
+		}
+	}
+
 	private CypherAdapterUtils() {
 	}
 }
@@ -43,6 +43,7 @@ import org.neo4j.springframework.data.core.cypher.Statement;
 import org.neo4j.springframework.data.core.cypher.renderer.Renderer;
 import org.neo4j.springframework.data.core.schema.CypherGenerator;
 import org.neo4j.springframework.data.core.mapping.Neo4jMappingContext;
+import org.neo4j.springframework.data.core.mapping.Neo4jPersistentEntity;
 import org.neo4j.springframework.data.core.mapping.Neo4jPersistentProperty;
 import org.neo4j.springframework.data.core.schema.GraphPropertyDescription;
 import org.neo4j.springframework.data.core.schema.NodeDescription;
@@ -52,7 +53,6 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.geo.Circle;
 import org.springframework.data.geo.Distance;
 import org.springframework.data.mapping.PersistentPropertyPath;
-import org.springframework.data.repository.query.ParametersParameterAccessor;
 import org.springframework.data.repository.query.parser.AbstractQueryCreator;
 import org.springframework.data.repository.query.parser.Part;
 import org.springframework.data.repository.query.parser.PartTree;
@@ -88,9 +88,17 @@ final class CypherQueryCreator extends AbstractQueryCreator<String, Condition> {
 
 	private final List<String> includedProperties;
 
+	private final int fetchDepth;
+
+	/**
+	 * The requested page, if the query uses keyset pagination.
+	 */
+	private final KeysetRequest keysetRequest;
+
 	CypherQueryCreator(Neo4jMappingContext mappingContext, Class<?> domainType, PartTree tree,
-		ParametersParameterAccessor actualParameters,
-		List<String> includedProperties
+		Neo4jParameterAccessor actualParameters,
+		List<String> includedProperties,
+		int fetchDepth
 	) {
 		super(tree, actualParameters);
 		this.mappingContext = mappingContext;
@@ -102,6 +110,8 @@ final class CypherQueryCreator extends AbstractQueryCreator<String, Condition> {
 		this.maxResults = tree.isLimiting() ? tree.getMaxResults() : null;
 
 		this.includedProperties = includedProperties;
+		this.fetchDepth = fetchDepth;
+		this.keysetRequest = actualParameters.getKeysetRequest();
 	}
 
 	@Override
@@ -128,9 +138,13 @@ final class CypherQueryCreator extends AbstractQueryCreator<String, Condition> {
 	protected String complete(Condition condition, Sort sort) {
 
 		CypherGenerator cypherGenerator = CypherGenerator.INSTANCE;
+		if (keysetRequest != null) {
+			return createKeysetQuery(cypherGenerator, condition);
+		}
+
 		Statement statement = cypherGenerator
 			.prepareMatchOf(nodeDescription, condition)
-			.returning(cypherGenerator.createReturnStatementForMatch(nodeDescription, includedProperties))
+			.returning(cypherGenerator.createReturnStatementForMatch(nodeDescription, includedProperties, fetchDepth))
 			.orderBy(
 				Stream.concat(
 					sortItems.stream(),
@@ -143,6 +157,22 @@ final class CypherQueryCreator extends AbstractQueryCreator<String, Condition> {
 		return Renderer.getDefaultRenderer().render(statement);
 	}
 
+	private String createKeysetQuery(CypherGenerator cypherGenerator, Condition condition) {
+
+		if (!sortItems.isEmpty()) {
+			throw new IllegalStateException("Keyset pagination can not be combined with sorting by distance.");
+		}
+
+		Neo4jPersistentEntity<?> entity = mappingContext.getRequiredPersistentEntity(domainType);
+		Condition keysetCondition = toKeysetCondition(entity, keysetRequest);
+		Statement statement = addKeysetParameter(entity, keysetRequest, cypherGenerator
+			.prepareMatchOf(nodeDescription, condition == null ? keysetCondition : condition.and(keysetCondition))
+			.returning(cypherGenerator.createReturnStatementForMatch(nodeDescription, includedProperties, fetchDepth))
+		).build();
+
+		return Renderer.getDefaultRenderer().render(statement);
+	}
+
 	private Condition createImpl(Part part, Iterator<Object> actualParameters) {
 
 		PersistentPropertyPath<Neo4jPersistentProperty> path = mappingContext
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2019 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.springframework.data.repository.query;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.apiguardian.api.API;
+
+/**
+ * Annotation to limit the number of relationships that are followed from each entity returned by a derived query
+ * method, overriding the {@link org.neo4j.springframework.data.core.mapping.Neo4jMappingContext#setDefaultFetchDepth(int)
+ * default fetch depth}. It has no effect on methods annotated with {@link Query}, as their statements are used as is.
+ *
+ * @author Michael J. Simons
+ * @since 1.0
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.METHOD, ElementType.ANNOTATION_TYPE })
+@Documented
+@API(status = API.Status.STABLE, since = "1.0")
+public @interface Depth {
+
+	/**
+	 * @return The number of relationships to follow, {@literal 0} to load only the properties of the returned entities
+	 */
+	int value();
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2019 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.springframework.data.repository.query;
+
+import static org.neo4j.springframework.data.core.schema.NodeDescription.*;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+import org.neo4j.driver.types.MapAccessor;
+import org.neo4j.driver.types.Node;
+import org.neo4j.driver.types.TypeSystem;
+import org.neo4j.springframework.data.core.convert.Neo4jConverter;
+import org.neo4j.springframework.data.core.convert.Neo4jSimpleTypes;
+import org.neo4j.springframework.data.core.schema.GeneratedValue;
+import org.neo4j.springframework.data.core.schema.Property;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.mapping.MappingException;
+import org.springframework.data.mapping.PreferredConstructor;
+import org.springframework.data.mapping.model.PreferredConstructorDiscoverer;
+import org.springframework.data.util.ClassTypeInformation;
+import org.springframework.data.util.TypeInformation;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Maps records directly onto DTOs that only consist of simple properties, without registering the DTOs as persistent
+ * entities. Everything needed to map a record is resolved once when the function is created: The constructor, the
+ * record keys of its parameters and of the remaining fields and the readers converting their values.
+ * <p>
+ * Values are read from the columns of a record with the same name as a property or from the first node or map
+ * returned in the record.
+ *
+ * @author Michael J. Simons
+ * @param <T> The type of the DTO
+ * @since 1.0
+ */
+final class DtoMappingFunction<T> implements BiFunction<TypeSystem, Record, T> {
+
+	private final Constructor<T> constructor;
+
+	private final List<Slot> constructorSlots;
+
+	private final List<Slot> fieldSlots;
+
+	/**
+	 * Checks whether the given type can be mapped directly. That is the case for concrete classes with a constructor
+	 * usable for instantiation, whose properties are all of types supported by Neo4j. Types with properties of other
+	 * types contain related entities and must be mapped like entities.
+	 *
+	 * @param type The type of a DTO
+	 * @return True, if records can be mapped directly onto the given type
+	 */
+	static boolean canMap(Class<?> type) {
+
+		if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+			return false;
+		}
+
+		PreferredConstructor<?, ?> preferredConstructor = PreferredConstructorDiscoverer.discover(type);
+		if (preferredConstructor == null) {
+			return false;
+		}
+
+		for (PreferredConstructor.Parameter<Object, ?> parameter : preferredConstructor.getParameters()) {
+			if (parameter.getName() == null || !isSimpleType(parameter.getType())) {
+				return false;
+			}
+		}
+
+		TypeInformation<?> typeInformation = ClassTypeInformation.from(type);
+		for (Field field : getMappedFields(type)) {
+			if (!isSimpleType(typeInformation.getRequiredProperty(field.getName()))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Creates a mapping function for a type that {@link #canMap(Class) can be mapped directly}.
+	 *
+	 * @param type      The type of the DTO
+	 * @param converter The converter used for reading values
+	 * @param <T>       The type of the DTO
+	 * @return A mapping function for the given type
+	 */
+	static <T> DtoMappingFunction<T> of(Class<T> type, Neo4jConverter converter) {
+
+		PreferredConstructor<T, ?> preferredConstructor = PreferredConstructorDiscoverer.discover(type);
+		if (preferredConstructor == null) {
+			throw new MappingException(String.format("No constructor found to instantiate %s.", type.getName()));
+		}
+
+		Map<String, Field> fieldsByName = new HashMap<>();
+		for (Field field : getMappedFields(type)) {
+			fieldsByName.put(field.getName(), field);
+		}
+
+		List<Slot> constructorSlots = new ArrayList<>();
+		for (PreferredConstructor.Parameter<Object, ?> parameter : preferredConstructor.getParameters()) {
+			String name = parameter.getName();
+			Field field = fieldsByName.remove(name);
+			constructorSlots.add(new Slot(getKey(name, field), parameter.getType(), converter, null));
+		}
+
+		TypeInformation<?> typeInformation = ClassTypeInformation.from(type);
+		List<Slot> fieldSlots = new ArrayList<>();
+		for (Field field : fieldsByName.values()) {
+			if (Modifier.isFinal(field.getModifiers())) {
+				continue;
+			}
+
+			ReflectionUtils.makeAccessible(field);
+			fieldSlots.add(new Slot(getKey(field.getName(), field),
+				typeInformation.getRequiredProperty(field.getName()), converter, field));
+		}
+
+		Constructor<T> constructor = preferredConstructor.getConstructor();
+		ReflectionUtils.makeAccessible(constructor);
+		return new DtoMappingFunction<>(constructor, constructorSlots, fieldSlots);
+	}
+
+	private DtoMappingFunction(Constructor<T> constructor, List<Slot> constructorSlots, List<Slot> fieldSlots) {
+
+		this.constructor = constructor;
+		this.constructorSlots = Collections.unmodifiableList(constructorSlots);
+		this.fieldSlots = Collections.unmodifiableList(fieldSlots);
+	}
+
+	@Override
+	public T apply(TypeSystem typeSystem, Record record) {
+
+		try {
+			MapAccessor root = null;
+			for (Value value : record.values()) {
+				if (value.hasType(typeSystem.NODE())) {
+					root = value.asNode();
+					break;
+				} else if (value.hasType(typeSystem.MAP())) {
+					root = value;
+					break;
+				}
+			}
+
+			Object[] arguments = new Object[constructorSlots.size()];
+			for (int i = 0; i < arguments.length; ++i) {
+				arguments[i] = constructorSlots.get(i).read(record, root);
+			}
+
+			T instance = BeanUtils.instantiateClass(constructor, arguments);
+			for (Slot fieldSlot : fieldSlots) {
+				Object value = fieldSlot.read(record, root);
+				if (value != null) {
+					ReflectionUtils.setField(fieldSlot.field, instance, value);
+				}
+			}
+			return instance;
+		} catch (Exception e) {
+			throw new MappingException("Error mapping " + record.toString(), e);
+		}
+	}
+
+	private static List<Field> getMappedFields(Class<?> type) {
+
+		List<Field> fields = new ArrayList<>();
+		ReflectionUtils.doWithFields(type, fields::add, field -> {
+			int modifiers = field.getModifiers();
+			return !(Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()
+				|| field.isAnnotationPresent(Transient.class));
+		});
+		return fields;
+	}
+
+	private static boolean isSimpleType(TypeInformation<?> type) {
+		return Neo4jSimpleTypes.HOLDER.isSimpleType(type.getRequiredActualType().getType());
+	}
+
+	private static String getKey(String name, @Nullable Field field) {
+
+		if (field == null) {
+			return name;
+		}
+
+		GeneratedValue generatedValue = AnnotatedElementUtils.findMergedAnnotation(field, GeneratedValue.class);
+		if (generatedValue != null && generatedValue.generatorClass() == GeneratedValue.InternalIdGenerator.class
+			&& generatedValue.generatorRef().isEmpty()) {
+			return NAME_OF_INTERNAL_ID;
+		}
+
+		Property property = AnnotatedElementUtils.findMergedAnnotation(field, Property.class);
+		return property == null || !StringUtils.hasText(property.name()) ? name : property.name();
+	}
+
+	/**
+	 * A value to be read from a record.
+	 */
+	private static final class Slot {
+
+		private final String key;
+
+		private final Function<Value, Object> reader;
+
+		/**
+		 * The value of unset primitives, used when the record contains no value.
+		 */
+		private final @Nullable Object defaultValue;
+
+		private final @Nullable Field field;
+
+		Slot(String key, TypeInformation<?> type, Neo4jConverter converter, @Nullable Field field) {
+
+			this.key = key;
+			this.reader = converter.getReaderFor(type);
+			this.defaultValue = type.getType().isPrimitive() ? Array.get(Array.newInstance(type.getType(), 1), 0) : null;
+			this.field = field;
+		}
+
+		@Nullable
+		Object read(Record record, @Nullable MapAccessor root) {
+
+			Value value;
+			if (record.containsKey(key)) {
+				value = record.get(key);
+			} else if (root instanceof Node && NAME_OF_INTERNAL_ID.equals(key)) {
+				// The internal id of a node is not one of its properties
+				value = Values.value(((Node) root).id());
+			} else {
+				value = root == null ? Values.NULL : root.get(key);
+			}
+
+			Object result = reader.apply(value);
+			return result == null ? defaultValue : result;
+		}
+	}
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2019 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.springframework.data.repository.query;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+import org.apiguardian.api.API;
+import org.springframework.data.util.Streamable;
+import org.springframework.lang.Nullable;
+
+/**
+ * One page of entities selected by a {@link KeysetRequest}. The request for the next page is available as long as
+ * there are more entities.
+ *
+ * @author Michael J. Simons
+ * @param <T> The type of the entities on this page
+ * @since 1.0
+ */
+@API(status = API.Status.STABLE, since = "1.0")
+public final class KeysetPage<T> implements Streamable<T> {
+
+	private final List<T> content;
+
+	private final KeysetRequest request;
+
+	private final @Nullable KeysetRequest nextRequest;
+
+	KeysetPage(List<T> content, KeysetRequest request, @Nullable KeysetRequest nextRequest) {
+
+		this.content = Collections.unmodifiableList(content);
+		this.request = request;
+		this.nextRequest = nextRequest;
+	}
+
+	/**
+	 * @return The entities on this page
+	 */
+	public List<T> getContent() {
+		return content;
+	}
+
+	/**
+	 * @return The request this page has been selected with
+	 */
+	public KeysetRequest getRequest() {
+		return request;
+	}
+
+	/**
+	 * @return True, if there are more entities after this page
+	 */
+	public boolean hasNext() {
+		return nextRequest != null;
+	}
+
+	/**
+	 * @return The request for the next page, containing the keyset of the last entity of this page, or an empty optional
+	 * if this is the last page.
+	 */
+	public Optional<KeysetRequest> getNextRequest() {
+		return Optional.ofNullable(nextRequest);
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return content.iterator();
+	}
+
+	@Override
+	public String toString() {
+		return "KeysetPage{" +
+			"content=" + content +
+			", request=" + request +
+			", nextRequest=" + nextRequest +
+			'}';
+	}
+}
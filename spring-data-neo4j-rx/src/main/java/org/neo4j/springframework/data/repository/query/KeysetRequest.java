@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2019 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.springframework.data.repository.query;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.apiguardian.api.API;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.Assert;
+
+/**
+ * A request for one page of entities using keyset (or seek) pagination: Instead of skipping over all entities of the
+ * previous pages, the next page is selected by comparing the sort properties and the id with the values of the last
+ * entity of the previous page, the keyset. The entities are ordered by the given sort and additionally by their id, so
+ * that the order is stable even if the values of the sort properties are not unique.
+ * <p>
+ * The first page is requested with {@link #of(int, Sort)}, the following pages with the requests returned by
+ * {@link KeysetPage#getNextRequest()}. The keyset of a request can be passed on to clients as a continuation token and
+ * turned into a request again with {@link #after(Map)}.
+ * <p>
+ * The properties used for sorting must not be {@literal null} on any entity and their values must be supported by the
+ * driver as parameters, otherwise entities will be skipped.
+ * <p>
+ * Keyset requests can be passed to {@link org.neo4j.springframework.data.repository.Neo4jRepository#findAll(KeysetRequest)}
+ * and as last argument to derived finder methods returning a {@link KeysetPage}.
+ *
+ * @author Michael J. Simons
+ * @since 1.0
+ */
+@API(status = API.Status.STABLE, since = "1.0")
+public final class KeysetRequest {
+
+	private final int size;
+
+	private final Sort sort;
+
+	private final Map<String, Object> keyset;
+
+	/**
+	 * @param size The maximum number of entities on a page
+	 * @param sort The order of the entities, will be completed by their id
+	 * @return A request for the first page
+	 */
+	public static KeysetRequest of(int size, Sort sort) {
+		return new KeysetRequest(size, sort, Collections.emptyMap());
+	}
+
+	/**
+	 * @param size The maximum number of entities on a page
+	 * @return A request for the first page of entities ordered by their id
+	 */
+	public static KeysetRequest of(int size) {
+		return of(size, Sort.unsorted());
+	}
+
+	private KeysetRequest(int size, Sort sort, Map<String, Object> keyset) {
+
+		Assert.isTrue(size > 0, "The size of a page must be greater than 0.");
+		Assert.notNull(sort, "The sort is required.");
+		Assert.notNull(keyset, "The keyset is required.");
+
+		this.size = size;
+		this.sort = sort;
+		this.keyset = Collections.unmodifiableMap(new LinkedHashMap<>(keyset));
+	}
+
+	/**
+	 * Creates a request for the page following the entity with the given keyset.
+	 *
+	 * @param newKeyset The values of the sort properties and of the id property of the last entity, keyed by the names of
+	 *                  the properties
+	 * @return A request for the page after the given keyset with the same size and sort as this request
+	 */
+	public KeysetRequest after(Map<String, Object> newKeyset) {
+
+		Assert.notEmpty(newKeyset, "The keyset must not be empty.");
+		return new KeysetRequest(this.size, this.sort, newKeyset);
+	}
+
+	public int getSize() {
+		return size;
+	}
+
+	public Sort getSort() {
+		return sort;
+	}
+
+	/**
+	 * @return The values of the sort properties and of the id property of the last entity of the previous page, empty
+	 * when this is a request for the first page.
+	 */
+	public Map<String, Object> getKeyset() {
+		return keyset;
+	}
+
+	/**
+	 * @return True, if this is a request for the first page
+	 */
+	public boolean isFirstPage() {
+		return keyset.isEmpty();
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof KeysetRequest)) {
+			return false;
+		}
+		KeysetRequest that = (KeysetRequest) o;
+		return size == that.size && sort.equals(that.sort) && keyset.equals(that.keyset);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(size, sort, keyset);
+	}
+
+	@Override
+	public String toString() {
+		return "KeysetRequest{" +
+			"size=" + size +
+			", sort=" + sort +
+			", keyset=" + keyset +
+			'}';
+	}
+}
@@ -22,6 +22,7 @@ import org.neo4j.springframework.data.repository.query.Neo4jQueryMethod.Neo4jPar
 import org.neo4j.springframework.data.repository.query.Neo4jQueryMethod.Neo4jParameters;
 import org.springframework.data.repository.query.Parameters;
 import org.springframework.data.repository.query.ParametersParameterAccessor;
+import org.springframework.lang.Nullable;
 
 /**
  * @author Michael J. Simons
@@ -47,4 +48,15 @@ final class Neo4jParameterAccessor extends ParametersParameterAccessor {
 	public Object[] getValues() {
 		return super.getValues();
 	}
+
+	/**
+	 * @return The keyset request passed to the query method or {@literal null} if the method doesn't use keyset
+	 * pagination.
+	 */
+	@Nullable
+	KeysetRequest getKeysetRequest() {
+
+		int keysetRequestIndex = ((Neo4jParameters) getParameters()).getKeysetRequestIndex();
+		return keysetRequestIndex < 0 ? null : (KeysetRequest) getValues()[keysetRequestIndex];
+	}
 }
@@ -18,9 +18,14 @@
  */
 package org.neo4j.springframework.data.repository.query;
 
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
 import org.neo4j.springframework.data.core.Neo4jOperations;
 import org.neo4j.springframework.data.core.PreparedQuery;
 import org.neo4j.springframework.data.core.ReactiveNeo4jOperations;
+import org.neo4j.springframework.data.core.mapping.Neo4jPersistentEntity;
 
 /**
  * Set of classes to contain query execution strategies. Depending (mostly) on the return type of a
@@ -56,6 +61,44 @@ interface Neo4jQueryExecution {
 		}
 	}
 
+	class StreamQueryExecution implements Neo4jQueryExecution {
+
+		private final Neo4jOperations neo4jOperations;
+
+		StreamQueryExecution(Neo4jOperations neo4jOperations) {
+			this.neo4jOperations = neo4jOperations;
+		}
+
+		@Override
+		public Object execute(PreparedQuery preparedQuery, boolean asCollectionQuery) {
+
+			return neo4jOperations.toExecutableQuery(preparedQuery).getResultStream();
+		}
+	}
+
+	class KeysetQueryExecution implements Neo4jQueryExecution {
+
+		private final Neo4jOperations neo4jOperations;
+
+		private final Neo4jPersistentEntity<?> entity;
+
+		private final KeysetRequest keysetRequest;
+
+		KeysetQueryExecution(Neo4jOperations neo4jOperations, Neo4jPersistentEntity<?> entity,
+			KeysetRequest keysetRequest) {
+			this.neo4jOperations = neo4jOperations;
+			this.entity = entity;
+			this.keysetRequest = keysetRequest;
+		}
+
+		@Override
+		public Object execute(PreparedQuery preparedQuery, boolean asCollectionQuery) {
+
+			List<?> result = neo4jOperations.toExecutableQuery(preparedQuery).getResults();
+			return CypherAdapterUtils.toKeysetPage(entity, keysetRequest, result);
+		}
+	}
+
 	class ReactiveQueryExecution implements Neo4jQueryExecution {
 
 		private final ReactiveNeo4jOperations neo4jOperations;
@@ -75,4 +118,29 @@ interface Neo4jQueryExecution {
 			}
 		}
 	}
+
+	class ReactiveKeysetQueryExecution implements Neo4jQueryExecution {
+
+		private final ReactiveNeo4jOperations neo4jOperations;
+
+		private final Neo4jPersistentEntity<?> entity;
+
+		private final KeysetRequest keysetRequest;
+
+		ReactiveKeysetQueryExecution(ReactiveNeo4jOperations neo4jOperations, Neo4jPersistentEntity<?> entity,
+			KeysetRequest keysetRequest) {
+			this.neo4jOperations = neo4jOperations;
+			this.entity = entity;
+			this.keysetRequest = keysetRequest;
+		}
+
+		@Override
+		public Object execute(PreparedQuery preparedQuery, boolean asCollectionQuery) {
+
+			Flux<?> results = neo4jOperations.toExecutableQuery(preparedQuery).getResults();
+			return results
+				.collectList()
+				.map(result -> CypherAdapterUtils.toKeysetPage(entity, keysetRequest, result));
+		}
+	}
 }
@@ -31,7 +31,11 @@ import org.springframework.data.repository.core.RepositoryMetadata;
 import org.springframework.data.repository.query.Parameter;
 import org.springframework.data.repository.query.Parameters;
 import org.springframework.data.repository.query.QueryMethod;
+import org.springframework.data.repository.util.ReactiveWrappers;
+import org.springframework.data.util.ClassTypeInformation;
+import org.springframework.data.util.TypeInformation;
 import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 
 /**
  * Neo4j specific implementation of {@link QueryMethod}. It contains a custom implementation of {@link Parameter} which
@@ -48,6 +52,18 @@ final class Neo4jQueryMethod extends QueryMethod {
 	 */
 	private @Nullable final Query queryAnnotation;
 
+	/**
+	 * Optional fetch depth of the method.
+	 */
+	private @Nullable final Depth depthAnnotation;
+
+	private final ProjectionFactory projectionFactory;
+
+	/**
+	 * True, if the method returns a {@link KeysetPage}, directly or wrapped in a reactive type.
+	 */
+	private final boolean keysetQuery;
+
 	/**
 	 * Creates a new {@link Neo4jQueryMethod} from the given parameters. Looks up the correct query to use for following
 	 * invocations of the method given.
@@ -59,11 +75,36 @@ final class Neo4jQueryMethod extends QueryMethod {
 	Neo4jQueryMethod(Method method, RepositoryMetadata metadata, ProjectionFactory factory) {
 		super(method, metadata, factory);
 
+		this.projectionFactory = factory;
 		this.queryAnnotation = AnnotatedElementUtils.findMergedAnnotation(method, Query.class);
+		this.depthAnnotation = AnnotatedElementUtils.findMergedAnnotation(method, Depth.class);
+
+		Assert.isTrue(this.depthAnnotation == null || this.depthAnnotation.value() >= 0,
+			"The fetch depth must not be negative.");
+
+		TypeInformation<?> returnType = ClassTypeInformation.fromReturnTypeOf(method);
+		if (ReactiveWrappers.supports(returnType.getType())) {
+			returnType = returnType.getRequiredComponentType();
+		}
+		this.keysetQuery = KeysetPage.class.equals(returnType.getType());
+
+		boolean hasKeysetRequestParameter = ((Neo4jParameters) getParameters()).hasKeysetRequestParameter();
+		Assert.isTrue(this.keysetQuery == hasKeysetRequestParameter, () -> String.format(
+			"Method '%s' must either return a %s and have a %s parameter or neither of them.",
+			method, KeysetPage.class.getSimpleName(), KeysetRequest.class.getSimpleName()));
+		Assert.isTrue(!this.keysetQuery || !getParameters().potentiallySortsDynamically(), () -> String.format(
+			"Method '%s' can not use both keyset pagination and a Pageable or Sort parameter.", method));
 	}
 
 	boolean isCollectionLikeQuery() {
-		return super.isCollectionQuery() || super.isStreamQuery();
+		return super.isCollectionQuery() || super.isStreamQuery() || this.keysetQuery;
+	}
+
+	/**
+	 * @return True if the method returns a {@link KeysetPage} selected by a {@link KeysetRequest} argument.
+	 */
+	boolean isKeysetQuery() {
+		return keysetQuery;
 	}
 
 	/**
@@ -80,6 +121,17 @@ final class Neo4jQueryMethod extends QueryMethod {
 		return Optional.ofNullable(this.queryAnnotation);
 	}
 
+	ProjectionFactory getProjectionFactory() {
+		return projectionFactory;
+	}
+
+	/**
+	 * @return The fetch depth of the method or an empty {@link Optional} if the default fetch depth should be used.
+	 */
+	Optional<Integer> getFetchDepth() {
+		return Optional.ofNullable(this.depthAnnotation).map(Depth::value);
+	}
+
 	@Override
 	protected Parameters<Neo4jParameters, Neo4jParameter> createParameters(Method method) {
 		return new Neo4jParameters(method);
@@ -87,12 +139,37 @@ final class Neo4jQueryMethod extends QueryMethod {
 
 	static class Neo4jParameters extends Parameters<Neo4jParameters, Neo4jParameter> {
 
+		/**
+		 * The index of the {@link KeysetRequest} parameter, {@literal -1} if there is none.
+		 */
+		private final int keysetRequestIndex;
+
 		Neo4jParameters(Method method) {
 			super(method);
+			this.keysetRequestIndex = findKeysetRequestIndex();
 		}
 
 		private Neo4jParameters(List<Neo4jParameter> originals) {
 			super(originals);
+			this.keysetRequestIndex = findKeysetRequestIndex();
+		}
+
+		private int findKeysetRequestIndex() {
+
+			for (Neo4jParameter parameter : this) {
+				if (parameter.isKeysetRequest()) {
+					return parameter.getIndex();
+				}
+			}
+			return -1;
+		}
+
+		boolean hasKeysetRequestParameter() {
+			return keysetRequestIndex >= 0;
+		}
+
+		int getKeysetRequestIndex() {
+			return keysetRequestIndex;
 		}
 
 		@Override
@@ -132,6 +209,15 @@ final class Neo4jQueryMethod extends QueryMethod {
 		public String getNameOrIndex() {
 			return this.getName().orElseGet(() -> Integer.toString(this.getIndex()));
 		}
+
+		@Override
+		public boolean isSpecialParameter() {
+			return super.isSpecialParameter() || isKeysetRequest();
+		}
+
+		boolean isKeysetRequest() {
+			return KeysetRequest.class.equals(getType());
+		}
 	}
 
 	@Override
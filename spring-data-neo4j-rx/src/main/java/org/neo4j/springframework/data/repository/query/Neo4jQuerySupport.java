@@ -18,13 +18,19 @@
  */
 package org.neo4j.springframework.data.repository.query;
 
+import java.beans.PropertyDescriptor;
 import java.time.Instant;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
 
 import org.apache.commons.logging.LogFactory;
 import org.neo4j.driver.Record;
@@ -38,9 +44,13 @@ import org.springframework.data.domain.Range;
 import org.springframework.data.geo.Circle;
 import org.springframework.data.geo.Distance;
 import org.springframework.data.geo.Metrics;
+import org.springframework.data.projection.ProjectionInformation;
 import org.springframework.data.repository.query.ParameterAccessor;
 import org.springframework.data.repository.query.ResultProcessor;
 import org.springframework.data.repository.query.ReturnedType;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.data.util.ClassTypeInformation;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
 /**
@@ -57,6 +67,22 @@ abstract class Neo4jQuerySupport {
 	protected final Neo4jQueryMethod queryMethod;
 	protected final Class<?> domainType;
 
+	/**
+	 * Mapping functions of the DTOs returned by this query, keyed by their type.
+	 */
+	private final Map<Class<?>, BiFunction<TypeSystem, Record, ?>> dtoMappingFunctions = new ConcurrentHashMap<>();
+
+	/**
+	 * The maximum number of statements cached per query method. Statements of further shapes, i.e. caused by arbitrary
+	 * dynamic sorts, are rendered on each invocation.
+	 */
+	static final int MAX_NUMBER_OF_CACHED_QUERIES = 64;
+
+	/**
+	 * Rendered statements of this query, keyed by the shape of the arguments they have been created for.
+	 */
+	private final Map<QueryShape, String> cachedQueries = new ConcurrentHashMap<>();
+
 	private static final LogAccessor log = new LogAccessor(LogFactory.getLog(Neo4jQuerySupport.class));
 
 	Neo4jQuerySupport(Neo4jMappingContext mappingContext, Neo4jQueryMethod queryMethod) {
@@ -67,6 +93,35 @@ abstract class Neo4jQuerySupport {
 		this.mappingContext = mappingContext;
 		this.queryMethod = queryMethod;
 		this.domainType = queryMethod.getDomainClass();
+
+		// The mapping function of the DTO declared as return type is created upfront and not on the first invocation
+		ReturnedType returnedType = queryMethod.getResultProcessor().getReturnedType();
+		Class<?> returnedClass = returnedType.getReturnedType();
+		if (returnedType.isProjecting() && !returnedClass.isInterface()
+			&& !Neo4jSimpleTypes.HOLDER.isSimpleType(returnedClass)) {
+			getDtoMappingFunction(returnedClass);
+		}
+	}
+
+	/**
+	 * Makes sure that derived queries using keyset pagination select entities in the order of the keyset.
+	 *
+	 * @param tree The tree of the derived query
+	 */
+	protected final void assertKeysetPaginationIsApplicable(PartTree tree) {
+
+		if (!this.queryMethod.isKeysetQuery()) {
+			return;
+		}
+
+		Assert.isTrue(!(tree.isCountProjection() || tree.isExistsProjection() || tree.isDelete() || tree.isLimiting()),
+			() -> String.format("Can not derive query for '%s': Keyset pagination works only with finder methods.",
+				queryMethod));
+		Assert.isTrue(tree.getSort().isUnsorted(), () -> String.format(
+			"Can not derive query for '%s': The order of a keyset query is defined by the keyset request.", queryMethod));
+		Assert.isTrue(!queryMethod.getResultProcessor().getReturnedType().isProjecting(), () -> String.format(
+			"Can not derive query for '%s': Keyset pagination works only with entities, not with projections.",
+			queryMethod));
 	}
 
 	protected final Neo4jParameterAccessor getParameterAccessor(Object[] actualParameters) {
@@ -90,11 +145,8 @@ abstract class Neo4jQuerySupport {
 
 			if (returnedType.isInterface()) {
 				mappingFunction = this.mappingContext.getMappingFunctionFor(domainType);
-			} else if (this.mappingContext.hasPersistentEntityFor(returnedType)) {
-				mappingFunction = this.mappingContext.getMappingFunctionFor(returnedType);
 			} else {
-				this.mappingContext.addPersistentEntity(returnedType);
-				mappingFunction = this.mappingContext.getMappingFunctionFor(returnedType);
+				mappingFunction = getDtoMappingFunction(returnedType);
 			}
 		} else {
 			mappingFunction = this.mappingContext.getMappingFunctionFor(domainType);
@@ -102,10 +154,100 @@ abstract class Neo4jQuerySupport {
 		return mappingFunction;
 	}
 
+	private BiFunction<TypeSystem, Record, ?> getDtoMappingFunction(Class<?> dtoType) {
+
+		BiFunction<TypeSystem, Record, ?> mappingFunction = this.dtoMappingFunctions.get(dtoType);
+		if (mappingFunction == null) {
+			mappingFunction = createDtoMappingFunction(dtoType);
+			this.dtoMappingFunctions.putIfAbsent(dtoType, mappingFunction);
+		}
+		return mappingFunction;
+	}
+
+	/**
+	 * Returns the statement for the given shape of arguments, creating it only when no statement of the same shape has
+	 * been created before.
+	 *
+	 * @param queryShape   The shape of the arguments of the current invocation
+	 * @param queryCreator Creates the statement if needed
+	 * @return The Cypher statement to execute
+	 */
+	protected final String getCypherQuery(QueryShape queryShape, Supplier<String> queryCreator) {
+
+		String cypherQuery = this.cachedQueries.get(queryShape);
+		if (cypherQuery == null) {
+			cypherQuery = queryCreator.get();
+			if (this.cachedQueries.size() < MAX_NUMBER_OF_CACHED_QUERIES) {
+				this.cachedQueries.putIfAbsent(queryShape, cypherQuery);
+			}
+		}
+		return cypherQuery;
+	}
+
+	private BiFunction<TypeSystem, Record, ?> createDtoMappingFunction(Class<?> dtoType) {
+
+		if (this.mappingContext.hasPersistentEntityFor(dtoType)) {
+			return this.mappingContext.getMappingFunctionFor(dtoType);
+		} else if (DtoMappingFunction.canMap(dtoType)) {
+			return DtoMappingFunction.of(dtoType, this.mappingContext.getConverter());
+		}
+
+		// DTOs containing related entities are mapped like entities
+		this.mappingContext.addPersistentEntity(dtoType);
+		return this.mappingContext.getMappingFunctionFor(dtoType);
+	}
+
+	/**
+	 * Computes the properties of the domain type that are needed by a projection. Properties of nested, closed interface
+	 * projections are included as property paths, i.e. {@code actors.name}, so that related nodes are projected
+	 * accordingly.
+	 *
+	 * @param resultProcessor The result processor of the current invocation
+	 * @return The properties needed by the returned type, an empty list if all properties are needed
+	 */
 	protected final List<String> getInputProperties(final ResultProcessor resultProcessor) {
 
 		ReturnedType returnedType = resultProcessor.getReturnedType();
-		return returnedType.isProjecting() ? returnedType.getInputProperties() : Collections.emptyList();
+		if (!returnedType.isProjecting()) {
+			return Collections.emptyList();
+		}
+
+		List<String> inputProperties = returnedType.getInputProperties();
+		if (inputProperties.isEmpty() || !returnedType.getReturnedType().isInterface()) {
+			return inputProperties;
+		}
+
+		List<String> propertyPaths = new ArrayList<>();
+		collectPropertyPaths(returnedType.getReturnedType(), "", new HashSet<>(), propertyPaths);
+		return propertyPaths;
+	}
+
+	private void collectPropertyPaths(Class<?> projectionType, String prefix, Set<Class<?>> visitedTypes,
+		List<String> propertyPaths) {
+
+		visitedTypes.add(projectionType);
+		ProjectionInformation projectionInformation = queryMethod.getProjectionFactory()
+			.getProjectionInformation(projectionType);
+		for (PropertyDescriptor inputProperty : projectionInformation.getInputProperties()) {
+
+			String path = prefix + inputProperty.getName();
+			Class<?> actualType = inputProperty.getReadMethod() == null ? null : ClassTypeInformation
+				.fromReturnTypeOf(inputProperty.getReadMethod()).getRequiredActualType().getType();
+
+			if (isClosedNestedProjection(actualType) && !visitedTypes.contains(actualType)) {
+				collectPropertyPaths(actualType, path + ".", visitedTypes, propertyPaths);
+			} else {
+				propertyPaths.add(path);
+			}
+		}
+		visitedTypes.remove(projectionType);
+	}
+
+	private boolean isClosedNestedProjection(@Nullable Class<?> type) {
+
+		return type != null && type.isInterface() && !Neo4jSimpleTypes.HOLDER.isSimpleType(type)
+			&& !Map.class.isAssignableFrom(type)
+			&& queryMethod.getProjectionFactory().getProjectionInformation(type).isClosed();
 	}
 
 	/**
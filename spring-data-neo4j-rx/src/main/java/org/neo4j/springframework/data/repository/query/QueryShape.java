@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2019 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.springframework.data.repository.query;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import org.neo4j.driver.types.Point;
+import org.neo4j.springframework.data.repository.query.Neo4jQueryMethod.Neo4jParameter;
+import org.neo4j.springframework.data.repository.query.Neo4jQueryMethod.Neo4jParameters;
+import org.springframework.data.domain.Range;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.geo.Circle;
+import org.springframework.data.geo.Distance;
+
+/**
+ * The shape of the arguments of one invocation of a derived finder method: Everything that changes the generated
+ * statement, but none of the actual values. Two invocations with the same shape result in the same Cypher statement
+ * and differ only in their parameters.
+ *
+ * @author Michael J. Simons
+ * @since 1.0
+ */
+final class QueryShape {
+
+	private static final int PLAIN = 0;
+	private static final int POINT = 1;
+	private static final int DISTANCE = 2;
+	private static final int CIRCLE = 3;
+	private static final int RANGE = 4;
+
+	private static final int LOWER_BOUNDED = 1;
+	private static final int LOWER_INCLUSIVE = 2;
+	private static final int UPPER_BOUNDED = 4;
+	private static final int UPPER_INCLUSIVE = 8;
+
+	/**
+	 * One entry per bindable parameter, describing how the parameter is used in the statement.
+	 */
+	private final int[] parameterShapes;
+
+	private final Sort sort;
+
+	/**
+	 * The size of the requested page when using keyset pagination, {@literal 0} otherwise.
+	 */
+	private final int keysetSize;
+
+	/**
+	 * True, if the requested page follows a keyset.
+	 */
+	private final boolean afterKeyset;
+
+	private final Class<?> returnedType;
+
+	private final int fetchDepth;
+
+	private final int hashCode;
+
+	/**
+	 * @param parameterAccessor The arguments of the current invocation
+	 * @param returnedType      The returned type, which may be a dynamic projection
+	 * @param fetchDepth        The fetch depth of the query
+	 * @return The shape of the given invocation
+	 */
+	static QueryShape of(Neo4jParameterAccessor parameterAccessor, Class<?> returnedType, int fetchDepth) {
+
+		Neo4jParameters bindableParameters = parameterAccessor.getParameters().getBindableParameters();
+		int[] parameterShapes = new int[bindableParameters.getNumberOfParameters()];
+		int i = 0;
+		for (Neo4jParameter parameter : bindableParameters) {
+			parameterShapes[i++] = shapeOf(parameterAccessor.getBindableValue(parameter.getIndex()));
+		}
+		KeysetRequest keysetRequest = parameterAccessor.getKeysetRequest();
+		if (keysetRequest == null) {
+			return new QueryShape(parameterShapes, parameterAccessor.getSort(), 0, false, returnedType, fetchDepth);
+		}
+		return new QueryShape(parameterShapes, keysetRequest.getSort(), keysetRequest.getSize(),
+			!keysetRequest.isFirstPage(), returnedType, fetchDepth);
+	}
+
+	private static int shapeOf(Object value) {
+
+		if (value instanceof Point) {
+			return POINT;
+		} else if (value instanceof Distance) {
+			return DISTANCE;
+		} else if (value instanceof Circle) {
+			return CIRCLE;
+		} else if (value instanceof Range) {
+			Range<?> range = (Range<?>) value;
+			int bounds = 0;
+			if (range.getLowerBound().isBounded()) {
+				bounds |= LOWER_BOUNDED | (range.getLowerBound().isInclusive() ? LOWER_INCLUSIVE : 0);
+			}
+			if (range.getUpperBound().isBounded()) {
+				bounds |= UPPER_BOUNDED | (range.getUpperBound().isInclusive() ? UPPER_INCLUSIVE : 0);
+			}
+			return RANGE + bounds;
+		}
+		return PLAIN;
+	}
+
+	private QueryShape(int[] parameterShapes, Sort sort, int keysetSize, boolean afterKeyset, Class<?> returnedType,
+		int fetchDepth) {
+
+		this.parameterShapes = parameterShapes;
+		this.sort = sort;
+		this.keysetSize = keysetSize;
+		this.afterKeyset = afterKeyset;
+		this.returnedType = returnedType;
+		this.fetchDepth = fetchDepth;
+		this.hashCode = Objects
+			.hash(Arrays.hashCode(parameterShapes), sort, keysetSize, afterKeyset, returnedType, fetchDepth);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+		QueryShape that = (QueryShape) o;
+		return fetchDepth == that.fetchDepth &&
+			keysetSize == that.keysetSize &&
+			afterKeyset == that.afterKeyset &&
+			returnedType == that.returnedType &&
+			Arrays.equals(parameterShapes, that.parameterShapes) &&
+			sort.equals(that.sort);
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+}
@@ -81,21 +81,31 @@ final class ReactivePartTreeNeo4jQuery extends AbstractReactiveNeo4jQuery {
 		// Validate parts. Sort properties will be validated by Spring Data already.
 		PartValidator validator = new PartValidator(queryMethod);
 		this.tree.flatMap(OrPart::stream).forEach(validator::validatePart);
+		assertKeysetPaginationIsApplicable(this.tree);
 	}
 
 	@Override
 	protected PreparedQuery prepareQuery(ResultProcessor resultProcessor, Neo4jParameterAccessor parameterAccessor) {
 
-		CypherQueryCreator queryCreator = new CypherQueryCreator(
-			mappingContext, domainType, tree, parameterAccessor, getInputProperties(resultProcessor)
-		);
+		int fetchDepth = queryMethod.getFetchDepth().orElseGet(mappingContext::getDefaultFetchDepth);
+		QueryShape queryShape = QueryShape
+			.of(parameterAccessor, resultProcessor.getReturnedType().getReturnedType(), fetchDepth);
 
-		String cypherQuery = queryCreator.createQuery();
+		String cypherQuery = getCypherQuery(queryShape, () -> new CypherQueryCreator(
+			mappingContext, domainType, tree, parameterAccessor, getInputProperties(resultProcessor), fetchDepth
+		).createQuery());
 		Map<String, Object> boundedParameters = parameterAccessor.getParameters()
 			.getBindableParameters().stream()
 			.collect(toMap(Neo4jQueryMethod.Neo4jParameter::getNameOrIndex,
 				formalParameter -> convertParameter(parameterAccessor.getBindableValue(formalParameter.getIndex()))));
 
+		KeysetRequest keysetRequest = parameterAccessor.getKeysetRequest();
+		if (keysetRequest != null) {
+			boundedParameters.putAll(CypherAdapterUtils
+				.toKeysetParameters(mappingContext.getRequiredPersistentEntity(domainType), keysetRequest,
+					mappingContext.getConverter()));
+		}
+
 		return PreparedQuery.queryFor(resultProcessor.getReturnedType().getReturnedType()).withCypherQuery(cypherQuery)
 			.withParameters(boundedParameters)
 			.usingMappingFunction(getMappingFunction(resultProcessor))
@@ -129,6 +129,8 @@ final class ReactiveStringBasedNeo4jQuery extends AbstractReactiveNeo4jQuery {
 		Neo4jQueryMethod queryMethod, String cypherTemplate) {
 
 		Assert.hasText(cypherTemplate, "Cannot create String based Neo4j query without a cypher template.");
+		Assert.isTrue(!queryMethod.isKeysetQuery(),
+			"Keyset pagination is only supported by derived queries, not by String based Neo4j queries.");
 
 		return new ReactiveStringBasedNeo4jQuery(neo4jOperations, mappingContext, evaluationContextProvider, queryMethod,
 			cypherTemplate, false, false, false);
@@ -18,6 +18,7 @@
  */
 package org.neo4j.springframework.data.repository.support;
 
+import org.neo4j.springframework.data.core.convert.Neo4jConverter;
 import org.neo4j.springframework.data.core.mapping.Neo4jPersistentEntity;
 import org.springframework.data.repository.core.support.PersistentEntityInformation;
 
@@ -33,9 +34,15 @@ final class DefaultNeo4jEntityInformation<T, ID> extends PersistentEntityInforma
 
 	private final Neo4jPersistentEntity<T> entityMetaData;
 
-	DefaultNeo4jEntityInformation(Neo4jPersistentEntity<T> entityMetaData) {
+	private final int fetchDepth;
+
+	private final Neo4jConverter converter;
+
+	DefaultNeo4jEntityInformation(Neo4jPersistentEntity<T> entityMetaData, int fetchDepth, Neo4jConverter converter) {
 		super(entityMetaData);
 		this.entityMetaData = entityMetaData;
+		this.fetchDepth = fetchDepth;
+		this.converter = converter;
 	}
 
 	/*
@@ -46,4 +53,22 @@ final class DefaultNeo4jEntityInformation<T, ID> extends PersistentEntityInforma
 	public Neo4jPersistentEntity<T> getEntityMetaData() {
 		return this.entityMetaData;
 	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see Neo4jEntityInformation#getFetchDepth()
+	 */
+	@Override
+	public int getFetchDepth() {
+		return this.fetchDepth;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see Neo4jEntityInformation#getConverter()
+	 */
+	@Override
+	public Neo4jConverter getConverter() {
+		return this.converter;
+	}
 }
@@ -18,6 +18,7 @@
  */
 package org.neo4j.springframework.data.repository.support;
 
+import org.neo4j.springframework.data.core.convert.Neo4jConverter;
 import org.neo4j.springframework.data.core.mapping.Neo4jPersistentEntity;
 import org.springframework.data.repository.core.EntityInformation;
 
@@ -36,4 +37,14 @@ public interface Neo4jEntityInformation<T, ID> extends EntityInformation<T, ID>
 	 * @return The full schema based description for the underlying entity.
 	 */
 	Neo4jPersistentEntity<T> getEntityMetaData();
+
+	/**
+	 * @return The number of relationships followed from an entity when entities are loaded.
+	 */
+	int getFetchDepth();
+
+	/**
+	 * @return The converter writing the values of the properties of the entity.
+	 */
+	Neo4jConverter getConverter();
 }
@@ -59,7 +59,8 @@ final class Neo4jRepositoryFactory extends RepositoryFactorySupport {
 	public <T, ID> Neo4jEntityInformation<T, ID> getEntityInformation(Class<T> domainClass) {
 
 		Neo4jPersistentEntity<?> entity = mappingContext.getRequiredPersistentEntity(domainClass);
-		return new DefaultNeo4jEntityInformation<>((Neo4jPersistentEntity<T>) entity);
+		return new DefaultNeo4jEntityInformation<>((Neo4jPersistentEntity<T>) entity,
+			mappingContext.getDefaultFetchDepth(), mappingContext.getConverter());
 	}
 
 	@Override
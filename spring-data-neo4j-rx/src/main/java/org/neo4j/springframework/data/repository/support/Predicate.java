@@ -102,8 +102,8 @@ final class Predicate {
 			if (graphProperty.isRelationship()) {
 				log.error("Querying by example does not support traversing of relationships.");
 			} else if (graphProperty.isIdProperty() && probeNodeDescription.isUsingInternalIds()) {
-				predicate
-					.add(mode, predicate.neo4jPersistentEntity.getIdExpression().isEqualTo(literalOf(optionalValue.get())));
+				predicate.add(mode, predicate.neo4jPersistentEntity.getIdExpression().isEqualTo(parameter(propertyName)));
+				predicate.parameters.put(propertyName, optionalValue.get());
 			} else {
 				Expression property = property(rootNode, propertyName);
 				Expression parameter = parameter(propertyName);
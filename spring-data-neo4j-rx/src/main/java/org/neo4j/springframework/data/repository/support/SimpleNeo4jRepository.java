@@ -22,23 +22,28 @@ import static java.util.stream.Collectors.*;
 import static org.neo4j.springframework.data.repository.query.CypherAdapterUtils.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.LongSupplier;
 import java.util.stream.StreamSupport;
 
 import org.apiguardian.api.API;
+import org.neo4j.springframework.data.core.DeleteSummary;
 import org.neo4j.springframework.data.core.Neo4jOperations;
 import org.neo4j.springframework.data.core.cypher.Statement;
 import org.neo4j.springframework.data.core.cypher.StatementBuilder;
 import org.neo4j.springframework.data.core.cypher.StatementBuilder.OngoingReadingAndReturn;
 import org.neo4j.springframework.data.core.mapping.Neo4jPersistentEntity;
 import org.neo4j.springframework.data.core.schema.CypherGenerator;
+import org.neo4j.springframework.data.repository.query.KeysetPage;
+import org.neo4j.springframework.data.repository.query.KeysetRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.data.repository.support.PageableExecutionUtils;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -94,7 +99,7 @@ public class SimpleNeo4jRepository<T, ID> implements PagingAndSortingRepository<
 	public List<T> findAll(Sort sort) {
 
 		Statement statement = cypherGenerator.prepareMatchOf(entityMetaData)
-			.returning(cypherGenerator.createReturnStatementForMatch(entityMetaData))
+			.returning(cypherGenerator.createReturnStatementForMatch(entityMetaData, entityInformation.getFetchDepth()))
 			.orderBy(toSortItems(entityMetaData, sort))
 			.build();
 
@@ -105,7 +110,7 @@ public class SimpleNeo4jRepository<T, ID> implements PagingAndSortingRepository<
 	public Page<T> findAll(Pageable pageable) {
 
 		OngoingReadingAndReturn returning = cypherGenerator.prepareMatchOf(entityMetaData)
-			.returning(cypherGenerator.createReturnStatementForMatch(entityMetaData));
+			.returning(cypherGenerator.createReturnStatementForMatch(entityMetaData, entityInformation.getFetchDepth()));
 
 		StatementBuilder.BuildableStatement returningWithPaging =
 			addPagingParameter(entityMetaData, pageable, returning);
@@ -117,6 +122,27 @@ public class SimpleNeo4jRepository<T, ID> implements PagingAndSortingRepository<
 		return PageableExecutionUtils.getPage(allResult, pageable, totalCountSupplier);
 	}
 
+	/**
+	 * Selects one page of entities after the keyset of the request, without counting or skipping over the entities of
+	 * the previous pages.
+	 *
+	 * @param keysetRequest The requested page
+	 * @return The page of entities and the request for the next page
+	 * @see org.neo4j.springframework.data.repository.Neo4jRepository#findAll(KeysetRequest)
+	 */
+	public KeysetPage<T> findAll(KeysetRequest keysetRequest) {
+
+		Statement statement = addKeysetParameter(entityMetaData, keysetRequest,
+			cypherGenerator.prepareMatchOf(entityMetaData, toKeysetCondition(entityMetaData, keysetRequest))
+				.returning(cypherGenerator.createReturnStatementForMatch(entityMetaData, entityInformation.getFetchDepth()))
+		).build();
+
+		Map<String, Object> parameters = toKeysetParameters(entityMetaData, keysetRequest,
+			entityInformation.getConverter());
+		List<T> result = this.neo4jOperations.findAll(statement, parameters, entityInformation.getJavaType());
+		return toKeysetPage(entityMetaData, keysetRequest, result);
+	}
+
 	@Override
 	public long count() {
 
@@ -125,7 +151,7 @@ public class SimpleNeo4jRepository<T, ID> implements PagingAndSortingRepository<
 
 	@Override
 	public boolean existsById(ID id) {
-		return findById(id).isPresent();
+		return neo4jOperations.existsById(id, this.entityInformation.getJavaType());
 	}
 
 	@Override
@@ -164,6 +190,19 @@ public class SimpleNeo4jRepository<T, ID> implements PagingAndSortingRepository<
 		this.neo4jOperations.deleteAll(this.entityInformation.getJavaType());
 	}
 
+	/**
+	 * Deletes all entities in batches, each batch in a transaction of its own.
+	 *
+	 * @param batchSize the maximum number of entities deleted in one batch
+	 * @return The aggregated counters of all batches
+	 * @see org.neo4j.springframework.data.repository.Neo4jRepository#deleteAll(int)
+	 */
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public DeleteSummary deleteAll(int batchSize) {
+
+		return this.neo4jOperations.deleteAll(this.entityInformation.getJavaType(), batchSize);
+	}
+
 	@Override
 	@Transactional
 	public void deleteAll(Iterable<? extends T> entities) {
@@ -25,17 +25,22 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.StreamSupport;
 
 import org.apiguardian.api.API;
+import org.neo4j.springframework.data.core.DeleteSummary;
 import org.neo4j.springframework.data.core.ReactiveNeo4jOperations;
 import org.neo4j.springframework.data.core.cypher.Statement;
 import org.neo4j.springframework.data.core.mapping.Neo4jPersistentEntity;
 import org.neo4j.springframework.data.core.schema.CypherGenerator;
+import org.neo4j.springframework.data.repository.query.KeysetPage;
+import org.neo4j.springframework.data.repository.query.KeysetRequest;
 import org.reactivestreams.Publisher;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.repository.reactive.ReactiveSortingRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 
@@ -101,13 +106,36 @@ public class SimpleReactiveNeo4jRepository<T, ID> implements ReactiveSortingRepo
 	@Override
 	public Flux<T> findAll(Sort sort) {
 		Statement statement = cypherGenerator.prepareMatchOf(entityMetaData)
-			.returning(cypherGenerator.createReturnStatementForMatch(entityMetaData))
+			.returning(cypherGenerator.createReturnStatementForMatch(entityMetaData, entityInformation.getFetchDepth()))
 			.orderBy(toSortItems(entityMetaData, sort))
 			.build();
 
 		return neo4jOperations.findAll(statement, this.entityInformation.getJavaType());
 	}
 
+	/**
+	 * Selects one page of entities after the keyset of the request, without counting or skipping over the entities of
+	 * the previous pages.
+	 *
+	 * @param keysetRequest The requested page
+	 * @return The page of entities and the request for the next page
+	 * @see org.neo4j.springframework.data.repository.ReactiveNeo4jRepository#findAll(KeysetRequest)
+	 */
+	public Mono<KeysetPage<T>> findAll(KeysetRequest keysetRequest) {
+
+		Statement statement = addKeysetParameter(entityMetaData, keysetRequest,
+			cypherGenerator.prepareMatchOf(entityMetaData, toKeysetCondition(entityMetaData, keysetRequest))
+				.returning(cypherGenerator.createReturnStatementForMatch(entityMetaData, entityInformation.getFetchDepth()))
+		).build();
+
+		Map<String, Object> parameters = toKeysetParameters(entityMetaData, keysetRequest,
+			entityInformation.getConverter());
+		return neo4jOperations
+			.findAll(statement, parameters, this.entityInformation.getJavaType())
+			.collectList()
+			.map(result -> toKeysetPage(entityMetaData, keysetRequest, result));
+	}
+
 	@Override
 	public Mono<Long> count() {
 
@@ -116,7 +144,7 @@ public class SimpleReactiveNeo4jRepository<T, ID> implements ReactiveSortingRepo
 
 	@Override
 	public Mono<Boolean> existsById(ID id) {
-		return findById(id).hasElement();
+		return neo4jOperations.existsById(id, this.entityInformation.getJavaType());
 	}
 
 	@Override
@@ -142,7 +170,7 @@ public class SimpleReactiveNeo4jRepository<T, ID> implements ReactiveSortingRepo
 	@Transactional
 	public <S extends T> Flux<S> saveAll(Publisher<S> entityStream) {
 
-		return Flux.from(entityStream).flatMap(this::save);
+		return this.neo4jOperations.saveAll(entityStream);
 	}
 
 	/*
@@ -191,6 +219,19 @@ public class SimpleReactiveNeo4jRepository<T, ID> implements ReactiveSortingRepo
 		return this.neo4jOperations.deleteAll(this.entityInformation.getJavaType());
 	}
 
+	/**
+	 * Deletes all entities in batches, each batch in a transaction of its own.
+	 *
+	 * @param batchSize the maximum number of entities deleted in one batch
+	 * @return The aggregated counters of all batches
+	 * @see org.neo4j.springframework.data.repository.ReactiveNeo4jRepository#deleteAll(int)
+	 */
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public Mono<DeleteSummary> deleteAll(int batchSize) {
+
+		return this.neo4jOperations.deleteAll(this.entityInformation.getJavaType(), batchSize);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.data.repository.reactive.ReactiveCrudRepository#deleteAll(java.lang.Iterable)
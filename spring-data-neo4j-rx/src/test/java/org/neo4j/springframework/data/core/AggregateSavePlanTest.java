@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2019 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.springframework.data.core;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.springframework.data.core.mapping.Neo4jMappingContext;
+import org.neo4j.springframework.data.core.mapping.Neo4jPersistentEntity;
+import org.neo4j.springframework.data.core.schema.GeneratedValue;
+import org.neo4j.springframework.data.core.schema.Id;
+import org.neo4j.springframework.data.core.schema.Node;
+import org.neo4j.springframework.data.core.schema.Relationship;
+
+/**
+ * @author Michael J. Simons
+ */
+class AggregateSavePlanTest {
+
+	private final Neo4jMappingContext mappingContext = new Neo4jMappingContext();
+
+	@Test
+	void shouldSaveWholeAggregateWithOneStatement() {
+
+		Car car = new Car("Mini");
+		Garage garage = new Garage("Home", Arrays.asList(car, car, new Car("Beetle")));
+
+		AggregateSavePlan.Execution execution = prepare(garage);
+		assertThat(execution.collectNextLevel()).hasSize(2);
+		assertThat(execution.collectNextLevel()).isEmpty();
+
+		Map<String, Object> parameters = execution.getParameters();
+		assertThat(parameters).containsOnlyKeys("__entities_0__", "__entities_1__", "__relationships_1__");
+		assertThat((List<?>) parameters.get("__entities_1__")).hasSize(2);
+		assertThat((List<Map<String, Object>>) parameters.get("__relationships_1__"))
+			.extracting(row -> row.get(AggregateSavePlan.TO_INDEX))
+			.containsExactly(1, 1, 2);
+
+		assertThat(execution.getCypherQuery()).isEqualTo(""
+			+ "UNWIND $__entities_0__ AS row "
+			+ "MERGE (n0:`Garage` {name: row.__id__}) SET n0 = row.__properties__ "
+			+ "WITH collect([n0]) AS __nodes__, collect(id(n0)) AS __ids__ "
+			+ "UNWIND $__entities_1__ AS row "
+			+ "CREATE (n1:`Car`) SET n1 = row.__properties__ "
+			+ "WITH __nodes__, __ids__, collect([n1]) AS __newNodes__, collect(id(n1)) AS __newIds__ "
+			+ "WITH (__nodes__ + __newNodes__) AS __nodes__, (__ids__ + __newIds__) AS __ids__ "
+			+ "UNWIND $__relationships_1__ AS row "
+			+ "WITH __nodes__, __ids__, __nodes__[row.fromIndex][0] AS startNode, __nodes__[row.toIndex][0] AS endNode "
+			+ "MERGE (startNode)-[:`PARKS`]->(endNode) "
+			+ "WITH DISTINCT __nodes__, __ids__ "
+			+ "RETURN __ids__");
+
+		Map<String, Object> record = new HashMap<>();
+		record.put(AggregateSavePlan.NAME_OF_IDS, Arrays.asList(10L, 11L, 12L));
+		execution.assignInternalIds(record);
+		assertThat(car.id).isEqualTo(11L);
+	}
+
+	@Test
+	void shouldUpdateExistingNodes() {
+
+		Car car = new Car("Mini");
+		car.id = 42L;
+
+		AggregateSavePlan.Execution execution = prepare(new Garage("Home", Collections.singletonList(car)));
+		execution.collectNextLevel();
+		execution.collectNextLevel();
+
+		assertThat(execution.getParameters()).containsKey("__existingEntities_1__");
+		assertThat(execution.getCypherQuery()).contains(""
+			+ "UNWIND $__existingEntities_1__ AS row "
+			+ "OPTIONAL MATCH (e1:`Car`) WHERE id(e1) = row.__id__ SET e1 = row.__properties__ "
+			+ "WITH __nodes__, __ids__, collect([e1]) AS __newNodes__, collect(row.__id__) AS __newIds__ ");
+	}
+
+	@Test
+	void shouldRemoveRelationshipsOfExistingNodes() {
+
+		Driver driver = new Driver();
+		driver.id = 23L;
+		driver.cars = Collections.singletonList(new Car("Mini"));
+
+		Neo4jPersistentEntity<?> entity = mappingContext.getPersistentEntity(Driver.class);
+		AggregateSavePlan.Execution execution = AggregateSavePlan.of(mappingContext, entity).get()
+			.prepare(Collections.singletonList(AssociationBatch.Entity.of(entity, driver)));
+		execution.collectNextLevel();
+		execution.collectNextLevel();
+
+		Map<String, Object> parameters = execution.getParameters();
+		assertThat((List<Object>) parameters.get("__relationshipsToRemove_1__")).containsExactly(0);
+		assertThat(execution.getCypherQuery()).contains(""
+			+ "UNWIND $__relationshipsToRemove_1__ AS row "
+			+ "WITH __nodes__, __ids__, __nodes__[row][0] AS startNode "
+			+ "OPTIONAL MATCH (startNode)-[rel:`DRIVES`]->(:`Car`) DELETE rel "
+			+ "WITH DISTINCT __nodes__, __ids__ ");
+	}
+
+	@Test
+	void shouldNotRemoveRelationshipsThatHaveNotBeenFetched() {
+
+		Owner owner = new Owner();
+		owner.id = 23L;
+
+		Neo4jPersistentEntity<?> entity = mappingContext.getPersistentEntity(Owner.class);
+		mappingContext.getUnfetchedAssociations().add(owner, entity.getRequiredPersistentProperty("car"));
+		AggregateSavePlan.Execution execution = AggregateSavePlan.of(mappingContext, entity).get()
+			.prepare(Collections.singletonList(AssociationBatch.Entity.of(entity, owner)));
+		assertThat(execution.collectNextLevel()).isEmpty();
+
+		assertThat(execution.getParameters()).doesNotContainKey("__relationshipsToRemove_1__");
+		assertThat(execution.getCypherQuery()).doesNotContain("DELETE");
+	}
+
+	@Test
+	void shouldNotCreatePlansForRecursiveAggregates() {
+
+		Neo4jPersistentEntity<?> entity = mappingContext.getPersistentEntity(Person.class);
+		assertThat(AggregateSavePlan.of(mappingContext, entity)).isEmpty();
+	}
+
+	private AggregateSavePlan.Execution prepare(Garage garage) {
+
+		Neo4jPersistentEntity<?> entity = mappingContext.getPersistentEntity(Garage.class);
+		AggregateSavePlan plan = AggregateSavePlan.of(mappingContext, entity).get();
+
+		List<AssociationBatch.Entity> roots = new ArrayList<>();
+		roots.add(AssociationBatch.Entity.of(entity, garage));
+		return plan.prepare(roots);
+	}
+
+	@Node
+	static class Garage {
+
+		@Id
+		private final String name;
+
+		@Relationship("PARKS")
+		private final List<Car> cars;
+
+		Garage(String name, List<Car> cars) {
+			this.name = name;
+			this.cars = cars;
+		}
+	}
+
+	@Node
+	static class Car {
+
+		@Id @GeneratedValue
+		private Long id;
+
+		private final String model;
+
+		Car(String model) {
+			this.model = model;
+		}
+	}
+
+	@Node
+	static class Driver {
+
+		@Id @GeneratedValue
+		private Long id;
+
+		@Relationship("DRIVES")
+		private List<Car> cars;
+	}
+
+	@Node
+	static class Owner {
+
+		@Id @GeneratedValue
+		private Long id;
+
+		@Relationship("OWNS")
+		private Car car;
+	}
+
+	@Node
+	static class Person {
+
+		@Id
+		private String name;
+
+		@Relationship("KNOWS")
+		private List<Person> friends;
+	}
+}
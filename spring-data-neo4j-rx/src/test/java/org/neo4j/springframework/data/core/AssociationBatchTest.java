@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2019 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.springframework.data.core;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.neo4j.springframework.data.core.schema.NodeDescription.*;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.springframework.data.core.mapping.LazyAssociation;
+import org.neo4j.springframework.data.core.mapping.Neo4jMappingContext;
+import org.neo4j.springframework.data.core.mapping.Neo4jPersistentEntity;
+import org.neo4j.springframework.data.core.schema.GeneratedValue;
+import org.neo4j.springframework.data.core.schema.Id;
+import org.neo4j.springframework.data.core.schema.Node;
+import org.neo4j.springframework.data.core.schema.Relationship;
+
+/**
+ * @author Michael J. Simons
+ */
+class AssociationBatchTest {
+
+	private final Neo4jMappingContext mappingContext = new Neo4jMappingContext();
+
+	@Test
+	void shouldVisitSharedInstancesOnlyOnce() {
+
+		Person actor = new Person("Keanu");
+		Person director = new Person("Lana");
+		director.knows.add(actor);
+		Person producer = new Person("Joel");
+		producer.knows.addAll(Arrays.asList(actor, director, actor));
+
+		AssociationBatch.VisitedEntities visitedEntities = new AssociationBatch.VisitedEntities();
+		AssociationBatch firstLevel = AssociationBatch
+			.of(mappingContext, EntityStatements::new, roots(producer), visitedEntities);
+		assertThat(firstLevel.getRelatedEntities())
+			.extracting(AssociationBatch.Entity::getValue)
+			.containsExactly(actor, director);
+		assertThat(firstLevel.getRelationshipsToCreate().get(0).getRows()).hasSize(3);
+
+		AssociationBatch secondLevel = AssociationBatch
+			.of(mappingContext, EntityStatements::new, firstLevel.getRelatedEntities(), visitedEntities);
+		assertThat(secondLevel.getRelatedEntities()).isEmpty();
+		assertThat(secondLevel.getRelationshipsToCreate().get(0).getRows()).hasSize(1);
+	}
+
+	@Test
+	void cyclesShouldTerminate() {
+
+		Person a = new Person("a");
+		Person b = new Person("b");
+		a.knows.add(b);
+		b.knows.add(a);
+
+		AssociationBatch.VisitedEntities visitedEntities = new AssociationBatch.VisitedEntities();
+		List<AssociationBatch.Entity> currentLevel = roots(a);
+		int levels = 0;
+		while (!currentLevel.isEmpty()) {
+			AssociationBatch associationBatch = AssociationBatch
+				.of(mappingContext, EntityStatements::new, currentLevel, visitedEntities);
+			assertThat(associationBatch.getRelationshipsToCreate()).hasSize(1);
+			currentLevel = associationBatch.getRelatedEntities();
+			++levels;
+		}
+		assertThat(levels).isEqualTo(2);
+	}
+
+	@Test
+	void equalInstancesShouldNotBeConsideredVisited() {
+
+		Person original = new Person("a");
+		Person equalPerson = new Person("a");
+		Person root = new Person("root");
+		root.knows.addAll(Arrays.asList(original, equalPerson));
+
+		AssociationBatch associationBatch = AssociationBatch
+			.of(mappingContext, EntityStatements::new, roots(root), new AssociationBatch.VisitedEntities());
+		assertThat(associationBatch.getRelatedEntities()).hasSize(2);
+	}
+
+	@Test
+	void newEntitiesWithInternalIdsShouldBeCreated() {
+
+		Thing newThing = new Thing(null);
+		Thing existingThing = new Thing(42L);
+
+		List<AssociationBatch.BatchStatement> statements = AssociationBatch.nodesOf(mappingContext,
+			new EntityStatements(mappingContext.getPersistentEntity(Thing.class)), roots(newThing, existingThing)).getStatements();
+		assertThat(statements).hasSize(2);
+		assertThat(statements.get(0).getCypherQuery())
+			.isEqualTo("UNWIND $__entities__ AS entity CREATE (n:`Thing`) SET n = entity.__properties__ "
+				+ "RETURN entity.__index__ AS __index__, id(n) AS __internalNeo4jId__");
+		assertThat(statements.get(0).getRows()).extracting(row -> row.get(NAME_OF_INDEX_PARAM)).containsExactly(0);
+		assertThat(statements.get(1).getRows()).extracting(row -> row.get(NAME_OF_INDEX_PARAM)).containsExactly(1);
+	}
+
+	@Test
+	void entitiesWithAssignedIdsShouldAlwaysBeMerged() {
+
+		List<AssociationBatch.BatchStatement> statements = AssociationBatch.nodesOf(mappingContext,
+			new EntityStatements(mappingContext.getPersistentEntity(Person.class)), roots(new Person("a"))).getStatements();
+		assertThat(statements).hasSize(1);
+		assertThat(statements.get(0).getRows()).hasSize(1);
+		assertThat(statements.get(0).getCypherQuery()).startsWith("UNWIND")
+			.contains("MERGE");
+	}
+
+	@Test
+	void lazyRelationshipsThatHaveNotBeenLoadedShouldBeSkipped() {
+
+		Club club = new Club();
+		club.members = new UnloadedList<>();
+
+		AssociationBatch associationBatch = AssociationBatch
+			.of(mappingContext, EntityStatements::new, roots(club), new AssociationBatch.VisitedEntities());
+		assertThat(associationBatch.getRelatedEntities()).isEmpty();
+		assertThat(associationBatch.getRelationshipsToCreate()).isEmpty();
+	}
+
+	private List<AssociationBatch.Entity> roots(Object... instances) {
+
+		Neo4jPersistentEntity<?> entity = mappingContext.getPersistentEntity(instances[0].getClass());
+		List<AssociationBatch.Entity> roots = new ArrayList<>();
+		for (Object instance : instances) {
+			roots.add(AssociationBatch.Entity.of(entity, instance));
+		}
+		return Collections.unmodifiableList(roots);
+	}
+
+	@Node
+	static class Thing {
+
+		@Id @GeneratedValue
+		private final Long id;
+
+		Thing(Long id) {
+			this.id = id;
+		}
+	}
+
+	@Node
+	static class Club {
+
+		@Id @GeneratedValue
+		private Long id;
+
+		@Relationship(type = "MEMBER_OF", fetch = Relationship.Fetch.LAZY)
+		private List<Person> members;
+	}
+
+	static class UnloadedList<E> extends AbstractList<E> implements LazyAssociation {
+
+		@Override
+		public boolean isLoaded() {
+			return false;
+		}
+
+		@Override
+		public E get(int index) {
+			throw new IllegalStateException("Not loaded");
+		}
+
+		@Override
+		public int size() {
+			throw new IllegalStateException("Not loaded");
+		}
+	}
+
+	@Node
+	static class Person {
+
+		@Id
+		private final String name;
+
+		@Relationship("KNOWS")
+		private final List<Person> knows = new ArrayList<>();
+
+		Person(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof Person && name.equals(((Person) o).name);
+		}
+
+		@Override
+		public int hashCode() {
+			return name.hashCode();
+		}
+	}
+}
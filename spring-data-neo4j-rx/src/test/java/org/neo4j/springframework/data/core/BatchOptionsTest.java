@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2019 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.springframework.data.core;
+
+import static org.assertj.core.api.Assertions.*;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Michael J. Simons
+ */
+class BatchOptionsTest {
+
+	@Test
+	void defaultsShouldRunOneBatchAfterAnother() {
+
+		BatchOptions batchOptions = BatchOptions.defaults();
+		assertThat(batchOptions.getMaxBatchSize()).isEqualTo(BatchOptions.DEFAULT_MAX_BATCH_SIZE);
+		assertThat(batchOptions.getMaxWaitTime()).isEmpty();
+		assertThat(batchOptions.getMaxConcurrentBatches()).isEqualTo(1);
+	}
+
+	@Test
+	void shouldCreateNewOptions() {
+
+		BatchOptions batchOptions = BatchOptions.ofSize(10);
+		BatchOptions newBatchOptions = batchOptions
+			.withMaxWaitTime(Duration.ofMillis(100))
+			.withMaxConcurrentBatches(4);
+
+		assertThat(batchOptions.getMaxWaitTime()).isEmpty();
+		assertThat(newBatchOptions.getMaxBatchSize()).isEqualTo(10);
+		assertThat(newBatchOptions.getMaxWaitTime()).hasValue(Duration.ofMillis(100));
+		assertThat(newBatchOptions.getMaxConcurrentBatches()).isEqualTo(4);
+	}
+
+	@Test
+	void shouldValidateOptions() {
+
+		assertThatIllegalArgumentException().isThrownBy(() -> BatchOptions.ofSize(0))
+			.withMessage("The maximum batch size must be greater than 0.");
+		assertThatIllegalArgumentException().isThrownBy(() -> BatchOptions.defaults().withMaxWaitTime(Duration.ZERO))
+			.withMessage("The maximum time to wait for a batch must be positive.");
+		assertThatIllegalArgumentException().isThrownBy(() -> BatchOptions.defaults().withMaxConcurrentBatches(0))
+			.withMessage("The maximum number of concurrent batches must be greater than 0.");
+	}
+
+	@Test
+	void shouldBoundTheNumberOfInstancesRequestedFromUpstream() {
+
+		verifyBoundedDemand(BatchOptions.ofSize(10).withMaxConcurrentBatches(3), Flux.range(0, 1_000), 1_000);
+	}
+
+	@Test
+	void shouldBoundTheNumberOfInstancesRequestedFromUpstreamWhenBatchesTimeOut() {
+
+		// The batches time out while all concurrent batches are being saved, that is, without demand for another batch
+		verifyBoundedDemand(BatchOptions.ofSize(10).withMaxConcurrentBatches(2).withMaxWaitTime(Duration.ofMillis(2)),
+			Flux.range(0, 300).delayElements(Duration.ofMillis(1)), 300);
+	}
+
+	@Test
+	void ticksWithoutInstancesShouldNotCloseEmptyBatches() {
+
+		// Many ticks arrive while no instances are pending, each one closes and drops an empty batch
+		BatchOptions batchOptions = BatchOptions.ofSize(10).withMaxWaitTime(Duration.ofMillis(1));
+		Flux<Integer> instances = Flux.range(0, 3).delayElements(Duration.ofMillis(30));
+
+		StepVerifier.create(ReactiveNeo4jTemplate.saveInBatches(instances, batchOptions, batch -> {
+			assertThat(batch).hasSize(1);
+			return Flux.fromIterable(batch);
+		}))
+			.expectNext(0, 1, 2)
+			.verifyComplete();
+	}
+
+	private static void verifyBoundedDemand(BatchOptions batchOptions, Flux<Integer> source, int numberOfInstances) {
+
+		long maxInstancesInFlight = (batchOptions.getMaxConcurrentBatches() + 1L) * batchOptions.getMaxBatchSize();
+		AtomicLong requested = new AtomicLong();
+		AtomicLong saved = new AtomicLong();
+		AtomicLong maxRequestedButNotSaved = new AtomicLong();
+
+		Flux<Integer> instances = source.doOnRequest(n -> {
+			long requestedButNotSaved = requested.updateAndGet(r -> r + n) - saved.get();
+			maxRequestedButNotSaved.accumulateAndGet(requestedButNotSaved, Math::max);
+		});
+
+		StepVerifier.create(ReactiveNeo4jTemplate.saveInBatches(instances, batchOptions, batch -> Mono
+			.delay(Duration.ofMillis(20))
+			.doOnNext(tick -> saved.addAndGet(batch.size()))
+			.thenMany(Flux.fromIterable(batch))))
+			.recordWith(ArrayList::new)
+			.thenConsumeWhile(i -> true)
+			.consumeRecordedWith(savedInstances -> assertThat(savedInstances)
+				.containsExactlyElementsOf(IntStream.range(0, numberOfInstances).boxed().collect(Collectors.toList())))
+			.verifyComplete();
+
+		assertThat(maxRequestedButNotSaved.get()).isLessThanOrEqualTo(maxInstancesInFlight);
+	}
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2019 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.springframework.data.core;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.springframework.data.core.mapping.Neo4jMappingContext;
+import org.neo4j.springframework.data.core.mapping.Neo4jPersistentEntity;
+import org.neo4j.springframework.data.core.schema.GeneratedValue;
+import org.neo4j.springframework.data.core.schema.Id;
+import org.neo4j.springframework.data.core.schema.Node;
+import org.neo4j.springframework.data.core.schema.Relationship;
+import org.neo4j.springframework.data.core.schema.RelationshipDescription;
+
+/**
+ * @author Michael J. Simons
+ */
+class EntityStatementsTest {
+
+	private final Neo4jMappingContext mappingContext = new Neo4jMappingContext();
+
+	@Test
+	void idsShouldBePassedAsParameters() {
+
+		EntityStatements statements = new EntityStatements(mappingContext.getPersistentEntity(Person.class));
+
+		assertThat(statements.findById(0))
+			.isEqualTo("MATCH (n:`Person`) WHERE id(n) = $__id__ WITH n, id(n) AS __internalNeo4jId__ "
+				+ "RETURN n{__internalNeo4jId__: id(n), .name, __unfetchedRelationships__: true}");
+		assertThat(statements.existsById())
+			.isEqualTo("MATCH (n:`Person`) WHERE id(n) = $__id__ WITH n, id(n) AS __internalNeo4jId__ RETURN count(*)");
+		assertThat(statements.deleteAllById()).isEqualTo("MATCH (n:`Person`) WHERE id(n) IN $__ids__ DETACH DELETE n");
+	}
+
+	@Test
+	void statementsShouldBeRenderedOnlyOnce() {
+
+		Neo4jPersistentEntity<?> entity = mappingContext.getPersistentEntity(Person.class);
+		RelationshipDescription knows = (RelationshipDescription) entity
+			.getRequiredPersistentProperty("knows").getAssociation();
+		EntityStatements statements = new EntityStatements(entity);
+
+		assertThat(statements.findById(1)).isSameAs(statements.findById(1)).isNotEqualTo(statements.findById(0));
+		assertThat(statements.save()).isSameAs(statements.save());
+		assertThat(statements.createRelationships(knows, null)).isSameAs(statements.createRelationships(knows, null));
+	}
+
+	@Node
+	static class Person {
+
+		@Id @GeneratedValue
+		private Long id;
+
+		private String name;
+
+		@Relationship("KNOWS")
+		private List<Person> knows = new ArrayList<>();
+	}
+}
@@ -31,6 +31,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Stream;
@@ -50,8 +52,15 @@ import org.neo4j.driver.Result;
 import org.neo4j.driver.Session;
 import org.neo4j.driver.Values;
 import org.neo4j.driver.SessionConfig;
+import org.neo4j.driver.async.AsyncSession;
+import org.neo4j.driver.async.AsyncTransaction;
+import org.neo4j.driver.async.ResultCursor;
+import org.neo4j.driver.exceptions.ClientException;
 import org.neo4j.driver.summary.ResultSummary;
 import org.neo4j.driver.types.TypeSystem;
+import org.neo4j.springframework.data.core.mapping.EntitySnapshots;
+import org.neo4j.springframework.data.core.mapping.Neo4jMappingFunction;
+import org.neo4j.springframework.data.core.mapping.RelatedEntitiesLoader;
 
 /**
  * @author Michael J. Simons
@@ -270,6 +279,64 @@ class Neo4jClientTest {
 			verify(session).close();
 		}
 
+		@Test
+		void streaming() {
+
+			prepareMocks();
+
+			when(session.run(anyString(), anyMap())).thenReturn(result);
+			when(result.stream()).thenReturn(Stream.of(record1, record2));
+			when(record1.get("name")).thenReturn(Values.value("michael"));
+
+			Neo4jClient client = Neo4jClient.create(driver);
+
+			BikeOwnerReader mappingFunction = new BikeOwnerReader();
+			try (Stream<BikeOwner> bikeOwners = client
+				.query("MATCH (o:User) RETURN o")
+				.fetchAs(BikeOwner.class).mappedBy(mappingFunction)
+				.stream()) {
+
+				verify(session, never()).close();
+				assertThat(bikeOwners.findFirst()).hasValueSatisfying(o -> assertThat(o.getName()).isEqualTo("michael"));
+			}
+
+			verifyDatabaseSelection(null);
+			verify(session).run(eq("MATCH (o:User) RETURN o"), anyMap());
+			verify(result).stream();
+			verify(record1).get("name");
+			verify(session).close();
+		}
+
+		@Test
+		void streamingShouldShareRelatedEntitiesBetweenRecords() {
+
+			prepareMocks();
+
+			when(session.run(anyString(), anyMap())).thenReturn(result);
+			when(result.stream()).thenReturn(Stream.of(record1, record2));
+			when(record1.get("name")).thenReturn(Values.value("michael"));
+			when(record2.get("name")).thenReturn(Values.value("gerrit"));
+
+			Neo4jClient client = Neo4jClient.create(driver);
+
+			ScopedBikeOwnerReader mappingFunction = new ScopedBikeOwnerReader();
+			try (Stream<BikeOwner> bikeOwners = client
+				.query("MATCH (o:User) RETURN o")
+				.fetchAs(BikeOwner.class).mappedBy(mappingFunction)
+				.stream()) {
+
+				assertThat(bikeOwners).extracting(BikeOwner::getName).containsExactly("michael", "gerrit");
+			}
+			assertThat(mappingFunction.numberOfQueryScopes).hasValue(1);
+
+			verifyDatabaseSelection(null);
+			verify(session).run(eq("MATCH (o:User) RETURN o"), anyMap());
+			verify(result).stream();
+			verify(record1).get("name");
+			verify(record2).get("name");
+			verify(session).close();
+		}
+
 		@Test
 		void shouldApplyNullChecksDuringReading() {
 
@@ -389,6 +456,114 @@ class Neo4jClientTest {
 		verify(session).close();
 	}
 
+	@Nested
+	@DisplayName("Batches should feel good")
+	class BatchesShouldFeelGood {
+
+		@Mock
+		private AsyncSession asyncSession;
+
+		@Mock
+		private AsyncTransaction asyncTransaction;
+
+		@Mock
+		private ResultCursor cursor1;
+
+		@Mock
+		private ResultCursor cursor2;
+
+		@AfterEach
+		void verifyNoMoreInteractionsWithAsyncMocks() {
+			verifyNoMoreInteractions(asyncSession, asyncTransaction, cursor1, cursor2);
+		}
+
+		void prepareAsyncMocks() {
+
+			when(driver.defaultTypeSystem()).thenReturn(typeSystem);
+			when(driver.asyncSession(any(SessionConfig.class))).thenReturn(asyncSession);
+			when(asyncSession.beginTransactionAsync()).thenReturn(CompletableFuture.completedFuture(asyncTransaction));
+			when(asyncSession.closeAsync()).thenReturn(CompletableFuture.completedFuture(null));
+		}
+
+		@Test
+		void shouldRunAllQueriesInOneTransaction() {
+
+			prepareAsyncMocks();
+
+			when(asyncTransaction.runAsync(eq("CREATE (b:Bike {name: $name})"), anyMap()))
+				.thenReturn(CompletableFuture.completedFuture(cursor1));
+			when(asyncTransaction.runAsync(eq("MATCH (b:Bike) RETURN b.name AS name"), anyMap()))
+				.thenReturn(CompletableFuture.completedFuture(cursor2));
+			when(cursor1.consumeAsync()).thenReturn(CompletableFuture.completedFuture(resultSummary));
+			when(cursor2.listAsync(any(Function.class))).thenAnswer(invocation -> CompletableFuture
+				.completedFuture(Collections.singletonList(((Function<Record, ?>) invocation.getArgument(0)).apply(record1))));
+			when(cursor2.consumeAsync()).thenReturn(CompletableFuture.completedFuture(resultSummary));
+			when(asyncTransaction.commitAsync()).thenReturn(CompletableFuture.completedFuture(null));
+			when(record1.get("name")).thenReturn(Values.value("Fixie"));
+
+			Neo4jClient client = Neo4jClient.create(driver);
+			Neo4jClient.BatchResults results = client.batch()
+				.add("CREATE (b:Bike {name: $name})", Collections.singletonMap("name", "Fixie"))
+				.add("MATCH (b:Bike) RETURN b.name AS name", Collections.emptyMap(), (t, r) -> r.get("name").asString())
+				.execute();
+
+			assertThat(results.size()).isEqualTo(2);
+			assertThat(results.getSummary(0)).isSameAs(resultSummary);
+			assertThat(results.getResults(0)).isEmpty();
+			assertThat(results.<String>getResults(1)).containsExactly("Fixie");
+
+			verify(driver).defaultTypeSystem();
+			verify(driver).asyncSession(configArgumentCaptor.capture());
+			assertThat(configArgumentCaptor.getValue().database()).isEmpty();
+			verify(asyncSession).beginTransactionAsync();
+			verify(asyncTransaction).runAsync(eq("CREATE (b:Bike {name: $name})"),
+				argThat(new MapAssertionMatcher(Collections.singletonMap("name", "Fixie"))));
+			verify(asyncTransaction).runAsync(eq("MATCH (b:Bike) RETURN b.name AS name"), anyMap());
+			verify(cursor1).consumeAsync();
+			verify(cursor2).listAsync(any(Function.class));
+			verify(cursor2).consumeAsync();
+			verify(record1).get("name");
+			verify(asyncTransaction).commitAsync();
+			verify(asyncSession).closeAsync();
+		}
+
+		@Test
+		void shouldRollbackFailedBatches() {
+
+			prepareAsyncMocks();
+
+			CompletableFuture<ResultCursor> failedQuery = new CompletableFuture<>();
+			failedQuery.completeExceptionally(new ClientException("Invalid input"));
+			when(asyncTransaction.runAsync(anyString(), anyMap())).thenReturn(failedQuery);
+			when(asyncTransaction.rollbackAsync()).thenReturn(CompletableFuture.completedFuture(null));
+
+			Neo4jClient client = Neo4jClient.create(driver);
+			Neo4jClient.BatchSpec batch = client.batch().add("CREATE (b:Bike").in("aDatabase");
+
+			assertThatExceptionOfType(ClientException.class).isThrownBy(batch::execute)
+				.withMessage("Invalid input");
+
+			verify(driver).defaultTypeSystem();
+			verify(driver).asyncSession(configArgumentCaptor.capture());
+			assertThat(configArgumentCaptor.getValue().database()).contains("aDatabase");
+			verify(asyncSession).beginTransactionAsync();
+			verify(asyncTransaction).runAsync(eq("CREATE (b:Bike"), anyMap());
+			verify(asyncTransaction).rollbackAsync();
+			verify(asyncSession).closeAsync();
+		}
+
+		@Test
+		void emptyBatchesShouldNotOpenSessions() {
+
+			when(driver.defaultTypeSystem()).thenReturn(typeSystem);
+
+			Neo4jClient client = Neo4jClient.create(driver);
+			assertThat(client.batch().execute().size()).isEqualTo(0);
+
+			verify(driver).defaultTypeSystem();
+		}
+	}
+
 	static class BikeOwner {
 
 		private final String name;
@@ -430,6 +605,31 @@ class Neo4jClientTest {
 		}
 	}
 
+	/**
+	 * Counts how often it has been scoped to one query.
+	 */
+	static class ScopedBikeOwnerReader extends BikeOwnerReader implements Neo4jMappingFunction<BikeOwner> {
+
+		final AtomicInteger numberOfQueryScopes = new AtomicInteger();
+
+		@Override
+		public BiFunction<TypeSystem, Record, BikeOwner> forOneQuery() {
+
+			numberOfQueryScopes.incrementAndGet();
+			return this;
+		}
+
+		@Override
+		public Neo4jMappingFunction<BikeOwner> withRelatedEntitiesLoader(RelatedEntitiesLoader relatedEntitiesLoader) {
+			return this;
+		}
+
+		@Override
+		public Neo4jMappingFunction<BikeOwner> withSnapshotScope(EntitySnapshots.Scope snapshotScope) {
+			return this;
+		}
+	}
+
 	static class BikeOwnerBinder implements Function<BikeOwner, Map<String, Object>> {
 
 		@Override
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2019 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.springframework.data.core;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.neo4j.springframework.data.core.schema.NodeDescription.*;
+import static org.neo4j.springframework.data.core.schema.RelationshipDescription.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+import org.neo4j.driver.internal.InternalRecord;
+import org.neo4j.driver.internal.types.InternalTypeSystem;
+import org.neo4j.springframework.data.core.mapping.Neo4jMappingContext;
+import org.neo4j.springframework.data.core.schema.GeneratedValue;
+import org.neo4j.springframework.data.core.schema.Id;
+import org.neo4j.springframework.data.core.schema.Node;
+
+/**
+ * @author Michael J. Simons
+ */
+class Neo4jTemplateTest {
+
+	@Test
+	void internalIdsShouldBeAssignedByTheIndexOfTheRows() {
+
+		List<List<Map<String, Object>>> rowsPerStatement = new ArrayList<>();
+
+		Neo4jClient.BatchResults batchResults = mock(Neo4jClient.BatchResults.class);
+		when(batchResults.getResults(anyInt())).thenAnswer(invocation -> {
+			// Return the records in reverse order, as a union of new and existing nodes doesn't keep the order of rows
+			List<Map<String, Object>> records = new ArrayList<>();
+			for (Map<String, Object> row : rowsPerStatement.get(invocation.<Integer>getArgument(0))) {
+				int index = (int) row.get(NAME_OF_INDEX_PARAM);
+				Object id = row.get(NAME_OF_ID_PARAM);
+
+				Map<String, Object> record = new HashMap<>();
+				record.put(NAME_OF_INDEX_PARAM, index);
+				// The node with id 9 doesn't exist anymore and is created by the save statement
+				record.put(NAME_OF_INTERNAL_ID, id == null || id.equals(9L) ? 100L + index : id);
+				records.add(0, record);
+			}
+			return records;
+		});
+
+		Neo4jClient.BatchSpec batch = mock(Neo4jClient.BatchSpec.class);
+		when(batch.add(anyString(), anyMap(), any())).thenAnswer(invocation -> {
+			Map<String, List<Map<String, Object>>> parameters = invocation.getArgument(1);
+			rowsPerStatement.add(parameters.get(NAME_OF_ENTITY_LIST_PARAM));
+			return batch;
+		});
+		when(batch.execute()).thenReturn(batchResults);
+
+		Neo4jClient neo4jClient = mock(Neo4jClient.class);
+		when(neo4jClient.batch()).thenReturn(batch);
+
+		Neo4jMappingContext mappingContext = new Neo4jMappingContext();
+		mappingContext.setInitialEntitySet(Collections.singleton(Thing.class));
+		mappingContext.initialize();
+
+		List<Thing> things = Arrays.asList(new Thing(null, "a"), new Thing(7L, "b"), new Thing(null, "c"),
+			new Thing(9L, "d"));
+		List<Thing> savedThings = new Neo4jTemplate(neo4jClient, mappingContext).saveAll(things);
+
+		assertThat(rowsPerStatement).hasSize(2);
+		assertThat(savedThings).extracting(thing -> thing.name).containsExactly("a", "b", "c", "d");
+		assertThat(savedThings).extracting(thing -> thing.id).containsExactly(100L, 7L, 102L, 103L);
+	}
+
+	@Test
+	void relationshipsBeyondTheFetchDepthShouldNotBeDeletedWhenSaving() {
+
+		List<String> statements = new ArrayList<>();
+
+		Neo4jClient.BatchResults batchResults = mock(Neo4jClient.BatchResults.class);
+		when(batchResults.getResults(anyInt())).thenReturn(Collections.singletonList(record(0, 1L)));
+
+		Neo4jClient.BatchSpec batch = mock(Neo4jClient.BatchSpec.class);
+		when(batch.add(anyString(), anyMap(), any())).thenAnswer(invocation -> {
+			statements.add(invocation.getArgument(0));
+			return batch;
+		});
+		when(batch.add(anyString(), anyMap())).thenAnswer(invocation -> {
+			statements.add(invocation.getArgument(0));
+			return batch;
+		});
+		when(batch.execute()).thenReturn(batchResults);
+
+		Neo4jClient neo4jClient = mock(Neo4jClient.class);
+		when(neo4jClient.batch()).thenReturn(batch);
+
+		Neo4jMappingContext mappingContext = new Neo4jMappingContext();
+		mappingContext.setInitialEntitySet(new HashSet<>(Arrays.asList(Owner.class, Thing.class)));
+		mappingContext.initialize();
+
+		Map<String, Object> ownerAtTheFetchDepth = new HashMap<>();
+		ownerAtTheFetchDepth.put(NAME_OF_INTERNAL_ID, 1L);
+		ownerAtTheFetchDepth.put("name", "Michael");
+		ownerAtTheFetchDepth.put(NAME_OF_UNFETCHED_RELATIONSHIPS, true);
+		Owner owner = mappingContext.getRequiredMappingFunctionFor(Owner.class).apply(InternalTypeSystem.TYPE_SYSTEM,
+			new InternalRecord(Collections.singletonList("n"), new Value[] { Values.value(ownerAtTheFetchDepth) }));
+
+		assertThat(owner.favouriteThing).isNull();
+		assertThat(owner.thingsByType).isNull();
+		assertThat(mappingContext.getUnfetchedAssociations().contains(owner,
+			mappingContext.getRequiredPersistentEntity(Owner.class).getRequiredPersistentProperty("favouriteThing")))
+			.isTrue();
+
+		owner.name = "Michael J.";
+		new Neo4jTemplate(neo4jClient, mappingContext).saveAll(Collections.singletonList(owner));
+
+		assertThat(statements).isNotEmpty().noneMatch(statement -> statement.contains("DELETE"));
+	}
+
+	private static Map<String, Object> record(int index, long internalId) {
+
+		Map<String, Object> record = new HashMap<>();
+		record.put(NAME_OF_INDEX_PARAM, index);
+		record.put(NAME_OF_INTERNAL_ID, internalId);
+		return record;
+	}
+
+	@Node
+	static class Owner {
+
+		@Id @GeneratedValue
+		private Long id;
+
+		private String name;
+
+		private Thing favouriteThing;
+
+		private Map<String, Thing> thingsByType;
+	}
+
+	@Node
+	static class Thing {
+
+		@Id @GeneratedValue
+		private Long id;
+
+		private final String name;
+
+		Thing(Long id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+}
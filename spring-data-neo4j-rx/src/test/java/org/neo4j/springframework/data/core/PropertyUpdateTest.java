@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2019 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.springframework.data.core;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.driver.Values;
+import org.neo4j.springframework.data.core.cypher.renderer.Renderer;
+import org.neo4j.springframework.data.core.mapping.Neo4jMappingContext;
+import org.neo4j.springframework.data.core.schema.GeneratedValue;
+import org.neo4j.springframework.data.core.schema.Id;
+import org.neo4j.springframework.data.core.schema.Node;
+import org.neo4j.springframework.data.core.schema.Property;
+import org.neo4j.springframework.data.core.schema.Relationship;
+
+/**
+ * @author Michael J. Simons
+ */
+class PropertyUpdateTest {
+
+	private static final Renderer cypherRenderer = Renderer.getDefaultRenderer();
+
+	private final Neo4jMappingContext mappingContext = new Neo4jMappingContext();
+
+	@Test
+	void shouldOnlySetGivenProperties() {
+
+		Map<String, Object> properties = new LinkedHashMap<>();
+		properties.put("name", "Michael");
+		properties.put("bornOn", LocalDate.of(1979, 9, 21));
+
+		PropertyUpdate propertyUpdate = PropertyUpdate.of(mappingContext, Person.class, 23L, properties);
+
+		assertThat(cypherRenderer.render(propertyUpdate.getStatement())).isEqualTo(
+			"MATCH (n:`Person`) WHERE id(n) = $__id__ SET n.name = $name, n.born_on = $bornOn RETURN count(n)");
+		assertThat(propertyUpdate.getParameters())
+			.containsEntry("__id__", 23L)
+			.containsEntry("name", Values.value("Michael"))
+			.containsEntry("bornOn", Values.value(LocalDate.of(1979, 9, 21)));
+	}
+
+	@Test
+	void updatesOfTheSamePropertiesShouldShareTheirStatement() {
+
+		Object key = PropertyUpdate.of(mappingContext, Person.class, 23L, Collections.singletonMap("name", "Michael"))
+			.getKey();
+
+		assertThat(PropertyUpdate.of(mappingContext, Person.class, 42L, Collections.singletonMap("name", "Gerrit"))
+			.getKey()).isEqualTo(key);
+		assertThat(PropertyUpdate.of(mappingContext, Person.class, 23L, Collections.singletonMap("cool", true))
+			.getKey()).isNotEqualTo(key);
+	}
+
+	@Test
+	void shouldResolvePropertyReferences() {
+
+		PropertyReference<Person, String> name = Person::getName;
+		PropertyReference<Person, Boolean> cool = Person::isCool;
+
+		assertThat(name.getPropertyName()).isEqualTo("name");
+		assertThat(cool.getPropertyName()).isEqualTo("cool");
+	}
+
+	@Test
+	void shouldRejectLambdasAsPropertyReferences() {
+
+		PropertyReference<Person, String> lambda = person -> person.name;
+
+		assertThatIllegalArgumentException().isThrownBy(lambda::getPropertyName)
+			.withMessageStartingWith("Only method references to getters can be used as property references");
+	}
+
+	@Test
+	void shouldValidateProperties() {
+
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> PropertyUpdate.of(mappingContext, Person.class, 23L, Collections.singletonMap("age", 42)))
+			.withMessage("age is not a property of %s.", Person.class.getName());
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> PropertyUpdate.of(mappingContext, Person.class, 23L, Collections.singletonMap("id", 42L)))
+			.withMessage("The id or version property id cannot be updated.");
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> PropertyUpdate
+				.of(mappingContext, Person.class, 23L, Collections.singletonMap("friends", Collections.emptyList())))
+			.withMessage("The relationship friends cannot be updated as a property.");
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> PropertyUpdate.of(mappingContext, Person.class, 23L, Collections.singletonMap("cool", 1)))
+			.withMessage("1 is not a valid value for cool of type boolean.");
+	}
+
+	@Node
+	static class Person {
+
+		@Id @GeneratedValue
+		private Long id;
+
+		private String name;
+
+		@Property("born_on")
+		private LocalDate bornOn;
+
+		private boolean cool;
+
+		@Relationship("KNOWS")
+		private List<Person> friends;
+
+		public String getName() {
+			return name;
+		}
+
+		public boolean isCool() {
+			return cool;
+		}
+	}
+}
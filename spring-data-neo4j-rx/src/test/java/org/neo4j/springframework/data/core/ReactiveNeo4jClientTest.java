@@ -55,6 +55,7 @@ import org.neo4j.springframework.data.core.Neo4jClientTest.BikeOwner;
 import org.neo4j.springframework.data.core.Neo4jClientTest.BikeOwnerBinder;
 import org.neo4j.springframework.data.core.Neo4jClientTest.BikeOwnerReader;
 import org.neo4j.springframework.data.core.Neo4jClientTest.MapAssertionMatcher;
+import org.neo4j.springframework.data.core.Neo4jClientTest.ScopedBikeOwnerReader;
 
 /**
  * @author Michael J. Simons
@@ -305,6 +306,40 @@ class ReactiveNeo4jClientTest {
 			verify(session).close();
 		}
 
+		@Test
+		void readingShouldShareRelatedEntitiesBetweenTheRecordsOfOneSubscription() {
+
+			prepareMocks();
+
+			when(transaction.run(anyString(), anyMap())).thenReturn(result);
+			when(transaction.commit()).thenReturn(Mono.empty());
+			when(result.records()).thenReturn(Flux.just(record1, record2));
+			when(record1.get("name")).thenReturn(Values.value("michael"));
+			when(record2.get("name")).thenReturn(Values.value("gerrit"));
+
+			ReactiveNeo4jClient client = ReactiveNeo4jClient.create(driver);
+
+			ScopedBikeOwnerReader mappingFunction = new ScopedBikeOwnerReader();
+			client
+				.query("MATCH (o:User) RETURN o")
+				.fetchAs(BikeOwner.class).mappedBy(mappingFunction)
+				.all()
+				.as(StepVerifier::create)
+				.expectNextMatches(o -> o.getName().equals("michael"))
+				.expectNextMatches(o -> o.getName().equals("gerrit"))
+				.verifyComplete();
+			assertThat(mappingFunction.numberOfQueryScopes).hasValue(1);
+
+			verifyDatabaseSelection(null);
+			verify(transaction).run(eq("MATCH (o:User) RETURN o"), anyMap());
+			verify(result).records();
+			verify(record1).get("name");
+			verify(record2).get("name");
+			verify(transaction).commit();
+			verify(transaction).rollback();
+			verify(session).close();
+		}
+
 		@Test
 		void shouldApplyNullChecksDuringReading() {
 
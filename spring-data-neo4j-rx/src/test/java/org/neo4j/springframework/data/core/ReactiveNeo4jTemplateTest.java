@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2019 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.springframework.data.core;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.neo4j.springframework.data.core.schema.NodeDescription.*;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+import org.neo4j.driver.internal.InternalRecord;
+import org.neo4j.driver.internal.types.InternalTypeSystem;
+import org.neo4j.driver.types.TypeSystem;
+import org.neo4j.springframework.data.core.mapping.EntitySnapshot;
+import org.neo4j.springframework.data.core.mapping.EntitySnapshots;
+import org.neo4j.springframework.data.core.mapping.LazyAssociation;
+import org.neo4j.springframework.data.core.mapping.Neo4jMappingContext;
+import org.neo4j.springframework.data.core.schema.GeneratedValue;
+import org.neo4j.springframework.data.core.schema.Id;
+import org.neo4j.springframework.data.core.schema.Node;
+import org.neo4j.springframework.data.core.schema.Relationship;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.reactive.AbstractReactiveTransactionManager;
+import org.springframework.transaction.reactive.GenericReactiveTransaction;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+/**
+ * @author Michael J. Simons
+ */
+class ReactiveNeo4jTemplateTest {
+
+	private final EntitySnapshots entitySnapshots = new EntitySnapshots();
+
+	private final TransactionalOperator transactionalOperator = TransactionalOperator
+		.create(new NoOpReactiveTransactionManager());
+
+	@Test
+	void snapshotsOfRolledBackTransactionsShouldBeDiscarded() {
+
+		Object thing = new Object();
+
+		// Save inside a transaction that is rolled back
+		transactionalOperator.execute(tx -> saveWithSnapshot(thing, EntitySnapshot.builder(23L).build())
+			.doOnSuccess(v -> tx.setRollbackOnly()))
+			.as(StepVerifier::create)
+			.verifyComplete();
+		assertThat(entitySnapshots.get(thing)).isNull();
+
+		// Save again
+		EntitySnapshot snapshotOfCommittedTransaction = EntitySnapshot.builder(23L).build();
+		transactionalOperator.execute(tx -> saveWithSnapshot(thing, snapshotOfCommittedTransaction))
+			.as(StepVerifier::create)
+			.verifyComplete();
+		assertThat(entitySnapshots.get(thing)).isSameAs(snapshotOfCommittedTransaction);
+	}
+
+	@Test
+	void snapshotsOutsideTransactionsShouldNotBeScoped() {
+
+		ReactiveNeo4jTemplate.getScopeOfCurrentTransaction(entitySnapshots)
+			.as(StepVerifier::create)
+			.verifyComplete();
+	}
+
+	@Test
+	void snapshotsOfEntitiesReadInRolledBackTransactionsShouldBeDiscarded() {
+
+		Neo4jMappingContext mappingContext = new Neo4jMappingContext();
+		mappingContext.setInitialEntitySet(Collections.singleton(Member.class));
+		mappingContext.setChangeTrackingEnabled(true);
+		mappingContext.initialize();
+		EntitySnapshots snapshots = mappingContext.getEntitySnapshots().get();
+
+		ReactiveNeo4jTemplate template = new ReactiveNeo4jTemplate(
+			clientReturning(Member.class, Collections.singletonMap(NAME_OF_INTERNAL_ID, 42L)), mappingContext);
+
+		// Read inside a transaction that is rolled back
+		AtomicReference<Member> member = new AtomicReference<>();
+		transactionalOperator.execute(tx -> template.findAll(Member.class)
+			.doOnNext(member::set)
+			.doOnComplete(tx::setRollbackOnly))
+			.as(StepVerifier::create)
+			.expectNextCount(1)
+			.verifyComplete();
+		assertThat(snapshots.get(member.get())).isNull();
+
+		// Read again
+		transactionalOperator.execute(tx -> template.findAll(Member.class).doOnNext(member::set))
+			.as(StepVerifier::create)
+			.expectNextCount(1)
+			.verifyComplete();
+		assertThat(snapshots.get(member.get())).isNotNull();
+	}
+
+	@Test
+	void lazyRelationshipsShouldStayUnloadedUntilFetched() {
+
+		Neo4jMappingContext mappingContext = new Neo4jMappingContext();
+		mappingContext.setInitialEntitySet(new HashSet<>(Arrays.asList(Team.class, Member.class)));
+		mappingContext.initialize();
+
+		Map<String, Object> root = new HashMap<>();
+		root.put(NAME_OF_INTERNAL_ID, 23L);
+		root.put("name", "Developers");
+		ReactiveNeo4jClient neo4jClient = clientReturning(Team.class, root);
+
+		new ReactiveNeo4jTemplate(neo4jClient, mappingContext).findAll(Team.class)
+			.as(StepVerifier::create)
+			.assertNext(team -> {
+				assertThat(team.name).isEqualTo("Developers");
+				assertThat(team.members).isEmpty();
+				assertThat(LazyAssociation.isNotLoaded(team.members)).isTrue();
+				assertThatExceptionOfType(UnsupportedOperationException.class)
+					.isThrownBy(() -> team.members.add(new Member()));
+			})
+			.verifyComplete();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> ReactiveNeo4jClient clientReturning(Class<T> domainType, Map<String, Object> root) {
+
+		Record record = new InternalRecord(Collections.singletonList("n"), new Value[] { Values.value(root) });
+
+		AtomicReference<BiFunction<TypeSystem, Record, T>> mappingFunction = new AtomicReference<>();
+		ReactiveNeo4jClient.RecordFetchSpec<T> fetchSpec = mock(ReactiveNeo4jClient.RecordFetchSpec.class);
+		when(fetchSpec.all()).thenAnswer(invocation -> Flux.defer(() -> Flux.just(record)
+			.map(r -> mappingFunction.get().apply(InternalTypeSystem.TYPE_SYSTEM, r))));
+		ReactiveNeo4jClient.MappingSpec<T> mappingSpec = mock(ReactiveNeo4jClient.MappingSpec.class);
+		when(mappingSpec.mappedBy(any())).thenAnswer(invocation -> {
+			mappingFunction.set(invocation.getArgument(0));
+			return fetchSpec;
+		});
+		ReactiveNeo4jClient.RunnableSpec runnableSpec = mock(ReactiveNeo4jClient.RunnableSpec.class);
+		when(runnableSpec.bindAll(anyMap())).thenReturn(runnableSpec);
+		when(runnableSpec.fetchAs(domainType)).thenReturn(mappingSpec);
+		ReactiveNeo4jClient neo4jClient = mock(ReactiveNeo4jClient.class);
+		when(neo4jClient.query(anyString())).thenReturn(runnableSpec);
+		return neo4jClient;
+	}
+
+	private Mono<Void> saveWithSnapshot(Object entity, EntitySnapshot snapshot) {
+
+		return ReactiveNeo4jTemplate.getScopeOfCurrentTransaction(entitySnapshots)
+			.doOnNext(scope -> entitySnapshots.put(entity, snapshot, scope))
+			.then();
+	}
+
+	@Node
+	static class Team {
+
+		@Id @GeneratedValue
+		private Long id;
+
+		private String name;
+
+		@Relationship(type = "MEMBER_OF", direction = Relationship.Direction.INCOMING, fetch = Relationship.Fetch.LAZY)
+		private List<Member> members;
+	}
+
+	@Node
+	static class Member {
+
+		@Id @GeneratedValue
+		private Long id;
+	}
+
+	static class NoOpReactiveTransactionManager extends AbstractReactiveTransactionManager {
+
+		@Override
+		protected Object doGetTransaction(TransactionSynchronizationManager synchronizationManager) {
+			return new Object();
+		}
+
+		@Override
+		protected Mono<Void> doBegin(TransactionSynchronizationManager synchronizationManager, Object transaction,
+			TransactionDefinition definition) {
+			return Mono.empty();
+		}
+
+		@Override
+		protected Mono<Void> doCommit(TransactionSynchronizationManager synchronizationManager,
+			GenericReactiveTransaction status) {
+			return Mono.empty();
+		}
+
+		@Override
+		protected Mono<Void> doRollback(TransactionSynchronizationManager synchronizationManager,
+			GenericReactiveTransaction status) {
+			return Mono.empty();
+		}
+	}
+}
@@ -1121,6 +1121,20 @@ class CypherIT {
 				.isEqualTo(
 					"MATCH (u:`User`) SET u.p1 = 'Two expressions' SET u.p2 = 'A set expression' SET u.p3 = 'One of two set expression', u.p4 = 'Two of two set expression' SET u.p5 = 'Pair one of 2 expressions', u.p6 = 'Pair two of 4 expressions' RETURN *");
 		}
+
+		@Test
+		void shouldRenderMutate() {
+			Statement statement;
+
+			statement = Cypher.match(userNode)
+				.set(userNode.mutate(parameter("changes")))
+				.returning(userNode)
+				.build();
+
+			assertThat(cypherRenderer.render(statement))
+				.isEqualTo(
+					"MATCH (u:`User`) SET u += $changes RETURN u");
+		}
 	}
 
 	@Nested
@@ -1626,6 +1640,20 @@ class CypherIT {
 				.isEqualTo(
 					"MATCH (n) RETURN point({latitude: $latitude, longitude: $longitude, crs: 4326})");
 		}
+
+		@Test
+		void shouldRenderListOperator() {
+			Statement statement;
+			statement = Cypher.unwind(Cypher.parameter("rows")).as("row")
+				.with(Cypher.valueAt(Cypher.valueAt(Cypher.parameter("lists"), Cypher.property("row", "index")), 0)
+					.as("element"))
+				.returning("element")
+				.build();
+
+			assertThat(cypherRenderer.render(statement))
+				.isEqualTo(
+					"UNWIND $rows AS row WITH $lists[row.index][0] AS element RETURN element");
+		}
 	}
 
 	@Nested
@@ -1735,6 +1763,22 @@ class CypherIT {
 					"UNWIND [1, true, false] AS n CREATE (b:`Bike` {b: n}) RETURN b");
 		}
 
+		@Test
+		void shouldRenderLeadingUnwindWithMatch() {
+
+			Statement statement;
+			statement = Cypher.unwind(Cypher.parameter("rows")).as("row")
+				.match(bikeNode)
+				.where(bikeNode.internalId().isEqualTo(property("row", "id")))
+				.optionalMatch(userNode.relationshipTo(bikeNode, "OWNS"))
+				.returning(property("row", "index"), userNode)
+				.build();
+
+			assertThat(cypherRenderer.render(statement))
+				.isEqualTo(
+					"UNWIND $rows AS row MATCH (b:`Bike`) WHERE id(b) = row.id OPTIONAL MATCH (u:`User`)-[:`OWNS`]->(b) RETURN row.index, u");
+		}
+
 		@Test
 		void shouldRenderUnwind() {
 
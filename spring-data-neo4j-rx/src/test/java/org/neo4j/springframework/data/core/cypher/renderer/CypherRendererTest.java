@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2019 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.springframework.data.core.cypher.renderer;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.springframework.data.core.cypher.Cypher;
+import org.neo4j.springframework.data.core.cypher.Node;
+import org.neo4j.springframework.data.core.cypher.Statement;
+
+/**
+ * @author Michael J. Simons
+ */
+class CypherRendererTest {
+
+	@Test
+	void shouldRenderStatementsOfTheSameKeyOnlyOnce() {
+
+		Renderer renderer = Renderer.getRenderer(16);
+		AtomicInteger numberOfStatements = new AtomicInteger();
+		Supplier<Statement> statement = () -> {
+			numberOfStatements.incrementAndGet();
+			return matchByLabel("Movie");
+		};
+
+		assertThat(renderer.render("movies", statement)).isEqualTo("MATCH (n:`Movie`) RETURN n");
+		assertThat(renderer.render("movies", statement)).isEqualTo("MATCH (n:`Movie`) RETURN n");
+		assertThat(numberOfStatements).hasValue(1);
+
+		StatementCacheStatistics statistics = renderer.getStatementCacheStatistics();
+		assertThat(statistics.getHits()).isEqualTo(1L);
+		assertThat(statistics.getMisses()).isEqualTo(1L);
+		assertThat(statistics.getEvictions()).isZero();
+	}
+
+	@Test
+	void shouldNotMixUpDifferentKeys() {
+
+		Renderer renderer = Renderer.getRenderer(16);
+
+		assertThat(renderer.render("movies", () -> matchByLabel("Movie"))).isEqualTo("MATCH (n:`Movie`) RETURN n");
+		assertThat(renderer.render("people", () -> matchByLabel("Person"))).isEqualTo("MATCH (n:`Person`) RETURN n");
+		assertThat(renderer.render("movies", () -> matchByLabel("Movie"))).isEqualTo("MATCH (n:`Movie`) RETURN n");
+		assertThat(renderer.getStatementCacheStatistics().getMisses()).isEqualTo(2L);
+	}
+
+	@Test
+	void statementsWithoutKeyShouldNotBeCached() {
+
+		Renderer renderer = Renderer.getRenderer(16);
+		Statement statement = matchByLabel("Movie");
+
+		assertThat(renderer.render(statement)).isEqualTo("MATCH (n:`Movie`) RETURN n");
+		assertThat(renderer.render(statement)).isEqualTo("MATCH (n:`Movie`) RETURN n");
+
+		StatementCacheStatistics statistics = renderer.getStatementCacheStatistics();
+		assertThat(statistics.getHits()).isZero();
+		assertThat(statistics.getMisses()).isZero();
+	}
+
+	@Test
+	void shouldEvictLeastRecentlyUsedStatements() {
+
+		Renderer renderer = Renderer.getRenderer(1);
+
+		renderer.render("movies", () -> matchByLabel("Movie"));
+		renderer.render("people", () -> matchByLabel("Person"));
+		renderer.render("movies", () -> matchByLabel("Movie"));
+
+		StatementCacheStatistics statistics = renderer.getStatementCacheStatistics();
+		assertThat(statistics.getHits()).isZero();
+		assertThat(statistics.getMisses()).isEqualTo(3L);
+		assertThat(statistics.getEvictions()).isEqualTo(2L);
+	}
+
+	@Test
+	void cacheShouldBeOptional() {
+
+		Renderer renderer = Renderer.getRenderer(0);
+
+		assertThat(renderer.render("movies", () -> matchByLabel("Movie")))
+			.isEqualTo(renderer.render("movies", () -> matchByLabel("Movie")));
+		assertThat(renderer.getStatementCacheStatistics().getHits()).isZero();
+	}
+
+	@Test
+	void renderersWithoutCacheShouldRenderKeyedStatements() {
+
+		Renderer renderer = statement -> "rendered";
+
+		assertThat(renderer.render("movies", () -> matchByLabel("Movie"))).isEqualTo("rendered");
+		assertThat(renderer.getStatementCacheStatistics().getMisses()).isZero();
+	}
+
+	@Test
+	void cacheSizeMustNotBeNegative() {
+
+		assertThatIllegalArgumentException().isThrownBy(() -> Renderer.getRenderer(-1))
+			.withMessage("The size of the statement cache must not be negative.");
+	}
+
+	private static Statement matchByLabel(String label) {
+
+		Node node = Cypher.node(label).named("n");
+		return Cypher.match(node).returning(node).build();
+	}
+}
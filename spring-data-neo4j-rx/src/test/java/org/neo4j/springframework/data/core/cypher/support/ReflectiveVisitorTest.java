@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2019 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.springframework.data.core.cypher.support;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Michael J. Simons
+ */
+class ReflectiveVisitorTest {
+
+	static class Base implements Visitable {
+	}
+
+	static class Derived extends Base {
+	}
+
+	static class Other implements Visitable {
+	}
+
+	static class Failing implements Visitable {
+	}
+
+	static class RecordingVisitor extends ReflectiveVisitor {
+
+		final List<String> events = new ArrayList<>();
+
+		@Override
+		protected boolean preEnter(Visitable visitable) {
+			return true;
+		}
+
+		@Override
+		protected void postLeave(Visitable visitable) {
+		}
+
+		void enter(Base base) {
+			events.add("enter " + base.getClass().getSimpleName());
+		}
+
+		void leave(Derived derived) {
+			events.add("leave " + derived.getClass().getSimpleName());
+		}
+
+		void enter(Failing failing) {
+			throw new UnsupportedOperationException("Cannot visit failing visitables.");
+		}
+	}
+
+	@Test
+	void shouldDispatchToMethodsMatchingTheClassHierarchy() {
+
+		RecordingVisitor visitor = new RecordingVisitor();
+		new Base().accept(visitor);
+		new Derived().accept(visitor);
+		new Other().accept(visitor);
+
+		assertThat(visitor.events).containsExactly("enter Base", "enter Derived", "leave Derived");
+	}
+
+	@Test
+	void shouldPropagateExceptionsOfVisitingMethods() {
+
+		RecordingVisitor visitor = new RecordingVisitor();
+		assertThatExceptionOfType(UnsupportedOperationException.class)
+			.isThrownBy(() -> new Failing().accept(visitor))
+			.withMessage("Cannot visit failing visitables.");
+	}
+}
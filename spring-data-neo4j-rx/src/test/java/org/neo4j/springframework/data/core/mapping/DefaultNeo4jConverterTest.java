@@ -22,7 +22,12 @@ import static org.assertj.core.api.Assertions.*;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -33,8 +38,10 @@ import org.neo4j.springframework.data.core.ReactiveNeo4jClient;
 import org.neo4j.springframework.data.core.convert.Neo4jConversions;
 import org.springframework.core.convert.ConversionFailedException;
 import org.springframework.core.convert.ConverterNotFoundException;
+import org.springframework.core.convert.converter.Converter;
 import org.springframework.dao.TypeMismatchDataAccessException;
 import org.springframework.data.util.ClassTypeInformation;
+import org.springframework.data.util.TypeInformation;
 
 /**
  * @author Michael J. Simons
@@ -79,5 +86,123 @@ class DefaultNeo4jConverterTest {
 					"Could not convert \"Das funktioniert nicht.\" into org.neo4j.springframework.data.core.ReactiveNeo4jClient;")
 				.withRootCauseInstanceOf(ConverterNotFoundException.class);
 		}
+
+		@Test
+		void shouldReadPrimitiveArrays() {
+
+			assertThat(defaultNeo4jConverter.readValue(
+				Values.value(new int[] { 1, 2 }), ClassTypeInformation.from(int[].class)))
+				.isEqualTo(new int[] { 1, 2 });
+			assertThat(defaultNeo4jConverter.readValue(
+				Values.value(new double[] { 1.0, 2.0 }), ClassTypeInformation.from(double[].class)))
+				.isEqualTo(new double[] { 1.0, 2.0 });
+			assertThat(defaultNeo4jConverter.readValue(
+				Values.value(new String[] { "a", "b" }), ClassTypeInformation.from(String[].class)))
+				.isEqualTo(new String[] { "a", "b" });
+		}
+
+		@Test
+		void shouldReadCollections() {
+
+			TypeInformation<?> type = ClassTypeInformation.from(SomeProperties.class).getRequiredProperty("someLongs");
+			assertThat(defaultNeo4jConverter.readValue(Values.value(Arrays.asList(1L, 2L, 2L)), type))
+				.isEqualTo(new HashSet<>(Arrays.asList(1L, 2L)));
+		}
+
+		@Test
+		void readersShouldReadNullValues() {
+
+			assertThat(defaultNeo4jConverter.getReaderFor(ClassTypeInformation.from(String.class)).apply(Values.NULL))
+				.isNull();
+			assertThat(defaultNeo4jConverter.getReaderFor(ClassTypeInformation.from(Date.class)).apply(null))
+				.isNull();
+		}
+
+		@Test
+		void customConvertersShouldTakePrecedence() {
+
+			DefaultNeo4jConverter converter = new DefaultNeo4jConverter(
+				new Neo4jConversions(Collections.singletonList(new ShoutingReader())));
+
+			assertThat(converter.readValue(Values.value("hallo"), ClassTypeInformation.from(String.class)))
+				.isEqualTo("HALLO");
+			assertThat(converter.getReaderFor(ClassTypeInformation.from(String.class)).apply(Values.value("hallo")))
+				.isEqualTo("HALLO");
+		}
+	}
+
+	@Nested
+	class Writes {
+
+		@Test
+		void writersOfDriverNativeTypesShouldWriteLikeTheConversionService() {
+
+			for (Object value : new Object[] { "a string", 4711L, 47.11, true, new long[] { 1L, 2L },
+				LocalDate.of(2019, 12, 24) }) {
+				ClassTypeInformation<?> type = ClassTypeInformation.from(value.getClass());
+				assertThat(defaultNeo4jConverter.getWriterFor(type).apply(value))
+					.isEqualTo(defaultNeo4jConverter.writeValue(value, type));
+			}
+		}
+
+		@Test
+		void writersShouldWriteNullValues() {
+
+			assertThat(defaultNeo4jConverter.getWriterFor(ClassTypeInformation.from(String.class)).apply(null))
+				.isEqualTo(Values.NULL);
+			assertThat(defaultNeo4jConverter.getWriterFor(ClassTypeInformation.from(Date.class)).apply(null))
+				.isEqualTo(Values.NULL);
+		}
+
+		@Test
+		void writersOfOtherTypesShouldUseTheConversionService() {
+
+			Date value = new Date();
+			ClassTypeInformation<Date> type = ClassTypeInformation.from(Date.class);
+			assertThat(defaultNeo4jConverter.getWriterFor(type).apply(value))
+				.isEqualTo(defaultNeo4jConverter.writeValue(value, type));
+		}
+
+		@Test
+		void shouldWriteCollections() {
+
+			TypeInformation<?> type = ClassTypeInformation.from(SomeProperties.class).getRequiredProperty("someStrings");
+			assertThat(defaultNeo4jConverter.writeValue(Arrays.asList("a", "b"), type))
+				.isEqualTo(Values.value(Arrays.asList("a", "b")));
+		}
+
+		@Test
+		void customConvertersShouldTakePrecedence() {
+
+			DefaultNeo4jConverter converter = new DefaultNeo4jConverter(
+				new Neo4jConversions(Collections.singletonList(new WhisperingWriter())));
+
+			ClassTypeInformation<String> type = ClassTypeInformation.from(String.class);
+			assertThat(converter.writeValue("HALLO", type)).isEqualTo(Values.value("hallo"));
+			assertThat(converter.getWriterFor(type).apply("HALLO")).isEqualTo(Values.value("hallo"));
+		}
+	}
+
+	static class SomeProperties {
+
+		Set<Long> someLongs;
+
+		List<String> someStrings;
+	}
+
+	static class ShoutingReader implements Converter<Value, String> {
+
+		@Override
+		public String convert(Value source) {
+			return source.asString().toUpperCase();
+		}
+	}
+
+	static class WhisperingWriter implements Converter<String, Value> {
+
+		@Override
+		public Value convert(String source) {
+			return Values.value(source.toLowerCase());
+		}
 	}
 }
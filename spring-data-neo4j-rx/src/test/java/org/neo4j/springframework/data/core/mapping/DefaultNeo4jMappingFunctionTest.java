@@ -0,0 +1,320 @@
+/*
+ * Copyright (c) 2019 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.springframework.data.core.mapping;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.neo4j.springframework.data.core.schema.NodeDescription.*;
+import static org.neo4j.springframework.data.core.schema.RelationshipDescription.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+import org.neo4j.driver.internal.InternalNode;
+import org.neo4j.driver.internal.InternalRecord;
+import org.neo4j.driver.internal.InternalRelationship;
+import org.neo4j.driver.internal.types.InternalTypeSystem;
+import org.neo4j.driver.internal.value.ListValue;
+import org.neo4j.driver.internal.value.NodeValue;
+import org.neo4j.driver.internal.value.RelationshipValue;
+import org.neo4j.driver.types.TypeSystem;
+import org.neo4j.springframework.data.core.schema.GeneratedValue;
+import org.neo4j.springframework.data.core.schema.Id;
+import org.neo4j.springframework.data.core.schema.Node;
+import org.neo4j.springframework.data.core.schema.Relationship;
+
+/**
+ * @author Michael J. Simons
+ */
+class DefaultNeo4jMappingFunctionTest {
+
+	private final TypeSystem typeSystem = InternalTypeSystem.TYPE_SYSTEM;
+
+	private final Neo4jMappingContext mappingContext;
+
+	DefaultNeo4jMappingFunctionTest() {
+
+		this.mappingContext = new Neo4jMappingContext();
+		this.mappingContext.setInitialEntitySet(new HashSet<>(Arrays.asList(Person.class, Team.class)));
+		this.mappingContext.initialize();
+	}
+
+	@Test
+	void mappingPlansShouldBeComputedOnlyOnce() {
+
+		Neo4jPersistentEntity<Person> entity = (Neo4jPersistentEntity<Person>) mappingContext
+			.getPersistentEntity(Person.class);
+
+		assertThat(mappingContext.getMappingPlan(entity)).isSameAs(mappingContext.getMappingPlan(entity));
+	}
+
+	@Test
+	void valuesOfTheRecordShouldTakePrecedenceOverTheRootNode() {
+
+		Map<String, Value> properties = new HashMap<>();
+		properties.put("name", Values.value("Michael"));
+		properties.put("city", Values.value("Aachen"));
+		Value node = new NodeValue(new InternalNode(23L, Collections.singletonList("Person"), properties));
+		Record record = new InternalRecord(Arrays.asList("n", "city"),
+			new Value[] { node, Values.value("Dortmund") });
+
+		Person person = mappingContext.getRequiredMappingFunctionFor(Person.class).apply(typeSystem, record);
+		assertThat(person.id).isEqualTo(23L);
+		assertThat(person.name).isEqualTo("Michael");
+		assertThat(person.city).isEqualTo("Dortmund");
+	}
+
+	@Test
+	void relatedNodesShouldBeMappedOnlyOncePerRecord() {
+
+		Map<String, Object> friend = new HashMap<>();
+		friend.put(NAME_OF_INTERNAL_ID, 42L);
+		friend.put("name", "Gerrit");
+		friend.put(NAME_OF_RELATIONSHIP_TYPE, "KNOWS");
+
+		Map<String, Object> root = new HashMap<>();
+		root.put(NAME_OF_INTERNAL_ID, 23L);
+		root.put("name", "Michael");
+		root.put("Person_KNOWS_Person", Arrays.asList(friend, friend));
+		Record record = new InternalRecord(Collections.singletonList("n"), new Value[] { Values.value(root) });
+
+		BiFunction<TypeSystem, Record, Person> mappingFunction = mappingContext
+			.getRequiredMappingFunctionFor(Person.class);
+		Person person = mappingFunction.apply(typeSystem, record);
+		assertThat(person.knows).hasSize(2);
+		assertThat(person.knows.get(0)).isSameAs(person.knows.get(1));
+		assertThat(person.knows.get(0).name).isEqualTo("Gerrit");
+		assertThat(person.knows.get(0).knows).isEmpty();
+
+		assertThat(mappingFunction.apply(typeSystem, record).knows.get(0)).isNotSameAs(person.knows.get(0));
+	}
+
+	@Test
+	void relatedNodesShouldBeSharedBetweenRecordsOfOneQuery() {
+
+		Record record1 = personKnowingGerrit(23L, "Michael");
+		Record record2 = personKnowingGerrit(24L, "Rosi");
+
+		BiFunction<TypeSystem, Record, Person> mappingFunction = ((Neo4jMappingFunction<Person>) mappingContext
+			.getRequiredMappingFunctionFor(Person.class)).forOneQuery();
+		Person michael = mappingFunction.apply(typeSystem, record1);
+		Person rosi = mappingFunction.apply(typeSystem, record2);
+		assertThat(michael.knows.get(0)).isSameAs(rosi.knows.get(0));
+
+		BiFunction<TypeSystem, Record, Person> otherQuery = ((Neo4jMappingFunction<Person>) mappingContext
+			.getRequiredMappingFunctionFor(Person.class)).forOneQuery();
+		assertThat(otherQuery.apply(typeSystem, record1).knows.get(0)).isNotSameAs(michael.knows.get(0));
+	}
+
+	@Test
+	void relatedNodesMappedAtAHigherLevelShouldBePopulatedAgain() {
+
+		Map<String, Object> rosiAtTheFetchDepth = person(3L, "Rosi");
+		rosiAtTheFetchDepth.put(NAME_OF_UNFETCHED_RELATIONSHIPS, true);
+		Map<String, Object> gerrit = person(2L, "Gerrit");
+		gerrit.put("Person_KNOWS_Person", Collections.singletonList(rosiAtTheFetchDepth));
+		Map<String, Object> michael = person(1L, "Michael");
+		michael.put("Person_KNOWS_Person", Collections.singletonList(gerrit));
+
+		Map<String, Object> rosi = person(3L, "Rosi");
+		rosi.put("Person_KNOWS_Person", Collections.singletonList(person(4L, "Helge")));
+		Map<String, Object> lukas = person(5L, "Lukas");
+		lukas.put("Person_KNOWS_Person", Collections.singletonList(rosi));
+
+		Map<String, Object> paul = person(6L, "Paul");
+		paul.put("Person_KNOWS_Person", Collections.singletonList(rosi));
+
+		BiFunction<TypeSystem, Record, Person> mappingFunction = ((Neo4jMappingFunction<Person>) mappingContext
+			.getRequiredMappingFunctionFor(Person.class)).forOneQuery();
+		Person rosiMappedAtLevel2 = mappingFunction.apply(typeSystem, record(michael)).knows.get(0).knows.get(0);
+		Person rosiMappedAtLevel1 = mappingFunction.apply(typeSystem, record(lukas)).knows.get(0);
+		assertThat(rosiMappedAtLevel1).isSameAs(rosiMappedAtLevel2);
+		assertThat(rosiMappedAtLevel1.knows).extracting(p -> p.name).containsExactly("Helge");
+
+		Person rosiMappedAtLevel1Again = mappingFunction.apply(typeSystem, record(paul)).knows.get(0);
+		assertThat(rosiMappedAtLevel1Again).isSameAs(rosiMappedAtLevel1);
+	}
+
+	private static Map<String, Object> person(long id, String name) {
+
+		Map<String, Object> person = new HashMap<>();
+		person.put(NAME_OF_INTERNAL_ID, id);
+		person.put("name", name);
+		person.put(NAME_OF_RELATIONSHIP_TYPE, "KNOWS");
+		return person;
+	}
+
+	private static Record record(Map<String, Object> root) {
+		return new InternalRecord(Collections.singletonList("n"), new Value[] { Values.value(root) });
+	}
+
+	private static Record personKnowingGerrit(long id, String name) {
+
+		Map<String, Object> friend = new HashMap<>();
+		friend.put(NAME_OF_INTERNAL_ID, 42L);
+		friend.put("name", "Gerrit");
+		friend.put(NAME_OF_RELATIONSHIP_TYPE, "KNOWS");
+
+		Map<String, Object> root = new HashMap<>();
+		root.put(NAME_OF_INTERNAL_ID, id);
+		root.put("name", name);
+		root.put("Person_KNOWS_Person", Collections.singletonList(friend));
+		return new InternalRecord(Collections.singletonList("n"), new Value[] { Values.value(root) });
+	}
+
+	@Test
+	void relationshipsOfCustomQueriesShouldBeResolvedFromTheirStartNodeInTheirDirection() {
+
+		Value michael = personNode(1L, "Michael");
+		Value gerrit = personNode(2L, "Gerrit");
+		Value rosi = personNode(3L, "Rosi");
+		Value relationships = new ListValue(
+			new RelationshipValue(new InternalRelationship(10L, 1L, 2L, "KNOWS")),
+			new RelationshipValue(new InternalRelationship(11L, 2L, 3L, "KNOWS")),
+			new RelationshipValue(new InternalRelationship(12L, 3L, 1L, "LIKES")));
+		Record record = new InternalRecord(Arrays.asList("n", "r", "m"),
+			new Value[] { michael, relationships, new ListValue(gerrit, rosi) });
+
+		Person person = mappingContext.getRequiredMappingFunctionFor(Person.class).apply(typeSystem, record);
+		assertThat(person.knows).extracting(p -> p.name).containsExactly("Gerrit");
+		assertThat(person.likedBy).extracting(p -> p.name).containsExactly("Rosi");
+	}
+
+	@Test
+	void nodesRelatedMoreThanOnceShouldBeAddedOnlyOnce() {
+
+		Value relationships = new ListValue(
+			new RelationshipValue(new InternalRelationship(10L, 1L, 2L, "KNOWS")),
+			new RelationshipValue(new InternalRelationship(11L, 1L, 2L, "KNOWS")));
+		Record record = new InternalRecord(Arrays.asList("n", "r", "m"),
+			new Value[] { personNode(1L, "Michael"), relationships, new ListValue(personNode(2L, "Gerrit")) });
+
+		Person person = mappingContext.getRequiredMappingFunctionFor(Person.class).apply(typeSystem, record);
+		assertThat(person.knows).extracting(p -> p.name).containsExactly("Gerrit");
+	}
+
+	@Test
+	void lazyRelationshipsShouldBeLoadedOnFirstAccess() {
+
+		Map<String, Object> root = new HashMap<>();
+		root.put(NAME_OF_INTERNAL_ID, 23L);
+		root.put("name", "Developers");
+		Record record = new InternalRecord(Collections.singletonList("n"), new Value[] { Values.value(root) });
+
+		AtomicInteger loads = new AtomicInteger();
+		Person member = new Person();
+		BiFunction<TypeSystem, Record, Team> mappingFunction = ((Neo4jMappingFunction<Team>) mappingContext
+			.getRequiredMappingFunctionFor(Team.class)).withRelatedEntitiesLoader((relationship, sourceNodeId) -> {
+				assertThat(relationship.getType()).isEqualTo("MEMBER_OF");
+				assertThat(sourceNodeId).isEqualTo(23L);
+				loads.incrementAndGet();
+				return Collections.singletonList(member);
+			});
+		Team team = mappingFunction.apply(typeSystem, record);
+
+		assertThat(team.members).isInstanceOf(LazyAssociation.class);
+		assertThat(LazyAssociation.isNotLoaded(team.members)).isTrue();
+		assertThat(loads).hasValue(0);
+
+		assertThat(team.members).containsExactly(member);
+		assertThat(team.members).hasSize(1);
+		assertThat(LazyAssociation.isNotLoaded(team.members)).isFalse();
+		assertThat(loads).hasValue(1);
+	}
+
+	@Test
+	void lazyRelationshipsWithoutLoaderShouldStayUnloaded() {
+
+		Map<String, Object> root = new HashMap<>();
+		root.put(NAME_OF_INTERNAL_ID, 23L);
+		root.put("name", "Developers");
+		Record record = new InternalRecord(Collections.singletonList("n"), new Value[] { Values.value(root) });
+
+		Team team = mappingContext.getRequiredMappingFunctionFor(Team.class).apply(typeSystem, record);
+
+		assertThat(team.members).isEmpty();
+		assertThat(team.members).hasToString("LazyList{not loaded}");
+		assertThat(LazyAssociation.isNotLoaded(team.members)).isTrue();
+		assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() -> team.members.add(new Person()));
+	}
+
+	@Test
+	void relationshipsBeyondTheFetchDepthShouldBeLoadedOnFirstAccess() {
+
+		Map<String, Object> root = new HashMap<>();
+		root.put(NAME_OF_INTERNAL_ID, 23L);
+		root.put("name", "Michael");
+		root.put(NAME_OF_UNFETCHED_RELATIONSHIPS, true);
+		Record record = new InternalRecord(Collections.singletonList("n"), new Value[] { Values.value(root) });
+
+		Person gerrit = new Person();
+		Person person = ((Neo4jMappingFunction<Person>) mappingContext.getRequiredMappingFunctionFor(Person.class))
+			.withRelatedEntitiesLoader((relationship, sourceNodeId) -> relationship.getType().equals("KNOWS") ?
+				Collections.singletonList(gerrit) : Collections.emptyList())
+			.apply(typeSystem, record);
+
+		assertThat(LazyAssociation.isNotLoaded(person.knows)).isTrue();
+		assertThat(person.knows).containsExactly(gerrit);
+		assertThat(person.likedBy).isEmpty();
+	}
+
+	private static Value personNode(long id, String name) {
+		return new NodeValue(new InternalNode(id, Collections.singletonList("Person"),
+			Collections.singletonMap("name", Values.value(name))));
+	}
+
+	@Node
+	static class Person {
+
+		@Id @GeneratedValue
+		private Long id;
+
+		private String name;
+
+		private String city;
+
+		@Relationship("KNOWS")
+		private List<Person> knows = new ArrayList<>();
+
+		@Relationship(type = "LIKES", direction = Relationship.Direction.INCOMING)
+		private List<Person> likedBy = new ArrayList<>();
+	}
+
+	@Node
+	static class Team {
+
+		@Id @GeneratedValue
+		private Long id;
+
+		private String name;
+
+		@Relationship(type = "MEMBER_OF", direction = Relationship.Direction.INCOMING, fetch = Relationship.Fetch.LAZY)
+		private List<Person> members;
+	}
+}
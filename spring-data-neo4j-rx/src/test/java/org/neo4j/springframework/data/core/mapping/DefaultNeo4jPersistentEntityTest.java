@@ -72,6 +72,13 @@ class DefaultNeo4jPersistentEntityTest {
 					() -> new Neo4jMappingContext().getPersistentEntity(MixedDynamicAndExplicitRelationship.class))
 				.withMessage("Dynamic relationships cannot be used with a fixed type. Omit @Relationship or use @Relationship(direction = INCOMING).");
 		}
+
+		@Test
+		void failsOnLazySingleValuedRelationships() {
+			assertThatIllegalStateException()
+				.isThrownBy(() -> new Neo4jMappingContext().getPersistentEntity(LazySingleValuedRelationship.class))
+				.withMessageStartingWith("Lazy relationships must be of one of the types");
+		}
 	}
 
 	@Node
@@ -106,6 +113,15 @@ class DefaultNeo4jPersistentEntityTest {
 		private Map<String, MixedDynamicAndExplicitRelationship> dynamicRelationships;
 	}
 
+	@Node
+	private static class LazySingleValuedRelationship {
+
+		@Id private Long id;
+
+		@Relationship(type = "BAMM", fetch = Relationship.Fetch.LAZY)
+		private LazySingleValuedRelationship other;
+	}
+
 	@Node
 	private static class EntityWithDuplicatedProperties {
 
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2019 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.springframework.data.core.mapping;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.driver.Values;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * @author Michael J. Simons
+ */
+class EntitySnapshotsTest {
+
+	@Test
+	void shouldStoreSnapshotsByIdentity() {
+
+		EntitySnapshots entitySnapshots = new EntitySnapshots();
+
+		Thing thing1 = new Thing("a");
+		Thing thing2 = new Thing("a");
+		EntitySnapshot snapshot = EntitySnapshot.builder(23L).build();
+		entitySnapshots.put(thing1, snapshot);
+
+		assertThat(thing1).isEqualTo(thing2);
+		assertThat(entitySnapshots.get(thing1)).isSameAs(snapshot);
+		assertThat(entitySnapshots.get(thing2)).isNull();
+
+		entitySnapshots.remove(thing1);
+		assertThat(entitySnapshots.get(thing1)).isNull();
+	}
+
+	@Test
+	void shouldReplaceSnapshots() {
+
+		EntitySnapshots entitySnapshots = new EntitySnapshots();
+
+		Thing thing = new Thing("a");
+		entitySnapshots.put(thing, EntitySnapshot.builder(23L).build());
+		EntitySnapshot newSnapshot = EntitySnapshot.builder(42L).build();
+		entitySnapshots.put(thing, newSnapshot);
+
+		assertThat(entitySnapshots.get(thing)).isSameAs(newSnapshot);
+		assertThat(entitySnapshots.size()).isEqualTo(1);
+	}
+
+	@Test
+	void snapshotsOfRolledBackTransactionsShouldBeDiscarded() {
+
+		EntitySnapshots entitySnapshots = new EntitySnapshots();
+		TransactionTemplate transactionTemplate = new TransactionTemplate(new NoOpTransactionManager());
+
+		Thing thing = new Thing("a");
+		EntitySnapshot snapshotBeforeTransaction = EntitySnapshot.builder(23L).build();
+		entitySnapshots.put(thing, snapshotBeforeTransaction);
+
+		// Save inside a transaction that is rolled back
+		transactionTemplate.execute(tx -> {
+			entitySnapshots.put(thing, EntitySnapshot.builder(23L).build());
+			tx.setRollbackOnly();
+			return null;
+		});
+		assertThat(entitySnapshots.get(thing)).isNull();
+
+		// Save again
+		EntitySnapshot snapshotOfCommittedTransaction = EntitySnapshot.builder(23L).build();
+		transactionTemplate.execute(tx -> {
+			entitySnapshots.put(thing, snapshotOfCommittedTransaction);
+			return null;
+		});
+		assertThat(entitySnapshots.get(thing)).isSameAs(snapshotOfCommittedTransaction);
+	}
+
+	@Test
+	void discardingAScopeShouldOnlyRemoveItsOwnSnapshots() {
+
+		EntitySnapshots entitySnapshots = new EntitySnapshots();
+		EntitySnapshots.Scope scope = entitySnapshots.newScope();
+
+		Thing thing1 = new Thing("a");
+		Thing thing2 = new Thing("b");
+		entitySnapshots.put(thing1, EntitySnapshot.builder(23L).build(), scope);
+		entitySnapshots.put(thing2, EntitySnapshot.builder(42L).build(), null);
+
+		scope.discard();
+		assertThat(entitySnapshots.get(thing1)).isNull();
+		assertThat(entitySnapshots.get(thing2)).isNotNull();
+	}
+
+	@Test
+	void shouldComputeChangedProperties() {
+
+		Map<String, Object> properties = new HashMap<>();
+		properties.put("name", Values.value("a"));
+		properties.put("age", Values.value(42));
+		properties.put("nickname", Values.NULL);
+		EntitySnapshot snapshot = EntitySnapshot.builder(23L).withProperties(properties).build();
+
+		Map<String, Object> currentProperties = new HashMap<>(properties);
+		assertThat(snapshot.getChangedProperties(currentProperties)).isEmpty();
+
+		currentProperties.put("age", Values.value(43));
+		currentProperties.put("name", Values.NULL);
+		currentProperties.put("somethingNew", Values.value("b"));
+		assertThat(snapshot.getChangedProperties(currentProperties))
+			.containsOnlyKeys("age", "name", "somethingNew")
+			.containsEntry("age", Values.value(43))
+			.containsEntry("name", Values.NULL);
+	}
+
+	@Test
+	void shouldKeepTrackOfRelatedNodes() {
+
+		EntitySnapshot snapshot = EntitySnapshot.builder(23L)
+			.withRelatedNode("bikes", "OWNS", 1L)
+			.withRelatedNode("bikes", "OWNS", 2L)
+			.withRelatedNode("bikes", "RENTS", 1L)
+			.build();
+
+		assertThat(snapshot.isRelatedTo("bikes", "OWNS", 1L)).isTrue();
+		assertThat(snapshot.isRelatedTo("bikes", "RENTS", 2L)).isFalse();
+		assertThat(snapshot.isRelatedTo("trips", "OWNS", 1L)).isFalse();
+		assertThat(snapshot.getRelatedNodeIds("bikes")).containsOnlyKeys("OWNS", "RENTS");
+		assertThat(snapshot.getRelatedNodeIds("trips")).isEmpty();
+	}
+
+	@Test
+	void unknownRelatedNodesShouldMakeSnapshotsIncomplete() {
+
+		EntitySnapshot.Builder builder = EntitySnapshot.builder(23L).withRelatedNode("bikes", "OWNS", 1L);
+		assertThat(builder.isComplete()).isTrue();
+		assertThat(builder.withUnknownRelatedNode().isComplete()).isFalse();
+	}
+
+	static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+		@Override
+		protected Object doGetTransaction() {
+			return new Object();
+		}
+
+		@Override
+		protected void doBegin(Object transaction, TransactionDefinition definition) {
+		}
+
+		@Override
+		protected void doCommit(DefaultTransactionStatus status) {
+		}
+
+		@Override
+		protected void doRollback(DefaultTransactionStatus status) {
+		}
+	}
+
+	static class Thing {
+
+		private final String name;
+
+		Thing(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Thing)) {
+				return false;
+			}
+			return name.equals(((Thing) o).name);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(name);
+		}
+	}
+}
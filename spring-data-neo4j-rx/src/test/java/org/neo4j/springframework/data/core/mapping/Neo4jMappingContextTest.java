@@ -149,6 +149,17 @@ public class Neo4jMappingContextTest {
 			});
 	}
 
+	@Test
+	void shouldCacheBinderFunctions() {
+
+		Neo4jMappingContext schema = new Neo4jMappingContext();
+		schema.setInitialEntitySet(new HashSet<>(Arrays.asList(BikeNode.class)));
+		schema.initialize();
+
+		assertThat(schema.getRequiredBinderFunctionFor(BikeNode.class))
+			.isSameAs(schema.getRequiredBinderFunctionFor(BikeNode.class));
+	}
+
 	@Test
 	void shouldCacheIdGenerators() {
 
@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2019 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.springframework.data.core.schema;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.springframework.data.core.cypher.Cypher;
+import org.neo4j.springframework.data.core.cypher.renderer.Renderer;
+import org.neo4j.springframework.data.core.mapping.Neo4jMappingContext;
+import org.neo4j.springframework.data.core.mapping.Neo4jPersistentEntity;
+
+/**
+ * @author Michael J. Simons
+ */
+class CypherGeneratorTest {
+
+	private static final Renderer cypherRenderer = Renderer.getDefaultRenderer();
+
+	private final Neo4jMappingContext mappingContext = new Neo4jMappingContext();
+
+	@Test
+	void batchedSaveOfEntitiesWithAssignedIdsShouldReturnIndexAndInternalId() {
+
+		Neo4jPersistentEntity<?> entity = mappingContext.getPersistentEntity(Garage.class);
+
+		assertThat(cypherRenderer.render(CypherGenerator.INSTANCE.prepareSaveOfMultipleInstancesOf(entity)))
+			.isEqualTo(
+				"UNWIND $__entities__ AS entity MERGE (n:`Garage` {name: entity.__id__}) SET n = entity.__properties__ "
+					+ "RETURN entity.__index__ AS __index__, id(n) AS __internalNeo4jId__");
+	}
+
+	@Test
+	void batchedSaveOfEntitiesWithInternalIdsShouldCreateNewAndUpdateExistingNodes() {
+
+		Neo4jPersistentEntity<?> entity = mappingContext.getPersistentEntity(Car.class);
+
+		assertThat(cypherRenderer.render(CypherGenerator.INSTANCE.prepareSaveOfMultipleInstancesOf(entity)))
+			.isEqualTo(
+				"UNWIND $__entities__ AS entity OPTIONAL MATCH (hlp:`Car`) WHERE id(hlp) = entity.__id__ "
+					+ "WITH entity, hlp WHERE hlp IS NULL CREATE (n:`Car`) SET n = entity.__properties__ "
+					+ "RETURN entity.__index__ AS __index__, id(n) AS __internalNeo4jId__ "
+					+ "UNION ALL "
+					+ "UNWIND $__entities__ AS entity MATCH (n:`Car`) WHERE id(n) = entity.__id__ "
+					+ "SET n = entity.__properties__ "
+					+ "RETURN entity.__index__ AS __index__, id(n) AS __internalNeo4jId__");
+	}
+
+	@Test
+	void createOfNewEntityShouldNotLookForExistingNodes() {
+
+		Neo4jPersistentEntity<?> entity = mappingContext.getPersistentEntity(Car.class);
+
+		assertThat(cypherRenderer.render(CypherGenerator.INSTANCE.prepareCreateOf(entity)))
+			.isEqualTo("CREATE (n:`Car`) SET n = $__properties__ RETURN id(n)");
+	}
+
+	@Test
+	void batchedCreateOfNewEntitiesShouldNotLookForExistingNodes() {
+
+		Neo4jPersistentEntity<?> entity = mappingContext.getPersistentEntity(Car.class);
+
+		assertThat(cypherRenderer.render(CypherGenerator.INSTANCE.prepareCreateOfMultipleInstancesOf(entity)))
+			.isEqualTo(
+				"UNWIND $__entities__ AS entity CREATE (n:`Car`) SET n = entity.__properties__ "
+					+ "RETURN entity.__index__ AS __index__, id(n) AS __internalNeo4jId__");
+	}
+
+	@Test
+	void relationshipCreationShouldUnwindAllRelationships() {
+
+		Neo4jPersistentEntity<?> entity = mappingContext.getPersistentEntity(Garage.class);
+		RelationshipDescription relationship = entity.getRelationships().iterator().next();
+
+		assertThat(cypherRenderer
+			.render(CypherGenerator.INSTANCE.createRelationshipCreationQuery(entity, relationship, null)))
+			.isEqualTo(
+				"UNWIND $__relationships__ AS relationship "
+					+ "MATCH (startNode:`Garage`) WHERE startNode.name = relationship.fromId "
+					+ "MATCH (endNode) WHERE id(endNode) = relationship.toId "
+					+ "MERGE (startNode)-[:`PARKS`]->(endNode)");
+	}
+
+	@Test
+	void relationshipRemovalShouldUnwindAllStartNodes() {
+
+		Neo4jPersistentEntity<?> entity = mappingContext.getPersistentEntity(Garage.class);
+		RelationshipDescription relationship = entity.getRelationships().iterator().next();
+
+		assertThat(cypherRenderer
+			.render(CypherGenerator.INSTANCE.createRelationshipRemoveQuery(entity, relationship, "Car")))
+			.isEqualTo(
+				"UNWIND $__relationships__ AS relationship "
+					+ "MATCH (startNode:`Garage`)-[rel:`PARKS`]->(:`Car`) WHERE startNode.name = relationship.fromId "
+					+ "DELETE rel");
+	}
+
+	@Test
+	void chunkedDeleteShouldLimitTheNumberOfNodes() {
+
+		Neo4jPersistentEntity<?> entity = mappingContext.getPersistentEntity(Garage.class);
+
+		assertThat(cypherRenderer.render(CypherGenerator.INSTANCE.prepareDeleteOf(entity, 1000)))
+			.isEqualTo("MATCH (n:`Garage`) WITH n LIMIT 1000 DETACH DELETE n");
+	}
+
+	@Test
+	void batchedUpdateShouldOnlyMutateChangedProperties() {
+
+		Neo4jPersistentEntity<?> entity = mappingContext.getPersistentEntity(Car.class);
+
+		assertThat(cypherRenderer.render(CypherGenerator.INSTANCE.prepareUpdateOfMultipleInstancesOf(entity)))
+			.isEqualTo(
+				"UNWIND $__entities__ AS entity MATCH (n:`Car`) WHERE id(n) = entity.__internalNeo4jId__ "
+					+ "SET n += entity.__properties__ "
+					+ "RETURN entity.__index__ AS __index__, id(n) AS __internalNeo4jId__");
+	}
+
+	@Test
+	void relationshipRemovalForEndNodesShouldOnlyDeleteGivenRelationships() {
+
+		Neo4jPersistentEntity<?> entity = mappingContext.getPersistentEntity(Garage.class);
+		RelationshipDescription relationship = entity.getRelationships().iterator().next();
+
+		assertThat(cypherRenderer
+			.render(CypherGenerator.INSTANCE.createRelationshipRemoveQueryForEndNodes(entity, relationship, null)))
+			.isEqualTo(
+				"UNWIND $__relationships__ AS relationship "
+					+ "MATCH (startNode:`Garage`)-[rel:`PARKS`]->(endNode) "
+					+ "WHERE (startNode.name = relationship.fromId AND id(endNode) = relationship.toId) "
+					+ "DELETE rel");
+	}
+
+	@Test
+	void lazyRelationshipsShouldNotBeFetched() {
+
+		Neo4jPersistentEntity<?> entity = mappingContext.getPersistentEntity(Showroom.class);
+
+		assertThat(cypherRenderer.render(Cypher.match(Cypher.anyNode("n"))
+			.returning(CypherGenerator.INSTANCE.createReturnStatementForMatch(entity)).build()))
+			.isEqualTo("MATCH (n) RETURN n{.name, __internalNeo4jId__: id(n)}");
+	}
+
+	@Test
+	void lazyRelationshipsShouldBeFetchedFromTheirStartNode() {
+
+		Neo4jPersistentEntity<?> entity = mappingContext.getPersistentEntity(Showroom.class);
+		RelationshipDescription relationship = entity.getRelationships().iterator().next();
+
+		assertThat(cypherRenderer
+			.render(CypherGenerator.INSTANCE.prepareMatchOfRelatedNodes(entity, relationship, false,
+				CypherGenerator.UNBOUNDED_FETCH_DEPTH)))
+			.isEqualTo(
+				"MATCH (startNode:`Showroom`)-[:`SELLS`]->(n:`Car`) WHERE startNode.name = $__id__ "
+					+ "RETURN n{__internalNeo4jId__: id(n), .model}");
+	}
+
+	@Test
+	void projectionsShouldFollowRelationshipsOnlyUpToTheFetchDepth() {
+
+		Neo4jPersistentEntity<?> entity = mappingContext.getPersistentEntity(Company.class);
+
+		assertThat(renderReturnStatementForMatch(entity, 0))
+			.isEqualTo("MATCH (n) RETURN n{.name, __internalNeo4jId__: id(n), __unfetchedRelationships__: true}");
+		assertThat(renderReturnStatementForMatch(entity, 1))
+			.isEqualTo("MATCH (n) RETURN n{.name, __internalNeo4jId__: id(n), "
+				+ "Company_EMPLOYS_Garage: [(n)-[:`EMPLOYS`]->(garages:`Garage`)|garages{.name, "
+				+ "__internalNeo4jId__: id(garages), __unfetchedRelationships__: true}]}");
+		assertThat(renderReturnStatementForMatch(entity, CypherGenerator.UNBOUNDED_FETCH_DEPTH))
+			.isEqualTo(renderReturnStatementForMatch(entity, 2))
+			.doesNotContain("__unfetchedRelationships__");
+	}
+
+	@Test
+	void projectionsShouldIncludeOnlyTheNestedPropertiesOfTheGivenPaths() {
+
+		Neo4jPersistentEntity<?> entity = mappingContext.getPersistentEntity(Company.class);
+
+		assertThat(cypherRenderer.render(Cypher.match(Cypher.anyNode("n"))
+			.returning(CypherGenerator.INSTANCE.createReturnStatementForMatch(entity,
+				Arrays.asList("name", "garages.cars.model"), CypherGenerator.UNBOUNDED_FETCH_DEPTH)).build()))
+			.isEqualTo("MATCH (n) RETURN n{.name, __internalNeo4jId__: id(n), "
+				+ "Company_EMPLOYS_Garage: [(n)-[:`EMPLOYS`]->(garages:`Garage`)|garages{__internalNeo4jId__: id(garages), "
+				+ "Garage_PARKS_Car: [(garages)-[:`PARKS`]->(cars:`Car`)|cars{__internalNeo4jId__: id(cars), .model}]}]}");
+	}
+
+	private static String renderReturnStatementForMatch(Neo4jPersistentEntity<?> entity, int fetchDepth) {
+
+		return cypherRenderer.render(Cypher.match(Cypher.anyNode("n"))
+			.returning(CypherGenerator.INSTANCE.createReturnStatementForMatch(entity, fetchDepth)).build());
+	}
+
+	@Node
+	static class Garage {
+
+		@Id
+		private String name;
+
+		@Relationship("PARKS")
+		private List<Car> cars;
+	}
+
+	@Node
+	static class Company {
+
+		@Id
+		private String name;
+
+		@Relationship("EMPLOYS")
+		private List<Garage> garages;
+	}
+
+	@Node
+	static class Car {
+
+		@Id @GeneratedValue
+		private Long id;
+
+		private String model;
+	}
+
+	@Node
+	static class Showroom {
+
+		@Id
+		private String name;
+
+		@Relationship(type = "SELLS", fetch = Relationship.Fetch.LAZY)
+		private List<Car> cars;
+	}
+}
@@ -49,6 +49,7 @@ import org.neo4j.driver.Values;
 import org.neo4j.driver.types.Node;
 import org.neo4j.driver.types.Point;
 import org.neo4j.springframework.data.config.AbstractNeo4jConfig;
+import org.neo4j.springframework.data.core.DeleteSummary;
 import org.neo4j.springframework.data.integration.shared.*;
 import org.neo4j.springframework.data.repository.config.EnableNeo4jRepositories;
 import org.neo4j.springframework.data.test.Neo4jExtension.Neo4jConnectionSupport;
@@ -730,6 +731,15 @@ class RepositoryIT {
 		assertThat(repository.count()).isEqualTo(0L);
 	}
 
+	@Test
+	void deleteAllInBatches() {
+
+		DeleteSummary deleteSummary = repository.deleteAll(1);
+		assertThat(deleteSummary.getNodesDeleted()).isEqualTo(2L);
+		assertThat(deleteSummary.getBatches()).isEqualTo(3);
+		assertThat(repository.count()).isEqualTo(0L);
+	}
+
 	@Test
 	void deleteSimpleRelationship() {
 		try (Session session = driver.session()) {
@@ -592,6 +592,23 @@ class ReactiveRepositoryIT {
 			.verifyComplete();
 	}
 
+	@Test
+	void deleteAllInBatches() {
+
+		repository.deleteAll(1)
+			.as(StepVerifier::create)
+			.assertNext(deleteSummary -> {
+				assertThat(deleteSummary.getNodesDeleted()).isEqualTo(2L);
+				assertThat(deleteSummary.getBatches()).isEqualTo(3);
+			})
+			.verifyComplete();
+
+		repository.count()
+			.as(StepVerifier::create)
+			.expectNext(0L)
+			.verifyComplete();
+	}
+
 	@Test
 	void deleteById() {
 
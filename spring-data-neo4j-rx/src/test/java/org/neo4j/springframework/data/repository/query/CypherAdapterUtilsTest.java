@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2019 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.springframework.data.repository.query;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.neo4j.springframework.data.core.cypher.Cypher.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.driver.Values;
+import org.neo4j.springframework.data.core.cypher.renderer.Renderer;
+import org.neo4j.springframework.data.core.mapping.Neo4jMappingContext;
+import org.neo4j.springframework.data.core.mapping.Neo4jPersistentEntity;
+import org.neo4j.springframework.data.core.schema.GeneratedValue;
+import org.neo4j.springframework.data.core.schema.Id;
+import org.neo4j.springframework.data.core.schema.Node;
+import org.springframework.data.domain.Sort;
+
+/**
+ * @author Michael J. Simons
+ */
+class CypherAdapterUtilsTest {
+
+	private final Neo4jMappingContext mappingContext = new Neo4jMappingContext();
+
+	private final Neo4jPersistentEntity<?> entity = mappingContext.getPersistentEntity(Movie.class);
+
+	private final KeysetRequest firstPage = KeysetRequest.of(2, Sort.by("released").descending());
+
+	private String render(KeysetRequest keysetRequest) {
+
+		return Renderer.getDefaultRenderer().render(CypherAdapterUtils.addKeysetParameter(entity, keysetRequest,
+			match(node("Movie").named("n")).where(CypherAdapterUtils.toKeysetCondition(entity, keysetRequest))
+				.returning(name("n"))).build());
+	}
+
+	@Test
+	void firstPageShouldOnlyBeOrderedAndLimited() {
+
+		assertThat(render(firstPage))
+			.isEqualTo("MATCH (n:`Movie`) RETURN n ORDER BY n.released DESC, id(n) ASC LIMIT 3");
+		assertThat(CypherAdapterUtils.toKeysetParameters(entity, firstPage, mappingContext.getConverter())).isEmpty();
+	}
+
+	@Test
+	void followingPagesShouldSeekAfterTheKeyset() {
+
+		Map<String, Object> keyset = new HashMap<>();
+		keyset.put("released", 1999);
+		keyset.put("id", 4711L);
+		KeysetRequest nextPage = firstPage.after(keyset);
+
+		assertThat(render(nextPage)).isEqualTo("MATCH (n:`Movie`) "
+			+ "WHERE (n.released < $__keyset_0__ OR (n.released = $__keyset_0__ AND id(n) > $__keyset_1__)) "
+			+ "RETURN n ORDER BY n.released DESC, id(n) ASC LIMIT 3");
+		assertThat(CypherAdapterUtils.toKeysetParameters(entity, nextPage, mappingContext.getConverter()))
+			.containsOnly(entry("__keyset_0__", Values.value(1999)), entry("__keyset_1__", Values.value(4711L)));
+	}
+
+	@Test
+	void eachPropertyOfTheKeysetShouldBeCompared() {
+
+		Map<String, Object> keyset = new HashMap<>();
+		keyset.put("released", 1999);
+		keyset.put("title", "The Matrix");
+		keyset.put("id", 4711L);
+		KeysetRequest nextPage = KeysetRequest.of(2, Sort.by("released", "title")).after(keyset);
+
+		assertThat(render(nextPage)).isEqualTo("MATCH (n:`Movie`) "
+			+ "WHERE (n.released > $__keyset_0__ "
+			+ "OR (n.released = $__keyset_0__ AND n.title > $__keyset_1__) "
+			+ "OR (n.released = $__keyset_0__ AND n.title = $__keyset_1__ AND id(n) > $__keyset_2__)) "
+			+ "RETURN n ORDER BY n.released ASC, n.title ASC, id(n) ASC LIMIT 3");
+	}
+
+	@Test
+	void keysetMustContainAllProperties() {
+
+		KeysetRequest nextPage = firstPage.after(Collections.singletonMap("released", 1999));
+
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> CypherAdapterUtils.toKeysetParameters(entity, nextPage, mappingContext.getConverter()))
+			.withMessage("The keyset does not contain a value for the property 'id'.");
+	}
+
+	@Test
+	void keysetMustNotContainNullValues() {
+
+		Map<String, Object> keyset = new HashMap<>();
+		keyset.put("released", null);
+		keyset.put("id", 4711L);
+		KeysetRequest nextPage = firstPage.after(keyset);
+
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> CypherAdapterUtils.toKeysetParameters(entity, nextPage, mappingContext.getConverter()))
+			.withMessage("The keyset value of the property 'released' must not be null.");
+	}
+
+	@Test
+	void pagesShouldContainTheKeysetOfTheirLastEntity() {
+
+		KeysetPage<Movie> page = CypherAdapterUtils.toKeysetPage(entity, firstPage,
+			Arrays.asList(new Movie(3L, 2003), new Movie(1L, 1999), new Movie(2L, 1999)));
+
+		assertThat(page.getContent()).extracting(m -> m.id).containsExactly(3L, 1L);
+		assertThat(page.hasNext()).isTrue();
+		assertThat(page.getNextRequest()).hasValueSatisfying(nextRequest -> {
+			assertThat(nextRequest.getSize()).isEqualTo(2);
+			assertThat(nextRequest.getSort()).isEqualTo(firstPage.getSort());
+			assertThat(nextRequest.getKeyset()).containsExactly(entry("released", 1999), entry("id", 1L));
+		});
+	}
+
+	@Test
+	void pagesShouldNotEndWithAnEntityWithoutKeyset() {
+
+		assertThatIllegalStateException()
+			.isThrownBy(() -> CypherAdapterUtils.toKeysetPage(entity, firstPage,
+				Arrays.asList(new Movie(3L, 2003), new Movie(1L, null), new Movie(2L, 1999))))
+			.withMessage("The property 'released' of the last entity of the page is null and cannot be used as keyset.");
+	}
+
+	@Test
+	void lastPageShouldNotHaveANextRequest() {
+
+		KeysetPage<Movie> page = CypherAdapterUtils.toKeysetPage(entity, firstPage,
+			Arrays.asList(new Movie(3L, 2003), new Movie(1L, 1999)));
+
+		assertThat(page.getContent()).hasSize(2);
+		assertThat(page.hasNext()).isFalse();
+		assertThat(page.getNextRequest()).isEmpty();
+	}
+
+	@Node
+	static class Movie {
+
+		@Id @GeneratedValue
+		private Long id;
+
+		private Integer released;
+
+		private String title;
+
+		Movie(Long id, Integer released) {
+			this.id = id;
+			this.released = released;
+		}
+	}
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2019 "Neo4j,"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.neo4j.springframework.data.repository.query;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.neo4j.springframework.data.core.schema.NodeDescription.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+import org.neo4j.driver.internal.InternalNode;
+import org.neo4j.driver.internal.InternalRecord;
+import org.neo4j.driver.internal.types.InternalTypeSystem;
+import org.neo4j.driver.internal.value.NodeValue;
+import org.neo4j.driver.types.TypeSystem;
+import org.neo4j.springframework.data.core.mapping.Neo4jMappingContext;
+import org.neo4j.springframework.data.core.schema.GeneratedValue;
+import org.neo4j.springframework.data.core.schema.Id;
+import org.neo4j.springframework.data.core.schema.Property;
+
+/**
+ * @author Michael J. Simons
+ */
+class DtoMappingFunctionTest {
+
+	private final TypeSystem typeSystem = InternalTypeSystem.TYPE_SYSTEM;
+
+	private final Neo4jMappingContext mappingContext = new Neo4jMappingContext();
+
+	@Test
+	void dtosWithSimplePropertiesOnlyShouldBeMappedDirectly() {
+
+		assertThat(DtoMappingFunction.canMap(PersonSummary.class)).isTrue();
+		assertThat(DtoMappingFunction.canMap(PersonWithFriends.class)).isFalse();
+	}
+
+	@Test
+	void columnsShouldTakePrecedenceOverTheReturnedMap() {
+
+		Map<String, Object> person = new HashMap<>();
+		person.put("name", "Michael");
+		person.put("yearOfBirth", 1979L);
+		person.put("city", "Aachen");
+		person.put("nick_name", "meistermeier");
+		Record record = new InternalRecord(Arrays.asList("n", "city"),
+			new Value[] { Values.value(person), Values.value("Dortmund") });
+
+		PersonSummary summary = DtoMappingFunction.of(PersonSummary.class, mappingContext.getConverter())
+			.apply(typeSystem, record);
+		assertThat(summary.name).isEqualTo("Michael");
+		assertThat(summary.yearOfBirth).isEqualTo(1979);
+		assertThat(summary.city).isEqualTo("Dortmund");
+		assertThat(summary.nickName).isEqualTo("meistermeier");
+		assertThat(summary.numberOfFriends).isEqualTo(0);
+	}
+
+	@Test
+	void nodesShouldBeMapped() {
+
+		Value node = new NodeValue(new InternalNode(1L, Collections.singletonList("Person"),
+			Collections.singletonMap("name", Values.value("Gerrit"))));
+		Record record = new InternalRecord(Collections.singletonList("n"), new Value[] { node });
+
+		PersonSummary summary = DtoMappingFunction.of(PersonSummary.class, mappingContext.getConverter())
+			.apply(typeSystem, record);
+		assertThat(summary.name).isEqualTo("Gerrit");
+		assertThat(summary.city).isNull();
+	}
+
+	@Test
+	void internalIdsShouldBeMappedFromNodesAndMaps() {
+
+		Value node = new NodeValue(new InternalNode(23L, Collections.singletonList("Person"),
+			Collections.singletonMap("name", Values.value("Gerrit"))));
+		PersonWithId fromNode = DtoMappingFunction.of(PersonWithId.class, mappingContext.getConverter())
+			.apply(typeSystem, new InternalRecord(Collections.singletonList("n"), new Value[] { node }));
+		assertThat(fromNode.id).isEqualTo(23L);
+		assertThat(fromNode.name).isEqualTo("Gerrit");
+
+		Map<String, Object> person = new HashMap<>();
+		person.put(NAME_OF_INTERNAL_ID, 42L);
+		person.put("name", "Michael");
+		PersonWithId fromMap = DtoMappingFunction.of(PersonWithId.class, mappingContext.getConverter())
+			.apply(typeSystem, new InternalRecord(Collections.singletonList("n"), new Value[] { Values.value(person) }));
+		assertThat(fromMap.id).isEqualTo(42L);
+		assertThat(fromMap.name).isEqualTo("Michael");
+	}
+
+	static class PersonSummary {
+
+		private final String name;
+
+		private final int yearOfBirth;
+
+		private final int numberOfFriends;
+
+		private String city;
+
+		@Property("nick_name")
+		private String nickName;
+
+		PersonSummary(String name, int yearOfBirth, int numberOfFriends) {
+			this.name = name;
+			this.yearOfBirth = yearOfBirth;
+			this.numberOfFriends = numberOfFriends;
+		}
+	}
+
+	static class PersonWithId {
+
+		@Id @GeneratedValue
+		private Long id;
+
+		private String name;
+	}
+
+	static class PersonWithFriends {
+
+		private final String name;
+
+		private final List<PersonSummary> friends;
+
+		PersonWithFriends(String name, List<PersonSummary> friends) {
+			this.name = name;
+			this.friends = friends;
+		}
+	}
+}
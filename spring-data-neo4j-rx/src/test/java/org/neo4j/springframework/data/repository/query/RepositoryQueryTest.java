@@ -22,10 +22,15 @@ import static org.assertj.core.api.Assertions.*;
 import static org.assertj.core.api.Assumptions.*;
 import static org.mockito.Mockito.*;
 
+import reactor.core.publisher.Mono;
+
 import java.lang.reflect.Method;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Nested;
@@ -40,6 +45,8 @@ import org.neo4j.springframework.data.core.mapping.Neo4jMappingContext;
 import org.neo4j.springframework.data.core.schema.GeneratedValue;
 import org.neo4j.springframework.data.repository.query.Neo4jQueryMethod.Neo4jParameters;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.domain.Range;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mapping.MappingException;
 import org.springframework.data.projection.ProjectionFactory;
 import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
@@ -59,6 +66,7 @@ import org.springframework.util.ReflectionUtils;
  * <li>{@link Neo4jQueryLookupStrategy}</li>
  * <li>{@link Neo4jQueryMethod}</li>
  * <li>{@link StringBasedNeo4jQuery}</li>
+ * <li>{@link QueryShape}</li>
  * </ul>
  *
  * @author Michael J. Simons
@@ -105,6 +113,118 @@ final class RepositoryQueryTest {
 			assumeThat(neo4jQueryMethod.isCollectionQuery()).isTrue();
 			assertThat(neo4jQueryMethod.isCollectionLikeQuery()).isTrue();
 		}
+
+		@Test
+		void keysetQueriesShouldBeDetected() {
+
+			Neo4jQueryMethod neo4jQueryMethod = neo4jQueryMethod("findAllByIdGreaterThan", long.class,
+				KeysetRequest.class);
+
+			assertThat(neo4jQueryMethod.isKeysetQuery()).isTrue();
+			assertThat(neo4jQueryMethod.isCollectionLikeQuery()).isTrue();
+			assertThat(neo4jQueryMethod.getReturnedObjectType()).isEqualTo(TestEntity.class);
+			assertThat(neo4jQueryMethod.getParameters().getBindableParameters().getNumberOfParameters()).isEqualTo(1);
+		}
+
+		@Test
+		void reactiveKeysetQueriesShouldBeDetected() {
+
+			Neo4jQueryMethod neo4jQueryMethod = neo4jQueryMethod("findAllByIdGreaterThanEqual", long.class,
+				KeysetRequest.class);
+
+			assertThat(neo4jQueryMethod.isKeysetQuery()).isTrue();
+			assertThat(neo4jQueryMethod.getReturnedObjectType()).isEqualTo(TestEntity.class);
+		}
+
+		@Test
+		void keysetRequestsShouldRequireKeysetPages() {
+
+			assertThatIllegalArgumentException()
+				.isThrownBy(() -> neo4jQueryMethod("findAllByIdLessThanEqual", long.class, KeysetRequest.class))
+				.withMessageContaining("must either return a KeysetPage and have a KeysetRequest parameter");
+		}
+	}
+
+	@Nested
+	class Neo4jQuerySupportTest {
+
+		@Test
+		void inputPropertiesShouldContainPathsOfNestedProjections() {
+
+			Neo4jQueryMethod neo4jQueryMethod = neo4jQueryMethod("findAllByIdLessThan", long.class);
+			Neo4jQuerySupport querySupport = new Neo4jQuerySupport(mock(Neo4jMappingContext.class), neo4jQueryMethod) {
+			};
+
+			assertThat(querySupport.getInputProperties(neo4jQueryMethod.getResultProcessor()))
+				.containsExactlyInAnyOrder("name", "friends.name", "friends.owner", "bestFriend.name", "bestFriend.owner");
+		}
+
+		@Test
+		void queriesShouldBeCreatedOncePerShape() {
+
+			Neo4jQueryMethod neo4jQueryMethod = neo4jQueryMethod("findAllByIdBetween", Range.class);
+			Neo4jQuerySupport querySupport = new Neo4jQuerySupport(mock(Neo4jMappingContext.class), neo4jQueryMethod) {
+			};
+
+			AtomicInteger createdQueries = new AtomicInteger();
+			Function<Range<Long>, String> cypherQuery = range -> querySupport.getCypherQuery(
+				QueryShape.of(accessor(neo4jQueryMethod, range), TestEntity.class, 1),
+				() -> "q" + createdQueries.incrementAndGet());
+
+			assertThat(cypherQuery.apply(Range.closed(1L, 2L))).isEqualTo("q1");
+			assertThat(cypherQuery.apply(Range.closed(3L, 4L))).isEqualTo("q1");
+			assertThat(cypherQuery.apply(Range.rightOpen(1L, 2L))).isEqualTo("q2");
+			assertThat(cypherQuery.apply(Range.rightUnbounded(Range.Bound.inclusive(1L)))).isEqualTo("q3");
+			assertThat(cypherQuery.apply(Range.rightUnbounded(Range.Bound.inclusive(2L)))).isEqualTo("q3");
+			assertThat(createdQueries).hasValue(3);
+		}
+	}
+
+	@Nested
+	class QueryShapeTest {
+
+		@Test
+		void shapeShouldNotDependOnPlainValues() {
+
+			Neo4jQueryMethod neo4jQueryMethod = neo4jQueryMethod("findAllByIdGreaterThan", long.class, Sort.class);
+
+			assertThat(QueryShape.of(accessor(neo4jQueryMethod, 1L, Sort.by("id")), TestEntity.class, 1))
+				.isEqualTo(QueryShape.of(accessor(neo4jQueryMethod, 2L, Sort.by("id")), TestEntity.class, 1));
+		}
+
+		@Test
+		void shapeShouldDependOnSortReturnedTypeAndFetchDepth() {
+
+			Neo4jQueryMethod neo4jQueryMethod = neo4jQueryMethod("findAllByIdGreaterThan", long.class, Sort.class);
+			QueryShape queryShape = QueryShape.of(accessor(neo4jQueryMethod, 1L, Sort.by("id")), TestEntity.class, 1);
+
+			assertThat(queryShape)
+				.isNotEqualTo(QueryShape.of(accessor(neo4jQueryMethod, 1L, Sort.by("id").descending()), TestEntity.class, 1))
+				.isNotEqualTo(QueryShape.of(accessor(neo4jQueryMethod, 1L, Sort.by("id")), TestEntityProjection.class, 1))
+				.isNotEqualTo(QueryShape.of(accessor(neo4jQueryMethod, 1L, Sort.by("id")), TestEntity.class, 2));
+		}
+	}
+
+	@Nested
+	class KeysetQueryShapeTest {
+
+		@Test
+		void shapeShouldDependOnTheKeysetRequest() {
+
+			Neo4jQueryMethod neo4jQueryMethod = neo4jQueryMethod("findAllByIdGreaterThan", long.class,
+				KeysetRequest.class);
+			KeysetRequest firstPage = KeysetRequest.of(10, Sort.by("id"));
+			Function<KeysetRequest, QueryShape> queryShape = keysetRequest -> QueryShape
+				.of(accessor(neo4jQueryMethod, 1L, keysetRequest), TestEntity.class, 1);
+
+			assertThat(queryShape.apply(firstPage))
+				.isEqualTo(queryShape.apply(KeysetRequest.of(10, Sort.by("id"))))
+				.isNotEqualTo(queryShape.apply(KeysetRequest.of(20, Sort.by("id"))))
+				.isNotEqualTo(queryShape.apply(KeysetRequest.of(10, Sort.by("id").descending())))
+				.isNotEqualTo(queryShape.apply(firstPage.after(Collections.singletonMap("id", 1L))));
+			assertThat(queryShape.apply(firstPage.after(Collections.singletonMap("id", 1L))))
+				.isEqualTo(queryShape.apply(firstPage.after(Collections.singletonMap("id", 2L))));
+		}
 	}
 
 	@Nested
@@ -252,6 +372,11 @@ final class RepositoryQueryTest {
 		}
 	}
 
+	static Neo4jParameterAccessor accessor(Neo4jQueryMethod queryMethod, Object... values) {
+
+		return new Neo4jParameterAccessor((Neo4jParameters) queryMethod.getParameters(), values);
+	}
+
 	static Method queryMethod(String name, Class<?>... parameters) {
 
 		return ReflectionUtils.findMethod(TestRepository.class, name, parameters);
@@ -287,6 +412,34 @@ final class RepositoryQueryTest {
 		List<TestEntity> findAllByANamedQuery();
 
 		Stream<TestEntity> findAllByIdGreaterThan(long id);
+
+		List<TestEntityProjection> findAllByIdLessThan(long id);
+
+		List<TestEntity> findAllByIdGreaterThan(long id, Sort sort);
+
+		List<TestEntity> findAllByIdBetween(Range<Long> range);
+
+		KeysetPage<TestEntity> findAllByIdGreaterThan(long id, KeysetRequest keysetRequest);
+
+		Mono<KeysetPage<TestEntity>> findAllByIdGreaterThanEqual(long id, KeysetRequest keysetRequest);
+
+		List<TestEntity> findAllByIdLessThanEqual(long id, KeysetRequest keysetRequest);
+	}
+
+	interface TestEntityProjection {
+
+		String getName();
+
+		List<NestedProjection> getFriends();
+
+		NestedProjection getBestFriend();
+	}
+
+	interface NestedProjection {
+
+		String getName();
+
+		TestEntityProjection getOwner();
 	}
 
 	private RepositoryQueryTest() {